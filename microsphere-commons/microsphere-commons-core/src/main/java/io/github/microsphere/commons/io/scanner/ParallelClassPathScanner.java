@@ -0,0 +1,264 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microsphere.commons.io.scanner;
+
+import io.github.microsphere.commons.constants.FileSuffixConstants;
+import io.github.microsphere.commons.filter.Filter;
+import io.github.microsphere.commons.util.jar.JarCentralDirectory;
+
+import javax.annotation.Nullable;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.zip.ZipException;
+
+/**
+ * The parallel scanner of the class paths, the roots and the sub-directories are scanned by the tasks of
+ * {@link ForkJoinPool}, the results are streamed to the consumer rather than being collected, and the {@link Filter}
+ * of the directories prunes the sub-trees before they are listed.
+ * <p>
+ * The consumers are invoked by the multiple threads concurrently, thus they must be thread-safe, and the order of the
+ * results is undefined. The entries of every {@link JarFile} are listed by its {@link JarCentralDirectory}, which is
+ * released once its entries are consumed.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @version 1.0.0
+ * @see SimpleFileScanner
+ * @see SimpleJarEntryScanner
+ * @see SimpleClassScanner
+ * @since 1.0.0
+ */
+public class ParallelClassPathScanner {
+
+    /**
+     * Singleton based on {@link ForkJoinPool#commonPool()}
+     */
+    public static final ParallelClassPathScanner INSTANCE = new ParallelClassPathScanner();
+
+    private static final int CLASS_SUFFIX_LENGTH = FileSuffixConstants.CLASS.length();
+
+    private final ForkJoinPool forkJoinPool;
+
+    public ParallelClassPathScanner() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public ParallelClassPathScanner(ForkJoinPool forkJoinPool) {
+        this.forkJoinPool = forkJoinPool;
+    }
+
+    /**
+     * Scan the files under the root directories
+     *
+     * @param rootDirectories the root directories
+     * @param recursive       is recursive on sub directories
+     * @param directoryFilter the nullable {@link Filter} of the sub directories to scan into
+     * @param fileFilter      the nullable {@link Filter} of the files to consume, including the directories
+     * @param consumer        the thread-safe {@link Consumer} of the accepted files
+     */
+    public void scanFiles(Collection<File> rootDirectories, boolean recursive, @Nullable Filter<File> directoryFilter,
+                          @Nullable Filter<File> fileFilter, Consumer<File> consumer) {
+        List<ForkJoinTask<?>> tasks = new ArrayList<>(rootDirectories.size());
+        for (File rootDirectory : rootDirectories) {
+            tasks.add(new DirectoryTask(rootDirectory, recursive, directoryFilter, fileFilter, consumer));
+        }
+        forkJoinPool.invoke(new TasksAction(tasks));
+    }
+
+    /**
+     * Scan the entries of the {@link JarFile JarFiles}
+     *
+     * @param jarFiles       the files of {@link JarFile}
+     * @param jarEntryFilter the nullable {@link Filter} of the {@link JarEntry JarEntries} to consume
+     * @param consumer       the thread-safe {@link BiConsumer} of the file of {@link JarFile} and the accepted
+     *                       {@link JarEntry}
+     */
+    public void scanJarEntries(Collection<File> jarFiles, @Nullable Filter<JarEntry> jarEntryFilter,
+                               BiConsumer<File, JarEntry> consumer) {
+        List<ForkJoinTask<?>> tasks = new ArrayList<>(jarFiles.size());
+        for (File jarFile : jarFiles) {
+            tasks.add(new JarFileTask(jarFile, "", jarEntryFilter, consumer));
+        }
+        forkJoinPool.invoke(new TasksAction(tasks));
+    }
+
+    /**
+     * Scan the class names in the package of the class paths, the directories out of the package are never listed
+     *
+     * @param classPaths  the class paths for the {@link JarFile JarFiles} or classes directories
+     * @param packageName the name of package, the empty string means all packages
+     * @param recursive   included sub-packages
+     * @param consumer    the thread-safe {@link BiConsumer} of the class path and the class name
+     */
+    public void scanClassNames(Collection<String> classPaths, String packageName, boolean recursive,
+                               BiConsumer<String, String> consumer) {
+        String packagePath = packageName.replace('.', '/');
+        List<ForkJoinTask<?>> tasks = new ArrayList<>(classPaths.size());
+        for (String classPath : classPaths) {
+            File classesFileHolder = new File(classPath); // JarFile or Directory
+            if (classesFileHolder.isDirectory()) {
+                File packageDirectory = packagePath.isEmpty() ? classesFileHolder : new File(classesFileHolder, packagePath);
+                int rootPathLength = classesFileHolder.getPath().length() + 1;
+                tasks.add(new DirectoryTask(packageDirectory, recursive, null, ParallelClassPathScanner::isClassFile,
+                        file -> consumer.accept(classPath, resolveClassName(file.getPath().substring(rootPathLength), File.separatorChar))));
+            } else if (classesFileHolder.isFile() && classPath.endsWith(FileSuffixConstants.JAR)) {
+                String prefix = packagePath.isEmpty() ? packagePath : packagePath + '/';
+                tasks.add(new JarFileTask(classesFileHolder, prefix, jarEntry -> isClassEntry(jarEntry, prefix, recursive),
+                        (file, jarEntry) -> consumer.accept(classPath, resolveClassName(jarEntry.getName(), '/'))));
+            }
+        }
+        forkJoinPool.invoke(new TasksAction(tasks));
+    }
+
+    private static boolean isClassFile(File file) {
+        return file.getName().endsWith(FileSuffixConstants.CLASS) && file.isFile();
+    }
+
+    private static boolean isClassEntry(JarEntry jarEntry, String prefix, boolean recursive) {
+        String name = jarEntry.getName();
+        return !jarEntry.isDirectory() && name.endsWith(FileSuffixConstants.CLASS) && name.startsWith(prefix)
+                && (recursive || name.indexOf('/', prefix.length()) < 0);
+    }
+
+    private static String resolveClassName(String relativePath, char separator) {
+        return relativePath.substring(0, relativePath.length() - CLASS_SUFFIX_LENGTH).replace(separator, '.');
+    }
+
+    /**
+     * Runs the tasks in parallel and waits for all of them
+     */
+    private static class TasksAction extends RecursiveAction {
+
+        private final List<ForkJoinTask<?>> tasks;
+
+        private TasksAction(List<ForkJoinTask<?>> tasks) {
+            this.tasks = tasks;
+        }
+
+        @Override
+        protected void compute() {
+            invokeAll(tasks);
+        }
+    }
+
+    private static class DirectoryTask extends RecursiveAction {
+
+        private final File directory;
+
+        private final boolean recursive;
+
+        private final Filter<File> directoryFilter;
+
+        private final Filter<File> fileFilter;
+
+        private final Consumer<File> consumer;
+
+        private DirectoryTask(File directory, boolean recursive, Filter<File> directoryFilter, Filter<File> fileFilter,
+                              Consumer<File> consumer) {
+            this.directory = directory;
+            this.recursive = recursive;
+            this.directoryFilter = directoryFilter;
+            this.fileFilter = fileFilter;
+            this.consumer = consumer;
+        }
+
+        @Override
+        protected void compute() {
+            File[] subFiles = directory.listFiles();
+            if (subFiles == null) {
+                return;
+            }
+            List<DirectoryTask> subTasks = null;
+            for (File subFile : subFiles) {
+                if (fileFilter == null || fileFilter.accept(subFile)) {
+                    consumer.accept(subFile);
+                }
+                if (recursive && subFile.isDirectory() && (directoryFilter == null || directoryFilter.accept(subFile))) {
+                    if (subTasks == null) {
+                        subTasks = new ArrayList<>();
+                    }
+                    subTasks.add(new DirectoryTask(subFile, true, directoryFilter, fileFilter, consumer));
+                }
+            }
+            if (subTasks != null) {
+                invokeAll(subTasks);
+            }
+        }
+    }
+
+    /**
+     * Scans the entries of {@link JarFile} by its {@link JarCentralDirectory}, thus only the entries under the prefix are
+     * visited, or falls back to {@link JarFile} if the central directory is unsupported
+     */
+    private static class JarFileTask extends RecursiveAction {
+
+        private final File file;
+
+        private final String prefix;
+
+        private final Filter<JarEntry> jarEntryFilter;
+
+        private final BiConsumer<File, JarEntry> consumer;
+
+        private JarFileTask(File file, String prefix, Filter<JarEntry> jarEntryFilter, BiConsumer<File, JarEntry> consumer) {
+            this.file = file;
+            this.prefix = prefix;
+            this.jarEntryFilter = jarEntryFilter;
+            this.consumer = consumer;
+        }
+
+        @Override
+        protected void compute() {
+            try (JarCentralDirectory centralDirectory = JarCentralDirectory.open(file)) {
+                for (JarCentralDirectory.Entry entry : centralDirectory.getEntries(prefix)) {
+                    accept(entry.toJarEntry());
+                }
+            } catch (ZipException e) {
+                computeByJarFile();
+            } catch (IOException ignored) {
+                // The invalid JarFile is skipped
+            }
+        }
+
+        private void computeByJarFile() {
+            try (JarFile jarFile = new JarFile(file, false)) {
+                Enumeration<JarEntry> jarEntries = jarFile.entries();
+                while (jarEntries.hasMoreElements()) {
+                    accept(jarEntries.nextElement());
+                }
+            } catch (IOException ignored) {
+                // The invalid JarFile is skipped
+            }
+        }
+
+        private void accept(JarEntry jarEntry) {
+            if (jarEntryFilter == null || jarEntryFilter.accept(jarEntry)) {
+                consumer.accept(file, jarEntry);
+            }
+        }
+    }
+}
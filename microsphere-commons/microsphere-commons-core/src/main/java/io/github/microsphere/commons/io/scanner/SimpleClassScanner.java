@@ -3,10 +3,11 @@
  */
 package io.github.microsphere.commons.io.scanner;
 
-import io.github.microsphere.commons.filter.FilterUtils;
-import io.github.microsphere.commons.filter.PackageNameClassNameFilter;
+import io.github.microsphere.commons.constants.ProtocolConstants;
+import io.github.microsphere.commons.net.URLUtils;
 import io.github.microsphere.commons.util.ClassLoaderUtils;
 import io.github.microsphere.commons.util.ClassUtils;
+import io.github.microsphere.commons.util.jar.JarUtils;
 import org.apache.commons.lang3.StringUtils;
 
 import java.io.File;
@@ -14,6 +15,8 @@ import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
 
 /**
  * Simple {@link Class} Scanner
@@ -81,7 +84,6 @@ public class SimpleClassScanner {
         final String packageResourceName = ClassLoaderUtils.ResourceType.PACKAGE.resolve(packageName);
 
         try {
-            Set<String> classNames = new LinkedHashSet();
             // Find in class loader
             Set<URL> resourceURLs = ClassLoaderUtils.getResources(classLoader, ClassLoaderUtils.ResourceType.PACKAGE, packageName);
 
@@ -97,11 +99,26 @@ public class SimpleClassScanner {
                 }
             }
 
+            Set<String> classPaths = new LinkedHashSet<>();
             for (URL resourceURL : resourceURLs) {
-                URL classPathURL = resolveClassPathURL(resourceURL, packageResourceName);
-                String classPath = classPathURL.getFile();
-                Set<String> classNamesInClassPath = ClassUtils.findClassNamesInClassPath(classPath, true);
-                classNames.addAll(filterClassNames(classNamesInClassPath, packageName, recursive));
+                String classPath = resolveClassPath(resourceURL, packageResourceName);
+                if (classPath != null) {
+                    classPaths.add(classPath);
+                }
+            }
+
+            // Only the package of the class paths is scanned in parallel, the class names are sorted per class path
+            Map<String, Set<String>> classPathToClassNames = new ConcurrentHashMap<>(classPaths.size());
+            ParallelClassPathScanner.INSTANCE.scanClassNames(classPaths, packageName, recursive,
+                    (classPath, className) -> classPathToClassNames.computeIfAbsent(classPath, key -> new ConcurrentSkipListSet<>()).add(className));
+
+            // The classes are loaded in the order of the class paths
+            Set<String> classNames = new LinkedHashSet<>();
+            for (String classPath : classPaths) {
+                Set<String> classNamesInClassPath = classPathToClassNames.get(classPath);
+                if (classNamesInClassPath != null) {
+                    classNames.addAll(classNamesInClassPath);
+                }
             }
 
             for (String className : classNames) {
@@ -117,10 +134,12 @@ public class SimpleClassScanner {
         return Collections.unmodifiableSet(classesSet);
     }
 
-    private Set<String> filterClassNames(Set<String> classNames, String packageName, boolean recursive) {
-        PackageNameClassNameFilter packageNameClassNameFilter = new PackageNameClassNameFilter(packageName, recursive);
-        Set<String> filterClassNames = new LinkedHashSet(FilterUtils.filter(classNames, packageNameClassNameFilter));
-        return filterClassNames;
+    private String resolveClassPath(URL resourceURL, String packageResourceName) {
+        if (ProtocolConstants.JAR.equals(resourceURL.getProtocol())) {
+            return JarUtils.resolveJarAbsolutePath(resourceURL);
+        }
+        URL classPathURL = resolveClassPathURL(resourceURL, packageResourceName);
+        return URLUtils.decode(classPathURL.getFile());
     }
 
 
@@ -11,6 +11,8 @@ import java.util.Set;
 
 /**
  * Simple File Scanner (Single-Thread)
+ * <p>
+ * {@link ParallelClassPathScanner} is recommended to scan the large directories in parallel
  *
  * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
  * @see SimpleFileScanner#INSTANCE
@@ -60,7 +62,16 @@ public class SimpleFileScanner {
             filesSet.add(rootDirectory);
         }
 
-        File[] subFiles = rootDirectory.listFiles();
+        scan(rootDirectory, recursive, ioFileFilter, filesSet);
+
+        return Collections.unmodifiableSet(filesSet);
+    }
+
+    /**
+     * All sub-directories share one {@link Set} rather than copying the {@link Set} of each level
+     */
+    private void scan(File directory, boolean recursive, IOFileFilter ioFileFilter, Set<File> filesSet) {
+        File[] subFiles = directory.listFiles();
 
         if (subFiles != null) {
             for (File subFile : subFiles) {
@@ -68,11 +79,10 @@ public class SimpleFileScanner {
                     filesSet.add(subFile);
                 }
                 if (recursive && subFile.isDirectory()) {
-                    filesSet.addAll(this.scan(subFile, recursive, ioFileFilter));
+                    scan(subFile, recursive, ioFileFilter, filesSet);
                 }
             }
         }
-        return Collections.unmodifiableSet(filesSet);
     }
 
 }
@@ -5,10 +5,12 @@ package io.github.microsphere.commons.io.scanner;
 
 import io.github.microsphere.commons.constants.PathConstants;
 import io.github.microsphere.commons.filter.JarEntryFilter;
+import io.github.microsphere.commons.util.jar.JarCentralDirectory;
 import io.github.microsphere.commons.util.jar.JarUtils;
 import org.apache.commons.lang3.StringUtils;
 
 import javax.annotation.Nonnull;
+import java.io.File;
 import java.io.IOException;
 import java.net.URL;
 import java.util.Collections;
@@ -17,6 +19,7 @@ import java.util.List;
 import java.util.Set;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
+import java.util.zip.ZipException;
 
 /**
  * Simple {@link JarEntry} Scanner
@@ -74,8 +77,32 @@ public class SimpleJarEntryScanner {
     @Nonnull
     public Set<JarEntry> scan(URL jarURL, final boolean recursive, JarEntryFilter jarEntryFilter) throws NullPointerException, IllegalArgumentException, IOException {
         String relativePath = JarUtils.resolveRelativePath(jarURL);
-        JarFile jarFile = JarUtils.toJarFile(jarURL);
-        return scan(jarFile, relativePath, recursive, jarEntryFilter);
+        String jarAbsolutePath = JarUtils.resolveJarAbsolutePath(jarURL);
+        if (jarAbsolutePath != null) {
+            // Only the entries under the relative path are listed by the binary search of the central directory
+            try (JarCentralDirectory centralDirectory = JarCentralDirectory.open(new File(jarAbsolutePath))) {
+                return scan(centralDirectory, relativePath, recursive, jarEntryFilter);
+            } catch (ZipException e) {
+                // ZIP64 or the invalid central directory, falls back to JarFile
+            }
+        }
+        // The JarFile is opened by this method, thus it's closed once the entries are scanned
+        try (JarFile jarFile = JarUtils.toJarFile(jarURL)) {
+            return scan(jarFile, relativePath, recursive, jarEntryFilter);
+        }
+    }
+
+    protected Set<JarEntry> scan(JarCentralDirectory centralDirectory, String relativePath, final boolean recursive, JarEntryFilter jarEntryFilter) {
+        Set<JarEntry> jarEntriesSet = new LinkedHashSet<>();
+        for (JarCentralDirectory.Entry entry : centralDirectory.getEntries(relativePath)) {
+            if (accept(entry.getName(), entry.isDirectory(), relativePath, recursive)) {
+                JarEntry jarEntry = entry.toJarEntry();
+                if (jarEntryFilter == null || jarEntryFilter.accept(jarEntry)) {
+                    jarEntriesSet.add(jarEntry);
+                }
+            }
+        }
+        return Collections.unmodifiableSet(jarEntriesSet);
     }
 
 
@@ -109,25 +136,20 @@ public class SimpleJarEntryScanner {
         List<JarEntry> jarEntriesList = JarUtils.filter(jarFile, jarEntryFilter);
 
         for (JarEntry jarEntry : jarEntriesList) {
-            String jarEntryName = jarEntry.getName();
-
-            boolean accept = false;
-            if (recursive) {
-                accept = jarEntryName.startsWith(relativePath);
-            } else {
-                if (jarEntry.isDirectory()) {
-                    accept = jarEntryName.equals(relativePath);
-                } else {
-                    int beginIndex = jarEntryName.indexOf(relativePath);
-                    if (beginIndex == 0) {
-                        accept = jarEntryName.indexOf(PathConstants.SLASH, relativePath.length()) < 0;
-                    }
-                }
-            }
-            if (accept) {
+            if (accept(jarEntry.getName(), jarEntry.isDirectory(), relativePath, recursive)) {
                 jarEntriesSet.add(jarEntry);
             }
         }
         return Collections.unmodifiableSet(jarEntriesSet);
     }
+
+    private static boolean accept(String jarEntryName, boolean directory, String relativePath, boolean recursive) {
+        if (recursive) {
+            return jarEntryName.startsWith(relativePath);
+        }
+        if (directory) {
+            return jarEntryName.equals(relativePath);
+        }
+        return jarEntryName.startsWith(relativePath) && jarEntryName.indexOf(PathConstants.SLASH, relativePath.length()) < 0;
+    }
 }
@@ -10,6 +10,7 @@ import io.github.microsphere.commons.filter.ClassFileJarEntryFilter;
 import io.github.microsphere.commons.io.FileUtils;
 import io.github.microsphere.commons.io.scanner.SimpleFileScanner;
 import io.github.microsphere.commons.io.scanner.SimpleJarEntryScanner;
+import io.github.microsphere.commons.util.classpath.ClassPathCatalog;
 import org.apache.commons.io.filefilter.SuffixFileFilter;
 import org.apache.commons.lang3.StringUtils;
 
@@ -25,7 +26,8 @@ import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 
 /**
- * {@link Class} utility class
+ * {@link Class} utility class, the lookups of the class paths are delegated to the shared {@link ClassPathCatalog},
+ * which indexes the class paths on demand, thus nothing is scanned when this class is initialized.
  *
  * @author <a href="mercyblitz@gmail.com">Mercy<a/>
  * @version 1.0.0
@@ -34,66 +36,19 @@ import java.util.jar.JarFile;
  */
 public abstract class ClassUtils {
 
-    private static final Map<String, Set<String>> classPathToClassNamesMap = initClassPathToClassNamesMap();
-
-    private static final Map<String, String> classNameToClassPathsMap = initClassNameToClassPathsMap();
-
-    private static final Map<String, Set<String>> packageNameToClassNamesMap = initPackageNameToClassNamesMap();
-
     private ClassUtils() {
 
     }
 
-    private static Map<String, Set<String>> initClassPathToClassNamesMap() {
-        Map<String, Set<String>> classPathToClassNamesMap = new LinkedHashMap<>();
-        Set<String> classPaths = new LinkedHashSet<>();
-        classPaths.addAll(ClassPathUtils.getBootstrapClassPaths());
-        classPaths.addAll(ClassPathUtils.getClassPaths());
-        for (String classPath : classPaths) {
-            Set<String> classNames = findClassNamesInClassPath(classPath, true);
-            classPathToClassNamesMap.put(classPath, classNames);
-        }
-        return Collections.unmodifiableMap(classPathToClassNamesMap);
-    }
-
-    private static Map<String, String> initClassNameToClassPathsMap() {
-        Map<String, String> classNameToClassPathsMap = new LinkedHashMap<>();
-
-        for (Map.Entry<String, Set<String>> entry : classPathToClassNamesMap.entrySet()) {
-            String classPath = entry.getKey();
-            Set<String> classNames = entry.getValue();
-            for (String className : classNames) {
-                classNameToClassPathsMap.put(className, classPath);
-            }
-        }
-
-        return Collections.unmodifiableMap(classNameToClassPathsMap);
-    }
-
-    private static Map<String, Set<String>> initPackageNameToClassNamesMap() {
-        Map<String, Set<String>> packageNameToClassNamesMap = new LinkedHashMap();
-        for (Map.Entry<String, String> entry : classNameToClassPathsMap.entrySet()) {
-            String className = entry.getKey();
-            String packageName = resolvePackageName(className);
-            Set<String> classNamesInPackage = packageNameToClassNamesMap.get(packageName);
-            if (classNamesInPackage == null) {
-                classNamesInPackage = new LinkedHashSet();
-                packageNameToClassNamesMap.put(packageName, classNamesInPackage);
-            }
-            classNamesInPackage.add(className);
-        }
-
-        return Collections.unmodifiableMap(packageNameToClassNamesMap);
-    }
-
     /**
-     * Get all package names in {@link ClassPathUtils#getClassPaths() class paths}
+     * Get all package names in {@link ClassPathUtils#getClassPaths() class paths}, all class paths will be indexed
      *
      * @return all package names in class paths
+     * @see ClassPathCatalog#getPackageNames()
      */
     @Nonnull
     public static Set<String> getAllPackageNamesInClassPaths() {
-        return packageNameToClassNamesMap.keySet();
+        return ClassPathCatalog.getDefault().getPackageNames();
     }
 
     /**
@@ -145,7 +100,7 @@ public abstract class ClassUtils {
      */
     @Nullable
     public static String findClassPath(String className) {
-        return classNameToClassPathsMap.get(className);
+        return ClassPathCatalog.getDefault().findClassPath(className);
     }
 
     /**
@@ -157,11 +112,11 @@ public abstract class ClassUtils {
      */
     @Nonnull
     public static Set<String> getClassNamesInClassPath(String classPath, boolean recursive) {
-        Set<String> classNames = classPathToClassNamesMap.get(classPath);
-        if (CollectionUtils.isEmpty(classNames)) {
-            classNames = findClassNamesInClassPath(classPath, recursive);
+        ClassPathCatalog classPathCatalog = ClassPathCatalog.getDefault();
+        if (recursive && classPathCatalog.getClassPaths().contains(classPath)) {
+            return classPathCatalog.getClassNames(classPath);
         }
-        return classNames;
+        return findClassNamesInClassPath(classPath, recursive);
     }
 
     /**
@@ -183,8 +138,7 @@ public abstract class ClassUtils {
      */
     @Nonnull
     public static Set<String> getClassNamesInPackage(String packageName) {
-        Set<String> classNames = packageNameToClassNamesMap.get(packageName);
-        return classNames == null ? Collections.emptySet() : classNames;
+        return ClassPathCatalog.getDefault().getClassNamesInPackage(packageName);
     }
 
 
@@ -207,8 +161,7 @@ public abstract class ClassUtils {
         Set<String> classNames = new LinkedHashSet();
 
         SimpleJarEntryScanner simpleJarEntryScanner = SimpleJarEntryScanner.INSTANCE;
-        try {
-            JarFile jarFile_ = new JarFile(jarFile);
+        try (JarFile jarFile_ = new JarFile(jarFile)) {
             Set<JarEntry> jarEntries = simpleJarEntryScanner.scan(jarFile_, recursive, ClassFileJarEntryFilter.INSTANCE);
 
             for (JarEntry jarEntry : jarEntries) {
@@ -249,27 +202,23 @@ public abstract class ClassUtils {
 
     /**
      * The map of all class names in {@link ClassPathUtils#getClassPaths() class path} , the class path for one {@link
-     * JarFile} or classes directory as key , the class names set as value
+     * JarFile} or classes directory as key , the class names set as value, all class paths will be indexed
      *
      * @return Read-only
      */
     @Nonnull
     public static Map<String, Set<String>> getClassPathToClassNamesMap() {
-        return classPathToClassNamesMap;
+        return ClassPathCatalog.getDefault().getClassPathToClassNamesMap();
     }
 
     /**
-     * The set of all class names in {@link ClassPathUtils#getClassPaths() class path}
+     * The set of all class names in {@link ClassPathUtils#getClassPaths() class path}, all class paths will be indexed
      *
      * @return Read-only
      */
     @Nonnull
     public static Set<String> getAllClassNamesInClassPaths() {
-        Set<String> allClassNames = new LinkedHashSet();
-        for (Set<String> classNames : classPathToClassNamesMap.values()) {
-            allClassNames.addAll(classNames);
-        }
-        return Collections.unmodifiableSet(allClassNames);
+        return ClassPathCatalog.getDefault().getClassNames();
     }
 
 
@@ -0,0 +1,412 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microsphere.commons.util.classpath;
+
+import io.github.microsphere.commons.constants.FileSuffixConstants;
+import io.github.microsphere.commons.util.ClassPathUtils;
+import io.github.microsphere.commons.util.ClassUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.File;
+import java.io.IOException;
+import java.lang.ref.SoftReference;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.jar.JarFile;
+
+/**
+ * The catalogue of the classes in the class paths, which indexes the class path entries on demand rather than
+ * scanning the whole class paths up front :
+ * <ul>
+ *     <li>The lookups of the classes directories are resolved by the files of the package or class directly</li>
+ *     <li>The {@link JarFile} is indexed by its entries at the first lookup, and then it's closed</li>
+ * </ul>
+ * The {@link ClassPathEntryIndex indexes} are immutable and shared by all callers, they are softly referenced, thus
+ * the memory can be reclaimed under pressure when they are no longer used, and they will be indexed again on demand.
+ * <p>
+ * If the {@link ClassPathIndexFile persistent index file} is specified, the indexes of the {@link JarFile JarFiles}
+ * are loaded from it unless the {@link JarFile JarFiles} are modified, and the file is rewritten once all class paths
+ * are indexed, or it's {@link #store() stored} explicitly, thus only the modified {@link JarFile JarFiles} are indexed
+ * again after restart. The indexes of the classes directories are never persisted.
+ * <p>
+ * The aggregated names of all class paths are cached softly as well until the catalogue is {@link #clear() cleared}.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @version 1.0.0
+ * @see ClassPathEntryIndex
+ * @see ClassUtils
+ * @since 1.0.0
+ */
+public class ClassPathCatalog {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClassPathCatalog.class);
+
+    private final Set<String> classPaths;
+
+    /**
+     * The class paths in reverse order, the latter class path takes precedence in {@link #findClassPath(String)}
+     */
+    private final List<String> reversedClassPaths;
+
+    private final ConcurrentMap<String, SoftReference<ClassPathEntryIndex>> indexes;
+
+    private final File indexFile;
+
+    private ClassPathIndexFile persistentIndex;
+
+    private boolean persistentIndexLoaded;
+
+    private volatile boolean modified;
+
+    private volatile SoftReference<Set<String>> packageNamesReference;
+
+    private volatile SoftReference<Set<String>> classNamesReference;
+
+    private volatile SoftReference<Map<String, Set<String>>> classPathToClassNamesMapReference;
+
+    public ClassPathCatalog(Collection<String> classPaths) {
+        this(classPaths, null);
+    }
+
+    /**
+     * @param classPaths the class paths in order
+     * @param indexFile  the nullable {@link ClassPathIndexFile persistent index file}
+     */
+    public ClassPathCatalog(Collection<String> classPaths, @Nullable File indexFile) {
+        this.classPaths = Collections.unmodifiableSet(new LinkedHashSet<>(classPaths));
+        List<String> reversedClassPaths = new ArrayList<>(this.classPaths);
+        Collections.reverse(reversedClassPaths);
+        this.reversedClassPaths = reversedClassPaths;
+        this.indexes = new ConcurrentHashMap<>(this.classPaths.size());
+        this.indexFile = indexFile;
+    }
+
+    /**
+     * Get the shared {@link ClassPathCatalog} of the {@link ClassPathUtils#getBootstrapClassPaths() bootstrap class
+     * paths} and {@link ClassPathUtils#getClassPaths() class paths}, nothing is indexed until it's looked up.
+     *
+     * @return non-null
+     */
+    @Nonnull
+    public static ClassPathCatalog getDefault() {
+        return DefaultHolder.INSTANCE;
+    }
+
+    /**
+     * @return Read-only, the class paths in order
+     */
+    @Nonnull
+    public Set<String> getClassPaths() {
+        return classPaths;
+    }
+
+    /**
+     * Get the {@link ClassPathEntryIndex} of the class path entry, if the class path is not in the catalogue, the
+     * index is built and not cached.
+     *
+     * @param classPath the class path for one {@link JarFile} or classes directory
+     * @return non-null
+     */
+    @Nonnull
+    public ClassPathEntryIndex getIndex(String classPath) {
+        if (!classPaths.contains(classPath)) {
+            return ClassPathEntryIndex.build(classPath);
+        }
+        SoftReference<ClassPathEntryIndex> reference = indexes.get(classPath);
+        ClassPathEntryIndex index = reference == null ? null : reference.get();
+        if (index == null) {
+            // The class path entry is indexed out of the map, the index published first wins
+            index = loadOrBuild(classPath);
+            index = publish(classPath, index);
+        }
+        return index;
+    }
+
+    private ClassPathEntryIndex publish(String classPath, ClassPathEntryIndex index) {
+        SoftReference<ClassPathEntryIndex> newReference = new SoftReference<>(index);
+        while (true) {
+            SoftReference<ClassPathEntryIndex> reference = indexes.putIfAbsent(classPath, newReference);
+            if (reference == null) {
+                return index;
+            }
+            ClassPathEntryIndex current = reference.get();
+            if (current != null) {
+                return current;
+            }
+            // The published one was reclaimed
+            if (indexes.replace(classPath, reference, newReference)) {
+                return index;
+            }
+        }
+    }
+
+    private ClassPathEntryIndex loadOrBuild(String classPath) {
+        if (indexFile == null) {
+            return ClassPathEntryIndex.build(classPath);
+        }
+        File file = new File(classPath);
+        if (!file.isFile()) { // Directory or absent
+            return ClassPathEntryIndex.build(classPath);
+        }
+        ClassPathIndexFile persistentIndex = getPersistentIndex();
+        ClassPathEntryIndex index = persistentIndex == null ? null : persistentIndex.getIndex(classPath, file.length(), file.lastModified());
+        if (index == null) {
+            index = ClassPathEntryIndex.build(classPath);
+            modified = true;
+        }
+        return index;
+    }
+
+    private synchronized ClassPathIndexFile getPersistentIndex() {
+        if (!persistentIndexLoaded) {
+            persistentIndexLoaded = true;
+            if (indexFile.isFile()) {
+                try {
+                    persistentIndex = ClassPathIndexFile.load(indexFile);
+                } catch (IOException e) {
+                    logger.warn("The class path index file[{}] can't be loaded, it will be rewritten", indexFile, e);
+                    modified = true;
+                }
+            }
+        }
+        return persistentIndex;
+    }
+
+    /**
+     * Store the indexes of the {@link JarFile JarFiles} into the {@link ClassPathIndexFile persistent index file},
+     * the {@link JarFile JarFiles} that are not indexed yet are skipped.
+     *
+     * @return <code>true</code> if stored
+     */
+    public boolean store() {
+        if (indexFile == null) {
+            return false;
+        }
+        ClassPathIndexFile persistentIndex = getPersistentIndex();
+        List<ClassPathEntryIndex> fileIndexes = new ArrayList<>(classPaths.size());
+        for (String classPath : classPaths) {
+            SoftReference<ClassPathEntryIndex> reference = indexes.get(classPath);
+            ClassPathEntryIndex index = reference == null ? null : reference.get();
+            if (index == null && persistentIndex != null) {
+                index = persistentIndex.getIndex(classPath);
+            }
+            if (index != null && index.isUpToDate()) {
+                fileIndexes.add(index);
+            }
+        }
+        try {
+            modified = false;
+            ClassPathIndexFile.write(fileIndexes, indexFile);
+            logger.debug("The indexes of {} class paths were stored into the file[{}]", fileIndexes.size(), indexFile);
+            return true;
+        } catch (IOException e) {
+            modified = true;
+            logger.warn("The class path index file[{}] can't be written", indexFile, e);
+            return false;
+        }
+    }
+
+    /**
+     * Index all class path entries in parallel on the {@link java.util.concurrent.ForkJoinPool#commonPool() common pool}
+     */
+    private void indexAll() {
+        classPaths.parallelStream().forEach(this::getIndex);
+    }
+
+    private void storeIfModified() {
+        if (modified) {
+            store();
+        }
+    }
+
+    /**
+     * @param classPath the class path for one {@link JarFile} or classes directory
+     * @return Read-only, all class names in the class path entry
+     */
+    @Nonnull
+    public Set<String> getClassNames(String classPath) {
+        return getIndex(classPath).getClassNames();
+    }
+
+    /**
+     * Find the last class path that contains the class, the class paths are looked up in reverse order
+     *
+     * @param className the name of class
+     * @return <code>null</code> if not found
+     */
+    @Nullable
+    public String findClassPath(String className) {
+        String classFilePath = className.replace('.', File.separatorChar) + FileSuffixConstants.CLASS;
+        for (String classPath : reversedClassPaths) {
+            File classesFileHolder = new File(classPath);
+            if (classesFileHolder.isDirectory()) {
+                if (new File(classesFileHolder, classFilePath).isFile()) {
+                    return classPath;
+                }
+            } else if (getIndex(classPath).contains(className)) {
+                return classPath;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Get the class names in the package of all class paths
+     *
+     * @param packageName the name of package
+     * @return Read-only, the class names in the package excluding its sub-packages
+     */
+    @Nonnull
+    public Set<String> getClassNamesInPackage(String packageName) {
+        Set<String> classNames = new LinkedHashSet<>();
+        String packagePath = packageName.replace('.', File.separatorChar);
+        for (String classPath : classPaths) {
+            File classesFileHolder = new File(classPath);
+            if (classesFileHolder.isDirectory()) {
+                File[] classFiles = new File(classesFileHolder, packagePath).listFiles(file ->
+                        file.isFile() && file.getName().endsWith(FileSuffixConstants.CLASS));
+                if (classFiles != null) {
+                    for (File classFile : classFiles) {
+                        String simpleName = classFile.getName();
+                        classNames.add(packageName + '.' + simpleName.substring(0, simpleName.length() - FileSuffixConstants.CLASS.length()));
+                    }
+                }
+                // The class in the default package is resolved as its own package, see ClassUtils#resolvePackageName
+                if (packageName.indexOf('.') < 0 && new File(classesFileHolder, packageName + FileSuffixConstants.CLASS).isFile()) {
+                    classNames.add(packageName);
+                }
+            } else {
+                classNames.addAll(getIndex(classPath).getClassNames(packageName));
+            }
+        }
+        return Collections.unmodifiableSet(classNames);
+    }
+
+    /**
+     * Get all package names in the class paths, all class path entries will be indexed in parallel
+     *
+     * @return Read-only
+     */
+    @Nonnull
+    public Set<String> getPackageNames() {
+        Set<String> packageNames = get(packageNamesReference);
+        if (packageNames == null) {
+            indexAll();
+            packageNames = new LinkedHashSet<>();
+            for (String classPath : classPaths) {
+                packageNames.addAll(getIndex(classPath).getPackageNames());
+            }
+            storeIfModified();
+            packageNames = Collections.unmodifiableSet(packageNames);
+            packageNamesReference = new SoftReference<>(packageNames);
+        }
+        return packageNames;
+    }
+
+    /**
+     * Get all class names in the class paths, all class path entries will be indexed in parallel
+     *
+     * @return Read-only
+     */
+    @Nonnull
+    public Set<String> getClassNames() {
+        Set<String> classNames = get(classNamesReference);
+        if (classNames == null) {
+            indexAll();
+            classNames = new LinkedHashSet<>();
+            for (String classPath : classPaths) {
+                classNames.addAll(getIndex(classPath).getClassNames());
+            }
+            storeIfModified();
+            classNames = Collections.unmodifiableSet(classNames);
+            classNamesReference = new SoftReference<>(classNames);
+        }
+        return classNames;
+    }
+
+    /**
+     * Get the map of the class path as key and its class names as value, all class path entries will be indexed in parallel
+     *
+     * @return Read-only
+     */
+    @Nonnull
+    public Map<String, Set<String>> getClassPathToClassNamesMap() {
+        Map<String, Set<String>> classPathToClassNamesMap = get(classPathToClassNamesMapReference);
+        if (classPathToClassNamesMap == null) {
+            indexAll();
+            classPathToClassNamesMap = new LinkedHashMap<>(classPaths.size());
+            for (String classPath : classPaths) {
+                classPathToClassNamesMap.put(classPath, getIndex(classPath).getClassNames());
+            }
+            storeIfModified();
+            classPathToClassNamesMap = Collections.unmodifiableMap(classPathToClassNamesMap);
+            classPathToClassNamesMapReference = new SoftReference<>(classPathToClassNamesMap);
+        }
+        return classPathToClassNamesMap;
+    }
+
+    private static <T> T get(@Nullable SoftReference<T> reference) {
+        return reference == null ? null : reference.get();
+    }
+
+    /**
+     * @return the nullable {@link ClassPathIndexFile persistent index file}
+     */
+    @Nullable
+    public File getIndexFile() {
+        return indexFile;
+    }
+
+    /**
+     * Evict all indexes and the aggregated names, they will be indexed again on demand
+     */
+    public void clear() {
+        indexes.clear();
+        packageNamesReference = null;
+        classNamesReference = null;
+        classPathToClassNamesMapReference = null;
+    }
+
+    private static class DefaultHolder {
+
+        private static final ClassPathCatalog INSTANCE = new ClassPathCatalog(resolveDefaultClassPaths(), resolveIndexFile());
+
+        private static Set<String> resolveDefaultClassPaths() {
+            Set<String> classPaths = new LinkedHashSet<>();
+            classPaths.addAll(ClassPathUtils.getBootstrapClassPaths());
+            classPaths.addAll(ClassPathUtils.getClassPaths());
+            return classPaths;
+        }
+
+        private static File resolveIndexFile() {
+            String indexFilePath = System.getProperty(ClassPathIndexFile.FILE_PROPERTY_NAME);
+            return StringUtils.isBlank(indexFilePath) ? null : new File(indexFilePath);
+        }
+    }
+}
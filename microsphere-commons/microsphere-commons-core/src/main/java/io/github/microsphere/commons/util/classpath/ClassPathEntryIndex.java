@@ -0,0 +1,245 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microsphere.commons.util.classpath;
+
+import io.github.microsphere.commons.constants.FileSuffixConstants;
+import io.github.microsphere.commons.io.scanner.SimpleFileScanner;
+import io.github.microsphere.commons.util.ClassUtils;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.filefilter.SuffixFileFilter;
+import org.apache.commons.lang3.StringUtils;
+
+import javax.annotation.Nonnull;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+/**
+ * The immutable index of the class names in one class path entry, which is one {@link JarFile} or classes
+ * directory, the class names are grouped by their package names.
+ * <p>
+ * The {@link JarFile} is closed as soon as its entries are indexed, if the {@link JarFile} contains the build-time
+ * index {@link ClassPathIndexFile#META_INF_RESOURCE_NAME}, it's loaded instead of enumerating the entries.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @version 1.0.0
+ * @see ClassPathCatalog
+ * @since 1.0.0
+ */
+public class ClassPathEntryIndex {
+
+    private final String classPath;
+
+    private final long length;
+
+    private final long lastModified;
+
+    private final Set<String> classNames;
+
+    private final Map<String, Set<String>> packageNameToClassNamesMap;
+
+    /**
+     * @param classPath                  the class path for one {@link JarFile} or classes directory
+     * @param length                     the length of the class path file when it's indexed
+     * @param lastModified               the last modified time of the class path file when it's indexed
+     * @param packageNameToClassNamesMap the package name as key, the class names as value
+     */
+    public ClassPathEntryIndex(String classPath, long length, long lastModified, Map<String, Set<String>> packageNameToClassNamesMap) {
+        Set<String> classNames = new LinkedHashSet<>();
+        Map<String, Set<String>> packageNameToClassNames = new LinkedHashMap<>(packageNameToClassNamesMap.size());
+        for (Map.Entry<String, Set<String>> entry : packageNameToClassNamesMap.entrySet()) {
+            Set<String> classNamesInPackage = entry.getValue();
+            classNames.addAll(classNamesInPackage);
+            packageNameToClassNames.put(entry.getKey(), Collections.unmodifiableSet(classNamesInPackage));
+        }
+        this.classPath = classPath;
+        this.length = length;
+        this.lastModified = lastModified;
+        this.classNames = Collections.unmodifiableSet(classNames);
+        this.packageNameToClassNamesMap = Collections.unmodifiableMap(packageNameToClassNames);
+    }
+
+    ClassPathEntryIndex(String classPath, long length, long lastModified, ClassPathEntryIndex source) {
+        this.classPath = classPath;
+        this.length = length;
+        this.lastModified = lastModified;
+        this.classNames = source.classNames;
+        this.packageNameToClassNamesMap = source.packageNameToClassNamesMap;
+    }
+
+    /**
+     * Build the {@link ClassPathEntryIndex} of the class path entry
+     *
+     * @param classPath the class path for one {@link JarFile} or classes directory
+     * @return non-null, if the class path is neither a {@link JarFile} nor a directory, the index is empty
+     */
+    @Nonnull
+    public static ClassPathEntryIndex build(String classPath) {
+        Map<String, Set<String>> packageNameToClassNamesMap = new LinkedHashMap<>();
+        File classesFileHolder = new File(classPath); // JarFile or Directory
+        // The stamps are taken before indexing, thus the concurrent modification makes the index stale
+        long length = classesFileHolder.length();
+        long lastModified = classesFileHolder.lastModified();
+        if (classesFileHolder.isDirectory()) { //Directory
+            indexDirectory(classesFileHolder, packageNameToClassNamesMap);
+        } else if (classesFileHolder.isFile() && classPath.endsWith(FileSuffixConstants.JAR)) { //JarFile
+            ClassPathEntryIndex buildTimeIndex = indexJarFile(classesFileHolder, packageNameToClassNamesMap);
+            if (buildTimeIndex != null) {
+                return new ClassPathEntryIndex(classPath, length, lastModified, buildTimeIndex);
+            }
+        }
+        return new ClassPathEntryIndex(classPath, length, lastModified, packageNameToClassNamesMap);
+    }
+
+    private static void indexDirectory(File classesDirectory, Map<String, Set<String>> packageNameToClassNamesMap) {
+        Set<File> classFiles = SimpleFileScanner.INSTANCE.scan(classesDirectory, true, new SuffixFileFilter(FileSuffixConstants.CLASS));
+        String classesDirectoryPath = classesDirectory.getAbsolutePath();
+        for (File classFile : classFiles) {
+            String relativePath = StringUtils.substringAfter(classFile.getAbsolutePath(), classesDirectoryPath);
+            addClassName(ClassUtils.resolveClassName(relativePath.replace(File.separatorChar, '/')), packageNameToClassNamesMap);
+        }
+    }
+
+    private static ClassPathEntryIndex indexJarFile(File file, Map<String, Set<String>> packageNameToClassNamesMap) {
+        try (JarFile jarFile = new JarFile(file, false)) {
+            JarEntry indexEntry = jarFile.getJarEntry(ClassPathIndexFile.META_INF_RESOURCE_NAME);
+            if (indexEntry != null) {
+                try (InputStream inputStream = jarFile.getInputStream(indexEntry)) {
+                    ClassPathIndexFile indexFile = ClassPathIndexFile.read(ByteBuffer.wrap(IOUtils.toByteArray(inputStream)));
+                    ClassPathEntryIndex index = indexFile.getIndex(ClassPathIndexFile.SELF_CLASS_PATH);
+                    if (index != null) {
+                        return index;
+                    }
+                } catch (IOException ignored) {
+                    // The invalid build-time index is ignored, the entries will be enumerated
+                }
+            }
+            Enumeration<JarEntry> jarEntries = jarFile.entries();
+            while (jarEntries.hasMoreElements()) {
+                JarEntry jarEntry = jarEntries.nextElement();
+                String jarEntryName = jarEntry.getName();
+                if (!jarEntry.isDirectory() && jarEntryName.endsWith(FileSuffixConstants.CLASS)) {
+                    addClassName(ClassUtils.resolveClassName(jarEntryName), packageNameToClassNamesMap);
+                }
+            }
+        } catch (IOException ignored) {
+            // The invalid JarFile is indexed as empty
+        }
+        return null;
+    }
+
+    private static void addClassName(String className, Map<String, Set<String>> packageNameToClassNamesMap) {
+        if (StringUtils.isBlank(className)) {
+            return;
+        }
+        String packageName = ClassUtils.resolvePackageName(className);
+        packageNameToClassNamesMap.computeIfAbsent(packageName, name -> new LinkedHashSet<>()).add(className);
+    }
+
+    /**
+     * @return the class path for one {@link JarFile} or classes directory
+     */
+    public String getClassPath() {
+        return classPath;
+    }
+
+    /**
+     * @return the length of the class path file when it's indexed
+     */
+    public long getLength() {
+        return length;
+    }
+
+    /**
+     * @return the last modified time of the class path file when it's indexed
+     */
+    public long getLastModified() {
+        return lastModified;
+    }
+
+    /**
+     * Whether the class path entry is a file, e.g, {@link JarFile}, and it's not modified since it's indexed, the index
+     * of the classes directory is never up-to-date, because its last modified time doesn't reflect the changes of the
+     * nested files.
+     *
+     * @return <code>true</code> if up-to-date
+     */
+    public boolean isUpToDate() {
+        File file = new File(classPath);
+        return file.isFile() && file.length() == length && file.lastModified() == lastModified;
+    }
+
+    /**
+     * @return Read-only, all class names in the class path entry
+     */
+    @Nonnull
+    public Set<String> getClassNames() {
+        return classNames;
+    }
+
+    /**
+     * @return Read-only, all package names in the class path entry
+     */
+    @Nonnull
+    public Set<String> getPackageNames() {
+        return packageNameToClassNamesMap.keySet();
+    }
+
+    /**
+     * @param packageName the name of package
+     * @return Read-only, the class names in the package excluding its sub-packages
+     */
+    @Nonnull
+    public Set<String> getClassNames(String packageName) {
+        Set<String> classNames = packageNameToClassNamesMap.get(packageName);
+        return classNames == null ? Collections.emptySet() : classNames;
+    }
+
+    /**
+     * @param className the name of class
+     * @return <code>true</code> if the class path entry contains the class
+     */
+    public boolean contains(String className) {
+        return getClassNames(ClassUtils.resolvePackageName(className)).contains(className);
+    }
+
+    /**
+     * @return the count of the classes
+     */
+    public int size() {
+        return classNames.size();
+    }
+
+    @Override
+    public String toString() {
+        return new StringJoiner(", ", ClassPathEntryIndex.class.getSimpleName() + "[", "]")
+                .add("classPath='" + classPath + "'")
+                .add("classes=" + classNames.size())
+                .add("packages=" + packageNameToClassNamesMap.size())
+                .toString();
+    }
+}
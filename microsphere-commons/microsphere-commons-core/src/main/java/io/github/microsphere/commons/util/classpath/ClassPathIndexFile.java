@@ -0,0 +1,339 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microsphere.commons.util.classpath;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.Buffer;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.jar.JarFile;
+
+/**
+ * The compact binary file of the {@link ClassPathEntryIndex class path indexes}, which is keyed by the class path and
+ * the length and last modified time of its file. The file is memory-mapped, only the table of the class paths is
+ * parsed when it's loaded, the index of one class path is decoded when it's looked up.
+ * <p>
+ * The format(big-endian) :
+ * <pre>
+ * int     magic
+ * byte    version
+ * int     the count of the class paths
+ * [string the class path, long the length, long the last modified time, int the offset of the packages] ...
+ * [int    the count of the packages,
+ *   [string the package name, int the count of the classes, [string the class name without package name] ...] ...
+ * ] ...
+ * </pre>
+ * The string is the unsigned short of the length and the UTF-8 bytes.
+ * <p>
+ * The file also works as the build-time index {@link #META_INF_RESOURCE_NAME} inside the {@link JarFile}, whose class
+ * path is {@link #SELF_CLASS_PATH}, see {@link #generate(File)}.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @version 1.0.0
+ * @see ClassPathEntryIndex
+ * @see ClassPathCatalog
+ * @since 1.0.0
+ */
+public class ClassPathIndexFile {
+
+    /**
+     * The resource name of the build-time index inside the {@link JarFile}
+     */
+    public static final String META_INF_RESOURCE_NAME = "META-INF/microsphere/class-path.index";
+
+    /**
+     * The class path of the build-time index, which is the {@link JarFile} itself
+     */
+    public static final String SELF_CLASS_PATH = "";
+
+    /**
+     * The JVM system property name of the file path of the persistent index for the
+     * {@link ClassPathCatalog#getDefault() default catalogue}
+     */
+    public static final String FILE_PROPERTY_NAME = "microsphere.class-path.index.file";
+
+    static final int MAGIC = 0x4D534349;
+
+    static final byte VERSION = 1;
+
+    private final ByteBuffer buffer;
+
+    private final Map<String, Entry> entries;
+
+    private ClassPathIndexFile(ByteBuffer buffer, Map<String, Entry> entries) {
+        this.buffer = buffer;
+        this.entries = entries;
+    }
+
+    /**
+     * Load the {@link ClassPathIndexFile} by the memory mapping
+     *
+     * @param file the index file
+     * @return non-null
+     * @throws IOException if the file can't be read or it's malformed
+     */
+    @Nonnull
+    public static ClassPathIndexFile load(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            // The mapping is still valid after the channel is closed
+            return read(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Read the {@link ClassPathIndexFile} from the {@link ByteBuffer}, only the table of the class paths is parsed
+     *
+     * @param buffer {@link ByteBuffer}
+     * @return non-null
+     * @throws IOException if the content is malformed
+     */
+    @Nonnull
+    public static ClassPathIndexFile read(ByteBuffer buffer) throws IOException {
+        ByteBuffer source = buffer.duplicate();
+        try {
+            if (source.getInt() != MAGIC) {
+                throw new IOException("The content is not the class path index");
+            }
+            byte version = source.get();
+            if (version != VERSION) {
+                throw new IOException("The version of the class path index is unsupported : " + version);
+            }
+            int count = source.getInt();
+            Map<String, Entry> entries = new LinkedHashMap<>(count * 4 / 3 + 1);
+            for (int i = 0; i < count; i++) {
+                String classPath = readString(source);
+                entries.put(classPath, new Entry(source.getLong(), source.getLong(), source.getInt()));
+            }
+            return new ClassPathIndexFile(source, entries);
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            throw new IOException("The class path index is malformed", e);
+        }
+    }
+
+    /**
+     * @return Read-only, the class paths in the file
+     */
+    @Nonnull
+    public Set<String> getClassPaths() {
+        return Collections.unmodifiableSet(entries.keySet());
+    }
+
+    /**
+     * Get the {@link ClassPathEntryIndex} of the class path regardless of its modification
+     *
+     * @param classPath the class path
+     * @return <code>null</code> if absent or malformed
+     */
+    @Nullable
+    public ClassPathEntryIndex getIndex(String classPath) {
+        Entry entry = entries.get(classPath);
+        return entry == null ? null : decode(classPath, entry);
+    }
+
+    /**
+     * Get the {@link ClassPathEntryIndex} of the class path if its file is not modified
+     *
+     * @param classPath    the class path
+     * @param length       the current length of the class path file
+     * @param lastModified the current last modified time of the class path file
+     * @return <code>null</code> if absent, stale or malformed
+     */
+    @Nullable
+    public ClassPathEntryIndex getIndex(String classPath, long length, long lastModified) {
+        Entry entry = entries.get(classPath);
+        if (entry == null || entry.length != length || entry.lastModified != lastModified) {
+            return null;
+        }
+        return decode(classPath, entry);
+    }
+
+    private ClassPathEntryIndex decode(String classPath, Entry entry) {
+        // The duplicate keeps the position of the shared buffer intact for the concurrent lookups
+        ByteBuffer source = buffer.duplicate();
+        try {
+            ((Buffer) source).position(entry.offset);
+            int packageCount = source.getInt();
+            Map<String, Set<String>> packageNameToClassNamesMap = new LinkedHashMap<>(packageCount * 4 / 3 + 1);
+            for (int i = 0; i < packageCount; i++) {
+                String packageName = readString(source);
+                int classCount = source.getInt();
+                Set<String> classNames = new LinkedHashSet<>(classCount * 4 / 3 + 1);
+                for (int j = 0; j < classCount; j++) {
+                    classNames.add(packageName.concat(readString(source)));
+                }
+                packageNameToClassNamesMap.put(packageName, classNames);
+            }
+            return new ClassPathEntryIndex(classPath, entry.length, entry.lastModified, packageNameToClassNamesMap);
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Write the {@link ClassPathEntryIndex indexes} into the file, the file is replaced atomically if supported
+     *
+     * @param indexes {@link ClassPathEntryIndex indexes}
+     * @param file    the index file
+     * @throws IOException if the file can't be written
+     */
+    public static void write(Collection<ClassPathEntryIndex> indexes, File file) throws IOException {
+        File directory = file.getAbsoluteFile().getParentFile();
+        if (directory != null && !directory.exists()) {
+            directory.mkdirs();
+        }
+        File tempFile = File.createTempFile(file.getName(), ".tmp", directory);
+        try {
+            try (OutputStream outputStream = new BufferedOutputStream(new FileOutputStream(tempFile))) {
+                write(indexes, outputStream);
+            }
+            try {
+                Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            tempFile.delete();
+        }
+    }
+
+    /**
+     * Write the {@link ClassPathEntryIndex indexes} into the {@link OutputStream}
+     *
+     * @param indexes      {@link ClassPathEntryIndex indexes}
+     * @param outputStream {@link OutputStream}, it will not be closed
+     * @throws IOException if the stream can't be written
+     */
+    public static void write(Collection<ClassPathEntryIndex> indexes, OutputStream outputStream) throws IOException {
+        ByteArrayOutputStream headerBytes = new ByteArrayOutputStream();
+        ByteArrayOutputStream bodyBytes = new ByteArrayOutputStream();
+        DataOutputStream header = new DataOutputStream(headerBytes);
+        DataOutputStream body = new DataOutputStream(bodyBytes);
+
+        header.writeInt(MAGIC);
+        header.writeByte(VERSION);
+        header.writeInt(indexes.size());
+        int[] offsets = new int[indexes.size()];
+        int i = 0;
+        for (ClassPathEntryIndex index : indexes) {
+            writeString(index.getClassPath(), header);
+            header.writeLong(index.getLength());
+            header.writeLong(index.getLastModified());
+            header.writeInt(0); // The placeholder of offset
+            offsets[i++] = body.size();
+
+            Set<String> packageNames = index.getPackageNames();
+            body.writeInt(packageNames.size());
+            for (String packageName : packageNames) {
+                Set<String> classNames = index.getClassNames(packageName);
+                writeString(packageName, body);
+                body.writeInt(classNames.size());
+                for (String className : classNames) {
+                    writeString(className.substring(packageName.length()), body);
+                }
+            }
+        }
+
+        // Fill the offsets of the packages, which are placed after the header
+        ByteBuffer headerBuffer = ByteBuffer.wrap(headerBytes.toByteArray());
+        ((Buffer) headerBuffer).position(4 + 1 + 4);
+        for (int offset : offsets) {
+            readString(headerBuffer);
+            ((Buffer) headerBuffer).position(headerBuffer.position() + 8 + 8);
+            headerBuffer.putInt(headerBuffer.capacity() + offset);
+        }
+
+        outputStream.write(headerBuffer.array());
+        bodyBytes.writeTo(outputStream);
+        outputStream.flush();
+    }
+
+    /**
+     * Generate the build-time index {@link #META_INF_RESOURCE_NAME} of the classes directory, which should be invoked
+     * before the directory is packaged as the {@link JarFile}
+     *
+     * @param classesDirectory the classes directory
+     * @return the generated index file
+     * @throws IOException if the file can't be written
+     */
+    @Nonnull
+    public static File generate(File classesDirectory) throws IOException {
+        ClassPathEntryIndex index = ClassPathEntryIndex.build(classesDirectory.getAbsolutePath());
+        File file = new File(classesDirectory, META_INF_RESOURCE_NAME);
+        write(Collections.singleton(new ClassPathEntryIndex(SELF_CLASS_PATH, 0L, 0L, index)), file);
+        return file;
+    }
+
+    private static void writeString(String value, DataOutputStream outputStream) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > 0xFFFF) {
+            throw new IOException("The string is too long : " + value);
+        }
+        outputStream.writeShort(bytes.length);
+        outputStream.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getShort() & 0xFFFF;
+        if (length > buffer.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        String value;
+        if (buffer.hasArray()) {
+            value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+            ((Buffer) buffer).position(buffer.position() + length);
+        } else {
+            byte[] bytes = new byte[length];
+            buffer.get(bytes);
+            value = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return value;
+    }
+
+    private static class Entry {
+
+        private final long length;
+
+        private final long lastModified;
+
+        private final int offset;
+
+        private Entry(long length, long lastModified, int offset) {
+            this.length = length;
+            this.lastModified = lastModified;
+            this.offset = offset;
+        }
+    }
+}
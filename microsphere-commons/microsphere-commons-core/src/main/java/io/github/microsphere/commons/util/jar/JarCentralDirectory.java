@@ -0,0 +1,511 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microsphere.commons.util.jar;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+
+/**
+ * The read-only view of the {@link JarFile} by its zip central directory, which is memory-mapped and parsed into the
+ * table of the entries sorted by name, nothing is inflated, thus the entries under the directory(prefix) are found by
+ * the binary search rather than the full enumeration.
+ * <p>
+ * The views are shared and reference-counted, {@link #open(File)} retains the cached view of the same file if it's not
+ * modified, and {@link #close()} releases it, the view is evicted from the cache once it's not referenced.
+ * <p>
+ * ZIP64 is unsupported, {@link #open(File)} throws {@link ZipException} for it, and the caller should fall back to
+ * {@link JarFile}.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @version 1.0.0
+ * @see JarUtils
+ * @see JarFile
+ * @since 1.0.0
+ */
+public class JarCentralDirectory implements Closeable {
+
+    private static final int END_SIGNATURE = 0x06054b50;
+
+    private static final int END_LENGTH = 22;
+
+    private static final int MAX_COMMENT_LENGTH = 0xFFFF;
+
+    private static final int CENTRAL_SIGNATURE = 0x02014b50;
+
+    private static final int CENTRAL_HEADER_LENGTH = 46;
+
+    private static final int LOCAL_SIGNATURE = 0x04034b50;
+
+    private static final int LOCAL_HEADER_LENGTH = 30;
+
+    private static final ConcurrentMap<String, JarCentralDirectory> cache = new ConcurrentHashMap<>();
+
+    private final String path;
+
+    private final File file;
+
+    private final long length;
+
+    private final long lastModified;
+
+    private final Entry[] entries;
+
+    private final List<Entry> entriesList;
+
+    private final AtomicInteger references = new AtomicInteger(1);
+
+    private volatile MappedByteBuffer contentBuffer;
+
+    private JarCentralDirectory(String path, File file) throws IOException {
+        this.path = path;
+        this.file = file;
+        this.length = file.length();
+        this.lastModified = file.lastModified();
+        this.entries = readEntries(file);
+        this.entriesList = Collections.unmodifiableList(Arrays.asList(entries));
+    }
+
+    /**
+     * Open the shared {@link JarCentralDirectory} of the {@link JarFile}, it must be {@link #close() closed} after use
+     *
+     * @param file the file of {@link JarFile}
+     * @return non-null
+     * @throws IOException  if the file can't be read
+     * @throws ZipException if the file is not the valid zip file or it's ZIP64
+     */
+    @Nonnull
+    public static JarCentralDirectory open(File file) throws IOException {
+        String path = file.getCanonicalPath();
+        while (true) {
+            JarCentralDirectory cached = cache.get(path);
+            if (cached != null && cached.isUpToDate() && cached.retain()) {
+                return cached;
+            }
+            JarCentralDirectory centralDirectory = new JarCentralDirectory(path, file);
+            boolean cachedNow = cached == null ? cache.putIfAbsent(path, centralDirectory) == null :
+                    cache.replace(path, cached, centralDirectory);
+            if (cachedNow) {
+                return centralDirectory;
+            }
+        }
+    }
+
+    private boolean isUpToDate() {
+        return file.length() == length && file.lastModified() == lastModified;
+    }
+
+    private boolean retain() {
+        int count;
+        do {
+            count = references.get();
+            if (count <= 0) { // Closed
+                return false;
+            }
+        } while (!references.compareAndSet(count, count + 1));
+        return true;
+    }
+
+    /**
+     * Release the reference, the view is evicted from the cache once it's not referenced
+     */
+    @Override
+    public void close() {
+        if (references.decrementAndGet() == 0) {
+            cache.remove(path, this);
+            contentBuffer = null;
+        }
+    }
+
+    private static Entry[] readEntries(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < END_LENGTH) {
+                throw new ZipException("The file is not a zip file : " + file);
+            }
+            // Find the end of central directory record backwards, which may be followed by the comment
+            long tailPosition = Math.max(0, size - END_LENGTH - MAX_COMMENT_LENGTH);
+            ByteBuffer tail = channel.map(FileChannel.MapMode.READ_ONLY, tailPosition, size - tailPosition).order(ByteOrder.LITTLE_ENDIAN);
+            int endPosition = -1;
+            for (int i = tail.limit() - END_LENGTH; i >= 0; i--) {
+                if (tail.getInt(i) == END_SIGNATURE) {
+                    endPosition = i;
+                    break;
+                }
+            }
+            if (endPosition < 0) {
+                throw new ZipException("The end of central directory is not found : " + file);
+            }
+            int count = tail.getShort(endPosition + 10) & 0xFFFF;
+            long centralSize = tail.getInt(endPosition + 12) & 0xFFFFFFFFL;
+            long centralOffset = tail.getInt(endPosition + 16) & 0xFFFFFFFFL;
+            if (count == 0xFFFF || centralSize == 0xFFFFFFFFL || centralOffset == 0xFFFFFFFFL) {
+                throw new ZipException("ZIP64 is unsupported : " + file);
+            }
+            if (centralOffset + centralSize > tailPosition + endPosition) {
+                throw new ZipException("The central directory is malformed : " + file);
+            }
+            ByteBuffer central = channel.map(FileChannel.MapMode.READ_ONLY, centralOffset, centralSize).order(ByteOrder.LITTLE_ENDIAN);
+            return parseEntries(central, count, file);
+        }
+    }
+
+    private static Entry[] parseEntries(ByteBuffer central, int count, File file) throws ZipException {
+        Entry[] entries = new Entry[count];
+        int position = 0;
+        byte[] nameBytes = new byte[256];
+        for (int i = 0; i < count; i++) {
+            if (position + CENTRAL_HEADER_LENGTH > central.limit() || central.getInt(position) != CENTRAL_SIGNATURE) {
+                throw new ZipException("The central directory is malformed : " + file);
+            }
+            int method = central.getShort(position + 10) & 0xFFFF;
+            long dosTime = central.getInt(position + 12) & 0xFFFFFFFFL;
+            long crc = central.getInt(position + 16) & 0xFFFFFFFFL;
+            long compressedSize = central.getInt(position + 20) & 0xFFFFFFFFL;
+            long size = central.getInt(position + 24) & 0xFFFFFFFFL;
+            int nameLength = central.getShort(position + 28) & 0xFFFF;
+            int extraLength = central.getShort(position + 30) & 0xFFFF;
+            int commentLength = central.getShort(position + 32) & 0xFFFF;
+            long localHeaderOffset = central.getInt(position + 42) & 0xFFFFFFFFL;
+            if (position + CENTRAL_HEADER_LENGTH + nameLength > central.limit()) {
+                throw new ZipException("The central directory is malformed : " + file);
+            }
+            if (nameBytes.length < nameLength) {
+                nameBytes = new byte[nameLength];
+            }
+            ((Buffer) central).position(position + CENTRAL_HEADER_LENGTH);
+            central.get(nameBytes, 0, nameLength);
+            String name = new String(nameBytes, 0, nameLength, StandardCharsets.UTF_8);
+            entries[i] = new Entry(name, method, dosTime, crc, compressedSize, size, localHeaderOffset);
+            position += CENTRAL_HEADER_LENGTH + nameLength + extraLength + commentLength;
+        }
+        Arrays.sort(entries);
+        return entries;
+    }
+
+    /**
+     * @return the file of {@link JarFile}
+     */
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * @return the count of entries
+     */
+    public int size() {
+        return entries.length;
+    }
+
+    /**
+     * @return Read-only, all entries sorted by name
+     */
+    @Nonnull
+    public List<Entry> getEntries() {
+        return entriesList;
+    }
+
+    /**
+     * Get the entries whose names start with the prefix by the binary search
+     *
+     * @param prefix the prefix of names, e.g, the directory "META-INF/"
+     * @return Read-only, the entries sorted by name
+     */
+    @Nonnull
+    public List<Entry> getEntries(String prefix) {
+        if (prefix.isEmpty()) {
+            return entriesList;
+        }
+        int fromIndex = lowerBound(prefix);
+        int toIndex = fromIndex;
+        while (toIndex < entries.length && entries[toIndex].name.startsWith(prefix)) {
+            toIndex++;
+        }
+        return entriesList.subList(fromIndex, toIndex);
+    }
+
+    /**
+     * @param name the name of entry
+     * @return <code>null</code> if not found
+     */
+    @Nullable
+    public Entry getEntry(String name) {
+        int index = lowerBound(name);
+        return index < entries.length && entries[index].name.equals(name) ? entries[index] : null;
+    }
+
+    private int lowerBound(String name) {
+        int low = 0;
+        int high = entries.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (entries[middle].name.compareTo(name) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Get the raw data of the entry from the memory-mapped file, which is compressed if the method of entry is
+     * {@link ZipEntry#DEFLATED}
+     *
+     * @param entry the entry of this view
+     * @return the read-only {@link ByteBuffer} that is independent of others
+     * @throws IOException if the entry can't be read
+     */
+    @Nonnull
+    public ByteBuffer getData(Entry entry) throws IOException {
+        ByteBuffer content = getContentBuffer().duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        long offset = entry.localHeaderOffset;
+        if (offset + LOCAL_HEADER_LENGTH > content.limit() || content.getInt((int) offset) != LOCAL_SIGNATURE) {
+            throw new ZipException("The local header of entry[" + entry.name + "] is malformed : " + file);
+        }
+        int nameLength = content.getShort((int) offset + 26) & 0xFFFF;
+        int extraLength = content.getShort((int) offset + 28) & 0xFFFF;
+        long dataOffset = offset + LOCAL_HEADER_LENGTH + nameLength + extraLength;
+        if (dataOffset + entry.compressedSize > content.limit()) {
+            throw new ZipException("The content of entry[" + entry.name + "] is malformed : " + file);
+        }
+        ((Buffer) content).limit((int) (dataOffset + entry.compressedSize));
+        ((Buffer) content).position((int) dataOffset);
+        return content.slice().asReadOnlyBuffer();
+    }
+
+    /**
+     * Get the {@link InputStream} of the entry's content from the memory-mapped file, which is thread-safe, thus the
+     * entries can be read concurrently
+     *
+     * @param entry the entry of this view
+     * @return non-null
+     * @throws IOException if the entry can't be read
+     */
+    @Nonnull
+    public InputStream getInputStream(Entry entry) throws IOException {
+        ByteBuffer data = getData(entry);
+        switch (entry.method) {
+            case ZipEntry.STORED:
+                return new ByteBufferInputStream(data, false);
+            case ZipEntry.DEFLATED:
+                // The dummy byte is required by the Inflater in the "nowrap" mode
+                return new InflaterInputStream(new ByteBufferInputStream(data, true), new Inflater(true)) {
+                    @Override
+                    public void close() throws IOException {
+                        super.close();
+                        inf.end();
+                    }
+                };
+            default:
+                throw new ZipException("The compression method[" + entry.method + "] of entry[" + entry.name + "] is unsupported");
+        }
+    }
+
+    private MappedByteBuffer getContentBuffer() throws IOException {
+        MappedByteBuffer buffer = contentBuffer;
+        if (buffer == null) {
+            synchronized (this) {
+                buffer = contentBuffer;
+                if (buffer == null) {
+                    try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+                        if (channel.size() > Integer.MAX_VALUE) {
+                            throw new ZipException("The file is too large to be mapped : " + file);
+                        }
+                        buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                        contentBuffer = buffer;
+                    }
+                }
+            }
+        }
+        return buffer;
+    }
+
+    @Override
+    public String toString() {
+        return "JarCentralDirectory[file='" + file + "', entries=" + entries.length + ", references=" + references.get() + "]";
+    }
+
+    /**
+     * The entry of the zip central directory
+     */
+    public static class Entry implements Comparable<Entry> {
+
+        private final String name;
+
+        private final int method;
+
+        private final long dosTime;
+
+        private final long crc;
+
+        private final long compressedSize;
+
+        private final long size;
+
+        private final long localHeaderOffset;
+
+        private Entry(String name, int method, long dosTime, long crc, long compressedSize, long size, long localHeaderOffset) {
+            this.name = name;
+            this.method = method;
+            this.dosTime = dosTime;
+            this.crc = crc;
+            this.compressedSize = compressedSize;
+            this.size = size;
+            this.localHeaderOffset = localHeaderOffset;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public boolean isDirectory() {
+            return name.endsWith("/");
+        }
+
+        /**
+         * @return {@link ZipEntry#STORED} or {@link ZipEntry#DEFLATED}
+         */
+        public int getMethod() {
+            return method;
+        }
+
+        public long getCrc() {
+            return crc;
+        }
+
+        public long getCompressedSize() {
+            return compressedSize;
+        }
+
+        public long getSize() {
+            return size;
+        }
+
+        /**
+         * @return the last modification time in milliseconds
+         */
+        public long getTime() {
+            LocalDateTime dateTime = LocalDateTime.of((int) ((dosTime >> 25) & 0x7F) + 1980, (int) ((dosTime >> 21) & 0x0F),
+                    (int) ((dosTime >> 16) & 0x1F), (int) ((dosTime >> 11) & 0x1F), (int) ((dosTime >> 5) & 0x3F),
+                    (int) ((dosTime << 1) & 0x3E));
+            return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        }
+
+        /**
+         * Convert to {@link JarEntry}, the attributes and certificates are not available
+         *
+         * @return non-null
+         */
+        @Nonnull
+        public JarEntry toJarEntry() {
+            JarEntry jarEntry = new JarEntry(name);
+            jarEntry.setMethod(method);
+            jarEntry.setCrc(crc);
+            jarEntry.setCompressedSize(compressedSize);
+            jarEntry.setSize(size);
+            try {
+                jarEntry.setTime(getTime());
+            } catch (RuntimeException ignored) {
+                // The invalid DOS time is ignored
+            }
+            return jarEntry;
+        }
+
+        @Override
+        public int compareTo(Entry other) {
+            return name.compareTo(other.name);
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    private static class ByteBufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        private boolean dummy;
+
+        private ByteBufferInputStream(ByteBuffer buffer, boolean dummy) {
+            this.buffer = buffer;
+            this.dummy = dummy;
+        }
+
+        @Override
+        public int read() {
+            if (buffer.hasRemaining()) {
+                return buffer.get() & 0xFF;
+            }
+            if (dummy) {
+                dummy = false;
+                return 0;
+            }
+            return -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            int remaining = buffer.remaining();
+            if (remaining == 0) {
+                int b = read();
+                if (b < 0) {
+                    return -1;
+                }
+                bytes[offset] = (byte) b;
+                return 1;
+            }
+            int count = Math.min(length, remaining);
+            buffer.get(bytes, offset, count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining() + (dummy ? 1 : 0);
+        }
+    }
+}
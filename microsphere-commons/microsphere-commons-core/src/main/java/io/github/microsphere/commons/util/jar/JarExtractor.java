@@ -0,0 +1,322 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microsphere.commons.util.jar;
+
+import io.github.microsphere.commons.filter.JarEntryFilter;
+
+import javax.annotation.Nullable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+
+/**
+ * The parallel extractor of {@link JarFile}, the entries are partitioned by their sizes across the tasks of
+ * {@link ForkJoinPool}, and all directories are created up front.
+ * <p>
+ * The entries are read from the {@link JarCentralDirectory memory-mapped jar}, the stored entries are written from the
+ * mapped buffers directly, and the deflated ones are inflated and transferred by
+ * {@link FileChannel#transferFrom(ReadableByteChannel, long, long)}. If the central directory is unsupported, the
+ * entries are read from {@link JarFile} instead.
+ * <p>
+ * If the extraction is incremental, the target file whose size and CRC are same as the entry's is skipped.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @version 1.0.0
+ * @see JarUtils#extract(File, File, JarEntryFilter)
+ * @see JarCentralDirectory
+ * @since 1.0.0
+ */
+public class JarExtractor {
+
+    /**
+     * The non-incremental {@link JarExtractor} on {@link ForkJoinPool#commonPool()}
+     */
+    public static final JarExtractor INSTANCE = new JarExtractor(ForkJoinPool.commonPool(), false);
+
+    /**
+     * The entries are not partitioned any more if their total size is not larger than it
+     */
+    private static final long PARTITION_SIZE = 1024 * 1024;
+
+    /**
+     * The size of the buffer to read the target file for its CRC
+     */
+    private static final int BUFFER_SIZE = 8192;
+
+    private final ForkJoinPool forkJoinPool;
+
+    private final boolean incremental;
+
+    /**
+     * @param forkJoinPool the {@link ForkJoinPool} to extract the entries
+     * @param incremental  whether the unchanged target files are skipped or not
+     */
+    public JarExtractor(ForkJoinPool forkJoinPool, boolean incremental) {
+        this.forkJoinPool = forkJoinPool;
+        this.incremental = incremental;
+    }
+
+    /**
+     * Extract the entries of source {@link JarFile} to target directory
+     *
+     * @param jarSourceFile   the source {@link JarFile}
+     * @param targetDirectory target directory
+     * @param jarEntryFilter  the nullable {@link JarEntryFilter}
+     * @param listener        the nullable {@link ProgressListener}
+     * @throws IOException When the source jar file is an invalid {@link JarFile} or the entry can't be extracted
+     */
+    public void extract(File jarSourceFile, File targetDirectory, @Nullable JarEntryFilter jarEntryFilter,
+                        @Nullable ProgressListener listener) throws IOException {
+        extract(jarSourceFile, "", targetDirectory, jarEntryFilter, listener);
+    }
+
+    /**
+     * Extract the entries under the relative path of source {@link JarFile} to target directory
+     *
+     * @param jarSourceFile   the source {@link JarFile}
+     * @param relativePath    the prefix of the entries' names, the empty string means all entries
+     * @param targetDirectory target directory
+     * @param jarEntryFilter  the nullable {@link JarEntryFilter}
+     * @param listener        the nullable {@link ProgressListener}
+     * @throws IOException When the source jar file is an invalid {@link JarFile} or the entry can't be extracted
+     */
+    public void extract(File jarSourceFile, String relativePath, File targetDirectory,
+                        @Nullable JarEntryFilter jarEntryFilter, @Nullable ProgressListener listener) throws IOException {
+        try (JarCentralDirectory centralDirectory = JarCentralDirectory.open(jarSourceFile)) {
+            List<JarEntry> jarEntries = filter(centralDirectory, relativePath, jarEntryFilter);
+            extract(jarEntries, targetDirectory, listener, (jarEntry, channel) -> {
+                JarCentralDirectory.Entry entry = centralDirectory.getEntry(jarEntry.getName());
+                if (entry.getMethod() == ZipEntry.STORED) {
+                    ByteBuffer data = centralDirectory.getData(entry);
+                    while (data.hasRemaining()) {
+                        channel.write(data);
+                    }
+                } else {
+                    try (InputStream inputStream = centralDirectory.getInputStream(entry)) {
+                        transfer(inputStream, channel);
+                    }
+                }
+            });
+        } catch (ZipException e) {
+            // ZIP64 or the malformed zip, falls back to JarFile
+            try (JarFile jarFile = new JarFile(jarSourceFile)) {
+                List<JarEntry> jarEntries = filter(jarFile, relativePath, jarEntryFilter);
+                extract(jarEntries, targetDirectory, listener, (jarEntry, channel) -> {
+                    try (InputStream inputStream = jarFile.getInputStream(jarEntry)) {
+                        transfer(inputStream, channel);
+                    }
+                });
+            }
+        }
+    }
+
+    private static List<JarEntry> filter(JarCentralDirectory centralDirectory, String relativePath,
+                                         JarEntryFilter jarEntryFilter) {
+        List<JarCentralDirectory.Entry> entries = centralDirectory.getEntries(relativePath);
+        List<JarEntry> jarEntries = new ArrayList<>(entries.size());
+        for (JarCentralDirectory.Entry entry : entries) {
+            JarEntry jarEntry = entry.toJarEntry();
+            if (jarEntryFilter == null || jarEntryFilter.accept(jarEntry)) {
+                jarEntries.add(jarEntry);
+            }
+        }
+        return jarEntries;
+    }
+
+    private static List<JarEntry> filter(JarFile jarFile, String relativePath, JarEntryFilter jarEntryFilter) {
+        List<JarEntry> jarEntries = new ArrayList<>();
+        Enumeration<JarEntry> entries = jarFile.entries();
+        while (entries.hasMoreElements()) {
+            JarEntry jarEntry = entries.nextElement();
+            if (jarEntry.getName().startsWith(relativePath) && (jarEntryFilter == null || jarEntryFilter.accept(jarEntry))) {
+                jarEntries.add(jarEntry);
+            }
+        }
+        return jarEntries;
+    }
+
+    private void extract(List<JarEntry> jarEntries, File targetDirectory, ProgressListener listener,
+                         EntryWriter entryWriter) throws IOException {
+        Path targetPath = targetDirectory.toPath().toAbsolutePath().normalize();
+        File[] targetFiles = new File[jarEntries.size()];
+        Set<File> directories = new TreeSet<>();
+        for (int i = 0; i < targetFiles.length; i++) {
+            JarEntry jarEntry = jarEntries.get(i);
+            Path path = targetPath.resolve(jarEntry.getName()).normalize();
+            if (!path.startsWith(targetPath)) {
+                throw new IOException("The entry[" + jarEntry.getName() + "] is outside of the target directory : " + targetDirectory);
+            }
+            File targetFile = path.toFile();
+            targetFiles[i] = targetFile;
+            directories.add(jarEntry.isDirectory() ? targetFile : targetFile.getParentFile());
+        }
+        for (File directory : directories) {
+            if (!directory.isDirectory() && !directory.mkdirs() && !directory.isDirectory()) {
+                throw new IOException("The directory can't be created : " + directory);
+            }
+        }
+        Extraction extraction = new Extraction(jarEntries, targetFiles, listener, entryWriter);
+        try {
+            forkJoinPool.invoke(new ExtractionTask(extraction, 0, targetFiles.length));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private boolean isUnchanged(JarEntry jarEntry, File targetFile) throws IOException {
+        if (!incremental || !targetFile.isFile() || targetFile.length() != jarEntry.getSize()) {
+            return false;
+        }
+        // The target file is read by the stream rather than being mapped, the mapping is never unmapped until GC
+        try (InputStream inputStream = new FileInputStream(targetFile)) {
+            CRC32 crc = new CRC32();
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int length;
+            while ((length = inputStream.read(buffer)) != -1) {
+                crc.update(buffer, 0, length);
+            }
+            return crc.getValue() == jarEntry.getCrc();
+        }
+    }
+
+    private static void transfer(InputStream inputStream, FileChannel channel) throws IOException {
+        ReadableByteChannel source = Channels.newChannel(inputStream);
+        long position = 0;
+        long count;
+        while ((count = channel.transferFrom(source, position, Long.MAX_VALUE - position)) > 0) {
+            position += count;
+        }
+    }
+
+    /**
+     * The listener of the extraction progress, it's invoked by the multiple threads concurrently, thus it must be
+     * thread-safe
+     */
+    @FunctionalInterface
+    public interface ProgressListener {
+
+        /**
+         * @param jarEntry         the completed {@link JarEntry}
+         * @param skipped          whether the entry was skipped for the unchanged target file or not
+         * @param completedEntries the count of the completed entries
+         * @param totalEntries     the count of the entries to extract
+         */
+        void onProgress(JarEntry jarEntry, boolean skipped, int completedEntries, int totalEntries);
+    }
+
+    private interface EntryWriter {
+
+        void write(JarEntry jarEntry, FileChannel channel) throws IOException;
+    }
+
+    private static class Extraction {
+
+        private final List<JarEntry> jarEntries;
+
+        private final File[] targetFiles;
+
+        private final ProgressListener listener;
+
+        private final EntryWriter entryWriter;
+
+        private final AtomicInteger completedEntries = new AtomicInteger();
+
+        private Extraction(List<JarEntry> jarEntries, File[] targetFiles, ProgressListener listener, EntryWriter entryWriter) {
+            this.jarEntries = jarEntries;
+            this.targetFiles = targetFiles;
+            this.listener = listener;
+            this.entryWriter = entryWriter;
+        }
+    }
+
+    private class ExtractionTask extends RecursiveAction {
+
+        private final Extraction extraction;
+
+        private final int fromIndex;
+
+        private final int toIndex;
+
+        private ExtractionTask(Extraction extraction, int fromIndex, int toIndex) {
+            this.extraction = extraction;
+            this.fromIndex = fromIndex;
+            this.toIndex = toIndex;
+        }
+
+        @Override
+        protected void compute() {
+            if (toIndex - fromIndex > 1 && size() > PARTITION_SIZE) {
+                int middleIndex = (fromIndex + toIndex) >>> 1;
+                invokeAll(new ExtractionTask(extraction, fromIndex, middleIndex),
+                        new ExtractionTask(extraction, middleIndex, toIndex));
+                return;
+            }
+            for (int i = fromIndex; i < toIndex; i++) {
+                try {
+                    extract(extraction.jarEntries.get(i), extraction.targetFiles[i]);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+
+        private long size() {
+            long size = 0;
+            for (int i = fromIndex; i < toIndex; i++) {
+                size += Math.max(0, extraction.jarEntries.get(i).getSize());
+            }
+            return size;
+        }
+
+        private void extract(JarEntry jarEntry, File targetFile) throws IOException {
+            // The directories have been created
+            boolean skipped = !jarEntry.isDirectory() && isUnchanged(jarEntry, targetFile);
+            if (!jarEntry.isDirectory() && !skipped) {
+                try (FileChannel channel = FileChannel.open(targetFile.toPath(), StandardOpenOption.CREATE,
+                        StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                    extraction.entryWriter.write(jarEntry, channel);
+                }
+            }
+            int completedEntries = extraction.completedEntries.incrementAndGet();
+            ProgressListener listener = extraction.listener;
+            if (listener != null) {
+                listener.onProgress(jarEntry, skipped, completedEntries, extraction.targetFiles.length);
+            }
+        }
+    }
+}
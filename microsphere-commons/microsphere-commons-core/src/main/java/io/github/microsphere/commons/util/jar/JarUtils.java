@@ -3,7 +3,6 @@
  */
 package io.github.microsphere.commons.util.jar;
 
-import io.github.microsphere.commons.util.CollectionUtils;
 import io.github.microsphere.commons.constants.FileSuffixConstants;
 import io.github.microsphere.commons.constants.ProtocolConstants;
 import io.github.microsphere.commons.constants.SeparatorConstants;
@@ -15,9 +14,9 @@ import org.apache.commons.lang3.StringUtils;
 import javax.annotation.Nonnull;
 import java.io.*;
 import java.net.URL;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Enumeration;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
@@ -130,13 +129,19 @@ public class JarUtils {
         if (jarFile == null) {
             return Collections.emptyList();
         }
+        List<JarEntry> jarEntriesList = new ArrayList<>(jarFile.size());
         Enumeration<JarEntry> jarEntries = jarFile.entries();
-        List<JarEntry> jarEntriesList = CollectionUtils.toList(jarEntries);
-        return doFilter(jarEntriesList, jarEntryFilter);
+        while (jarEntries.hasMoreElements()) {
+            JarEntry jarEntry = jarEntries.nextElement();
+            if (jarEntryFilter == null || jarEntryFilter.accept(jarEntry)) {
+                jarEntriesList.add(jarEntry);
+            }
+        }
+        return Collections.unmodifiableList(jarEntriesList);
     }
 
     protected static List<JarEntry> doFilter(Iterable<JarEntry> jarEntries, JarEntryFilter jarEntryFilter) {
-        List<JarEntry> jarEntriesList = new LinkedList<>();
+        List<JarEntry> jarEntriesList = new ArrayList<>();
         for (JarEntry jarEntry : jarEntries) {
             if (jarEntryFilter == null || jarEntryFilter.accept(jarEntry)) {
                 jarEntriesList.add(jarEntry);
@@ -175,7 +180,8 @@ public class JarUtils {
     }
 
     /**
-     * Extract the source {@link JarFile} to target directory with specified {@link JarEntryFilter}
+     * Extract the source {@link JarFile} to target directory with specified {@link JarEntryFilter}, the entries are
+     * extracted in parallel by {@link JarExtractor#INSTANCE}
      *
      * @param jarSourceFile
      *         the source {@link JarFile}
@@ -187,10 +193,7 @@ public class JarUtils {
      *         When the source jar file is an invalid {@link JarFile}
      */
     public static void extract(File jarSourceFile, File targetDirectory, JarEntryFilter jarEntryFilter) throws IOException {
-
-        final JarFile jarFile = new JarFile(jarSourceFile);
-
-        extract(jarFile, targetDirectory, jarEntryFilter);
+        JarExtractor.INSTANCE.extract(jarSourceFile, targetDirectory, jarEntryFilter, null);
     }
 
     /**
@@ -206,8 +209,7 @@ public class JarUtils {
      *         When the source jar file is an invalid {@link JarFile}
      */
     public static void extract(JarFile jarFile, File targetDirectory, JarEntryFilter jarEntryFilter) throws IOException {
-        List<JarEntry> jarEntriesList = filter(jarFile, jarEntryFilter);
-        doExtract(jarFile, jarEntriesList, targetDirectory);
+        JarExtractor.INSTANCE.extract(new File(jarFile.getName()), targetDirectory, jarEntryFilter, null);
     }
 
     /**
@@ -223,23 +225,9 @@ public class JarUtils {
      *         When the source jar file is an invalid {@link JarFile}
      */
     public static void extract(URL jarResourceURL, File targetDirectory, JarEntryFilter jarEntryFilter) throws IOException {
-        final JarFile jarFile = JarUtils.toJarFile(jarResourceURL);
+        final String jarAbsolutePath = JarUtils.resolveJarAbsolutePath(jarResourceURL);
         final String relativePath = JarUtils.resolveRelativePath(jarResourceURL);
-        final JarEntry jarEntry = jarFile.getJarEntry(relativePath);
-        final boolean isDirectory = jarEntry.isDirectory();
-        List<JarEntry> jarEntriesList = filter(jarFile, new JarEntryFilter() {
-            @Override
-            public boolean accept(JarEntry filteredObject) {
-                String name = filteredObject.getName();
-                if (isDirectory && name.equals(relativePath)) {
-                    return true;
-                } else return name.startsWith(relativePath);
-            }
-        });
-
-        jarEntriesList = doFilter(jarEntriesList, jarEntryFilter);
-
-        doExtract(jarFile, jarEntriesList, targetDirectory);
+        JarExtractor.INSTANCE.extract(new File(jarAbsolutePath), relativePath, targetDirectory, jarEntryFilter, null);
     }
 
     protected static void doExtract(JarFile jarFile, Iterable<JarEntry> jarEntries, File targetDirectory) throws IOException {
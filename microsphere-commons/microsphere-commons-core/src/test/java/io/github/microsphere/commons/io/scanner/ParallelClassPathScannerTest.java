@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microsphere.commons.io.scanner;
+
+import io.github.microsphere.commons.AbstractTestCase;
+import junit.framework.Assert;
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+/**
+ * {@link ParallelClassPathScanner} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @version 1.0.0
+ * @see ParallelClassPathScanner
+ * @since 1.0.0
+ */
+public class ParallelClassPathScannerTest extends AbstractTestCase {
+
+    private ParallelClassPathScanner scanner = ParallelClassPathScanner.INSTANCE;
+
+    private File rootDirectory;
+
+    private File classesDirectory;
+
+    private File jarFile;
+
+    @Before
+    public void init() throws IOException {
+        rootDirectory = Files.createTempDirectory("parallel-scanner").toFile();
+        classesDirectory = new File(rootDirectory, "classes");
+        for (String name : Arrays.asList("a/A.class", "a/b/B.class", "a/b/c/C.class", "a/b/readme.txt", "x/X.class")) {
+            File file = new File(classesDirectory, name);
+            file.getParentFile().mkdirs();
+            file.createNewFile();
+        }
+        jarFile = new File(rootDirectory, "test.jar");
+        try (JarOutputStream outputStream = new JarOutputStream(new FileOutputStream(jarFile))) {
+            for (String name : Arrays.asList("a/", "a/D.class", "a/b/E.class", "y/Y.class")) {
+                outputStream.putNextEntry(new JarEntry(name));
+                outputStream.closeEntry();
+            }
+        }
+    }
+
+    @After
+    public void destroy() throws IOException {
+        FileUtils.deleteDirectory(rootDirectory);
+    }
+
+    @Test
+    public void testScanClassNames() {
+        Assert.assertEquals(new HashSet<>(Arrays.asList("a.A", "a.D")), scanClassNames("a", false));
+        Assert.assertEquals(new HashSet<>(Arrays.asList("a.A", "a.b.B", "a.b.c.C", "a.D", "a.b.E")), scanClassNames("a", true));
+        Assert.assertEquals(new HashSet<>(Arrays.asList("a.b.B", "a.b.E")), scanClassNames("a.b", false));
+        Assert.assertEquals(7, scanClassNames("", true).size());
+        Assert.assertTrue(scanClassNames("z", true).isEmpty());
+
+        // The JarFile has been closed after scanning
+        Assert.assertTrue(jarFile.delete());
+    }
+
+    @Test
+    public void testScanFiles() {
+        Set<File> files = ConcurrentHashMap.newKeySet();
+        // The directory "a/b" is pruned
+        scanner.scanFiles(Arrays.asList(new File(classesDirectory, "a"), new File(classesDirectory, "x")), true,
+                directory -> !"b".equals(directory.getName()), File::isFile, files::add);
+        Assert.assertEquals(new HashSet<>(Arrays.asList(new File(classesDirectory, "a/A.class"),
+                new File(classesDirectory, "x/X.class"))), files);
+    }
+
+    @Test
+    public void testScanJarEntries() {
+        Set<String> names = ConcurrentHashMap.newKeySet();
+        scanner.scanJarEntries(Arrays.asList(jarFile), jarEntry -> !jarEntry.isDirectory(), (file, jarEntry) -> names.add(jarEntry.getName()));
+        Assert.assertEquals(new HashSet<>(Arrays.asList("a/D.class", "a/b/E.class", "y/Y.class")), names);
+    }
+
+    private Set<String> scanClassNames(String packageName, boolean recursive) {
+        Set<String> classNames = ConcurrentHashMap.newKeySet();
+        scanner.scanClassNames(Arrays.asList(classesDirectory.getAbsolutePath(), jarFile.getAbsolutePath()), packageName, recursive,
+                (classPath, className) -> classNames.add(className));
+        return classNames;
+    }
+}
@@ -7,6 +7,8 @@ import io.github.microsphere.commons.AbstractTestCase;
 import junit.framework.Assert;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -31,4 +33,14 @@ public class SimpleClassScannerTest extends AbstractTestCase {
         Assert.assertFalse(classesSet.isEmpty());
         echo(classesSet);
     }
+
+    @Test
+    public void testScanInOrder() {
+        String packageName = "io.github.microsphere.commons.io.scanner";
+        List<Class<?>> classes = new ArrayList<>(simpleClassScanner.scan(classLoader, packageName, true, true));
+        Assert.assertFalse(classes.isEmpty());
+        for (int i = 0; i < 3; i++) {
+            Assert.assertEquals(classes, new ArrayList<>(simpleClassScanner.scan(classLoader, packageName, true, true)));
+        }
+    }
 }
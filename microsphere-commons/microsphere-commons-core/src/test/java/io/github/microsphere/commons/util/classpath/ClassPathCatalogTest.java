@@ -0,0 +1,143 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microsphere.commons.util.classpath;
+
+import io.github.microsphere.commons.AbstractTestCase;
+import io.github.microsphere.commons.util.ClassPathUtils;
+import junit.framework.Assert;
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+/**
+ * {@link ClassPathCatalog} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @version 1.0.0
+ * @see ClassPathCatalog
+ * @since 1.0.0
+ */
+public class ClassPathCatalogTest extends AbstractTestCase {
+
+    private File rootDirectory;
+
+    private File classesDirectory;
+
+    private File jarFile;
+
+    private ClassPathCatalog classPathCatalog;
+
+    @Before
+    public void init() throws IOException {
+        rootDirectory = Files.createTempDirectory("class-path-catalog").toFile();
+        classesDirectory = new File(rootDirectory, "classes");
+        createFile(new File(classesDirectory, "a/b/A.class"));
+        createFile(new File(classesDirectory, "a/b/B.class"));
+        createFile(new File(classesDirectory, "a/b/c/C.class"));
+        createFile(new File(classesDirectory, "a/b/readme.txt"));
+
+        jarFile = new File(rootDirectory, "test.jar");
+        try (JarOutputStream outputStream = new JarOutputStream(new FileOutputStream(jarFile))) {
+            for (String name : Arrays.asList("a/", "a/b/", "a/b/A.class", "a/b/D.class", "x/X.class", "x/x.properties")) {
+                outputStream.putNextEntry(new JarEntry(name));
+                outputStream.closeEntry();
+            }
+        }
+
+        classPathCatalog = new ClassPathCatalog(Arrays.asList(classesDirectory.getAbsolutePath(), jarFile.getAbsolutePath()));
+    }
+
+    @After
+    public void destroy() throws IOException {
+        FileUtils.deleteDirectory(rootDirectory);
+    }
+
+    private void createFile(File file) throws IOException {
+        file.getParentFile().mkdirs();
+        file.createNewFile();
+    }
+
+    @Test
+    public void testFindClassPath() {
+        // The latter class path takes precedence
+        Assert.assertEquals(jarFile.getAbsolutePath(), classPathCatalog.findClassPath("a.b.A"));
+        Assert.assertEquals(classesDirectory.getAbsolutePath(), classPathCatalog.findClassPath("a.b.B"));
+        Assert.assertEquals(classesDirectory.getAbsolutePath(), classPathCatalog.findClassPath("a.b.c.C"));
+        Assert.assertEquals(jarFile.getAbsolutePath(), classPathCatalog.findClassPath("a.b.D"));
+        Assert.assertEquals(jarFile.getAbsolutePath(), classPathCatalog.findClassPath("x.X"));
+        Assert.assertNull(classPathCatalog.findClassPath("x.Y"));
+    }
+
+    @Test
+    public void testGetClassNamesInPackage() {
+        Assert.assertEquals(new HashSet<>(Arrays.asList("a.b.A", "a.b.B", "a.b.D")), classPathCatalog.getClassNamesInPackage("a.b"));
+        Assert.assertEquals(new HashSet<>(Arrays.asList("a.b.c.C")), classPathCatalog.getClassNamesInPackage("a.b.c"));
+        Assert.assertTrue(classPathCatalog.getClassNamesInPackage("a").isEmpty());
+    }
+
+    @Test
+    public void testGetIndex() {
+        ClassPathEntryIndex index = classPathCatalog.getIndex(jarFile.getAbsolutePath());
+        Assert.assertSame(index, classPathCatalog.getIndex(jarFile.getAbsolutePath()));
+        Assert.assertEquals(3, index.size());
+        Assert.assertEquals(new HashSet<>(Arrays.asList("a.b", "x")), index.getPackageNames());
+        Assert.assertTrue(index.contains("x.X"));
+        Assert.assertFalse(index.contains("x.Y"));
+
+        // The JarFile has been closed after indexing
+        Assert.assertTrue(jarFile.delete());
+
+        classPathCatalog.clear();
+        Assert.assertEquals(0, classPathCatalog.getIndex(jarFile.getAbsolutePath()).size());
+
+        index = classPathCatalog.getIndex(classesDirectory.getAbsolutePath());
+        Assert.assertEquals(new HashSet<>(Arrays.asList("a.b.A", "a.b.B", "a.b.c.C")), index.getClassNames());
+    }
+
+    @Test
+    public void testGetClassNames() {
+        Set<String> classNames = classPathCatalog.getClassNames();
+        Assert.assertEquals(new HashSet<>(Arrays.asList("a.b.A", "a.b.B", "a.b.c.C", "a.b.D", "x.X")), classNames);
+        Assert.assertEquals(new HashSet<>(Arrays.asList("a.b", "a.b.c", "x")), classPathCatalog.getPackageNames());
+        Assert.assertEquals(2, classPathCatalog.getClassPathToClassNamesMap().size());
+
+        // The aggregated names are cached until cleared
+        Assert.assertSame(classNames, classPathCatalog.getClassNames());
+        Assert.assertSame(classPathCatalog.getPackageNames(), classPathCatalog.getPackageNames());
+        classPathCatalog.clear();
+        Assert.assertNotSame(classNames, classPathCatalog.getClassNames());
+        Assert.assertEquals(classNames, classPathCatalog.getClassNames());
+    }
+
+    @Test
+    public void testGetDefault() {
+        ClassPathCatalog defaultCatalog = ClassPathCatalog.getDefault();
+        Assert.assertSame(defaultCatalog, ClassPathCatalog.getDefault());
+        Assert.assertTrue(defaultCatalog.getClassPaths().containsAll(ClassPathUtils.getClassPaths()));
+    }
+}
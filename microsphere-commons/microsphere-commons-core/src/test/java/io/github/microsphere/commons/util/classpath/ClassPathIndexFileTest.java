@@ -0,0 +1,153 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microsphere.commons.util.classpath;
+
+import io.github.microsphere.commons.AbstractTestCase;
+import junit.framework.Assert;
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+/**
+ * {@link ClassPathIndexFile} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @version 1.0.0
+ * @see ClassPathIndexFile
+ * @since 1.0.0
+ */
+public class ClassPathIndexFileTest extends AbstractTestCase {
+
+    private File rootDirectory;
+
+    @Before
+    public void init() throws IOException {
+        rootDirectory = Files.createTempDirectory("class-path-index").toFile();
+    }
+
+    @After
+    public void destroy() throws IOException {
+        FileUtils.deleteDirectory(rootDirectory);
+    }
+
+    private File createJarFile(String fileName, String... entryNames) throws IOException {
+        File jarFile = new File(rootDirectory, fileName);
+        try (JarOutputStream outputStream = new JarOutputStream(new FileOutputStream(jarFile))) {
+            for (String entryName : entryNames) {
+                outputStream.putNextEntry(new JarEntry(entryName));
+                outputStream.closeEntry();
+            }
+        }
+        return jarFile;
+    }
+
+    @Test
+    public void testWriteAndRead() throws IOException {
+        File jarFile = createJarFile("a.jar", "a/A.class", "a/B.class", "b/c/C.class", "D.class");
+        ClassPathEntryIndex index = ClassPathEntryIndex.build(jarFile.getAbsolutePath());
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        ClassPathIndexFile.write(Collections.singleton(index), outputStream);
+        ClassPathIndexFile indexFile = ClassPathIndexFile.read(ByteBuffer.wrap(outputStream.toByteArray()));
+
+        Assert.assertEquals(Collections.singleton(index.getClassPath()), indexFile.getClassPaths());
+        ClassPathEntryIndex readIndex = indexFile.getIndex(index.getClassPath(), index.getLength(), index.getLastModified());
+        Assert.assertEquals(index.getClassNames(), readIndex.getClassNames());
+        Assert.assertEquals(index.getPackageNames(), readIndex.getPackageNames());
+        Assert.assertTrue(readIndex.contains("D"));
+        Assert.assertTrue(readIndex.isUpToDate());
+
+        // Stale
+        Assert.assertNull(indexFile.getIndex(index.getClassPath(), index.getLength() + 1, index.getLastModified()));
+        Assert.assertNull(indexFile.getIndex("unknown"));
+
+        try {
+            ClassPathIndexFile.read(ByteBuffer.wrap(new byte[]{1, 2, 3, 4, 5}));
+            Assert.fail();
+        } catch (IOException expected) {
+        }
+    }
+
+    @Test
+    public void testLoad() throws IOException {
+        File jarFile1 = createJarFile("1.jar", "a/A.class");
+        File jarFile2 = createJarFile("2.jar", "b/B.class", "b/C.class");
+        File file = new File(rootDirectory, "index/class-path.index");
+        ClassPathIndexFile.write(Arrays.asList(ClassPathEntryIndex.build(jarFile1.getAbsolutePath()),
+                ClassPathEntryIndex.build(jarFile2.getAbsolutePath())), file);
+
+        ClassPathIndexFile indexFile = ClassPathIndexFile.load(file);
+        Assert.assertEquals(new HashSet<>(Arrays.asList("b.B", "b.C")), indexFile.getIndex(jarFile2.getAbsolutePath()).getClassNames());
+        Assert.assertEquals(Collections.singleton("a.A"), indexFile.getIndex(jarFile1.getAbsolutePath()).getClassNames());
+    }
+
+    @Test
+    public void testGenerate() throws IOException {
+        File classesDirectory = new File(rootDirectory, "classes");
+        new File(classesDirectory, "a").mkdirs();
+        new File(classesDirectory, "a/A.class").createNewFile();
+        File generatedFile = ClassPathIndexFile.generate(classesDirectory);
+        Assert.assertEquals(new File(classesDirectory, ClassPathIndexFile.META_INF_RESOURCE_NAME), generatedFile);
+
+        // The build-time index is preferred to the entries
+        File jarFile = new File(rootDirectory, "generated.jar");
+        try (JarOutputStream outputStream = new JarOutputStream(new FileOutputStream(jarFile))) {
+            outputStream.putNextEntry(new JarEntry(ClassPathIndexFile.META_INF_RESOURCE_NAME));
+            outputStream.write(FileUtils.readFileToByteArray(generatedFile));
+            outputStream.closeEntry();
+        }
+        ClassPathEntryIndex index = ClassPathEntryIndex.build(jarFile.getAbsolutePath());
+        Assert.assertEquals(jarFile.getAbsolutePath(), index.getClassPath());
+        Assert.assertEquals(Collections.singleton("a.A"), index.getClassNames());
+        Assert.assertTrue(index.isUpToDate());
+    }
+
+    @Test
+    public void testClassPathCatalog() throws IOException {
+        File jarFile = createJarFile("a.jar", "a/A.class");
+        File file = new File(rootDirectory, "class-path.index");
+        ClassPathCatalog classPathCatalog = new ClassPathCatalog(Collections.singleton(jarFile.getAbsolutePath()), file);
+        Assert.assertEquals(Collections.singleton("a.A"), classPathCatalog.getClassNames());
+        Assert.assertTrue(file.isFile());
+
+        // The content is replaced, but the length and last modified time are same, thus the persistent index is used
+        long lastModified = jarFile.lastModified();
+        createJarFile("a.jar", "a/B.class");
+        Assert.assertTrue(jarFile.setLastModified(lastModified));
+        classPathCatalog = new ClassPathCatalog(Collections.singleton(jarFile.getAbsolutePath()), file);
+        Assert.assertEquals(Collections.singleton("a.A"), classPathCatalog.getClassNames());
+
+        // The modified JarFile is indexed again
+        Assert.assertTrue(jarFile.setLastModified(lastModified - 10000));
+        classPathCatalog = new ClassPathCatalog(Collections.singleton(jarFile.getAbsolutePath()), file);
+        Assert.assertEquals(Collections.singleton("a.B"), classPathCatalog.getClassNames());
+        Assert.assertTrue(classPathCatalog.store());
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microsphere.commons.util.jar;
+
+import io.github.microsphere.commons.AbstractTestCase;
+import junit.framework.Assert;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.JarOutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+
+/**
+ * {@link JarCentralDirectory} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @version 1.0.0
+ * @see JarCentralDirectory
+ * @since 1.0.0
+ */
+public class JarCentralDirectoryTest extends AbstractTestCase {
+
+    private File rootDirectory;
+
+    private File jarFile;
+
+    @Before
+    public void init() throws IOException {
+        rootDirectory = Files.createTempDirectory("jar-central-directory").toFile();
+        jarFile = new File(rootDirectory, "test.jar");
+        try (JarOutputStream outputStream = new JarOutputStream(new FileOutputStream(jarFile))) {
+            outputStream.setComment("test");
+            putEntry(outputStream, "io/", null, ZipEntry.STORED);
+            putEntry(outputStream, "io/github/A.class", "A", ZipEntry.DEFLATED);
+            putEntry(outputStream, "io/github/B.class", "B", ZipEntry.STORED);
+            putEntry(outputStream, "io/github/c/C.class", "C", ZipEntry.DEFLATED);
+            putEntry(outputStream, "io/githubx/D.class", "D", ZipEntry.DEFLATED);
+            putEntry(outputStream, "META-INF/test.txt", "", ZipEntry.DEFLATED);
+        }
+    }
+
+    @After
+    public void destroy() throws IOException {
+        FileUtils.deleteDirectory(rootDirectory);
+    }
+
+    private void putEntry(JarOutputStream outputStream, String name, String content, int method) throws IOException {
+        JarEntry jarEntry = new JarEntry(name);
+        byte[] bytes = content == null ? new byte[0] : content.getBytes(StandardCharsets.UTF_8);
+        jarEntry.setMethod(method);
+        if (method == ZipEntry.STORED) {
+            CRC32 crc = new CRC32();
+            crc.update(bytes);
+            jarEntry.setSize(bytes.length);
+            jarEntry.setCrc(crc.getValue());
+        }
+        outputStream.putNextEntry(jarEntry);
+        outputStream.write(bytes);
+        outputStream.closeEntry();
+    }
+
+    @Test
+    public void testGetEntries() throws IOException {
+        try (JarCentralDirectory centralDirectory = JarCentralDirectory.open(jarFile);
+             JarFile jarFile = new JarFile(this.jarFile)) {
+            Assert.assertEquals(jarFile.size(), centralDirectory.size());
+            List<String> names = new ArrayList<>();
+            for (JarCentralDirectory.Entry entry : centralDirectory.getEntries()) {
+                names.add(entry.getName());
+                JarEntry jarEntry = jarFile.getJarEntry(entry.getName());
+                Assert.assertEquals(jarEntry.getMethod(), entry.getMethod());
+                Assert.assertEquals(jarEntry.getCrc(), entry.getCrc());
+                Assert.assertEquals(jarEntry.getSize(), entry.getSize());
+                Assert.assertEquals(jarEntry.getCompressedSize(), entry.getCompressedSize());
+                Assert.assertEquals(jarEntry.isDirectory(), entry.isDirectory());
+                Assert.assertEquals(jarEntry.getTime(), entry.toJarEntry().getTime());
+            }
+            List<String> sortedNames = new ArrayList<>(names);
+            sortedNames.sort(null);
+            Assert.assertEquals(sortedNames, names);
+        }
+    }
+
+    @Test
+    public void testGetEntriesByPrefix() throws IOException {
+        try (JarCentralDirectory centralDirectory = JarCentralDirectory.open(jarFile)) {
+            Assert.assertEquals(Arrays.asList("io/github/A.class", "io/github/B.class", "io/github/c/C.class"),
+                    names(centralDirectory.getEntries("io/github/")));
+            Assert.assertEquals(5, centralDirectory.getEntries("io/").size());
+            Assert.assertEquals(centralDirectory.size(), centralDirectory.getEntries("").size());
+            Assert.assertTrue(centralDirectory.getEntries("io/githubz/").isEmpty());
+            Assert.assertTrue(centralDirectory.getEntries("zzz").isEmpty());
+            Assert.assertNotNull(centralDirectory.getEntry("io/"));
+            Assert.assertNotNull(centralDirectory.getEntry("io/github/c/C.class"));
+            Assert.assertNull(centralDirectory.getEntry("io/github/"));
+        }
+    }
+
+    @Test
+    public void testGetInputStream() throws IOException {
+        try (JarCentralDirectory centralDirectory = JarCentralDirectory.open(jarFile)) {
+            Assert.assertEquals("A", read(centralDirectory, "io/github/A.class"));
+            Assert.assertEquals("B", read(centralDirectory, "io/github/B.class"));
+            Assert.assertEquals("C", read(centralDirectory, "io/github/c/C.class"));
+            Assert.assertEquals("", read(centralDirectory, "META-INF/test.txt"));
+            Assert.assertEquals("", read(centralDirectory, "io/"));
+        }
+    }
+
+    @Test
+    public void testOpen() throws IOException {
+        JarCentralDirectory centralDirectory = JarCentralDirectory.open(jarFile);
+        JarCentralDirectory sharedCentralDirectory = JarCentralDirectory.open(jarFile);
+        Assert.assertSame(centralDirectory, sharedCentralDirectory);
+        sharedCentralDirectory.close();
+        Assert.assertSame(centralDirectory, JarCentralDirectory.open(jarFile));
+        centralDirectory.close();
+        centralDirectory.close();
+        // Evicted once it's not referenced
+        JarCentralDirectory reopenedCentralDirectory = JarCentralDirectory.open(jarFile);
+        Assert.assertNotSame(centralDirectory, reopenedCentralDirectory);
+        reopenedCentralDirectory.close();
+    }
+
+    @Test(expected = IOException.class)
+    public void testOpenOnInvalidFile() throws IOException {
+        File file = new File(rootDirectory, "invalid.jar");
+        FileUtils.writeStringToFile(file, "invalid", StandardCharsets.UTF_8);
+        JarCentralDirectory.open(file);
+    }
+
+    private static List<String> names(List<JarCentralDirectory.Entry> entries) {
+        List<String> names = new ArrayList<>(entries.size());
+        for (JarCentralDirectory.Entry entry : entries) {
+            names.add(entry.getName());
+        }
+        return names;
+    }
+
+    private static String read(JarCentralDirectory centralDirectory, String name) throws IOException {
+        try (InputStream inputStream = centralDirectory.getInputStream(centralDirectory.getEntry(name))) {
+            return IOUtils.toString(inputStream, StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microsphere.commons.util.jar;
+
+import io.github.microsphere.commons.AbstractTestCase;
+import junit.framework.Assert;
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+
+/**
+ * {@link JarExtractor} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @version 1.0.0
+ * @see JarExtractor
+ * @since 1.0.0
+ */
+public class JarExtractorTest extends AbstractTestCase {
+
+    private File rootDirectory;
+
+    private File jarFile;
+
+    private File targetDirectory;
+
+    @Before
+    public void init() throws IOException {
+        rootDirectory = Files.createTempDirectory("jar-extractor").toFile();
+        jarFile = new File(rootDirectory, "test.jar");
+        targetDirectory = new File(rootDirectory, "target");
+        StringBuilder largeContent = new StringBuilder();
+        for (int i = 0; i < 100000; i++) {
+            largeContent.append(i).append('\n');
+        }
+        try (JarOutputStream outputStream = new JarOutputStream(new FileOutputStream(jarFile))) {
+            putEntry(outputStream, "io/", null, ZipEntry.STORED);
+            putEntry(outputStream, "io/github/A.txt", "A", ZipEntry.DEFLATED);
+            putEntry(outputStream, "io/github/B.txt", "B", ZipEntry.STORED);
+            putEntry(outputStream, "io/github/large.txt", largeContent.toString(), ZipEntry.DEFLATED);
+            putEntry(outputStream, "io/github/c/C.txt", "C", ZipEntry.STORED);
+            putEntry(outputStream, "META-INF/empty.txt", "", ZipEntry.DEFLATED);
+            for (int i = 0; i < 100; i++) {
+                putEntry(outputStream, "data/" + i + ".txt", largeContent.substring(0, i * 1000), i % 2 == 0 ? ZipEntry.STORED : ZipEntry.DEFLATED);
+            }
+        }
+    }
+
+    @After
+    public void destroy() throws IOException {
+        FileUtils.deleteDirectory(rootDirectory);
+    }
+
+    private void putEntry(JarOutputStream outputStream, String name, String content, int method) throws IOException {
+        JarEntry jarEntry = new JarEntry(name);
+        byte[] bytes = content == null ? new byte[0] : content.getBytes(StandardCharsets.UTF_8);
+        jarEntry.setMethod(method);
+        if (method == ZipEntry.STORED) {
+            CRC32 crc = new CRC32();
+            crc.update(bytes);
+            jarEntry.setSize(bytes.length);
+            jarEntry.setCrc(crc.getValue());
+        }
+        outputStream.putNextEntry(jarEntry);
+        outputStream.write(bytes);
+        outputStream.closeEntry();
+    }
+
+    private String read(String name) throws IOException {
+        return FileUtils.readFileToString(new File(targetDirectory, name), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void testExtract() throws IOException {
+        AtomicInteger completedEntries = new AtomicInteger();
+        JarExtractor.INSTANCE.extract(jarFile, targetDirectory, null, (jarEntry, skipped, completed, total) -> {
+            Assert.assertFalse(skipped);
+            Assert.assertEquals(106, total);
+            completedEntries.incrementAndGet();
+        });
+        Assert.assertEquals(106, completedEntries.get());
+        Assert.assertTrue(new File(targetDirectory, "io").isDirectory());
+        Assert.assertEquals("A", read("io/github/A.txt"));
+        Assert.assertEquals("B", read("io/github/B.txt"));
+        Assert.assertEquals("C", read("io/github/c/C.txt"));
+        Assert.assertEquals("", read("META-INF/empty.txt"));
+        Assert.assertEquals(588890, read("io/github/large.txt").length());
+        for (int i = 0; i < 100; i++) {
+            Assert.assertEquals(i * 1000, read("data/" + i + ".txt").length());
+        }
+    }
+
+    @Test
+    public void testExtractByRelativePathAndFilter() throws IOException {
+        JarExtractor.INSTANCE.extract(jarFile, "io/github/", targetDirectory,
+                jarEntry -> !jarEntry.getName().endsWith("B.txt"), null);
+        Assert.assertTrue(new File(targetDirectory, "io/github/A.txt").isFile());
+        Assert.assertFalse(new File(targetDirectory, "io/github/B.txt").exists());
+        Assert.assertTrue(new File(targetDirectory, "io/github/c/C.txt").isFile());
+        Assert.assertFalse(new File(targetDirectory, "META-INF").exists());
+        Assert.assertFalse(new File(targetDirectory, "data").exists());
+    }
+
+    @Test
+    public void testIncrementalExtract() throws IOException {
+        JarExtractor jarExtractor = new JarExtractor(ForkJoinPool.commonPool(), true);
+        jarExtractor.extract(jarFile, targetDirectory, null, null);
+        FileUtils.writeStringToFile(new File(targetDirectory, "io/github/A.txt"), "X", StandardCharsets.UTF_8);
+        FileUtils.writeStringToFile(new File(targetDirectory, "io/github/B.txt"), "BB", StandardCharsets.UTF_8);
+        new File(targetDirectory, "io/github/c/C.txt").delete();
+        Set<String> extractedNames = ConcurrentHashMap.newKeySet();
+        jarExtractor.extract(jarFile, targetDirectory, null, (jarEntry, skipped, completed, total) -> {
+            if (!skipped && !jarEntry.isDirectory()) {
+                extractedNames.add(jarEntry.getName());
+            }
+        });
+        Assert.assertEquals(3, extractedNames.size());
+        Assert.assertTrue(extractedNames.contains("io/github/A.txt"));
+        Assert.assertTrue(extractedNames.contains("io/github/B.txt"));
+        Assert.assertTrue(extractedNames.contains("io/github/c/C.txt"));
+        Assert.assertEquals("A", read("io/github/A.txt"));
+        Assert.assertEquals("B", read("io/github/B.txt"));
+        Assert.assertEquals("C", read("io/github/c/C.txt"));
+    }
+
+    @Test(expected = IOException.class)
+    public void testExtractOutsideOfTargetDirectory() throws IOException {
+        File jarFile = new File(rootDirectory, "invalid.jar");
+        try (JarOutputStream outputStream = new JarOutputStream(new FileOutputStream(jarFile))) {
+            putEntry(outputStream, "../outside.txt", "outside", ZipEntry.DEFLATED);
+        }
+        JarExtractor.INSTANCE.extract(jarFile, targetDirectory, null, null);
+    }
+}
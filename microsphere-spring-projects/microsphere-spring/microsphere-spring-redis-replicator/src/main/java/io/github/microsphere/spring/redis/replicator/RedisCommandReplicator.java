@@ -1,29 +1,72 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
 package io.github.microsphere.spring.redis.replicator;
 
 import io.github.microsphere.spring.redis.event.RedisCommandEvent;
+import io.github.microsphere.spring.redis.event.RedisTransactionCommandEvent;
+import io.github.microsphere.spring.redis.metadata.MethodMetadata;
+import io.github.microsphere.spring.redis.replicator.event.RedisCommandReplicatedBatchEvent;
 import io.github.microsphere.spring.redis.replicator.event.RedisCommandReplicatedEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.context.ApplicationListener;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.context.event.SmartApplicationListener;
+import org.springframework.core.env.Environment;
 import org.springframework.data.redis.connection.RedisConnection;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
-import org.springframework.util.ReflectionUtils;
+import org.springframework.data.redis.connection.RedisPipelineException;
 
-import java.lang.reflect.Method;
-import java.util.function.Function;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 import static io.github.microsphere.spring.redis.beans.Wrapper.tryUnwrap;
-import static io.github.microsphere.spring.redis.metadata.MethodMetadataRepository.findWriteCommandMethod;
-import static io.github.microsphere.spring.redis.metadata.MethodMetadataRepository.getRedisCommandBindingFunction;
+import static io.github.microsphere.spring.redis.metadata.MethodMetadataRepository.findWriteMethodMetadata;
+import static io.github.microsphere.spring.redis.util.RedisCommandsUtils.resolveSingleKey;
+import static io.github.microsphere.spring.redis.replicator.config.RedisReplicatorConfiguration.CONSUMER_APPLY_MODE_PROPERTY_NAME;
+import static io.github.microsphere.spring.redis.replicator.config.RedisReplicatorConfiguration.DEFAULT_CONSUMER_APPLY_MODE;
+import static io.github.microsphere.spring.redis.replicator.config.RedisReplicatorConfiguration.TRANSACTION_APPLY_MODE;
+import static java.util.Collections.singletonList;
 
 
 /**
  * Redis Command Replicator
+ * <p>
+ * The {@link RedisCommandReplicatedBatchEvent batch} is applied by one borrowed {@link RedisConnection} in the Redis
+ * pipeline(one round trip per batch), optionally, the commands of the same key are wrapped by MULTI/EXEC if the
+ * apply mode is "transaction", the command without key or of more than one key is a barrier, it's applied after all
+ * the previous commands and before all the following commands. The connection is always closed after the batch, and
+ * the failure of any command is rethrown, thus the batch will not be acknowledged.
+ * <p>
+ * The {@link RedisCommandReplicatedEvent} that {@link RedisCommandReplicatedEvent#isBatched() has been applied by the
+ * batch} is not applied again.
+ * <p>
+ * The {@link RedisTransactionCommandEvent replicated transaction} is always applied by MULTI/EXEC atomically out of
+ * the pipeline, the pipeline of the previous commands is closed before it and reopened after it, thus the transaction
+ * is discarded by the target Redis if any command of the transaction fails to be queued, and the failure of EXEC is
+ * rethrown.
  *
  * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
  * @since 1.0.0
  */
-public class RedisCommandReplicator implements ApplicationListener<RedisCommandReplicatedEvent> {
+public class RedisCommandReplicator implements SmartApplicationListener, EnvironmentAware {
 
     private static final Logger logger = LoggerFactory.getLogger(RedisCommandReplicator.class);
 
@@ -31,34 +74,252 @@ public class RedisCommandReplicator implements ApplicationListener<RedisCommandR
 
     private final RedisConnectionFactory redisConnectionFactory;
 
+    private boolean transactional;
+
     public RedisCommandReplicator(RedisConnectionFactory redisConnectionFactory) {
         this.redisConnectionFactory = tryUnwrap(redisConnectionFactory, RedisConnectionFactory.class);
     }
 
     @Override
-    public void onApplicationEvent(RedisCommandReplicatedEvent event) {
+    public boolean supportsEventType(Class<? extends ApplicationEvent> eventType) {
+        return RedisCommandReplicatedEvent.class.equals(eventType) ||
+                RedisCommandReplicatedBatchEvent.class.equals(eventType);
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationEvent event) {
+        if (event instanceof RedisCommandReplicatedBatchEvent) {
+            onRedisCommandReplicatedBatchEvent((RedisCommandReplicatedBatchEvent) event);
+        } else if (event instanceof RedisCommandReplicatedEvent) {
+            onRedisCommandReplicatedEvent((RedisCommandReplicatedEvent) event);
+        }
+    }
+
+    private void onRedisCommandReplicatedEvent(RedisCommandReplicatedEvent event) {
+        if (event.isBatched()) {
+            return;
+        }
+        RedisConnection redisConnection = getRedisConnection();
+        try {
+            apply(event, redisConnection);
+        } finally {
+            redisConnection.close();
+        }
+    }
+
+    private void onRedisCommandReplicatedBatchEvent(RedisCommandReplicatedBatchEvent event) {
+        List<RedisCommandReplicatedEvent> events = event.getEvents();
+        if (events.isEmpty()) {
+            return;
+        }
+        RedisConnection redisConnection = getRedisConnection();
+        try {
+            int size = events.size();
+            int from = 0;
+            for (int i = 0; i < size; i++) {
+                RedisCommandReplicatedEvent transactionEvent = events.get(i);
+                if (transactionEvent.getSourceEvent() instanceof RedisTransactionCommandEvent) {
+                    applyInPipeline(events.subList(from, i), redisConnection);
+                    // The replicated transaction is applied by the real MULTI/EXEC, the pipeline would defer its failure
+                    apply(transactionEvent, redisConnection);
+                    from = i + 1;
+                }
+            }
+            applyInPipeline(events.subList(from, size), redisConnection);
+        } finally {
+            redisConnection.close();
+        }
+    }
+
+    private void applyInPipeline(List<RedisCommandReplicatedEvent> events, RedisConnection redisConnection) {
+        if (events.isEmpty()) {
+            return;
+        }
+        if (openPipeline(redisConnection)) {
+            try {
+                applyBatch(events, redisConnection);
+            } catch (Throwable e) {
+                closePipelineQuietly(redisConnection);
+                throw e;
+            }
+            closePipeline(redisConnection, events.size());
+        } else {
+            applyBatch(events, redisConnection);
+        }
+    }
+
+    private void applyBatch(List<RedisCommandReplicatedEvent> events, RedisConnection redisConnection) {
+        if (transactional) {
+            for (List<RedisCommandReplicatedEvent> keyGroup : groupByKey(events)) {
+                applyInTransaction(keyGroup, redisConnection);
+            }
+        } else {
+            apply(events, redisConnection);
+        }
+    }
+
+    private void applyInTransaction(List<RedisCommandReplicatedEvent> events, RedisConnection redisConnection) {
+        if (events.size() == 1) {
+            apply(events, redisConnection);
+            return;
+        }
+        try {
+            redisConnection.multi();
+        } catch (Throwable e) {
+            logger.debug("[Redis-Replicator-Event] MULTI is not supported by the Redis connection[{}]", redisConnection, e);
+            apply(events, redisConnection);
+            return;
+        }
+        try {
+            apply(events, redisConnection);
+        } catch (Throwable e) {
+            logger.error("[Redis-Replicator-Event] Failed to execute the transaction of {} Redis commands", events.size(), e);
+            redisConnection.discard();
+            throw e;
+        }
+        redisConnection.exec();
+    }
+
+    private void apply(List<RedisCommandReplicatedEvent> events, RedisConnection redisConnection) {
+        // The following commands must not be applied after the failed one
+        for (int i = 0; i < events.size(); i++) {
+            apply(events.get(i), redisConnection);
+        }
+    }
+
+    private void apply(RedisCommandReplicatedEvent event, RedisConnection redisConnection) {
         try {
-            handleRedisCommandEvent(event);
+            handleRedisCommandEvent(event, redisConnection);
+        } catch (RuntimeException | Error e) {
+            logger.error("[Redis-Replicator-Event] Failed to process Redis command event [{}]", event, e);
+            throw e;
         } catch (Throwable e) {
             logger.error("[Redis-Replicator-Event] Failed to process Redis command event [{}]", event, e);
+            throw new IllegalStateException("Failed to process Redis command event : " + event, e);
         }
     }
 
-    private void handleRedisCommandEvent(RedisCommandReplicatedEvent event) throws Throwable {
+    private void handleRedisCommandEvent(RedisCommandReplicatedEvent event, RedisConnection redisConnection) throws Throwable {
         RedisCommandEvent redisCommandEvent = event.getSourceEvent();
-        Method method = findWriteCommandMethod(redisCommandEvent);
-        if (method != null) {
-            String interfaceNme = redisCommandEvent.getInterfaceName();
-            RedisConnection redisConnection = getRedisConnection();
+        if (redisCommandEvent instanceof RedisTransactionCommandEvent) {
+            handleRedisTransactionCommandEvent((RedisTransactionCommandEvent) redisCommandEvent, redisConnection);
+        } else {
+            handleRedisCommandEvent(redisCommandEvent, redisConnection);
+        }
+    }
+
+    private void handleRedisTransactionCommandEvent(RedisTransactionCommandEvent event, RedisConnection redisConnection) throws Throwable {
+        List<RedisCommandEvent> commands = event.getCommands();
+        redisConnection.multi();
+        try {
+            for (int i = 0; i < commands.size(); i++) {
+                handleRedisCommandEvent(commands.get(i), redisConnection);
+            }
+        } catch (Throwable e) {
+            redisConnection.discard();
+            throw e;
+        }
+        List<Object> results = redisConnection.exec();
+        if (results == null) {
+            throw new IllegalStateException("The transaction of " + commands.size() + " Redis commands is aborted");
+        }
+        for (int i = 0; i < results.size(); i++) {
+            Object result = results.get(i);
+            if (result instanceof Throwable) {
+                throw new IllegalStateException("Failed to execute the Redis command[" + commands.get(i) + "] of the transaction", (Throwable) result);
+            }
+        }
+    }
+
+    private void handleRedisCommandEvent(RedisCommandEvent redisCommandEvent, RedisConnection redisConnection) throws Throwable {
+        MethodMetadata methodMetadata = findWriteMethodMetadata(redisCommandEvent);
+        if (methodMetadata != null) {
             Object[] parameters = redisCommandEvent.getObjectParameters();
-            Function<RedisConnection, Object> bindingFunction = getRedisCommandBindingFunction(interfaceNme);
-            Object redisCommandObject = bindingFunction.apply(redisConnection);
-            // TODO: Native method implementation
-            ReflectionUtils.invokeMethod(method, redisCommandObject, parameters);
+            Object redisCommandObject = methodMetadata.getRedisCommands(redisConnection);
+            methodMetadata.invoke(redisCommandObject, parameters);
+        }
+    }
+
+    /**
+     * Group the events by the Redis key, the order of the events in the group is kept, the event without key or of
+     * more than one key is a barrier, the groups before it are flushed, and it's grouped alone
+     */
+    private List<List<RedisCommandReplicatedEvent>> groupByKey(List<RedisCommandReplicatedEvent> events) {
+        List<List<RedisCommandReplicatedEvent>> result = new ArrayList<>();
+        Map<Object, List<RedisCommandReplicatedEvent>> groups = new LinkedHashMap<>();
+        for (int i = 0; i < events.size(); i++) {
+            RedisCommandReplicatedEvent event = events.get(i);
+            byte[] key = resolveSingleKey(event.getSourceEvent());
+            if (key == null) {
+                result.addAll(groups.values());
+                groups.clear();
+                result.add(singletonList(event));
+            } else {
+                groups.computeIfAbsent(new Key(key), k -> new ArrayList<>()).add(event);
+            }
+        }
+        result.addAll(groups.values());
+        return result;
+    }
+
+    private boolean openPipeline(RedisConnection redisConnection) {
+        try {
+            redisConnection.openPipeline();
+            return true;
+        } catch (Throwable e) {
+            // e.g, the Redis cluster connection
+            logger.debug("[Redis-Replicator-Event] The pipeline is not supported by the Redis connection[{}]", redisConnection, e);
+            return false;
+        }
+    }
+
+    private void closePipeline(RedisConnection redisConnection, int size) {
+        try {
+            redisConnection.closePipeline();
+        } catch (RedisPipelineException e) {
+            logger.error("[Redis-Replicator-Event] Failed to execute the pipeline of {} Redis commands, the results : {}",
+                    size, e.getPipelineResult(), e);
+            throw e;
+        }
+    }
+
+    private void closePipelineQuietly(RedisConnection redisConnection) {
+        try {
+            redisConnection.closePipeline();
+        } catch (Throwable e) {
+            logger.debug("[Redis-Replicator-Event] Failed to close the pipeline of the Redis connection[{}]", redisConnection, e);
         }
     }
 
     private RedisConnection getRedisConnection() {
         return redisConnectionFactory.getConnection();
     }
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        String applyMode = environment.getProperty(CONSUMER_APPLY_MODE_PROPERTY_NAME, DEFAULT_CONSUMER_APPLY_MODE);
+        this.transactional = TRANSACTION_APPLY_MODE.equals(applyMode);
+    }
+
+    private static class Key {
+
+        private final byte[] value;
+
+        private final int hash;
+
+        private Key(byte[] value) {
+            this.value = value;
+            this.hash = Arrays.hashCode(value);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key && Arrays.equals(value, ((Key) o).value);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
 }
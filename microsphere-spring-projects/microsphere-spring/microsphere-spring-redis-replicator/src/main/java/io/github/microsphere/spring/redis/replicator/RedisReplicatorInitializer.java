@@ -2,6 +2,8 @@ package io.github.microsphere.spring.redis.replicator;
 
 import io.github.microsphere.spring.redis.context.RedisModuleInitializer;
 import io.github.microsphere.spring.redis.replicator.config.RedisReplicatorConfiguration;
+import io.github.microsphere.spring.redis.replicator.consumer.RedisReplicatorConsumer;
+import io.github.microsphere.spring.redis.replicator.producer.RedisCommandEventDispatcher;
 import io.github.microsphere.spring.util.BeanRegistrar;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -40,6 +42,8 @@ public class RedisReplicatorInitializer implements RedisModuleInitializer {
 
         if (consumerEnabled) {
             registerConsumerComponents(context, registry);
+        } else {
+            registerProducerComponents(context, registry);
         }
 
         ClassLoader classLoader = context.getClassLoader();
@@ -52,6 +56,13 @@ public class RedisReplicatorInitializer implements RedisModuleInitializer {
 
     private void registerConsumerComponents(ConfigurableApplicationContext context, BeanDefinitionRegistry registry) {
         registerRedisCommandReplicator(registry);
+        // The receivers of the transport are registered by RedisReplicatorModuleInitializer
+        registerBeanDefinition(registry, RedisReplicatorConsumer.class);
+    }
+
+    private void registerProducerComponents(ConfigurableApplicationContext context, BeanDefinitionRegistry registry) {
+        // The sender of the transport is registered by RedisReplicatorModuleInitializer
+        registerBeanDefinition(registry, RedisCommandEventDispatcher.class);
     }
 
     private void registerRedisCommandReplicator(BeanDefinitionRegistry registry) {
@@ -63,6 +63,270 @@ public class RedisReplicatorConfiguration implements ApplicationListener<RedisCo
 
     public static final String CONSUMER_ENABLED_PROPERTY_NAME = CONSUMER_PROPERTY_NAME_PREFIX + "enabled";
 
+    /**
+     * The mode of applying the replicated Redis commands : "pipeline" or "transaction"(MULTI/EXEC per key group)
+     */
+    public static final String CONSUMER_APPLY_MODE_PROPERTY_NAME = CONSUMER_PROPERTY_NAME_PREFIX + "apply-mode";
+
+    public static final String PIPELINE_APPLY_MODE = "pipeline";
+
+    public static final String TRANSACTION_APPLY_MODE = "transaction";
+
+    public static final String DEFAULT_CONSUMER_APPLY_MODE = PIPELINE_APPLY_MODE;
+
+    /**
+     * The store of the replay watermarks : "redis"(the target Redis), "local"(the local files) or "none"
+     */
+    public static final String CONSUMER_REPLAY_WATERMARK_STORE_PROPERTY_NAME = CONSUMER_PROPERTY_NAME_PREFIX + "replay.watermark-store";
+
+    public static final String REDIS_REPLAY_WATERMARK_STORE = "redis";
+
+    public static final String LOCAL_REPLAY_WATERMARK_STORE = "local";
+
+    public static final String DEFAULT_CONSUMER_REPLAY_WATERMARK_STORE = REDIS_REPLAY_WATERMARK_STORE;
+
+    /**
+     * The directory of the "local" replay watermark store
+     */
+    public static final String CONSUMER_REPLAY_WATERMARK_DIRECTORY_PROPERTY_NAME = CONSUMER_PROPERTY_NAME_PREFIX + "replay.watermark-directory";
+
+    public static final String DEFAULT_CONSUMER_REPLAY_WATERMARK_DIRECTORY = System.getProperty("java.io.tmpdir") + "/microsphere-redis-replicator/watermarks";
+
+    /**
+     * The directory of the dead-letter log, the records that can't be deserialized are moved into the log of the
+     * consumer group, which is in the format of the "file" transport
+     */
+    public static final String CONSUMER_DEAD_LETTER_DIRECTORY_PROPERTY_NAME = CONSUMER_PROPERTY_NAME_PREFIX + "dead-letter-directory";
+
+    public static final String DEFAULT_CONSUMER_DEAD_LETTER_DIRECTORY = System.getProperty("java.io.tmpdir") + "/microsphere-redis-replicator/dead-letters";
+
+    /**
+     * The key prefix of the hash of the "redis" replay watermark store
+     */
+    public static final String REPLAY_WATERMARK_KEY_PREFIX = "microsphere:redis-replicator:watermarks:";
+
+    /**
+     * The number of workers that replay the commands of a batch in parallel
+     */
+    public static final String CONSUMER_REPLAY_WORKERS_PROPERTY_NAME = CONSUMER_PROPERTY_NAME_PREFIX + "replay.workers";
+
+    public static final int DEFAULT_CONSUMER_REPLAY_WORKERS = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * The max number of batches that are replayed at the same time, the number of domains is used by default
+     */
+    public static final String CONSUMER_REPLAY_MAX_IN_FLIGHT_BATCHES_PROPERTY_NAME = CONSUMER_PROPERTY_NAME_PREFIX + "replay.max-in-flight-batches";
+
+    /**
+     * @deprecated use {@link #CONSUMER_REPLAY_WORKERS_PROPERTY_NAME} instead, it's only read if the new one is absent
+     */
+    @Deprecated
+    public static final String KAFKA_LISTENER_REPLAY_WORKERS_PROPERTY_NAME = PROPERTY_NAME_PREFIX + "kafka.listener.replay.workers";
+
+    /**
+     * @deprecated use {@link #CONSUMER_REPLAY_MAX_IN_FLIGHT_BATCHES_PROPERTY_NAME} instead, it's only read if the new
+     * one is absent
+     */
+    @Deprecated
+    public static final String KAFKA_LISTENER_REPLAY_MAX_IN_FLIGHT_BATCHES_PROPERTY_NAME = PROPERTY_NAME_PREFIX + "kafka.listener.replay.max-in-flight-batches";
+
+    /**
+     * The transport of the replicated Redis commands : "kafka", "memory"(in the same JVM) or "file"(the memory-mapped
+     * log files on the same host)
+     */
+    public static final String TRANSPORT_PROPERTY_NAME = PROPERTY_NAME_PREFIX + "transport";
+
+    public static final String KAFKA_TRANSPORT = "kafka";
+
+    public static final String IN_MEMORY_TRANSPORT = "memory";
+
+    public static final String FILE_TRANSPORT = "file";
+
+    public static final String DEFAULT_TRANSPORT = KAFKA_TRANSPORT;
+
+    public static final String TRANSPORT_PROPERTY_NAME_PREFIX = TRANSPORT_PROPERTY_NAME + ".";
+
+    /**
+     * The capacity of the ring buffer per domain of the "memory" transport, it's rounded up to the power of 2
+     */
+    public static final String IN_MEMORY_TRANSPORT_CAPACITY_PROPERTY_NAME = TRANSPORT_PROPERTY_NAME_PREFIX + "memory.capacity";
+
+    public static final int DEFAULT_IN_MEMORY_TRANSPORT_CAPACITY = 65536;
+
+    /**
+     * The timeout in milliseconds to wait for the free slot of the ring buffer of the "memory" transport
+     */
+    public static final String IN_MEMORY_TRANSPORT_PUBLISH_TIMEOUT_PROPERTY_NAME = TRANSPORT_PROPERTY_NAME_PREFIX + "memory.publish-timeout";
+
+    public static final long DEFAULT_IN_MEMORY_TRANSPORT_PUBLISH_TIMEOUT = 1000L;
+
+    /**
+     * The directory of the "file" transport, the log files of domain are stored in the sub-directory
+     */
+    public static final String FILE_TRANSPORT_DIRECTORY_PROPERTY_NAME = TRANSPORT_PROPERTY_NAME_PREFIX + "file.directory";
+
+    public static final String DEFAULT_FILE_TRANSPORT_DIRECTORY = System.getProperty("java.io.tmpdir") + "/microsphere-redis-replicator/log";
+
+    /**
+     * The size in bytes of the log segment file of the "file" transport
+     */
+    public static final String FILE_TRANSPORT_SEGMENT_SIZE_PROPERTY_NAME = TRANSPORT_PROPERTY_NAME_PREFIX + "file.segment-size";
+
+    public static final int DEFAULT_FILE_TRANSPORT_SEGMENT_SIZE = 64 * 1024 * 1024;
+
+    /**
+     * The fsync policy of the log of the "file" transport : "always", "interval" or "never"
+     */
+    public static final String FILE_TRANSPORT_FSYNC_POLICY_PROPERTY_NAME = TRANSPORT_PROPERTY_NAME_PREFIX + "file.fsync-policy";
+
+    public static final String DEFAULT_FILE_TRANSPORT_FSYNC_POLICY = "interval";
+
+    /**
+     * The interval in milliseconds of the "interval" fsync policy of the "file" transport
+     */
+    public static final String FILE_TRANSPORT_FSYNC_INTERVAL_PROPERTY_NAME = TRANSPORT_PROPERTY_NAME_PREFIX + "file.fsync-interval";
+
+    public static final long DEFAULT_FILE_TRANSPORT_FSYNC_INTERVAL = 1000L;
+
+    /**
+     * The max number of records that are received in one batch by the "memory" and "file" transports
+     */
+    public static final String TRANSPORT_RECEIVER_BATCH_SIZE_PROPERTY_NAME = TRANSPORT_PROPERTY_NAME_PREFIX + "receiver.batch-size";
+
+    public static final int DEFAULT_TRANSPORT_RECEIVER_BATCH_SIZE = 256;
+
+    public static final String PRODUCER_PROPERTY_NAME_PREFIX = PROPERTY_NAME_PREFIX + "producer.";
+
+    /**
+     * The id of the producer instance, which is a part of the stable id of the replication source, thus the replay
+     * watermarks are reused after restart. The host name and the server port are used by default.
+     */
+    public static final String PRODUCER_INSTANCE_ID_PROPERTY_NAME = PRODUCER_PROPERTY_NAME_PREFIX + "instance-id";
+
+    /**
+     * The prefix of the property name of the producer's queue per domain
+     */
+    public static final String PRODUCER_QUEUE_PROPERTY_NAME_PREFIX = PRODUCER_PROPERTY_NAME_PREFIX + "queue.";
+
+    public static final String PRODUCER_QUEUE_CAPACITY_PROPERTY_NAME = PRODUCER_QUEUE_PROPERTY_NAME_PREFIX + "capacity";
+
+    public static final int DEFAULT_PRODUCER_QUEUE_CAPACITY = 8192;
+
+    /**
+     * The overflow policy of the producer's queue : "block", "drop-oldest" or "spill"
+     */
+    public static final String PRODUCER_QUEUE_OVERFLOW_POLICY_PROPERTY_NAME = PRODUCER_QUEUE_PROPERTY_NAME_PREFIX + "overflow-policy";
+
+    public static final String DEFAULT_PRODUCER_QUEUE_OVERFLOW_POLICY = "block";
+
+    /**
+     * The timeout in milliseconds of the "block" overflow policy
+     */
+    public static final String PRODUCER_QUEUE_BLOCK_TIMEOUT_PROPERTY_NAME = PRODUCER_QUEUE_PROPERTY_NAME_PREFIX + "block-timeout";
+
+    public static final long DEFAULT_PRODUCER_QUEUE_BLOCK_TIMEOUT = 1000L;
+
+    /**
+     * The max number of events that are drained from the queue in one batch
+     */
+    public static final String PRODUCER_QUEUE_BATCH_SIZE_PROPERTY_NAME = PRODUCER_QUEUE_PROPERTY_NAME_PREFIX + "batch-size";
+
+    public static final int DEFAULT_PRODUCER_QUEUE_BATCH_SIZE = 256;
+
+    /**
+     * The directory of the spill files of the "spill" overflow policy
+     */
+    public static final String PRODUCER_QUEUE_SPILL_DIRECTORY_PROPERTY_NAME = PRODUCER_QUEUE_PROPERTY_NAME_PREFIX + "spill-directory";
+
+    public static final String DEFAULT_PRODUCER_QUEUE_SPILL_DIRECTORY = System.getProperty("java.io.tmpdir") + "/microsphere-redis-replicator";
+
+    /**
+     * The max size in bytes of the spill file per domain
+     */
+    public static final String PRODUCER_QUEUE_SPILL_MAX_SIZE_PROPERTY_NAME = PRODUCER_QUEUE_PROPERTY_NAME_PREFIX + "spill-max-size";
+
+    public static final long DEFAULT_PRODUCER_QUEUE_SPILL_MAX_SIZE = 1L << 30;
+
+    /**
+     * The prefix of the property name of the producer's durable outbox per domain
+     */
+    public static final String PRODUCER_OUTBOX_PROPERTY_NAME_PREFIX = PRODUCER_PROPERTY_NAME_PREFIX + "outbox.";
+
+    public static final String PRODUCER_OUTBOX_ENABLED_PROPERTY_NAME = PRODUCER_OUTBOX_PROPERTY_NAME_PREFIX + "enabled";
+
+    public static final boolean DEFAULT_PRODUCER_OUTBOX_ENABLED = false;
+
+    /**
+     * The directory of the outbox, the segment files of domain are stored in the sub-directory
+     */
+    public static final String PRODUCER_OUTBOX_DIRECTORY_PROPERTY_NAME = PRODUCER_OUTBOX_PROPERTY_NAME_PREFIX + "directory";
+
+    public static final String DEFAULT_PRODUCER_OUTBOX_DIRECTORY = DEFAULT_PRODUCER_QUEUE_SPILL_DIRECTORY + "/outbox";
+
+    /**
+     * The size in bytes of the outbox segment file
+     */
+    public static final String PRODUCER_OUTBOX_SEGMENT_SIZE_PROPERTY_NAME = PRODUCER_OUTBOX_PROPERTY_NAME_PREFIX + "segment-size";
+
+    public static final int DEFAULT_PRODUCER_OUTBOX_SEGMENT_SIZE = 64 * 1024 * 1024;
+
+    /**
+     * The fsync policy of the outbox : "always", "interval" or "never"
+     */
+    public static final String PRODUCER_OUTBOX_FSYNC_POLICY_PROPERTY_NAME = PRODUCER_OUTBOX_PROPERTY_NAME_PREFIX + "fsync-policy";
+
+    public static final String DEFAULT_PRODUCER_OUTBOX_FSYNC_POLICY = "interval";
+
+    /**
+     * The interval in milliseconds of the "interval" fsync policy
+     */
+    public static final String PRODUCER_OUTBOX_FSYNC_INTERVAL_PROPERTY_NAME = PRODUCER_OUTBOX_PROPERTY_NAME_PREFIX + "fsync-interval";
+
+    public static final long DEFAULT_PRODUCER_OUTBOX_FSYNC_INTERVAL = 1000L;
+
+    /**
+     * The backoff in milliseconds before the failed events are re-sent from the outbox
+     */
+    public static final String PRODUCER_OUTBOX_RETRY_BACKOFF_PROPERTY_NAME = PRODUCER_OUTBOX_PROPERTY_NAME_PREFIX + "retry-backoff";
+
+    public static final long DEFAULT_PRODUCER_OUTBOX_RETRY_BACKOFF = 1000L;
+
+    /**
+     * The max size in bytes of the outbox segment files per domain, the Redis threads are blocked for the
+     * "block-timeout" of the queue if the outbox is full, then the events are rejected
+     */
+    public static final String PRODUCER_OUTBOX_MAX_SIZE_PROPERTY_NAME = PRODUCER_OUTBOX_PROPERTY_NAME_PREFIX + "max-size";
+
+    public static final long DEFAULT_PRODUCER_OUTBOX_MAX_SIZE = 1L << 30;
+
+    /**
+     * The prefix of the property name of the partition, it also can be configured per domain :
+     * microsphere.redis.replicator.domains.{domain}.partition.*
+     */
+    public static final String PARTITION_PROPERTY_NAME_PREFIX = "partition.";
+
+    /**
+     * The partition strategy : "default", "key-hash", "command-affinity", "sticky" or the class name of
+     * the implementation
+     */
+    public static final String PARTITION_STRATEGY_PROPERTY_NAME = PARTITION_PROPERTY_NAME_PREFIX + "strategy";
+
+    public static final String DEFAULT_PARTITION_STRATEGY = "default";
+
+    /**
+     * The number of events that stick to one partition for the "sticky" strategy
+     */
+    public static final String PARTITION_STICKY_BATCH_SIZE_PROPERTY_NAME = PARTITION_PROPERTY_NAME_PREFIX + "sticky-batch-size";
+
+    public static final int DEFAULT_PARTITION_STICKY_BATCH_SIZE = 100;
+
+    /**
+     * The prefix of the property name of the "command-affinity" strategy, the rest of the name is the method name or
+     * the simple interface name of the Redis command, the value is the partition, e.g :
+     * microsphere.redis.replicator.domains.default.partition.command-affinity.RedisStreamCommands = 0
+     */
+    public static final String PARTITION_COMMAND_AFFINITY_PROPERTY_NAME_PREFIX = PARTITION_PROPERTY_NAME_PREFIX + "command-affinity.";
+
     public static final boolean DEFAULT_ENABLED = true;
 
     public static final boolean DEFAULT_CONSUMER_ENABLED = Boolean.getBoolean(CONSUMER_ENABLED_PROPERTY_NAME);
@@ -168,6 +432,28 @@ public class RedisReplicatorConfiguration implements ApplicationListener<RedisCo
         return unmodifiableList(environment.getProperty(propertyName, List.class, emptyList()));
     }
 
+    /**
+     * Get the property of the specified domain, the pattern of the property name :
+     * microsphere.redis.replicator.domains.{domain}.{name}, if it's absent, the property
+     * microsphere.redis.replicator.{name} will be used.
+     *
+     * @param environment  {@link Environment}
+     * @param domain       the domain
+     * @param name         the relative property name
+     * @param targetType   the target type
+     * @param defaultValue the default value
+     * @param <T>          the target type
+     * @return the property value or the default value
+     */
+    public static <T> T getDomainProperty(Environment environment, String domain, String name, Class<T> targetType, T defaultValue) {
+        T value = environment.getProperty(getDomainPropertyName(domain, name), targetType);
+        return value == null ? environment.getProperty(PROPERTY_NAME_PREFIX + name, targetType, defaultValue) : value;
+    }
+
+    public static String getDomainPropertyName(String domain, String name) {
+        return DOMAIN_REDIS_TEMPLATE_BEAN_NAMES_PROPERTY_NAME_PREFIX + domain + "." + name;
+    }
+
     protected String getDomainRedisTemplateBeanNamesPropertyName(String domain) {
         return DOMAIN_REDIS_TEMPLATE_BEAN_NAMES_PROPERTY_NAME_PREFIX + domain + DOMAIN_REDIS_TEMPLATE_BEAN_NAMES_PROPERTY_NAME_SUFFIX;
     }
@@ -209,6 +495,17 @@ public class RedisReplicatorConfiguration implements ApplicationListener<RedisCo
         return getBoolean(context, ENABLED_PROPERTY_NAME, DEFAULT_ENABLED, "Replicator", "enabled");
     }
 
+    /**
+     * Whether the specified transport is selected by the property {@link #TRANSPORT_PROPERTY_NAME}
+     *
+     * @param context   {@link ApplicationContext}
+     * @param transport the transport, e.g, "kafka"
+     * @return <code>true</code> if selected
+     */
+    public static boolean isTransport(ApplicationContext context, String transport) {
+        return transport.equals(context.getEnvironment().getProperty(TRANSPORT_PROPERTY_NAME, DEFAULT_TRANSPORT));
+    }
+
     public static boolean isConsumerEnabled(ApplicationContext context) {
         return getBoolean(context, CONSUMER_ENABLED_PROPERTY_NAME, DEFAULT_CONSUMER_ENABLED, "Replicator Consumer", "enabled");
     }
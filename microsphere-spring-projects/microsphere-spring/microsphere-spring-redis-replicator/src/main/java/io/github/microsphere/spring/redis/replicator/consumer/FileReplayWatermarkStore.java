@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microsphere.spring.redis.replicator.consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+/**
+ * {@link ReplayWatermarkStore} stores the watermarks of each partition in the local properties file, the file is
+ * replaced atomically when saving.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see ReplayWatermarkStore
+ * @since 1.0.0
+ */
+public class FileReplayWatermarkStore implements ReplayWatermarkStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(FileReplayWatermarkStore.class);
+
+    private static final String FILE_SUFFIX = ".watermarks";
+
+    private final File directory;
+
+    public FileReplayWatermarkStore(File directory) throws IOException {
+        if (!directory.exists() && !directory.mkdirs()) {
+            throw new IOException("The directory[" + directory + "] can't be created");
+        }
+        this.directory = directory;
+    }
+
+    @Override
+    public synchronized Map<String, Long> load(String partition) {
+        Map<String, Long> watermarks = new HashMap<>();
+        Properties properties = loadProperties(getFile(partition));
+        properties.forEach((sourceId, watermark) -> watermarks.put((String) sourceId, Long.valueOf((String) watermark)));
+        return watermarks;
+    }
+
+    @Override
+    public synchronized void save(String partition, Map<String, Long> watermarks) {
+        if (watermarks.isEmpty()) {
+            return;
+        }
+        Path path = getFile(partition);
+        Properties properties = loadProperties(path);
+        watermarks.forEach((sourceId, watermark) -> properties.setProperty(sourceId, String.valueOf(watermark)));
+        Path tempPath = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            try (OutputStream outputStream = Files.newOutputStream(tempPath)) {
+                properties.store(outputStream, null);
+            }
+            Files.move(tempPath, path, REPLACE_EXISTING, ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.warn("The replay watermarks of partition[{}] can't be saved into the file[{}]", partition, path, e);
+        }
+    }
+
+    private Path getFile(String partition) {
+        return new File(directory, partition + FILE_SUFFIX).toPath();
+    }
+
+    private Properties loadProperties(Path path) {
+        Properties properties = new Properties();
+        if (Files.exists(path)) {
+            try (InputStream inputStream = Files.newInputStream(path)) {
+                properties.load(inputStream);
+            } catch (IOException e) {
+                logger.warn("The replay watermarks can't be loaded from the file[{}]", path, e);
+            }
+        }
+        return properties;
+    }
+}
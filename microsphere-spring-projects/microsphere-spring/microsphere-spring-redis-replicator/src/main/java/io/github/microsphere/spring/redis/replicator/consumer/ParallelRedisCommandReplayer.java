@@ -0,0 +1,248 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microsphere.spring.redis.replicator.consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.ClusterSlotHashUtil;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * The replayer shards a batch of the replicated Redis commands by the Redis key onto the worker pool, the commands of
+ * the same key(or the same hash tag) are always replayed in order by one worker, the commands of the independent keys
+ * are replayed concurrently. The command without key(e.g, FLUSHDB) is a barrier, it's replayed after all the previous
+ * commands and before all the following commands of the batch.
+ * <p>
+ * {@link #replay(List, Function, Consumer)} and {@link #replayInBatches(List, Function, Consumer)} return normally
+ * only after all the commands of the batch are replayed, thus the batch could be acknowledged safely. If any command
+ * fails, the following commands of its shard are not replayed, the other shards are waited for, and the failure is
+ * rethrown, thus the batch must not be acknowledged.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @since 1.0.0
+ */
+public class ParallelRedisCommandReplayer implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ParallelRedisCommandReplayer.class);
+
+    private static final long SHUTDOWN_TIMEOUT = 5000L;
+
+    private final int workers;
+
+    private final Semaphore inFlightBatches;
+
+    @Nullable
+    private final ExecutorService executor;
+
+    /**
+     * @param name               the name of replayer, it's used as the prefix of the worker threads
+     * @param workers            the count of the workers, the batch is replayed in the caller thread if it's less than 2
+     * @param maxInFlightBatches the max count of the batches that are replayed concurrently
+     */
+    public ParallelRedisCommandReplayer(String name, int workers, int maxInFlightBatches) {
+        this.workers = Math.max(1, workers);
+        this.inFlightBatches = new Semaphore(Math.max(1, maxInFlightBatches));
+        this.executor = this.workers > 1 ? Executors.newFixedThreadPool(this.workers, new CustomizableThreadFactory(name + "-Replay-")) : null;
+    }
+
+    /**
+     * Replay the batch and wait for the completion
+     *
+     * @param batch       the batch of the replicated Redis commands
+     * @param keyResolver resolves the nullable Redis key of the command
+     * @param replayer    replays the command
+     * @param <T>         the type of the replicated Redis command
+     * @throws InterruptedException if the current thread is interrupted while waiting
+     * @throws RuntimeException     the failure of the first failed command, the batch is not replayed completely
+     */
+    public <T> void replay(List<T> batch, Function<T, byte[]> keyResolver, Consumer<T> replayer) throws InterruptedException {
+        replayInBatches(batch, keyResolver, commands -> replay(commands, replayer));
+    }
+
+    /**
+     * Replay the batch and wait for the completion, the sharded commands are replayed as a sub-batch, thus they
+     * could be applied in bulk, e.g, the Redis pipeline
+     *
+     * @param batch          the batch of the replicated Redis commands
+     * @param keyResolver    resolves the nullable Redis key of the command
+     * @param batchReplayer  replays the ordered sub-batch of the commands
+     * @param <T>            the type of the replicated Redis command
+     * @throws InterruptedException if the current thread is interrupted while waiting
+     * @throws RuntimeException     the failure of the first failed sub-batch, the batch is not replayed completely
+     */
+    public <T> void replayInBatches(List<T> batch, Function<T, byte[]> keyResolver, Consumer<List<T>> batchReplayer) throws InterruptedException {
+        int size = batch.size();
+        if (size == 0) {
+            return;
+        }
+        if (executor == null || size == 1) {
+            replayBatch(batch, batchReplayer);
+            return;
+        }
+
+        inFlightBatches.acquire();
+        try {
+            int[] shards = new int[size];
+            int start = 0;
+            for (int i = 0; i < size; i++) {
+                byte[] key = keyResolver.apply(batch.get(i));
+                if (key == null) {
+                    replayInParallel(batch, shards, start, i, batchReplayer);
+                    replayBatch(batch.subList(i, i + 1), batchReplayer);
+                    start = i + 1;
+                } else {
+                    shards[i] = ClusterSlotHashUtil.calculateSlot(key) % workers;
+                }
+            }
+            replayInParallel(batch, shards, start, size, batchReplayer);
+        } finally {
+            inFlightBatches.release();
+        }
+    }
+
+    private <T> void replayInParallel(List<T> batch, int[] shards, int from, int to, Consumer<List<T>> batchReplayer) throws InterruptedException {
+        int count = to - from;
+        if (count < 1) {
+            return;
+        }
+        if (count == 1) {
+            replayBatch(batch.subList(from, to), batchReplayer);
+            return;
+        }
+
+        List<List<T>> shardedCommands = new ArrayList<>(workers);
+        for (int i = 0; i < workers; i++) {
+            shardedCommands.add(null);
+        }
+        for (int i = from; i < to; i++) {
+            int shard = shards[i];
+            List<T> commands = shardedCommands.get(shard);
+            if (commands == null) {
+                commands = new ArrayList<>();
+                shardedCommands.set(shard, commands);
+            }
+            commands.add(batch.get(i));
+        }
+
+        List<T> callerCommands = null;
+        List<Future<?>> futures = new ArrayList<>(workers);
+        for (int i = 0; i < workers; i++) {
+            List<T> commands = shardedCommands.get(i);
+            if (commands == null) {
+                continue;
+            }
+            if (callerCommands == null) {
+                // The first shard is replayed by the caller thread
+                callerCommands = commands;
+            } else {
+                futures.add(executor.submit(() -> replayBatch(commands, batchReplayer)));
+            }
+        }
+
+        Throwable failure = null;
+        try {
+            replayBatch(callerCommands, batchReplayer);
+        } catch (Throwable e) {
+            failure = e;
+        }
+
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                futures.get(i).get();
+            } catch (ExecutionException e) {
+                failure = addFailure(failure, e.getCause());
+            } catch (InterruptedException e) {
+                // The replaying shards must not be applied after the batch is given up
+                for (int j = i; j < futures.size(); j++) {
+                    futures.get(j).cancel(true);
+                }
+                throw e;
+            }
+        }
+
+        if (failure != null) {
+            rethrow(failure);
+        }
+    }
+
+    private <T> void replayBatch(List<T> commands, Consumer<List<T>> batchReplayer) {
+        try {
+            batchReplayer.accept(commands);
+        } catch (Throwable e) {
+            logger.warn("[Redis-Replicator-Replay] Failed to replay {} Redis commands", commands.size(), e);
+            throw e;
+        }
+    }
+
+    private <T> void replay(List<T> commands, Consumer<T> replayer) {
+        // The following commands of the same shard must not be replayed after the failed one
+        for (int i = 0; i < commands.size(); i++) {
+            replayer.accept(commands.get(i));
+        }
+    }
+
+    private static Throwable addFailure(@Nullable Throwable failure, Throwable e) {
+        if (failure == null) {
+            return e;
+        }
+        failure.addSuppressed(e);
+        return failure;
+    }
+
+    private static void rethrow(Throwable failure) {
+        if (failure instanceof RuntimeException) {
+            throw (RuntimeException) failure;
+        }
+        if (failure instanceof Error) {
+            throw (Error) failure;
+        }
+        throw new IllegalStateException(failure);
+    }
+
+    public int getWorkers() {
+        return workers;
+    }
+
+    @Override
+    public void close() {
+        if (executor == null) {
+            return;
+        }
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(SHUTDOWN_TIMEOUT, TimeUnit.MILLISECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
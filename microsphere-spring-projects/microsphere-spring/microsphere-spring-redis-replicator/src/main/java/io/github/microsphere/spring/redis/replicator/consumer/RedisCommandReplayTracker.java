@@ -0,0 +1,224 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microsphere.spring.redis.replicator.consumer;
+
+import io.github.microsphere.spring.redis.event.RedisCommandEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.lang.Nullable;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The tracker of the replayed {@link RedisCommandEvent RedisCommandEvents}, it keeps the high-watermark of each
+ * replication source per partition, the events whose sequences are not greater than the watermark were replayed, and
+ * they are skipped.
+ * <p>
+ * The usage for a batch :
+ * <ol>
+ *     <li>{@link #begin()} a {@link Batch}</li>
+ *     <li>{@link Batch#accept(String, String, long) accept} the events before replaying, and
+ *     {@link Batch#reject(String, String, long) reject} the accepted events that can't be replayed</li>
+ *     <li>{@link Batch#commit() commit} the watermarks only after the whole batch is replayed successfully, then
+ *     acknowledge the batch, the failed batch is never committed</li>
+ * </ol>
+ * The watermark only advances over the contiguous prefix of the replayed events, it stops before the first rejected
+ * event of the source in the partition. The events without the stamp are always accepted.
+ * <p>
+ * The sequences of one source must be monotonic in each partition, a batch record stands for its events by the
+ * sequence of the last one, so the producer sends the records of one partition in drain order, otherwise the later
+ * records with the smaller sequences would be skipped.
+ * <p>
+ * If the watermarks are stored in the target Redis, they are wiped by the replayed FLUSHDB or FLUSHALL, thus all the
+ * cached watermarks are saved again on the commit of the batch that {@link Batch#flushed() flushed} the target.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see ReplayWatermarkStore
+ * @see RedisCommandEvent#getSourceId()
+ * @see RedisCommandEvent#getSequence()
+ * @since 1.0.0
+ */
+public class RedisCommandReplayTracker {
+
+    private static final Logger logger = LoggerFactory.getLogger(RedisCommandReplayTracker.class);
+
+    private final ReplayWatermarkStore store;
+
+    /**
+     * The partition as key, the watermarks of the sources as value
+     */
+    private final ConcurrentMap<String, Map<String, Long>> watermarks = new ConcurrentHashMap<>();
+
+    public RedisCommandReplayTracker(ReplayWatermarkStore store) {
+        this.store = store;
+    }
+
+    /**
+     * Begin a batch, the batch is used by one thread
+     *
+     * @return non-null
+     */
+    public Batch begin() {
+        return new Batch();
+    }
+
+    /**
+     * Invalidate the cached watermarks of the partition, e.g, the partition is re-assigned
+     *
+     * @param partition the partition
+     */
+    public void invalidate(String partition) {
+        watermarks.remove(partition);
+    }
+
+    private Map<String, Long> getWatermarks(String partition) {
+        return watermarks.computeIfAbsent(partition, p -> new ConcurrentHashMap<>(store.load(p)));
+    }
+
+    /**
+     * The batch of the events to be replayed
+     */
+    public class Batch {
+
+        /**
+         * The partition as key, the max sequences of the sources in this batch as value
+         */
+        private final Map<String, Map<String, Long>> sequences = new HashMap<>();
+
+        /**
+         * The partition as key, the new watermarks of the sources as value
+         */
+        private final Map<String, Map<String, Long>> newWatermarks = new HashMap<>();
+
+        /**
+         * The partition as key, the sources whose events were rejected as value
+         */
+        private final Map<String, Set<String>> rejectedSources = new HashMap<>();
+
+        private boolean flushed;
+
+        private int skippedCount;
+
+        private Batch() {
+        }
+
+        /**
+         * Whether the event should be replayed or not, the events of the same source must be accepted in order of
+         * the partition, and their sequences must be monotonic
+         *
+         * @param partition the partition
+         * @param sourceId  the nullable id of the replication source
+         * @param sequence  the sequence in the replication source
+         * @return <code>false</code> if the event was replayed
+         */
+        public boolean accept(String partition, @Nullable String sourceId, long sequence) {
+            if (sourceId == null || sequence < 0) {
+                return true;
+            }
+            Map<String, Long> batchSequences = sequences.computeIfAbsent(partition, p -> new HashMap<>());
+            Long maxSequence = batchSequences.get(sourceId);
+            if (maxSequence == null) {
+                maxSequence = getWatermarks(partition).get(sourceId);
+            }
+            if (maxSequence != null && sequence <= maxSequence) {
+                skippedCount++;
+                logger.debug("The replayed event[partition : '{}' , source : '{}' , sequence : {}] is skipped", partition, sourceId, sequence);
+                return false;
+            }
+            batchSequences.put(sourceId, sequence);
+            if (!isRejected(partition, sourceId)) {
+                newWatermarks.computeIfAbsent(partition, p -> new HashMap<>()).put(sourceId, sequence);
+            }
+            return true;
+        }
+
+        /**
+         * The accepted event can't be replayed, the watermark of its source stops before it
+         *
+         * @param partition the partition
+         * @param sourceId  the nullable id of the replication source
+         * @param sequence  the sequence in the replication source
+         */
+        public void reject(String partition, @Nullable String sourceId, long sequence) {
+            if (sourceId == null || sequence < 0) {
+                return;
+            }
+            if (rejectedSources.computeIfAbsent(partition, p -> new HashSet<>()).add(sourceId)) {
+                Map<String, Long> partitionWatermarks = newWatermarks.get(partition);
+                Long watermark = partitionWatermarks == null ? null : partitionWatermarks.get(sourceId);
+                if (watermark != null && watermark >= sequence) {
+                    // The rejected event was the last accepted one
+                    partitionWatermarks.remove(sourceId);
+                }
+                logger.warn("The watermark[partition : '{}' , source : '{}'] stops before the rejected event[sequence : {}]", partition, sourceId, sequence);
+            }
+        }
+
+        private boolean isRejected(String partition, String sourceId) {
+            Set<String> sources = rejectedSources.get(partition);
+            return sources != null && sources.contains(sourceId);
+        }
+
+        /**
+         * The target Redis was flushed by the replayed command of this batch, e.g, FLUSHDB or FLUSHALL
+         */
+        public void flushed() {
+            this.flushed = true;
+        }
+
+        /**
+         * Save the watermarks, it must be invoked only after all the accepted events were replayed successfully
+         */
+        public void commit() {
+            newWatermarks.forEach((partition, partitionWatermarks) -> {
+                Map<String, Long> watermarks = getWatermarks(partition);
+                // The watermarks of the partition are saved entirely if the target was flushed
+                store.save(partition, flushed ? merge(watermarks, partitionWatermarks) : partitionWatermarks);
+                watermarks.putAll(partitionWatermarks);
+            });
+            if (flushed) {
+                watermarks.forEach((partition, partitionWatermarks) -> {
+                    if (!newWatermarks.containsKey(partition)) {
+                        store.save(partition, partitionWatermarks);
+                    }
+                });
+            }
+            sequences.clear();
+            newWatermarks.clear();
+            rejectedSources.clear();
+            flushed = false;
+        }
+
+        private Map<String, Long> merge(Map<String, Long> watermarks, Map<String, Long> newWatermarks) {
+            Map<String, Long> mergedWatermarks = new HashMap<>(watermarks);
+            mergedWatermarks.putAll(newWatermarks);
+            return mergedWatermarks;
+        }
+
+        /**
+         * @return the count of the skipped events
+         */
+        public int getSkippedCount() {
+            return skippedCount;
+        }
+    }
+}
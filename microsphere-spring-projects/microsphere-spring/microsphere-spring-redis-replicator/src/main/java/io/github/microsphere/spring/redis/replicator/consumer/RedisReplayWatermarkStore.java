@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microsphere.spring.redis.replicator.consumer;
+
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * {@link ReplayWatermarkStore} stores the watermarks in the target Redis, the watermarks of a partition are kept in
+ * one hash : "{key prefix}{partition}", the field is the source id and the value is the watermark. The hashes are
+ * wiped by the replayed FLUSHDB or FLUSHALL, they're saved again by {@link RedisCommandReplayTracker} after that.
+ * <p>
+ * The HMSET is issued by its own connection after the batch was applied, it can't join the MULTI or the pipeline of
+ * the apply, because the shards of the batch are applied by the different connections in parallel. If the consumer
+ * crashes in between, the applied commands are replayed again, that's at-least-once.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see ReplayWatermarkStore
+ * @since 1.0.0
+ */
+public class RedisReplayWatermarkStore implements ReplayWatermarkStore {
+
+    private final RedisConnectionFactory redisConnectionFactory;
+
+    private final String keyPrefix;
+
+    /**
+     * @param redisConnectionFactory the raw {@link RedisConnectionFactory} of the target Redis, the commands must not
+     *                               be replicated again
+     * @param keyPrefix              the prefix of the hash key
+     */
+    public RedisReplayWatermarkStore(RedisConnectionFactory redisConnectionFactory, String keyPrefix) {
+        this.redisConnectionFactory = redisConnectionFactory;
+        this.keyPrefix = keyPrefix;
+    }
+
+    @Override
+    public Map<String, Long> load(String partition) {
+        Map<byte[], byte[]> values;
+        try (RedisConnection redisConnection = redisConnectionFactory.getConnection()) {
+            values = redisConnection.hashCommands().hGetAll(toKey(partition));
+        }
+        Map<String, Long> watermarks = new HashMap<>();
+        if (values != null) {
+            values.forEach((field, value) -> watermarks.put(toString(field), Long.valueOf(toString(value))));
+        }
+        return watermarks;
+    }
+
+    @Override
+    public void save(String partition, Map<String, Long> watermarks) {
+        if (watermarks.isEmpty()) {
+            return;
+        }
+        Map<byte[], byte[]> values = new HashMap<>(watermarks.size());
+        watermarks.forEach((sourceId, watermark) -> values.put(toBytes(sourceId), toBytes(String.valueOf(watermark))));
+        try (RedisConnection redisConnection = redisConnectionFactory.getConnection()) {
+            redisConnection.hashCommands().hMSet(toKey(partition), values);
+        }
+    }
+
+    private byte[] toKey(String partition) {
+        return toBytes(keyPrefix + partition);
+    }
+
+    private static byte[] toBytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String toString(byte[] bytes) {
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,400 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microsphere.spring.redis.replicator.consumer;
+
+import io.github.microsphere.spring.redis.config.RedisConfiguration;
+import io.github.microsphere.spring.redis.event.RedisCommandEvent;
+import io.github.microsphere.spring.redis.event.RedisTransactionCommandEvent;
+import io.github.microsphere.spring.redis.replicator.config.RedisReplicatorConfiguration;
+import io.github.microsphere.spring.redis.replicator.event.RedisCommandReplicatedBatchEvent;
+import io.github.microsphere.spring.redis.replicator.event.RedisCommandReplicatedEvent;
+import io.github.microsphere.spring.redis.replicator.producer.FsyncPolicy;
+import io.github.microsphere.spring.redis.replicator.transport.RedisReplicatorReceiver;
+import io.github.microsphere.spring.redis.replicator.transport.ReplicatedRecord;
+import io.github.microsphere.spring.redis.replicator.transport.file.RedisReplicatorLogWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ApplicationEventPublisherAware;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.env.Environment;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.lang.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static io.github.microsphere.spring.redis.beans.Wrapper.tryUnwrap;
+import static io.github.microsphere.spring.redis.replicator.config.RedisReplicatorConfiguration.CONSUMER_DEAD_LETTER_DIRECTORY_PROPERTY_NAME;
+import static io.github.microsphere.spring.redis.replicator.config.RedisReplicatorConfiguration.CONSUMER_REPLAY_MAX_IN_FLIGHT_BATCHES_PROPERTY_NAME;
+import static io.github.microsphere.spring.redis.replicator.config.RedisReplicatorConfiguration.CONSUMER_REPLAY_WATERMARK_DIRECTORY_PROPERTY_NAME;
+import static io.github.microsphere.spring.redis.replicator.config.RedisReplicatorConfiguration.CONSUMER_REPLAY_WATERMARK_STORE_PROPERTY_NAME;
+import static io.github.microsphere.spring.redis.replicator.config.RedisReplicatorConfiguration.CONSUMER_REPLAY_WORKERS_PROPERTY_NAME;
+import static io.github.microsphere.spring.redis.replicator.config.RedisReplicatorConfiguration.DEFAULT_CONSUMER_DEAD_LETTER_DIRECTORY;
+import static io.github.microsphere.spring.redis.replicator.config.RedisReplicatorConfiguration.DEFAULT_CONSUMER_REPLAY_WATERMARK_DIRECTORY;
+import static io.github.microsphere.spring.redis.replicator.config.RedisReplicatorConfiguration.DEFAULT_CONSUMER_REPLAY_WATERMARK_STORE;
+import static io.github.microsphere.spring.redis.replicator.config.RedisReplicatorConfiguration.DEFAULT_CONSUMER_REPLAY_WORKERS;
+import static io.github.microsphere.spring.redis.replicator.config.RedisReplicatorConfiguration.KAFKA_LISTENER_REPLAY_MAX_IN_FLIGHT_BATCHES_PROPERTY_NAME;
+import static io.github.microsphere.spring.redis.replicator.config.RedisReplicatorConfiguration.KAFKA_LISTENER_REPLAY_WORKERS_PROPERTY_NAME;
+import static io.github.microsphere.spring.redis.replicator.config.RedisReplicatorConfiguration.LOCAL_REPLAY_WATERMARK_STORE;
+import static io.github.microsphere.spring.redis.replicator.config.RedisReplicatorConfiguration.REDIS_REPLAY_WATERMARK_STORE;
+import static io.github.microsphere.spring.redis.replicator.config.RedisReplicatorConfiguration.REPLAY_WATERMARK_KEY_PREFIX;
+import static io.github.microsphere.spring.redis.serializer.Serializers.redisCommandEventSerializer;
+import static io.github.microsphere.spring.redis.util.RedisCommandsUtils.REDIS_SERVER_COMMANDS_INTERFACE_NAME;
+import static io.github.microsphere.spring.redis.util.RedisCommandsUtils.resolveSingleKey;
+
+/**
+ * The consumer of Redis Replicator is independent of the transport, it starts all {@link RedisReplicatorReceiver}
+ * beans and handles their batches :
+ * <ol>
+ *     <li>skips the replayed records by {@link RedisCommandReplayTracker}</li>
+ *     <li>deserializes the {@link RedisCommandEvent RedisCommandEvents} from the records, one record may carry the
+ *     batch of events</li>
+ *     <li>replays the events in parallel by {@link ParallelRedisCommandReplayer}, the events of the same key are
+ *     in order</li>
+ *     <li>publishes {@link RedisCommandReplicatedBatchEvent} per shard, which is applied by one Redis connection,
+ *     then publishes its {@link RedisCommandReplicatedEvent RedisCommandReplicatedEvents} one by one</li>
+ *     <li>commits the replay watermarks, then the batch is committed by the receiver</li>
+ * </ol>
+ * The record that can't be deserialized would fail forever, it's moved into the dead-letter log in the format of the
+ * "file" transport instead of blocking the channel, if the dead-letter log can't be written, the batch is not
+ * committed and it will be redelivered.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see RedisReplicatorReceiver
+ * @see ParallelRedisCommandReplayer
+ * @see RedisCommandReplayTracker
+ * @since 1.0.0
+ */
+public class RedisReplicatorConsumer implements RedisReplicatorReceiver.Handler, SmartLifecycle, EnvironmentAware,
+        ApplicationEventPublisherAware, InitializingBean, DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(RedisReplicatorConsumer.class);
+
+    public static final String GROUP_ID_PREFIX = "Redis-Replicator-";
+
+    private static final String FLUSH_METHOD_NAME_PREFIX = "flush";
+
+    private static final int DEAD_LETTER_SEGMENT_SIZE = 1024 * 1024;
+
+    @Autowired
+    private RedisReplicatorConfiguration redisReplicatorConfiguration;
+
+    @Autowired
+    private ObjectProvider<RedisConnectionFactory> redisConnectionFactoryProvider;
+
+    @Autowired
+    private ObjectProvider<RedisReplicatorReceiver> receiversProvider;
+
+    private Environment environment;
+
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    /**
+     * Replays the commands of the batch in parallel
+     */
+    private ParallelRedisCommandReplayer replayer;
+
+    /**
+     * Skips the replayed commands, it's <code>null</code> if the replay watermark store is "none"
+     */
+    @Nullable
+    private RedisCommandReplayTracker replayTracker;
+
+    private File deadLetterDirectory;
+
+    /**
+     * The log of the records that can't be consumed, it's created on demand
+     */
+    @Nullable
+    private RedisReplicatorLogWriter deadLetterWriter;
+
+    private final List<RedisReplicatorReceiver> receivers = new ArrayList<>();
+
+    private volatile boolean running;
+
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        initReplayer();
+        initReplayTracker();
+        initDeadLetterDirectory();
+    }
+
+    private void initReplayer() {
+        int replayWorkers = getReplayProperty(CONSUMER_REPLAY_WORKERS_PROPERTY_NAME, KAFKA_LISTENER_REPLAY_WORKERS_PROPERTY_NAME,
+                DEFAULT_CONSUMER_REPLAY_WORKERS);
+        // By default, every domain could replay a batch at the same time
+        int maxInFlightBatches = getReplayProperty(CONSUMER_REPLAY_MAX_IN_FLIGHT_BATCHES_PROPERTY_NAME, KAFKA_LISTENER_REPLAY_MAX_IN_FLIGHT_BATCHES_PROPERTY_NAME,
+                Math.max(redisReplicatorConfiguration.getDomains().size(), 1));
+        this.replayer = new ParallelRedisCommandReplayer("Redis-Replicator-Consumer", replayWorkers, maxInFlightBatches);
+        logger.debug("Redis Replicator consumer : replay workers = {} , max in-flight batches = {}", replayWorkers, maxInFlightBatches);
+    }
+
+    private int getReplayProperty(String propertyName, String deprecatedPropertyName, int defaultValue) {
+        Integer value = environment.getProperty(propertyName, Integer.class);
+        if (value != null) {
+            return value;
+        }
+        value = environment.getProperty(deprecatedPropertyName, Integer.class);
+        if (value != null) {
+            logger.warn("The property '{}' is deprecated, please use '{}' instead", deprecatedPropertyName, propertyName);
+            return value;
+        }
+        return defaultValue;
+    }
+
+    private void initReplayTracker() throws IOException {
+        String storeType = environment.getProperty(CONSUMER_REPLAY_WATERMARK_STORE_PROPERTY_NAME, DEFAULT_CONSUMER_REPLAY_WATERMARK_STORE);
+        String groupId = getGroupId();
+        ReplayWatermarkStore store = null;
+        if (REDIS_REPLAY_WATERMARK_STORE.equals(storeType)) {
+            RedisConnectionFactory redisConnectionFactory = redisConnectionFactoryProvider.getIfUnique();
+            if (redisConnectionFactory == null) {
+                logger.warn("The unique RedisConnectionFactory is not found, the replayed commands will not be skipped");
+            } else {
+                store = new RedisReplayWatermarkStore(tryUnwrap(redisConnectionFactory, RedisConnectionFactory.class),
+                        REPLAY_WATERMARK_KEY_PREFIX + groupId + ":");
+            }
+        } else if (LOCAL_REPLAY_WATERMARK_STORE.equals(storeType)) {
+            String directory = environment.getProperty(CONSUMER_REPLAY_WATERMARK_DIRECTORY_PROPERTY_NAME, DEFAULT_CONSUMER_REPLAY_WATERMARK_DIRECTORY);
+            store = new FileReplayWatermarkStore(new File(directory, groupId));
+        }
+        this.replayTracker = store == null ? null : new RedisCommandReplayTracker(store);
+        logger.debug("Redis Replicator consumer : replay watermark store = {}", storeType);
+    }
+
+    private void initDeadLetterDirectory() {
+        String directory = environment.getProperty(CONSUMER_DEAD_LETTER_DIRECTORY_PROPERTY_NAME, DEFAULT_CONSUMER_DEAD_LETTER_DIRECTORY);
+        this.deadLetterDirectory = new File(directory, getGroupId());
+    }
+
+    /**
+     * The group id of the consumers that replicate the same source, it's also the namespace of the replay watermarks
+     *
+     * @return non-null
+     */
+    public String getGroupId() {
+        RedisConfiguration redisConfiguration = redisReplicatorConfiguration.getRedisConfiguration();
+        return GROUP_ID_PREFIX + redisConfiguration.getApplicationName();
+    }
+
+    @Override
+    public void handle(List<ReplicatedRecord> data) throws InterruptedException {
+        RedisCommandReplayTracker.Batch replayBatch = replayTracker == null ? null : replayTracker.begin();
+        List<ReplicatedRecord> records = replayBatch == null ? data : filterReplayedRecords(data, replayBatch);
+        List<RedisCommandReplicatedEvent> events = consumeRecords(records);
+        // The commands without key or of more than one key are replayed as the barriers
+        replayer.replayInBatches(events, this::resolveKey, this::publishEvents);
+        // The watermarks are committed only after the whole batch is replayed
+        if (replayBatch != null) {
+            if (isFlushed(events)) {
+                replayBatch.flushed();
+            }
+            replayBatch.commit();
+        }
+    }
+
+    @Override
+    public void onChannelsAssigned(Collection<String> channels) {
+        // The watermarks may be changed by the other consumers
+        if (replayTracker != null) {
+            channels.forEach(replayTracker::invalidate);
+        }
+    }
+
+    private List<ReplicatedRecord> filterReplayedRecords(List<ReplicatedRecord> data, RedisCommandReplayTracker.Batch replayBatch) {
+        int size = data.size();
+        List<ReplicatedRecord> records = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            ReplicatedRecord record = data.get(i);
+            if (replayBatch.accept(record.getChannel(), record.getSourceId(), record.getSequence())) {
+                records.add(record);
+            }
+        }
+        if (replayBatch.getSkippedCount() > 0) {
+            logger.info("[Redis-Replicator-C-S] {} replayed Redis Replicator records are skipped", replayBatch.getSkippedCount());
+        }
+        return records;
+    }
+
+    private List<RedisCommandReplicatedEvent> consumeRecords(List<ReplicatedRecord> records) {
+        int size = records.size();
+        List<RedisCommandReplicatedEvent> events = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            ReplicatedRecord record = records.get(i);
+            if (!consumeRecord(record, events)) {
+                deadLetter(record);
+            }
+        }
+        return events;
+    }
+
+    /**
+     * Consume the record that carries one {@link RedisCommandEvent} or the batch of them
+     *
+     * @param record {@link ReplicatedRecord}
+     * @param events the list of {@link RedisCommandReplicatedEvent} to be added
+     * @return <code>false</code> if the record can't be consumed
+     */
+    private boolean consumeRecord(ReplicatedRecord record, List<RedisCommandReplicatedEvent> events) {
+        try {
+            List<RedisCommandEvent> redisCommandEvents = redisCommandEventSerializer.deserializeEvents(record.getValue());
+            String sourceId = record.getSourceId();
+            for (int i = 0, size = redisCommandEvents.size(); i < size; i++) {
+                RedisCommandEvent redisCommandEvent = redisCommandEvents.get(i);
+                if (sourceId != null) {
+                    redisCommandEvent.stamp(sourceId, record.getSequence());
+                }
+                events.add(new RedisCommandReplicatedEvent(redisCommandEvent, record.getDomain()));
+            }
+            logger.debug("[Redis-Replicator-C-S] Processing Redis Replicator record succeeded : {}", record);
+            return true;
+        } catch (Throwable e) {
+            logger.warn("[Redis-Replicator-C-F] fails to process a Redis Replicator record : {}", record, e);
+            return false;
+        }
+    }
+
+    /**
+     * Move the record that can't be consumed into the dead-letter log
+     *
+     * @param record {@link ReplicatedRecord}
+     * @throws UncheckedIOException if the dead-letter log can't be written, the batch will be redelivered
+     */
+    private synchronized void deadLetter(ReplicatedRecord record) throws UncheckedIOException {
+        try {
+            RedisReplicatorLogWriter writer = this.deadLetterWriter;
+            if (writer == null) {
+                writer = new RedisReplicatorLogWriter(deadLetterDirectory, DEAD_LETTER_SEGMENT_SIZE, FsyncPolicy.ALWAYS, 0L);
+                this.deadLetterWriter = writer;
+            }
+            writer.append(record);
+        } catch (IOException e) {
+            throw new UncheckedIOException("The Redis Replicator record can't be moved into the dead-letter log[" + deadLetterDirectory + "] : " + record, e);
+        }
+        logger.warn("[Redis-Replicator-C-F] The Redis Replicator record was moved into the dead-letter log[{}] : {}", deadLetterDirectory, record);
+    }
+
+    /**
+     * @return <code>true</code> if any event flushes the target Redis, e.g, FLUSHDB or FLUSHALL
+     */
+    private boolean isFlushed(List<RedisCommandReplicatedEvent> events) {
+        for (int i = 0, size = events.size(); i < size; i++) {
+            RedisCommandEvent redisCommandEvent = events.get(i).getSourceEvent();
+            if (redisCommandEvent instanceof RedisTransactionCommandEvent) {
+                List<RedisCommandEvent> commands = ((RedisTransactionCommandEvent) redisCommandEvent).getCommands();
+                for (int j = 0; j < commands.size(); j++) {
+                    if (isFlush(commands.get(j))) {
+                        return true;
+                    }
+                }
+            } else if (isFlush(redisCommandEvent)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isFlush(RedisCommandEvent redisCommandEvent) {
+        return REDIS_SERVER_COMMANDS_INTERFACE_NAME.equals(redisCommandEvent.getInterfaceName())
+                && redisCommandEvent.getMethodName().startsWith(FLUSH_METHOD_NAME_PREFIX);
+    }
+
+    @Nullable
+    private byte[] resolveKey(RedisCommandReplicatedEvent event) {
+        return resolveSingleKey(event.getSourceEvent());
+    }
+
+    private void publishEvents(List<RedisCommandReplicatedEvent> events) {
+        // The events are applied in bulk by one Redis connection
+        applicationEventPublisher.publishEvent(new RedisCommandReplicatedBatchEvent(this, events));
+        // The applied events are published one by one for the listeners of RedisCommandReplicatedEvent
+        for (int i = 0; i < events.size(); i++) {
+            applicationEventPublisher.publishEvent(events.get(i));
+        }
+    }
+
+    @Override
+    public void start() {
+        receiversProvider.orderedStream().forEach(receivers::add);
+        if (receivers.isEmpty()) {
+            logger.warn("No RedisReplicatorReceiver is found, the Redis commands will not be replicated");
+        }
+        for (RedisReplicatorReceiver receiver : receivers) {
+            receiver.start(this);
+            logger.debug("Redis Replicator receiver[{}] has been started", receiver);
+        }
+        this.running = true;
+    }
+
+    @Override
+    public void stop() {
+        this.running = false;
+        for (RedisReplicatorReceiver receiver : receivers) {
+            try {
+                receiver.stop();
+            } catch (Throwable e) {
+                logger.warn("Redis Replicator receiver[{}] can't be stopped", receiver, e);
+            }
+        }
+        receivers.clear();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        this.environment = environment;
+    }
+
+    @Override
+    public void setApplicationEventPublisher(ApplicationEventPublisher applicationEventPublisher) {
+        this.applicationEventPublisher = applicationEventPublisher;
+    }
+
+    @Override
+    public void destroy() {
+        if (replayer != null) {
+            replayer.close();
+        }
+        closeDeadLetterWriter();
+    }
+
+    private synchronized void closeDeadLetterWriter() {
+        RedisReplicatorLogWriter writer = this.deadLetterWriter;
+        if (writer != null) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                logger.warn("The dead-letter log writer[{}] can't be closed", writer, e);
+            }
+            this.deadLetterWriter = null;
+        }
+    }
+}
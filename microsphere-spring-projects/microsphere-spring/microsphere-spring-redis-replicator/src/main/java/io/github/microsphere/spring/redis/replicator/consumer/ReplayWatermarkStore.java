@@ -0,0 +1,51 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microsphere.spring.redis.replicator.consumer;
+
+import java.util.Map;
+
+/**
+ * The store of the replay watermarks, the watermark is the sequence up to which all the events of each replication
+ * source in a partition of the transport were replayed.
+ * <p>
+ * The watermarks are saved after the events were applied, not atomically with them, thus the replay is
+ * at-least-once : the events applied right before a crash are replayed again after restart.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see RedisCommandReplayTracker
+ * @see RedisReplayWatermarkStore
+ * @see FileReplayWatermarkStore
+ * @since 1.0.0
+ */
+public interface ReplayWatermarkStore {
+
+    /**
+     * Load the watermarks of the partition
+     *
+     * @param partition the partition of the transport, e.g, "{topic}-{partition}"
+     * @return the source id as key and the watermark as value, non-null
+     */
+    Map<String, Long> load(String partition);
+
+    /**
+     * Save the changed watermarks of the partition
+     *
+     * @param partition  the partition of the transport
+     * @param watermarks the source id as key and the watermark as value
+     */
+    void save(String partition, Map<String, Long> watermarks);
+}
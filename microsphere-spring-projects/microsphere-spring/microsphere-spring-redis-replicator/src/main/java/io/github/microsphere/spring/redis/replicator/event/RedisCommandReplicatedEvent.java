@@ -33,6 +33,11 @@ public class RedisCommandReplicatedEvent extends ApplicationEvent {
      */
     private transient final String domain;
 
+    /**
+     * Whether the event is a part of {@link RedisCommandReplicatedBatchEvent} (non-serialized field)
+     */
+    private transient boolean batched;
+
     public RedisCommandReplicatedEvent(RedisCommandEvent sourceEvent, String domain) {
         super(sourceEvent);
         this.domain = domain;
@@ -45,6 +50,18 @@ public class RedisCommandReplicatedEvent extends ApplicationEvent {
         return domain;
     }
 
+    /**
+     * @return <code>true</code> if the event is a part of {@link RedisCommandReplicatedBatchEvent}, it has been
+     * applied with the batch, and it's published for the listeners only
+     */
+    public boolean isBatched() {
+        return batched;
+    }
+
+    void markBatched() {
+        this.batched = true;
+    }
+
     public RedisCommandEvent getSourceEvent() {
         return (RedisCommandEvent) getSource();
     }
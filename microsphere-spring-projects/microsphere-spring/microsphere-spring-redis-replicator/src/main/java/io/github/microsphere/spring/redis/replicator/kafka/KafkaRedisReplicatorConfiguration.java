@@ -39,6 +39,16 @@ public class KafkaRedisReplicatorConfiguration implements EnvironmentAware, Init
 
     public static final String DEFAULT_KAFKA_TOPIC_PREFIX_PROPERTY_VALUE = "redis-replicator-event-topic-";
 
+    /**
+     * The header name of Kafka record for the replication source id of the event
+     */
+    public static final String SOURCE_ID_HEADER_NAME = "microsphere-redis-replicator-source-id";
+
+    /**
+     * The header name of Kafka record for the sequence(8 bytes) of the event in the replication source
+     */
+    public static final String SEQUENCE_HEADER_NAME = "microsphere-redis-replicator-sequence";
+
     /**
      * Node ip Port address (reusing application configurations)
      */
@@ -2,8 +2,8 @@ package io.github.microsphere.spring.redis.replicator.kafka;
 
 import io.github.microsphere.spring.redis.replicator.RedisReplicatorModuleInitializer;
 import io.github.microsphere.spring.redis.replicator.kafka.consumer.KafkaConsumerRedisReplicatorConfiguration;
-import io.github.microsphere.spring.redis.replicator.kafka.producer.KafkaProducerRedisCommandEventListener;
 import io.github.microsphere.spring.redis.replicator.kafka.producer.KafkaProducerRedisReplicatorConfiguration;
+import io.github.microsphere.spring.redis.replicator.kafka.producer.KafkaRedisReplicatorSender;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.support.BeanDefinitionRegistry;
@@ -11,6 +11,8 @@ import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.core.env.Environment;
 import org.springframework.util.ClassUtils;
 
+import static io.github.microsphere.spring.redis.replicator.config.RedisReplicatorConfiguration.KAFKA_TRANSPORT;
+import static io.github.microsphere.spring.redis.replicator.config.RedisReplicatorConfiguration.isTransport;
 import static io.github.microsphere.spring.redis.replicator.kafka.KafkaRedisReplicatorConfiguration.SPRING_KAFKA_BOOTSTRAP_SERVERS_PROPERTY_NAME;
 import static io.github.microsphere.spring.redis.replicator.kafka.KafkaRedisReplicatorConfiguration.KAFKA_BOOTSTRAP_SERVERS_PROPERTY_NAME;
 import static io.github.microsphere.spring.redis.replicator.kafka.consumer.KafkaConsumerRedisReplicatorConfiguration.KAFKA_CONSUMER_ENABLED_PROPERTY_NAME;
@@ -31,6 +33,9 @@ public class KafkaRedisReplicatorModuleInitializer implements RedisReplicatorMod
 
     @Override
     public boolean supports(ConfigurableApplicationContext context) {
+        if (!isTransport(context, KAFKA_TRANSPORT)) {
+            return false;
+        }
         if (!isClassPresent(context)) {
             logger.warn("spring-kafka and its related artifacts are not found in the class-path of application context [id: '{}'] . " + "The Kafka module will not be enabled!", context.getId());
             return false;
@@ -45,7 +50,7 @@ public class KafkaRedisReplicatorModuleInitializer implements RedisReplicatorMod
     @Override
     public void initializeProducerModule(ConfigurableApplicationContext context, BeanDefinitionRegistry registry) {
         registerBeans(registry, KafkaProducerRedisReplicatorConfiguration.class);
-        registerBeanDefinition(registry, KafkaProducerRedisCommandEventListener.class);
+        registerBeanDefinition(registry, KafkaRedisReplicatorSender.class);
     }
 
     @Override
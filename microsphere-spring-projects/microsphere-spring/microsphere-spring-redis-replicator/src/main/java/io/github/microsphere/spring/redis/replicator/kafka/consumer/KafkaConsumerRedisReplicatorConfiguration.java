@@ -1,23 +1,18 @@
 package io.github.microsphere.spring.redis.replicator.kafka.consumer;
 
 import io.github.microsphere.spring.redis.config.RedisConfiguration;
-import io.github.microsphere.spring.redis.event.RedisCommandEvent;
-import io.github.microsphere.spring.redis.replicator.event.RedisCommandReplicatedEvent;
+import io.github.microsphere.spring.redis.replicator.consumer.RedisReplicatorConsumer;
 import io.github.microsphere.spring.redis.replicator.kafka.KafkaRedisReplicatorConfiguration;
-import io.github.microsphere.spring.redis.serializer.Serializers;
-import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.common.serialization.ByteArrayDeserializer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.ApplicationContext;
-import org.springframework.context.ApplicationEventPublisher;
-import org.springframework.context.ApplicationEventPublisherAware;
 import org.springframework.context.annotation.Bean;
 import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
-import org.springframework.kafka.listener.BatchAcknowledgingMessageListener;
 import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
 import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.ContainerProperties.AckMode;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -31,9 +26,10 @@ import static org.apache.kafka.clients.CommonClientConfigs.GROUP_ID_CONFIG;
  * Kafka Consumer {@link KafkaRedisReplicatorConfiguration}
  *
  * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see KafkaRedisReplicatorReceiver
  * @since 1.0.0
  */
-public class KafkaConsumerRedisReplicatorConfiguration extends KafkaRedisReplicatorConfiguration implements ApplicationEventPublisherAware {
+public class KafkaConsumerRedisReplicatorConfiguration extends KafkaRedisReplicatorConfiguration {
 
     private static final Logger logger = LoggerFactory.getLogger(KafkaConsumerRedisReplicatorConfiguration.class);
 
@@ -47,7 +43,7 @@ public class KafkaConsumerRedisReplicatorConfiguration extends KafkaRedisReplica
 
     public static final String KAFKA_LISTENER_CONCURRENCY_PROPERTY_NAME = KAFKA_LISTENER_PROPERTY_NAME_PREFIX + "concurrency";
 
-    public static final String KAFKA_CONSUMER_GROUP_ID_PREFIX = "Redis-Replicator-";
+    public static final String KAFKA_CONSUMER_GROUP_ID_PREFIX = RedisReplicatorConsumer.GROUP_ID_PREFIX;
 
     public static final boolean DEFAULT_KAFKA_CONSUMER_ENABLED = true;
 
@@ -67,8 +63,6 @@ public class KafkaConsumerRedisReplicatorConfiguration extends KafkaRedisReplica
      */
     private int listenerConcurrency;
 
-    private ApplicationEventPublisher applicationEventPublisher;
-
     public static boolean isEnabled(ApplicationContext applicationContext) {
         return getBoolean(applicationContext, KAFKA_CONSUMER_ENABLED_PROPERTY_NAME, DEFAULT_KAFKA_CONSUMER_ENABLED, "Kafka Consumer", "enabled");
     }
@@ -77,48 +71,27 @@ public class KafkaConsumerRedisReplicatorConfiguration extends KafkaRedisReplica
     public ConcurrentMessageListenerContainer<byte[], byte[]> redisReplicatorConcurrentMessageListenerContainer() {
         String[] topics = getTopics();
         ContainerProperties containerProperties = new ContainerProperties(topics);
+        // The batch is acknowledged after all commands are replayed
+        containerProperties.setAckMode(AckMode.MANUAL);
         ConsumerFactory<byte[], byte[]> redisReplicatorConsumerFactory = redisReplicatorConsumerFactory();
         ConcurrentMessageListenerContainer<byte[], byte[]> listenerContainer = new ConcurrentMessageListenerContainer<>(redisReplicatorConsumerFactory, containerProperties);
         listenerContainer.setConcurrency(getConcurrency(topics));
-        listenerContainer.setupMessageListener(batchAcknowledgingMessageListener());
+        // The container is started by KafkaRedisReplicatorReceiver
+        listenerContainer.setAutoStartup(false);
         return listenerContainer;
     }
 
+    @Bean
+    public KafkaRedisReplicatorReceiver kafkaRedisReplicatorReceiver(ConcurrentMessageListenerContainer<byte[], byte[]> redisReplicatorConcurrentMessageListenerContainer) {
+        // The container bean is injected, the configuration class may not be proxied(lite mode)
+        return new KafkaRedisReplicatorReceiver(redisReplicatorConcurrentMessageListenerContainer, this);
+    }
+
     private int getConcurrency(String[] topics) {
         int topicCount = topics.length;
         return topicCount > listenerConcurrency ? topicCount : listenerConcurrency;
     }
 
-    private BatchAcknowledgingMessageListener<byte[], byte[]> batchAcknowledgingMessageListener() {
-        return (data, acknowledgment) -> {
-            int size = data.size();
-            for (int i = 0; i < size; i++) {
-                ConsumerRecord<byte[], byte[]> consumerRecord = data.get(i);
-                consumeRecord(consumerRecord);
-            }
-        };
-    }
-
-    private void consumeRecord(ConsumerRecord<byte[], byte[]> consumerRecord) {
-        byte[] key = consumerRecord.key();
-        byte[] value = consumerRecord.value();
-        int partition = consumerRecord.partition();
-        try {
-            RedisCommandEvent redisCommandEvent = Serializers.deserialize(value, RedisCommandEvent.class);
-            RedisCommandReplicatedEvent redisCommandReplicatedEvent = createRedisCommandReplicatedEvent(redisCommandEvent, consumerRecord);
-            applicationEventPublisher.publishEvent(redisCommandReplicatedEvent);
-            logger.debug("[Redis-Replicator-Kafka-C-S] Processing Redis Replicator message succeeded. Topic: {}, key: {}, data size: {} bytes, partition: {}", consumerRecord.topic(), key, value.length, partition);
-        } catch (Throwable e) {
-            logger.warn("[Redis-Replicator-Kafka-C-F] fails to process a Redis Replicator message. Topic: {}, key: {}, data size: {} bytes, partition: {}", consumerRecord.topic(), key, value.length, partition, e);
-        }
-    }
-
-    private RedisCommandReplicatedEvent createRedisCommandReplicatedEvent(RedisCommandEvent redisCommandEvent, ConsumerRecord<byte[], byte[]> consumerRecord) {
-        String topic = consumerRecord.topic();
-        String domain = getDomain(topic);
-        return new RedisCommandReplicatedEvent(redisCommandEvent, domain);
-    }
-
     private ConsumerFactory<byte[], byte[]> redisReplicatorConsumerFactory() {
         DefaultKafkaConsumerFactory<byte[], byte[]> kafkaConsumerFactory = new DefaultKafkaConsumerFactory<>(getConsumerConfigs());
         kafkaConsumerFactory.setKeyDeserializer(new ByteArrayDeserializer());
@@ -164,11 +137,6 @@ public class KafkaConsumerRedisReplicatorConfiguration extends KafkaRedisReplica
         return KAFKA_CONSUMER_GROUP_ID_PREFIX + redisConfiguration.getApplicationName();
     }
 
-    @Override
-    public void setApplicationEventPublisher(ApplicationEventPublisher applicationEventPublisher) {
-        this.applicationEventPublisher = applicationEventPublisher;
-    }
-
     @Override
     public void destroy() {
         logger.debug("Redis Replicator Kafka consumer configuration is being destroyed");
@@ -0,0 +1,139 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microsphere.spring.redis.replicator.kafka.consumer;
+
+import io.github.microsphere.spring.redis.replicator.kafka.KafkaRedisReplicatorConfiguration;
+import io.github.microsphere.spring.redis.replicator.transport.RedisReplicatorReceiver;
+import io.github.microsphere.spring.redis.replicator.transport.ReplicatedRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.Header;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.listener.BatchAcknowledgingMessageListener;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.kafka.listener.ConsumerAwareRebalanceListener;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.lang.Nullable;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static io.github.microsphere.spring.redis.replicator.kafka.KafkaRedisReplicatorConfiguration.SEQUENCE_HEADER_NAME;
+import static io.github.microsphere.spring.redis.replicator.kafka.KafkaRedisReplicatorConfiguration.SOURCE_ID_HEADER_NAME;
+
+/**
+ * Kafka {@link RedisReplicatorReceiver}, the batch of Kafka messages is acknowledged manually after it's handled,
+ * otherwise it's negatively acknowledged, thus the partitions are sought back and the batch is redelivered. The
+ * partition of topic is the channel of {@link ReplicatedRecord}.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see KafkaConsumerRedisReplicatorConfiguration
+ * @since 1.0.0
+ */
+public class KafkaRedisReplicatorReceiver implements RedisReplicatorReceiver {
+
+    private static final Logger logger = LoggerFactory.getLogger(KafkaRedisReplicatorReceiver.class);
+
+    /**
+     * The sleep time before the unhandled batch is redelivered
+     */
+    private static final Duration REDELIVERY_INTERVAL = Duration.ofSeconds(1);
+
+    private final ConcurrentMessageListenerContainer<byte[], byte[]> listenerContainer;
+
+    private final KafkaRedisReplicatorConfiguration kafkaRedisReplicatorConfiguration;
+
+    public KafkaRedisReplicatorReceiver(ConcurrentMessageListenerContainer<byte[], byte[]> listenerContainer,
+                                        KafkaRedisReplicatorConfiguration kafkaRedisReplicatorConfiguration) {
+        this.listenerContainer = listenerContainer;
+        this.kafkaRedisReplicatorConfiguration = kafkaRedisReplicatorConfiguration;
+    }
+
+    @Override
+    public void start(Handler handler) {
+        ContainerProperties containerProperties = listenerContainer.getContainerProperties();
+        containerProperties.setConsumerRebalanceListener(new ConsumerAwareRebalanceListener() {
+            @Override
+            public void onPartitionsAssigned(Collection<TopicPartition> partitions) {
+                List<String> channels = new ArrayList<>(partitions.size());
+                partitions.forEach(partition -> channels.add(toChannel(partition.topic(), partition.partition())));
+                handler.onChannelsAssigned(channels);
+            }
+        });
+        listenerContainer.setupMessageListener(batchAcknowledgingMessageListener(handler));
+        listenerContainer.start();
+    }
+
+    private BatchAcknowledgingMessageListener<byte[], byte[]> batchAcknowledgingMessageListener(Handler handler) {
+        return (data, acknowledgment) -> {
+            int size = data.size();
+            List<ReplicatedRecord> records = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                records.add(toRecord(data.get(i)));
+            }
+            try {
+                handler.handle(records);
+                acknowledgment.acknowledge();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                logger.warn("[Redis-Replicator-Kafka-C-F] The replay of Redis Replicator messages was interrupted, the batch[size : {}] will be redelivered", size);
+                acknowledgment.nack(0, REDELIVERY_INTERVAL);
+            } catch (Throwable e) {
+                logger.error("[Redis-Replicator-Kafka-C-F] Failed to replay Redis Replicator messages, the batch[size : {}] will be redelivered", size, e);
+                acknowledgment.nack(0, REDELIVERY_INTERVAL);
+            }
+        };
+    }
+
+    private ReplicatedRecord toRecord(ConsumerRecord<byte[], byte[]> consumerRecord) {
+        String topic = consumerRecord.topic();
+        int partition = consumerRecord.partition();
+        String domain = kafkaRedisReplicatorConfiguration.getDomain(topic);
+        return new ReplicatedRecord(domain, toChannel(topic, partition), partition, consumerRecord.key(), consumerRecord.value(),
+                consumerRecord.timestamp(), getSourceId(consumerRecord), getSequence(consumerRecord));
+    }
+
+    @Nullable
+    private String getSourceId(ConsumerRecord<byte[], byte[]> consumerRecord) {
+        Header header = consumerRecord.headers().lastHeader(SOURCE_ID_HEADER_NAME);
+        return header == null ? null : new String(header.value(), StandardCharsets.UTF_8);
+    }
+
+    private long getSequence(ConsumerRecord<byte[], byte[]> consumerRecord) {
+        Header header = consumerRecord.headers().lastHeader(SEQUENCE_HEADER_NAME);
+        return header == null ? -1L : ByteBuffer.wrap(header.value()).getLong();
+    }
+
+    private String toChannel(String topic, int partition) {
+        return topic + "-" + partition;
+    }
+
+    @Override
+    public void stop() {
+        listenerContainer.stop();
+    }
+
+    @Override
+    public String toString() {
+        return "KafkaRedisReplicatorReceiver{topics=" + String.join(",", kafkaRedisReplicatorConfiguration.getTopics()) + '}';
+    }
+}
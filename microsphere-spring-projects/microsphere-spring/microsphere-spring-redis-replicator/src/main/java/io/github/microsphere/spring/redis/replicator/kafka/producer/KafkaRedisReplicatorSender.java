@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microsphere.spring.redis.replicator.kafka.producer;
+
+import io.github.microsphere.spring.redis.replicator.transport.RedisReplicatorSender;
+import io.github.microsphere.spring.redis.replicator.transport.ReplicatedRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.util.concurrent.ListenableFuture;
+import org.springframework.util.concurrent.ListenableFutureCallback;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static io.github.microsphere.spring.redis.replicator.kafka.KafkaRedisReplicatorConfiguration.SEQUENCE_HEADER_NAME;
+import static io.github.microsphere.spring.redis.replicator.kafka.KafkaRedisReplicatorConfiguration.SOURCE_ID_HEADER_NAME;
+
+/**
+ * Kafka {@link RedisReplicatorSender}, the records of domain are sent to the topic of domain as the Kafka messages
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see KafkaProducerRedisReplicatorConfiguration
+ * @since 1.0.0
+ */
+public class KafkaRedisReplicatorSender implements RedisReplicatorSender {
+
+    @Autowired
+    private KafkaProducerRedisReplicatorConfiguration kafkaProducerRedisReplicatorConfiguration;
+
+    @Override
+    public int getPartitionCount(String domain) {
+        String topic = kafkaProducerRedisReplicatorConfiguration.createTopic(domain);
+        List<PartitionInfo> partitions = getRedisReplicatorKafkaTemplate().partitionsFor(topic);
+        return partitions == null ? 0 : partitions.size();
+    }
+
+    @Override
+    public void send(ReplicatedRecord record, Callback callback) {
+        String topic = kafkaProducerRedisReplicatorConfiguration.createTopic(record.getDomain());
+        // Use the Redis key as the Kafka key and the timestamp of the event
+        ProducerRecord<byte[], byte[]> producerRecord = new ProducerRecord<>(topic, record.getPartition(), record.getTimestamp(),
+                record.getKey(), record.getValue(), createHeaders(record));
+        ListenableFuture<SendResult<byte[], byte[]>> future = getRedisReplicatorKafkaTemplate().send(producerRecord);
+        future.addCallback(new ListenableFutureCallback<SendResult<byte[], byte[]>>() {
+
+            @Override
+            public void onSuccess(SendResult<byte[], byte[]> result) {
+                callback.onSuccess(record);
+            }
+
+            @Override
+            public void onFailure(Throwable e) {
+                callback.onFailure(record, e);
+            }
+        });
+    }
+
+    /**
+     * Create the headers of Kafka record for the replication source id and the sequence of the record
+     *
+     * @param record {@link ReplicatedRecord}
+     * @return non-null
+     */
+    private Headers createHeaders(ReplicatedRecord record) {
+        Headers headers = new RecordHeaders();
+        String sourceId = record.getSourceId();
+        if (sourceId != null) {
+            headers.add(SOURCE_ID_HEADER_NAME, sourceId.getBytes(StandardCharsets.UTF_8));
+            headers.add(SEQUENCE_HEADER_NAME, ByteBuffer.allocate(8).putLong(record.getSequence()).array());
+        }
+        return headers;
+    }
+
+    private KafkaTemplate<byte[], byte[]> getRedisReplicatorKafkaTemplate() {
+        return kafkaProducerRedisReplicatorConfiguration.getRedisReplicatorKafkaTemplate();
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microsphere.spring.redis.replicator.partition;
+
+import io.github.microsphere.spring.redis.event.RedisCommandEvent;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static io.github.microsphere.spring.redis.util.RedisCommandsUtils.resolveSimpleInterfaceName;
+
+/**
+ * {@link RedisCommandPartitioner} pins the Redis commands to the configured partitions, the method name
+ * (e.g, "xAdd") takes precedence over the simple interface name(e.g, "RedisStreamCommands"), the other commands are
+ * partitioned by {@link KeyHashRedisCommandPartitioner}.
+ * <p>
+ * The order of one key is kept only if all its commands are pinned to the same partition or none is pinned.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @since 1.0.0
+ */
+public class CommandAffinityRedisCommandPartitioner implements RedisCommandPartitioner {
+
+    private final Map<String, Integer> affinities;
+
+    /**
+     * @param affinities the method name or the simple interface name as key, the partition as value
+     */
+    public CommandAffinityRedisCommandPartitioner(Map<String, Integer> affinities) {
+        affinities.forEach((command, partition) -> {
+            if (partition == null || partition < 0) {
+                throw new IllegalArgumentException("The partition of command['" + command + "'] must not be negative : " + partition);
+            }
+        });
+        this.affinities = affinities;
+    }
+
+    @Override
+    public Integer partition(byte[] key, RedisCommandEvent event, int partitionCount) {
+        Integer partition = getAffinity(event);
+        if (partition == null) {
+            return KeyHashRedisCommandPartitioner.INSTANCE.partition(key, event, partitionCount);
+        }
+        return Math.floorMod(partition, partitionCount);
+    }
+
+    @Override
+    public Integer partition(int keyHash, byte[] key, Supplier<RedisCommandEvent> eventSupplier, int partitionCount) {
+        Integer partition = getAffinity(eventSupplier.get());
+        if (partition == null) {
+            return KeyHashRedisCommandPartitioner.INSTANCE.partition(keyHash, key, eventSupplier, partitionCount);
+        }
+        return Math.floorMod(partition, partitionCount);
+    }
+
+    private Integer getAffinity(RedisCommandEvent event) {
+        Integer partition = affinities.get(event.getMethodName());
+        if (partition == null) {
+            partition = affinities.get(resolveSimpleInterfaceName(event.getInterfaceName()));
+        }
+        return partition;
+    }
+}
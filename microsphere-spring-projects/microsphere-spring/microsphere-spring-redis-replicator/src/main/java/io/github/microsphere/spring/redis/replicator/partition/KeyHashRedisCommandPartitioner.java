@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microsphere.spring.redis.replicator.partition;
+
+import io.github.microsphere.spring.redis.event.RedisCommandEvent;
+import org.springframework.data.redis.connection.ClusterSlotHashUtil;
+
+import java.util.function.Supplier;
+
+/**
+ * {@link RedisCommandPartitioner} based on the consistent hash of the Redis key, the key is hashed into the slot of
+ * Redis Cluster(CRC16, the hash tag like "{user:1}" is honoured), and the slot is mapped to the partition by
+ * <a href="https://arxiv.org/abs/1406.2294">Jump Consistent Hash</a>, thus :
+ * <ul>
+ *     <li>the commands of one key, or the keys with the same hash tag, are in the same partition</li>
+ *     <li>only the minimal keys are moved if the partitions are increased</li>
+ * </ul>
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see ClusterSlotHashUtil
+ * @since 1.0.0
+ */
+public class KeyHashRedisCommandPartitioner implements RedisCommandPartitioner {
+
+    public static final KeyHashRedisCommandPartitioner INSTANCE = new KeyHashRedisCommandPartitioner();
+
+    @Override
+    public Integer partition(byte[] key, RedisCommandEvent event, int partitionCount) {
+        if (key == null) {
+            return null;
+        }
+        int slot = ClusterSlotHashUtil.calculateSlot(key);
+        return jumpConsistentHash(slot, partitionCount);
+    }
+
+    @Override
+    public Integer partition(int keyHash, byte[] key, Supplier<RedisCommandEvent> eventSupplier, int partitionCount) {
+        return keyHash < 0 ? null : jumpConsistentHash(keyHash, partitionCount);
+    }
+
+    /**
+     * The Jump Consistent Hash
+     *
+     * @param value   the value to be hashed
+     * @param buckets the number of buckets
+     * @return the bucket in [0, buckets)
+     */
+    static int jumpConsistentHash(long value, int buckets) {
+        long key = mix(value);
+        long b = -1;
+        long j = 0;
+        while (j < buckets) {
+            b = j;
+            key = key * 2862933555777941757L + 1;
+            j = (long) ((b + 1) * ((double) (1L << 31) / (double) ((key >>> 33) + 1)));
+        }
+        return (int) b;
+    }
+
+    /**
+     * Spread the bits of the small value(e.g, slot), the finalizer of SplitMix64
+     */
+    private static long mix(long value) {
+        long z = value + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
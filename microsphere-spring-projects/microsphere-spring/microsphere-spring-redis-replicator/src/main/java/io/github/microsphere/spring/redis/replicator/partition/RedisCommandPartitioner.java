@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microsphere.spring.redis.replicator.partition;
+
+import io.github.microsphere.spring.redis.event.RedisCommandEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeanUtils;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.lang.Nullable;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static io.github.microsphere.spring.redis.replicator.config.RedisReplicatorConfiguration.DEFAULT_PARTITION_STICKY_BATCH_SIZE;
+import static io.github.microsphere.spring.redis.replicator.config.RedisReplicatorConfiguration.DEFAULT_PARTITION_STRATEGY;
+import static io.github.microsphere.spring.redis.replicator.config.RedisReplicatorConfiguration.PARTITION_COMMAND_AFFINITY_PROPERTY_NAME_PREFIX;
+import static io.github.microsphere.spring.redis.replicator.config.RedisReplicatorConfiguration.PARTITION_STICKY_BATCH_SIZE_PROPERTY_NAME;
+import static io.github.microsphere.spring.redis.replicator.config.RedisReplicatorConfiguration.PARTITION_STRATEGY_PROPERTY_NAME;
+import static io.github.microsphere.spring.redis.replicator.config.RedisReplicatorConfiguration.getDomainProperty;
+import static io.github.microsphere.spring.redis.replicator.config.RedisReplicatorConfiguration.getDomainPropertyName;
+import static io.github.microsphere.spring.util.PropertySourcesUtils.getSubProperties;
+import static org.springframework.util.ClassUtils.resolveClassName;
+
+/**
+ * The strategy to select the partition of the replicated {@link RedisCommandEvent}, the events with the same
+ * partition are consumed in order.
+ * <p>
+ * The strategy is configured per domain by the property
+ * "microsphere.redis.replicator.domains.{domain}.partition.strategy", or
+ * "microsphere.redis.replicator.partition.strategy" for all domains.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see KeyHashRedisCommandPartitioner
+ * @see CommandAffinityRedisCommandPartitioner
+ * @see StickyRedisCommandPartitioner
+ * @since 1.0.0
+ */
+public interface RedisCommandPartitioner {
+
+    String DEFAULT_STRATEGY = DEFAULT_PARTITION_STRATEGY;
+
+    String KEY_HASH_STRATEGY = "key-hash";
+
+    String COMMAND_AFFINITY_STRATEGY = "command-affinity";
+
+    String STICKY_STRATEGY = "sticky";
+
+    /**
+     * Select the partition
+     *
+     * @param key            the nullable Redis key
+     * @param event          {@link RedisCommandEvent}
+     * @param partitionCount the count of partitions, it's positive
+     * @return the partition in [0, partitionCount), or <code>null</code> if the partition is selected by the transport
+     */
+    @Nullable
+    Integer partition(@Nullable byte[] key, RedisCommandEvent event, int partitionCount);
+
+    /**
+     * Select the partition by the pre-computed hash of the key, the {@link RedisCommandEvent} is only resolved if
+     * it's required, e.g, the spilled event has to be deserialized.
+     *
+     * @param keyHash        the hash slot of the key in Redis Cluster, or -1 if the key is <code>null</code>
+     * @param key            the nullable Redis key
+     * @param eventSupplier  the supplier of {@link RedisCommandEvent}
+     * @param partitionCount the count of partitions, it's positive
+     * @return the partition in [0, partitionCount), or <code>null</code> if the partition is selected by the transport
+     */
+    @Nullable
+    default Integer partition(int keyHash, @Nullable byte[] key, Supplier<RedisCommandEvent> eventSupplier, int partitionCount) {
+        return partition(key, eventSupplier.get(), partitionCount);
+    }
+
+    /**
+     * Create an instance of {@link RedisCommandPartitioner} for the specified domain
+     *
+     * @param domain      the domain
+     * @param environment {@link ConfigurableEnvironment}
+     * @param classLoader {@link ClassLoader}
+     * @return non-null
+     */
+    static RedisCommandPartitioner create(String domain, ConfigurableEnvironment environment, ClassLoader classLoader) {
+        String strategy = getDomainProperty(environment, domain, PARTITION_STRATEGY_PROPERTY_NAME, String.class, DEFAULT_STRATEGY);
+        switch (strategy) {
+            case DEFAULT_STRATEGY:
+                return DefaultRedisCommandPartitioner.INSTANCE;
+            case KEY_HASH_STRATEGY:
+                return KeyHashRedisCommandPartitioner.INSTANCE;
+            case COMMAND_AFFINITY_STRATEGY:
+                Map<String, Object> properties = getSubProperties(environment, getDomainPropertyName(domain, PARTITION_COMMAND_AFFINITY_PROPERTY_NAME_PREFIX));
+                Map<String, Integer> affinities = new HashMap<>(properties.size());
+                properties.forEach((command, partition) -> affinities.put(command, Integer.valueOf(String.valueOf(partition))));
+                return new CommandAffinityRedisCommandPartitioner(affinities);
+            case STICKY_STRATEGY:
+                int batchSize = getDomainProperty(environment, domain, PARTITION_STICKY_BATCH_SIZE_PROPERTY_NAME, int.class, DEFAULT_PARTITION_STICKY_BATCH_SIZE);
+                return new StickyRedisCommandPartitioner(batchSize);
+            default:
+                try {
+                    Class<?> partitionerClass = resolveClassName(strategy, classLoader);
+                    return (RedisCommandPartitioner) BeanUtils.instantiateClass(partitionerClass);
+                } catch (Throwable e) {
+                    Logger logger = LoggerFactory.getLogger(RedisCommandPartitioner.class);
+                    logger.warn("The partition strategy['{}'] of domain['{}'] can't be resolved, the default strategy will be used instead", strategy, domain, e);
+                    return DefaultRedisCommandPartitioner.INSTANCE;
+                }
+        }
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microsphere.spring.redis.replicator.partition;
+
+import io.github.microsphere.spring.redis.event.RedisCommandEvent;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * {@link RedisCommandPartitioner} sticks to one partition for a batch of events, then switches to another one
+ * randomly, thus the transport can send the larger batches to fewer partitions.
+ * <p>
+ * The order of one key is not kept across the partitions, it fits the idempotent or order-insensitive commands.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @since 1.0.0
+ */
+public class StickyRedisCommandPartitioner implements RedisCommandPartitioner {
+
+    private final int batchSize;
+
+    private int count;
+
+    private int partition = -1;
+
+    public StickyRedisCommandPartitioner(int batchSize) {
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    @Override
+    public Integer partition(int keyHash, byte[] key, Supplier<RedisCommandEvent> eventSupplier, int partitionCount) {
+        // The event is not required
+        return partition(key, null, partitionCount);
+    }
+
+    @Override
+    public synchronized Integer partition(byte[] key, RedisCommandEvent event, int partitionCount) {
+        if (partition < 0 || partition >= partitionCount || count >= batchSize) {
+            int next = ThreadLocalRandom.current().nextInt(partitionCount);
+            if (next == partition && partitionCount > 1) {
+                next = (next + 1) % partitionCount;
+            }
+            partition = next;
+            count = 0;
+        }
+        count++;
+        return partition;
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microsphere.spring.redis.replicator.producer;
+
+/**
+ * The policy of {@link RedisCommandEventOutbox} to force the appended records onto the storage device
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see RedisCommandEventOutbox
+ * @since 1.0.0
+ */
+public enum FsyncPolicy {
+
+    /**
+     * The records are forced after every append, the safest but slowest
+     */
+    ALWAYS,
+
+    /**
+     * The records are forced by the dispatcher thread periodically
+     */
+    INTERVAL,
+
+    /**
+     * The records are never forced explicitly, they are kept by the page cache of OS if the process crashes
+     */
+    NEVER;
+
+    /**
+     * Resolve the {@link FsyncPolicy} by the name, e.g : "always", "interval", "never"
+     *
+     * @param name the name of policy
+     * @return non-null
+     * @throws IllegalArgumentException if the name can't be resolved
+     */
+    public static FsyncPolicy resolve(String name) throws IllegalArgumentException {
+        if (name != null) {
+            String policyName = name.trim();
+            for (FsyncPolicy policy : values()) {
+                if (policy.name().equalsIgnoreCase(policyName)) {
+                    return policy;
+                }
+            }
+        }
+        throw new IllegalArgumentException("The fsync policy[" + name + "] is unknown, the valid values : 'always', 'interval', 'never'");
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microsphere.spring.redis.replicator.producer;
+
+import io.github.microsphere.spring.redis.event.RedisCommandEvent;
+
+/**
+ * The policy of {@link RedisCommandEventQueue} when it's full
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see RedisCommandEventQueue
+ * @since 1.0.0
+ */
+public enum OverflowPolicy {
+
+    /**
+     * The Redis thread is blocked until the queue has the room or the timeout elapses, then the
+     * {@link RedisCommandEvent} is dropped
+     */
+    BLOCK,
+
+    /**
+     * The oldest {@link RedisCommandEvent} in the queue is dropped
+     */
+    DROP_OLDEST,
+
+    /**
+     * The {@link RedisCommandEvent} is spilled into the local file, and it will be sent after the queue is drained
+     */
+    SPILL;
+
+    /**
+     * Resolve the {@link OverflowPolicy} by the name, e.g : "block", "drop-oldest", "spill"
+     *
+     * @param name the name of policy
+     * @return {@link #BLOCK} if the name can't be resolved
+     */
+    public static OverflowPolicy resolve(String name) {
+        if (name != null) {
+            String policyName = name.trim().replace('-', '_');
+            for (OverflowPolicy policy : values()) {
+                if (policy.name().equalsIgnoreCase(policyName)) {
+                    return policy;
+                }
+            }
+        }
+        return BLOCK;
+    }
+}
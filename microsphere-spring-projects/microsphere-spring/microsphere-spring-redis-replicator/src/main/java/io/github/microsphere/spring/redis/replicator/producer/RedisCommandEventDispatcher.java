@@ -0,0 +1,670 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microsphere.spring.redis.replicator.producer;
+
+import io.github.microsphere.spring.redis.event.RedisCommandEvent;
+import io.github.microsphere.spring.redis.replicator.config.RedisReplicatorConfiguration;
+import io.github.microsphere.spring.redis.replicator.partition.DefaultRedisCommandPartitioner;
+import io.github.microsphere.spring.redis.replicator.partition.RedisCommandPartitioner;
+import io.github.microsphere.spring.redis.replicator.transport.RedisReplicatorSender;
+import io.github.microsphere.spring.redis.replicator.transport.ReplicatedRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.SmartApplicationListener;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.Environment;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static io.github.microsphere.spring.redis.replicator.config.RedisReplicatorConfiguration.DEFAULT_PRODUCER_OUTBOX_DIRECTORY;
+import static io.github.microsphere.spring.redis.replicator.config.RedisReplicatorConfiguration.DEFAULT_PRODUCER_OUTBOX_ENABLED;
+import static io.github.microsphere.spring.redis.replicator.config.RedisReplicatorConfiguration.DEFAULT_PRODUCER_OUTBOX_FSYNC_INTERVAL;
+import static io.github.microsphere.spring.redis.replicator.config.RedisReplicatorConfiguration.DEFAULT_PRODUCER_OUTBOX_FSYNC_POLICY;
+import static io.github.microsphere.spring.redis.replicator.config.RedisReplicatorConfiguration.DEFAULT_PRODUCER_OUTBOX_MAX_SIZE;
+import static io.github.microsphere.spring.redis.replicator.config.RedisReplicatorConfiguration.DEFAULT_PRODUCER_OUTBOX_RETRY_BACKOFF;
+import static io.github.microsphere.spring.redis.replicator.config.RedisReplicatorConfiguration.DEFAULT_PRODUCER_OUTBOX_SEGMENT_SIZE;
+import static io.github.microsphere.spring.redis.replicator.config.RedisReplicatorConfiguration.DEFAULT_PRODUCER_QUEUE_BATCH_SIZE;
+import static io.github.microsphere.spring.redis.replicator.config.RedisReplicatorConfiguration.DEFAULT_PRODUCER_QUEUE_BLOCK_TIMEOUT;
+import static io.github.microsphere.spring.redis.replicator.config.RedisReplicatorConfiguration.DEFAULT_PRODUCER_QUEUE_CAPACITY;
+import static io.github.microsphere.spring.redis.replicator.config.RedisReplicatorConfiguration.DEFAULT_PRODUCER_QUEUE_OVERFLOW_POLICY;
+import static io.github.microsphere.spring.redis.replicator.config.RedisReplicatorConfiguration.DEFAULT_PRODUCER_QUEUE_SPILL_DIRECTORY;
+import static io.github.microsphere.spring.redis.replicator.config.RedisReplicatorConfiguration.DEFAULT_PRODUCER_QUEUE_SPILL_MAX_SIZE;
+import static io.github.microsphere.spring.redis.replicator.config.RedisReplicatorConfiguration.PRODUCER_INSTANCE_ID_PROPERTY_NAME;
+import static io.github.microsphere.spring.redis.replicator.config.RedisReplicatorConfiguration.PRODUCER_OUTBOX_DIRECTORY_PROPERTY_NAME;
+import static io.github.microsphere.spring.redis.replicator.config.RedisReplicatorConfiguration.PRODUCER_OUTBOX_ENABLED_PROPERTY_NAME;
+import static io.github.microsphere.spring.redis.replicator.config.RedisReplicatorConfiguration.PRODUCER_OUTBOX_FSYNC_INTERVAL_PROPERTY_NAME;
+import static io.github.microsphere.spring.redis.replicator.config.RedisReplicatorConfiguration.PRODUCER_OUTBOX_FSYNC_POLICY_PROPERTY_NAME;
+import static io.github.microsphere.spring.redis.replicator.config.RedisReplicatorConfiguration.PRODUCER_OUTBOX_MAX_SIZE_PROPERTY_NAME;
+import static io.github.microsphere.spring.redis.replicator.config.RedisReplicatorConfiguration.PRODUCER_OUTBOX_RETRY_BACKOFF_PROPERTY_NAME;
+import static io.github.microsphere.spring.redis.replicator.config.RedisReplicatorConfiguration.PRODUCER_OUTBOX_SEGMENT_SIZE_PROPERTY_NAME;
+import static io.github.microsphere.spring.redis.replicator.config.RedisReplicatorConfiguration.PRODUCER_QUEUE_BATCH_SIZE_PROPERTY_NAME;
+import static io.github.microsphere.spring.redis.replicator.config.RedisReplicatorConfiguration.PRODUCER_QUEUE_BLOCK_TIMEOUT_PROPERTY_NAME;
+import static io.github.microsphere.spring.redis.replicator.config.RedisReplicatorConfiguration.PRODUCER_QUEUE_CAPACITY_PROPERTY_NAME;
+import static io.github.microsphere.spring.redis.replicator.config.RedisReplicatorConfiguration.PRODUCER_QUEUE_OVERFLOW_POLICY_PROPERTY_NAME;
+import static io.github.microsphere.spring.redis.replicator.config.RedisReplicatorConfiguration.PRODUCER_QUEUE_SPILL_DIRECTORY_PROPERTY_NAME;
+import static io.github.microsphere.spring.redis.replicator.config.RedisReplicatorConfiguration.PRODUCER_QUEUE_SPILL_MAX_SIZE_PROPERTY_NAME;
+import static io.github.microsphere.spring.redis.replicator.config.RedisReplicatorConfiguration.TRANSPORT_PROPERTY_NAME;
+import static io.github.microsphere.spring.redis.serializer.RedisCommandEventSerializer.isBatchSupported;
+import static io.github.microsphere.spring.redis.serializer.Serializers.redisCommandEventSerializer;
+import static java.util.Collections.unmodifiableMap;
+
+/**
+ * {@link ApplicationListener} listens to {@link RedisCommandEvent} implementation -
+ * Transfers {@link RedisCommandEvent} objects by the {@link RedisReplicatorSender} of the selected transport.
+ * <p>
+ * The Redis threads only enqueue the events into the bounded {@link RedisCommandEventQueue} of each domain,
+ * the dispatcher thread of the domain drains the events in batch and sends them by the {@link RedisReplicatorSender},
+ * the drained events of one partition are serialized into one batch record. If the configured serialization version
+ * doesn't support the batch, each event is sent as one record, thus the consumers of the legacy versions can read them.
+ * If the outbox is enabled, the events are appended into the local {@link RedisCommandEventOutbox} durably, the
+ * dispatcher thread waits for the sendings of the read events, stops sending at the first failure, and rewinds the
+ * outbox to the failed event, thus the failed events are re-sent in order after the transport recovers. The records
+ * that may be sent to the same partition are never in flight concurrently, thus the later record is never delivered
+ * before the failed earlier one, otherwise the re-sent record would be skipped by the consumer as a replayed one.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see RedisCommandEventQueue
+ * @see RedisReplicatorSender
+ * @since 1.0.0
+ */
+public class RedisCommandEventDispatcher implements SmartApplicationListener, DisposableBean {
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    private static final long DRAIN_TIMEOUT = 100L;
+
+    private static final long SHUTDOWN_TIMEOUT = 5000L;
+
+    private static final long PARTITION_COUNT_REFRESH_INTERVAL = 60 * 1000L;
+
+    private static final long PARTITION_COUNT_RETRY_INTERVAL = 1000L;
+
+    private static final String SERVER_PORT_PROPERTY_NAME = "server.port";
+
+    /**
+     * Whether the batch record is supported by the configured serialization version
+     */
+    private static final boolean BATCH_SUPPORTED = isBatchSupported(RedisCommandEvent.SERIALIZATION_VERSION);
+
+    private ApplicationContext context;
+
+    private RedisReplicatorConfiguration redisReplicatorConfiguration;
+
+    private volatile RedisReplicatorSender sender;
+
+    private final ConcurrentMap<String, RedisCommandEventQueue> queues = new ConcurrentHashMap<>();
+
+    private String instanceId;
+
+    private int queueCapacity;
+
+    private OverflowPolicy overflowPolicy;
+
+    private long blockTimeout;
+
+    private int batchSize;
+
+    private File spillDirectory;
+
+    private long spillMaxSize;
+
+    private boolean outboxEnabled;
+
+    private File outboxDirectory;
+
+    private int outboxSegmentSize;
+
+    private FsyncPolicy outboxFsyncPolicy;
+
+    private long outboxFsyncInterval;
+
+    private long outboxRetryBackoff;
+
+    private long outboxMaxSize;
+
+    private volatile boolean running;
+
+    private ExecutorService executor;
+
+
+    @Override
+    public boolean supportsEventType(Class<? extends ApplicationEvent> eventType) {
+        return RedisCommandEvent.class.equals(eventType) ||
+                ContextRefreshedEvent.class.equals(eventType);
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationEvent event) {
+        if (event instanceof ContextRefreshedEvent) {
+            onContextRefreshedEvent((ContextRefreshedEvent) event);
+        } else if (event instanceof RedisCommandEvent) {
+            onRedisCommandEvent((RedisCommandEvent) event);
+        }
+    }
+
+    private void onContextRefreshedEvent(ContextRefreshedEvent event) {
+        ApplicationContext context = event.getApplicationContext();
+        initApplicationContext(context);
+        initRedisReplicatorConfiguration(context);
+        initQueueSettings(context.getEnvironment());
+        initSender(context);
+    }
+
+    private void initApplicationContext(ApplicationContext context) {
+        this.context = context;
+    }
+
+    private void initRedisReplicatorConfiguration(ApplicationContext context) {
+        this.redisReplicatorConfiguration = RedisReplicatorConfiguration.get(context);
+    }
+
+    private void initSender(ApplicationContext context) {
+        if (this.sender != null) {
+            return;
+        }
+        String[] senderBeanNames = context.getBeanNamesForType(RedisReplicatorSender.class);
+        if (senderBeanNames.length > 1) {
+            // Only one transport is allowed, otherwise the Redis commands would be replicated partially
+            throw new IllegalStateException("Only one RedisReplicatorSender is allowed in the application context [id: '" + context.getId()
+                    + "'], but found : " + Arrays.toString(senderBeanNames) + ", please check the property '" + TRANSPORT_PROPERTY_NAME + "'");
+        }
+        RedisReplicatorSender sender = context.getBeanProvider(RedisReplicatorSender.class).getIfAvailable();
+        if (sender == null) {
+            logger.warn("The unique RedisReplicatorSender is not found in the application context [id: '{}'], the Redis commands will not be replicated",
+                    context.getId());
+            return;
+        }
+        this.sender = sender;
+        initExecutor();
+    }
+
+    private void initQueueSettings(Environment environment) {
+        this.instanceId = resolveInstanceId(environment);
+        this.queueCapacity = environment.getProperty(PRODUCER_QUEUE_CAPACITY_PROPERTY_NAME, int.class, DEFAULT_PRODUCER_QUEUE_CAPACITY);
+        this.overflowPolicy = OverflowPolicy.resolve(environment.getProperty(PRODUCER_QUEUE_OVERFLOW_POLICY_PROPERTY_NAME, DEFAULT_PRODUCER_QUEUE_OVERFLOW_POLICY));
+        this.blockTimeout = environment.getProperty(PRODUCER_QUEUE_BLOCK_TIMEOUT_PROPERTY_NAME, long.class, DEFAULT_PRODUCER_QUEUE_BLOCK_TIMEOUT);
+        this.batchSize = environment.getProperty(PRODUCER_QUEUE_BATCH_SIZE_PROPERTY_NAME, int.class, DEFAULT_PRODUCER_QUEUE_BATCH_SIZE);
+        this.spillDirectory = new File(environment.getProperty(PRODUCER_QUEUE_SPILL_DIRECTORY_PROPERTY_NAME, DEFAULT_PRODUCER_QUEUE_SPILL_DIRECTORY));
+        this.spillMaxSize = environment.getProperty(PRODUCER_QUEUE_SPILL_MAX_SIZE_PROPERTY_NAME, long.class, DEFAULT_PRODUCER_QUEUE_SPILL_MAX_SIZE);
+        this.outboxEnabled = environment.getProperty(PRODUCER_OUTBOX_ENABLED_PROPERTY_NAME, boolean.class, DEFAULT_PRODUCER_OUTBOX_ENABLED);
+        this.outboxDirectory = new File(environment.getProperty(PRODUCER_OUTBOX_DIRECTORY_PROPERTY_NAME, DEFAULT_PRODUCER_OUTBOX_DIRECTORY));
+        this.outboxSegmentSize = environment.getProperty(PRODUCER_OUTBOX_SEGMENT_SIZE_PROPERTY_NAME, int.class, DEFAULT_PRODUCER_OUTBOX_SEGMENT_SIZE);
+        this.outboxFsyncPolicy = FsyncPolicy.resolve(environment.getProperty(PRODUCER_OUTBOX_FSYNC_POLICY_PROPERTY_NAME, DEFAULT_PRODUCER_OUTBOX_FSYNC_POLICY));
+        this.outboxFsyncInterval = environment.getProperty(PRODUCER_OUTBOX_FSYNC_INTERVAL_PROPERTY_NAME, long.class, DEFAULT_PRODUCER_OUTBOX_FSYNC_INTERVAL);
+        this.outboxRetryBackoff = environment.getProperty(PRODUCER_OUTBOX_RETRY_BACKOFF_PROPERTY_NAME, long.class, DEFAULT_PRODUCER_OUTBOX_RETRY_BACKOFF);
+        this.outboxMaxSize = environment.getProperty(PRODUCER_OUTBOX_MAX_SIZE_PROPERTY_NAME, long.class, DEFAULT_PRODUCER_OUTBOX_MAX_SIZE);
+        logger.debug("The queue of Redis Replicator producer : capacity = {} , overflow policy = {} , batch size = {} , outbox enabled = {}",
+                queueCapacity, overflowPolicy, batchSize, outboxEnabled);
+    }
+
+    /**
+     * Resolve the id of the producer instance, it should be stable across the restarts
+     *
+     * @param environment {@link Environment}
+     * @return the configured one, or "{host name}:{server port}", or "{process id}@{host name}" if the server port is absent
+     */
+    static String resolveInstanceId(Environment environment) {
+        String instanceId = environment.getProperty(PRODUCER_INSTANCE_ID_PROPERTY_NAME);
+        if (instanceId != null) {
+            return instanceId;
+        }
+        String serverPort = environment.getProperty(SERVER_PORT_PROPERTY_NAME);
+        if (serverPort == null) {
+            // The instances on the same host are distinguished by the process id
+            return ManagementFactory.getRuntimeMXBean().getName();
+        }
+        String hostName;
+        try {
+            hostName = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            hostName = "localhost";
+        }
+        return hostName + ":" + serverPort;
+    }
+
+    private void initExecutor() {
+        if (this.executor != null) {
+            return;
+        }
+        this.executor = Executors.newCachedThreadPool(new CustomizableThreadFactory("Redis-Replicator-Producer-"));
+        this.running = true;
+        for (String domain : redisReplicatorConfiguration.getDomains()) {
+            getQueue(domain);
+        }
+    }
+
+    private void onRedisCommandEvent(RedisCommandEvent event) {
+        if (sender == null) {
+            return;
+        }
+        try {
+            String beanName = event.getSourceBeanName();
+            List<String> domains = redisReplicatorConfiguration.getDomains(beanName);
+            for (int i = 0; i < domains.size(); i++) {
+                getQueue(domains.get(i)).offer(event);
+            }
+        } catch (Throwable e) {
+            logger.warn("[Redis-Replicator-P-F] Failed to perform Redis Replicator sending operation.", e);
+        }
+    }
+
+    private RedisCommandEventQueue getQueue(String domain) {
+        RedisCommandEventQueue queue = queues.get(domain);
+        if (queue == null) {
+            queue = queues.computeIfAbsent(domain, this::createQueue);
+        }
+        return queue;
+    }
+
+    private RedisCommandEventQueue createQueue(String domain) {
+        RedisCommandEventSpillFile spillFile = null;
+        if (overflowPolicy == OverflowPolicy.SPILL) {
+            try {
+                spillFile = new RedisCommandEventSpillFile(new File(spillDirectory, domain + ".spill"), spillMaxSize);
+            } catch (IOException e) {
+                logger.warn("The spill file of domain[{}] can't be created, the overflow policy 'block' will be used instead", domain, e);
+            }
+        }
+        RedisCommandEventOutbox outbox = null;
+        if (outboxEnabled) {
+            try {
+                outbox = new RedisCommandEventOutbox(new File(outboxDirectory, domain), outboxSegmentSize, outboxFsyncPolicy,
+                        outboxFsyncInterval, outboxRetryBackoff, outboxMaxSize, blockTimeout);
+            } catch (IOException e) {
+                logger.warn("The outbox of domain[{}] can't be created, the memory queue will be used instead", domain, e);
+            }
+        }
+        RedisCommandEventQueue queue = new RedisCommandEventQueue(domain, queueCapacity, overflowPolicy, blockTimeout, spillFile,
+                outbox, getSourceId(domain));
+        executor.execute(() -> dispatch(queue));
+        return queue;
+    }
+
+    /**
+     * The stable id of the replication source, the watermarks of the source are reused by the consumers after restart
+     *
+     * @param domain the domain
+     * @return "{application name}:{domain}:{instance id}"
+     */
+    private String getSourceId(String domain) {
+        String applicationName = redisReplicatorConfiguration.getRedisConfiguration().getApplicationName();
+        return applicationName + ":" + domain + ":" + instanceId;
+    }
+
+    /**
+     * Drain the events from the queue and send them in batch until the dispatcher is destroyed
+     *
+     * @param queue {@link RedisCommandEventQueue}
+     */
+    private void dispatch(RedisCommandEventQueue queue) {
+        String domain = queue.getDomain();
+        RedisCommandPartitioner partitioner = RedisCommandPartitioner.create(domain, (ConfigurableEnvironment) context.getEnvironment(), context.getClassLoader());
+        List<RedisCommandEventQueue.Element> elements = new ArrayList<>(batchSize);
+        // The last known count of partitions, -1 means unknown
+        int partitionCount = -1;
+        long partitionCountRefreshTime = 0L;
+        while (running) {
+            try {
+                int count = queue.drainTo(elements, batchSize, DRAIN_TIMEOUT, TimeUnit.MILLISECONDS);
+                if (count < 1) {
+                    continue;
+                }
+                if (partitioner != DefaultRedisCommandPartitioner.INSTANCE) {
+                    long now = System.currentTimeMillis();
+                    if (now >= partitionCountRefreshTime) {
+                        int newPartitionCount = getPartitionCount(domain);
+                        // The sends are held until the count of partitions is known, otherwise the events would be
+                        // partitioned by the transport
+                        while (newPartitionCount < 0 && partitionCount < 0 && running) {
+                            Thread.sleep(PARTITION_COUNT_RETRY_INTERVAL);
+                            newPartitionCount = getPartitionCount(domain);
+                        }
+                        if (newPartitionCount < 0) {
+                            // Keep the last known count, and retry later
+                            partitionCountRefreshTime = now + PARTITION_COUNT_RETRY_INTERVAL;
+                        } else {
+                            partitionCount = newPartitionCount;
+                            partitionCountRefreshTime = now + PARTITION_COUNT_REFRESH_INTERVAL;
+                        }
+                    }
+                }
+                sendInBatches(domain, queue, elements, partitioner, partitionCount);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Throwable e) {
+                logger.warn("[Redis-Replicator-P-F] Failed to perform Redis Replicator sending operation.", e);
+            } finally {
+                elements.clear();
+            }
+        }
+    }
+
+    /**
+     * Get the count of partitions from the sender
+     *
+     * @param domain the domain
+     * @return -1 if the partitions can't be fetched
+     */
+    private int getPartitionCount(String domain) {
+        try {
+            return Math.max(0, sender.getPartitionCount(domain));
+        } catch (Throwable e) {
+            logger.warn("[Redis-Replicator-P-F] The partitions of domain[{}] can't be fetched", domain, e);
+            return -1;
+        }
+    }
+
+    /**
+     * Send the drained elements as one batch record per partition, the elements of the batch are in order.
+     * If the partition is selected by the transport, e.g, by the hash of the record key, the consecutive elements of
+     * the same key are batched instead, and the records are sent in drain order.
+     *
+     * @param domain         the domain
+     * @param queue          {@link RedisCommandEventQueue}
+     * @param elements       the drained elements
+     * @param partitioner    {@link RedisCommandPartitioner}
+     * @param partitionCount the count of partitions
+     * @throws InterruptedException if interrupted while waiting for the sendings of the durable elements
+     */
+    private void sendInBatches(String domain, RedisCommandEventQueue queue, List<RedisCommandEventQueue.Element> elements,
+                               RedisCommandPartitioner partitioner, int partitionCount) throws InterruptedException {
+        List<Batch> batches = toBatches(elements, partitioner, partitionCount, BATCH_SUPPORTED);
+        if (!elements.get(0).isDurable()) {
+            for (Batch batch : batches) {
+                send(domain, queue, batch, null);
+            }
+            return;
+        }
+
+        // The durable elements are re-sent from the failed one, the outbox must not be read beyond it concurrently
+        Completion completion = new Completion();
+        Set<Integer> inFlightPartitions = new HashSet<>();
+        int sent = 0;
+        for (Batch batch : batches) {
+            Integer partition = batch.partition;
+            // The records of the unknown partitions may be sent to the same partition by the transport
+            if (!inFlightPartitions.isEmpty() && (partition == null || inFlightPartitions.contains(null)
+                    || inFlightPartitions.contains(partition))) {
+                if (!awaitCompletion(completion, sent)) {
+                    return;
+                }
+                inFlightPartitions.clear();
+            }
+            if (completion.failedElement != null) {
+                // Stop sending at the failure
+                break;
+            }
+            inFlightPartitions.add(partition);
+            send(domain, queue, batch, completion);
+            sent++;
+        }
+        if (!awaitCompletion(completion, sent)) {
+            return;
+        }
+        RedisCommandEventQueue.Element failedElement = completion.failedElement;
+        if (failedElement != null) {
+            queue.rewind(failedElement);
+        }
+    }
+
+    /**
+     * Wait for the sendings being completed
+     *
+     * @return <code>false</code> if the dispatcher is destroyed, the elements that are not acknowledged will be
+     * re-sent after restart
+     */
+    private boolean awaitCompletion(Completion completion, int count) throws InterruptedException {
+        while (!completion.await(count, DRAIN_TIMEOUT)) {
+            if (!running) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void send(String domain, RedisCommandEventQueue queue, Batch batch, @Nullable Completion completion) {
+        List<RedisCommandEventQueue.Element> elements = batch.elements;
+        Integer partition = batch.partition;
+        ReplicatedRecord record = batch.toRecord(domain);
+        RedisReplicatorSender.Callback callback = new RedisReplicatorSender.Callback() {
+
+            @Override
+            public void onSuccess(ReplicatedRecord record) {
+                for (int i = 0, size = elements.size(); i < size; i++) {
+                    queue.recordSent(elements.get(i));
+                }
+                if (completion != null) {
+                    completion.complete(null);
+                }
+                logger.debug("[Redis-Replicator-P-S] Redis Replicator sending operation succeeds. Domain: {}, events: {}, data size: {} bytes, partition: {}",
+                        domain, elements.size(), record.getValue().length, partition);
+            }
+
+            @Override
+            public void onFailure(ReplicatedRecord record, Throwable failure) {
+                for (int i = 0, size = elements.size(); i < size; i++) {
+                    queue.recordFailed(elements.get(i));
+                }
+                if (completion != null) {
+                    completion.complete(elements.get(0));
+                }
+                logger.warn("[Redis-Replicator-P-F] Redis Replicator sending operation failed. Domain: {}, events: {}, data size: {} bytes",
+                        domain, elements.size(), record.getValue().length, failure);
+            }
+        };
+        try {
+            sender.send(record, callback);
+        } catch (Throwable e) {
+            callback.onFailure(record, e);
+        }
+    }
+
+    /**
+     * Split the drained elements into the batches in drain order, the elements of one batch are sent as one record.
+     * The elements of one partition are batched in drain order, thus the commands without key or of more than one key
+     * stay in place. If the partition is selected by the transport, only the consecutive elements of the same key are
+     * batched, the element without key is sent alone as the barrier. Thus the sequences of the records are monotonic
+     * per partition as the consumer requires.
+     *
+     * @param elements       the drained elements
+     * @param partitioner    {@link RedisCommandPartitioner}
+     * @param partitionCount the count of partitions
+     * @param batchSupported whether the batch record is supported, if not, each element is sent as one record
+     * @return the batches in order
+     */
+    static List<Batch> toBatches(List<RedisCommandEventQueue.Element> elements, RedisCommandPartitioner partitioner,
+                                 int partitionCount, boolean batchSupported) {
+        int size = elements.size();
+        List<Batch> batches = new ArrayList<>(size);
+        // The partition as key, the open batch as value
+        Map<Integer, Batch> partitionBatches = new HashMap<>();
+        Batch lastBatch = null;
+        for (int i = 0; i < size; i++) {
+            RedisCommandEventQueue.Element element = elements.get(i);
+            Integer partition = calcPartition(element, partitioner, partitionCount);
+            byte[] key = element.getKey();
+            Batch batch = null;
+            if (batchSupported) {
+                if (partition != null) {
+                    batch = partitionBatches.get(partition);
+                } else if (key != null && lastBatch != null && lastBatch.partition == null && Arrays.equals(key, lastBatch.key)) {
+                    batch = lastBatch;
+                }
+            }
+            if (batch == null) {
+                batch = new Batch(partition, key);
+                batches.add(batch);
+                if (partition != null) {
+                    partitionBatches.put(partition, batch);
+                }
+            }
+            batch.add(element);
+            lastBatch = batch;
+        }
+        return batches;
+    }
+
+    private static Integer calcPartition(RedisCommandEventQueue.Element element, RedisCommandPartitioner partitioner, int partitionCount) {
+        if (partitionCount < 1) {
+            // The partition is selected by the transport
+            return null;
+        }
+        // The spilled element is deserialized only if the partitioner requires the event
+        return partitioner.partition(element.getKeyHash(), element.getKey(), element::getEvent, partitionCount);
+    }
+
+    /**
+     * Get the queues of domains, the depth, latency and so on can be monitored
+     *
+     * @return the domain as key and {@link RedisCommandEventQueue} as value
+     */
+    public Map<String, RedisCommandEventQueue> getQueues() {
+        return unmodifiableMap(queues);
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        this.running = false;
+        ExecutorService executor = this.executor;
+        if (executor != null) {
+            executor.shutdown();
+            if (!executor.awaitTermination(SHUTDOWN_TIMEOUT, TimeUnit.MILLISECONDS)) {
+                executor.shutdownNow();
+            }
+        }
+        for (RedisCommandEventQueue queue : queues.values()) {
+            logger.info("The Redis Replicator producer queue is closing : {}", queue);
+            queue.close();
+        }
+    }
+
+    /**
+     * The completion of the sendings of the durable elements drained at once
+     */
+    private static class Completion {
+
+        private int completedCount;
+
+        /**
+         * The failed element of the min sequence
+         */
+        @Nullable
+        private volatile RedisCommandEventQueue.Element failedElement;
+
+        /**
+         * @param failedElement the first element of the failed batch, <code>null</code> if succeeded
+         */
+        private synchronized void complete(@Nullable RedisCommandEventQueue.Element failedElement) {
+            if (failedElement != null && (this.failedElement == null || failedElement.getSequence() < this.failedElement.getSequence())) {
+                this.failedElement = failedElement;
+            }
+            completedCount++;
+            notifyAll();
+        }
+
+        /**
+         * @return <code>true</code> if the count of the sendings are completed before the timeout
+         */
+        private synchronized boolean await(int count, long timeout) throws InterruptedException {
+            long deadline = System.currentTimeMillis() + timeout;
+            while (completedCount < count) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0L) {
+                    return false;
+                }
+                wait(remaining);
+            }
+            return true;
+        }
+    }
+
+    /**
+     * The batch of the elements that are sent as one {@link ReplicatedRecord}, the elements drained at once share the
+     * same replication source, the sequence of the last element stands for the batch.
+     */
+    static class Batch {
+
+        @Nullable
+        private final Integer partition;
+
+        /**
+         * The key of record, it's <code>null</code> if the elements have the different keys
+         */
+        @Nullable
+        private byte[] key;
+
+        private final List<RedisCommandEventQueue.Element> elements = new ArrayList<>();
+
+        private Batch(@Nullable Integer partition, @Nullable byte[] key) {
+            this.partition = partition;
+            this.key = key;
+        }
+
+        private void add(RedisCommandEventQueue.Element element) {
+            if (key != null && !Arrays.equals(key, element.getKey())) {
+                key = null;
+            }
+            elements.add(element);
+        }
+
+        List<RedisCommandEventQueue.Element> getElements() {
+            return elements;
+        }
+
+        ReplicatedRecord toRecord(String domain) {
+            int size = elements.size();
+            RedisCommandEventQueue.Element last = elements.get(size - 1);
+            byte[] value;
+            if (size == 1) {
+                value = last.getValue();
+            } else {
+                List<RedisCommandEvent> events = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    events.add(elements.get(i).getEvent());
+                }
+                value = redisCommandEventSerializer.serializeBatch(events);
+            }
+            return new ReplicatedRecord(domain, domain, partition, key, value, last.getTimestamp(), last.getSourceId(),
+                    last.getSequence());
+        }
+    }
+}
@@ -0,0 +1,735 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microsphere.spring.redis.replicator.producer;
+
+import io.github.microsphere.spring.redis.event.RedisCommandEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.lang.Nullable;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+import static java.lang.String.format;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * The durable local write-ahead outbox of {@link RedisCommandEvent RedisCommandEvents} for one domain, the records
+ * are appended sequentially into the memory-mapped segment files before dispatching, read in order by the dispatcher,
+ * and the segments are unmapped and deleted once all their records are acknowledged. If the sending fails, the
+ * dispatcher rewinds the outbox to the failed record before reading again, thus the records are re-sent in order after
+ * the transport recovers.
+ * <p>
+ * The total size of the segment files is limited, the appending is blocked until the acknowledged segments are
+ * deleted, or rejected after the timeout.
+ * <p>
+ * The layout of record :
+ * <pre>
+ * record length(4) | crc32(4) | sequence(8) | timestamp(8) | key length(4, -1 means null) | key | value
+ * </pre>
+ * The record length is written at last, the zero length means the end of segment, and the torn record is detected by
+ * the crc32 during recovery. The sequence before which all records were acknowledged is saved in the checkpoint file.
+ * <p>
+ * The outbox has the persistent source id, together with the sequence, the re-sent records could be recognized by
+ * the consumer.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see FsyncPolicy
+ * @see RedisCommandEventQueue
+ * @since 1.0.0
+ */
+public class RedisCommandEventOutbox implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(RedisCommandEventOutbox.class);
+
+    static final String SEGMENT_FILE_SUFFIX = ".log";
+
+    static final String CHECKPOINT_FILE_NAME = "checkpoint";
+
+    static final String SOURCE_ID_FILE_NAME = "source-id";
+
+    private static final int LENGTH_BYTES = 4;
+
+    private static final int RECORD_HEADER_BYTES = 4 + 8 + 8 + 4;
+
+    private final File directory;
+
+    private final String sourceId;
+
+    private final int segmentSize;
+
+    private final FsyncPolicy fsyncPolicy;
+
+    private final long fsyncInterval;
+
+    private final long retryBackoff;
+
+    private final long maxSize;
+
+    private final long blockTimeout;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Condition notEmpty = lock.newCondition();
+
+    private final Condition notFull = lock.newCondition();
+
+    private final Condition closed = lock.newCondition();
+
+    private final CRC32 crc32 = new CRC32();
+
+    /**
+     * The segments ordered by their base sequences
+     */
+    private final NavigableMap<Long, Segment> segments = new TreeMap<>();
+
+    /**
+     * The sequences that were acknowledged out of order
+     */
+    private final Set<Long> acknowledgedSequences = new TreeSet<>();
+
+    private final FileChannel checkpointChannel;
+
+    private final ByteBuffer checkpointBuffer = ByteBuffer.allocate(8);
+
+    @Nullable
+    private Segment writeSegment;
+
+    private long nextSequence;
+
+    /**
+     * The total size of the segment files
+     */
+    private long size;
+
+    @Nullable
+    private Segment readSegment;
+
+    private int readPosition;
+
+    private long readSequence;
+
+    /**
+     * All records before this sequence were acknowledged
+     */
+    private long acknowledgedSequence;
+
+    private long checkpointSequence;
+
+    private long lastFsyncTime;
+
+    private long resumeTime;
+
+    private boolean open = true;
+
+    /**
+     * @param directory     the directory of the segment files
+     * @param segmentSize   the size of segment in bytes
+     * @param fsyncPolicy   {@link FsyncPolicy}
+     * @param fsyncInterval the interval in milliseconds for {@link FsyncPolicy#INTERVAL}
+     * @param retryBackoff  the backoff in milliseconds before the rewound records are re-read
+     * @throws IOException if the segment files can't be opened or recovered
+     */
+    public RedisCommandEventOutbox(File directory, int segmentSize, FsyncPolicy fsyncPolicy, long fsyncInterval,
+                                   long retryBackoff) throws IOException {
+        this(directory, segmentSize, fsyncPolicy, fsyncInterval, retryBackoff, Long.MAX_VALUE, 0L);
+    }
+
+    /**
+     * @param directory     the directory of the segment files
+     * @param segmentSize   the size of segment in bytes
+     * @param fsyncPolicy   {@link FsyncPolicy}
+     * @param fsyncInterval the interval in milliseconds for {@link FsyncPolicy#INTERVAL}
+     * @param retryBackoff  the backoff in milliseconds before the rewound records are re-read
+     * @param maxSize       the max size in bytes of the segment files
+     * @param blockTimeout  the timeout in milliseconds to wait for the space if the outbox is full
+     * @throws IOException if the segment files can't be opened or recovered
+     */
+    public RedisCommandEventOutbox(File directory, int segmentSize, FsyncPolicy fsyncPolicy, long fsyncInterval,
+                                   long retryBackoff, long maxSize, long blockTimeout) throws IOException {
+        if (!directory.exists() && !directory.mkdirs()) {
+            throw new IOException("The directory[" + directory + "] can't be created");
+        }
+        this.directory = directory;
+        this.sourceId = loadSourceId(directory);
+        this.segmentSize = segmentSize;
+        this.fsyncPolicy = fsyncPolicy;
+        this.fsyncInterval = fsyncInterval;
+        this.retryBackoff = retryBackoff;
+        this.maxSize = maxSize;
+        this.blockTimeout = blockTimeout;
+        this.checkpointChannel = FileChannel.open(new File(directory, CHECKPOINT_FILE_NAME).toPath(), CREATE, READ, WRITE);
+        recover();
+    }
+
+    private static String loadSourceId(File directory) throws IOException {
+        Path path = new File(directory, SOURCE_ID_FILE_NAME).toPath();
+        if (Files.exists(path)) {
+            return new String(Files.readAllBytes(path), StandardCharsets.UTF_8).trim();
+        }
+        String sourceId = UUID.randomUUID().toString();
+        Files.write(path, sourceId.getBytes(StandardCharsets.UTF_8));
+        return sourceId;
+    }
+
+    private void recover() throws IOException {
+        long checkpoint = readCheckpoint();
+        File[] files = directory.listFiles((dir, name) -> name.endsWith(SEGMENT_FILE_SUFFIX));
+        if (files != null) {
+            for (File file : files) {
+                String name = file.getName();
+                long baseSequence = Long.parseLong(name.substring(0, name.length() - SEGMENT_FILE_SUFFIX.length()));
+                Segment segment = new Segment(file, baseSequence, segmentSize);
+                segments.put(baseSequence, segment);
+                size += segment.size();
+            }
+        }
+
+        long nextSequence = checkpoint;
+        for (Segment segment : segments.values()) {
+            segment.recover(crc32);
+            nextSequence = segment.nextSequence();
+        }
+        Map.Entry<Long, Segment> firstEntry = segments.firstEntry();
+        this.writeSegment = segments.isEmpty() ? null : segments.lastEntry().getValue();
+        this.nextSequence = nextSequence;
+        this.acknowledgedSequence = firstEntry == null ? checkpoint : Math.min(Math.max(checkpoint, firstEntry.getKey()), nextSequence);
+        this.checkpointSequence = checkpoint;
+        this.readSequence = acknowledgedSequence;
+        compact();
+        if (nextSequence > readSequence) {
+            logger.info("The outbox[{}] was recovered, {} records will be re-sent", directory, nextSequence - readSequence);
+        }
+    }
+
+    /**
+     * Append the record, it's invoked by the Redis threads
+     *
+     * @param timestamp the timestamp of {@link RedisCommandEvent}
+     * @param key       the nullable key
+     * @param value     the serialized {@link RedisCommandEvent}
+     * @return the sequence of the record, -1 if the outbox is still full after the block timeout
+     * @throws IOException if the segment can't be created or the outbox is closed
+     */
+    public long append(long timestamp, @Nullable byte[] key, byte[] value) throws IOException {
+        int keyLength = key == null ? -1 : key.length;
+        int length = RECORD_HEADER_BYTES + (key == null ? 0 : keyLength) + value.length;
+        int recordSize = LENGTH_BYTES + length;
+        lock.lock();
+        try {
+            if (!open) {
+                throw new IOException("The outbox[" + directory + "] was closed");
+            }
+            Segment segment = writeSegment;
+            if (segment == null || !segment.hasRemaining(recordSize)) {
+                segment = rollSegment(recordSize);
+                if (segment == null) {
+                    return -1L;
+                }
+            }
+            long sequence = nextSequence;
+            int position = segment.writePosition;
+            ByteBuffer buffer = segment.buffer.duplicate();
+            ((Buffer) buffer).position(position + LENGTH_BYTES + 4);
+            buffer.putLong(sequence);
+            buffer.putLong(timestamp);
+            buffer.putInt(keyLength);
+            if (key != null) {
+                buffer.put(key);
+            }
+            buffer.put(value);
+            // The crc32 covers from the sequence to the end of value
+            ((Buffer) buffer).limit(position + recordSize);
+            ((Buffer) buffer).position(position + LENGTH_BYTES + 4);
+            crc32.reset();
+            crc32.update(buffer);
+            segment.buffer.putInt(position + LENGTH_BYTES, (int) crc32.getValue());
+            // The length is written at last
+            segment.buffer.putInt(position, length);
+            segment.writePosition = position + recordSize;
+            segment.count++;
+            nextSequence = sequence + 1;
+            if (fsyncPolicy == FsyncPolicy.ALWAYS) {
+                segment.buffer.force();
+            }
+            notEmpty.signal();
+            return sequence;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Read the records in order into the list, it's invoked by the dispatcher thread
+     *
+     * @param elements    the list of elements
+     * @param maxElements the max number of elements
+     * @param timeout     the timeout to wait for the first record
+     * @param unit        {@link TimeUnit}
+     * @return the number of read elements
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public int read(List<RedisCommandEventQueue.Element> elements, int maxElements, long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        if (fsyncPolicy == FsyncPolicy.INTERVAL) {
+            long now = System.currentTimeMillis();
+            if (now - lastFsyncTime >= fsyncInterval) {
+                flush();
+                lastFsyncTime = now;
+            }
+        }
+        lock.lockInterruptibly();
+        try {
+            long backoff = resumeTime - System.currentTimeMillis();
+            if (backoff > 0) {
+                // Wait for the transport recovering
+                closed.awaitNanos(Math.min(TimeUnit.MILLISECONDS.toNanos(backoff), nanos));
+                return 0;
+            }
+            while (readSequence >= nextSequence) {
+                if (nanos <= 0L || !open) {
+                    return 0;
+                }
+                nanos = notEmpty.awaitNanos(nanos);
+            }
+            int count = 0;
+            while (count < maxElements && readSequence < nextSequence) {
+                Segment segment = locateReadSegment();
+                ByteBuffer buffer = segment.buffer;
+                int position = readPosition;
+                int length = buffer.getInt(position);
+                long sequence = buffer.getLong(position + LENGTH_BYTES + 4);
+                long timestamp = buffer.getLong(position + LENGTH_BYTES + 12);
+                int keyLength = buffer.getInt(position + LENGTH_BYTES + 20);
+                ByteBuffer recordBuffer = buffer.duplicate();
+                ((Buffer) recordBuffer).position(position + LENGTH_BYTES + RECORD_HEADER_BYTES);
+                byte[] key = null;
+                if (keyLength > -1) {
+                    key = new byte[keyLength];
+                    recordBuffer.get(key);
+                }
+                byte[] value = new byte[length - RECORD_HEADER_BYTES - (key == null ? 0 : keyLength)];
+                recordBuffer.get(value);
+                elements.add(new RedisCommandEventQueue.Element(sourceId, sequence, timestamp, key, value));
+                readPosition = position + LENGTH_BYTES + length;
+                readSequence++;
+                count++;
+            }
+            return count;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Acknowledge the record, the segments whose records are all acknowledged are deleted
+     *
+     * @param sequence the sequence of record
+     */
+    public void acknowledge(long sequence) {
+        lock.lock();
+        try {
+            if (sequence < acknowledgedSequence) {
+                return;
+            }
+            if (sequence == acknowledgedSequence) {
+                long next = sequence + 1;
+                while (acknowledgedSequences.remove(next)) {
+                    next++;
+                }
+                acknowledgedSequence = next;
+                compact();
+            } else {
+                acknowledgedSequences.add(sequence);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Rewind to the record that failed to be sent, the records from it will be re-read after the retry backoff.
+     * It must be invoked by the dispatcher thread after all the sendings of the read records are completed, thus the
+     * records are not read beyond the failed one concurrently.
+     *
+     * @param sequence the sequence of record
+     */
+    public void rewind(long sequence) {
+        lock.lock();
+        try {
+            if (sequence < readSequence && sequence >= acknowledgedSequence) {
+                logger.debug("The outbox[{}] is rewound from the sequence {} to {}", directory, readSequence, sequence);
+                readSequence = sequence;
+                readSegment = null;
+                resumeTime = System.currentTimeMillis() + retryBackoff;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Force the appended records and save the checkpoint
+     */
+    public void flush() {
+        Segment segment;
+        long checkpoint;
+        lock.lock();
+        try {
+            if (!open) {
+                return;
+            }
+            segment = writeSegment;
+            checkpoint = acknowledgedSequence;
+            // The segment must not be unmapped while forcing
+            if (segment != null) {
+                segment.buffer.force();
+            }
+        } finally {
+            lock.unlock();
+        }
+        writeCheckpoint(checkpoint);
+    }
+
+    /**
+     * Roll the new write segment, wait for the acknowledged segments being deleted if the outbox is full
+     *
+     * @return <code>null</code> if the outbox is still full after the block timeout
+     */
+    @Nullable
+    private Segment rollSegment(int recordSize) throws IOException {
+        int newSegmentSize = Math.max(segmentSize, recordSize + LENGTH_BYTES);
+        long nanos = TimeUnit.MILLISECONDS.toNanos(blockTimeout);
+        try {
+            while (!segments.isEmpty() && size + newSegmentSize > maxSize) {
+                if (nanos <= 0L || !open) {
+                    logger.warn("The outbox[{}] is full, size : {} bytes , max size : {} bytes", directory, size, maxSize);
+                    return null;
+                }
+                nanos = notFull.awaitNanos(nanos);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+        if (!open) {
+            throw new IOException("The outbox[" + directory + "] was closed");
+        }
+        Segment segment = writeSegment;
+        if (segment != null && fsyncPolicy != FsyncPolicy.NEVER) {
+            segment.buffer.force();
+        }
+        long baseSequence = nextSequence;
+        File file = new File(directory, format("%020d%s", baseSequence, SEGMENT_FILE_SUFFIX));
+        segment = new Segment(file, baseSequence, newSegmentSize);
+        segments.put(baseSequence, segment);
+        size += segment.size();
+        writeSegment = segment;
+        return segment;
+    }
+
+    private Segment locateReadSegment() {
+        Segment segment = readSegment;
+        if (segment != null && readSequence < segment.nextSequence()) {
+            return segment;
+        }
+        segment = segments.floorEntry(readSequence).getValue();
+        readSegment = segment;
+        readPosition = segment.positionOf(readSequence);
+        return segment;
+    }
+
+    /**
+     * Delete the segments whose records are all acknowledged, except the write segment
+     */
+    private void compact() {
+        boolean compacted = false;
+        Iterator<Segment> iterator = segments.values().iterator();
+        while (iterator.hasNext()) {
+            Segment segment = iterator.next();
+            if (segment == writeSegment || segment.nextSequence() > acknowledgedSequence) {
+                break;
+            }
+            iterator.remove();
+            if (segment == readSegment) {
+                readSegment = null;
+            }
+            size -= segment.size();
+            segment.delete();
+            compacted = true;
+        }
+        if (compacted) {
+            writeCheckpoint(acknowledgedSequence);
+            notFull.signalAll();
+        }
+    }
+
+    private long readCheckpoint() throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(8);
+        if (checkpointChannel.read(buffer, 0) == 8) {
+            ((Buffer) buffer).flip();
+            return buffer.getLong();
+        }
+        return 0L;
+    }
+
+    private synchronized void writeCheckpoint(long checkpoint) {
+        if (checkpoint <= checkpointSequence) {
+            return;
+        }
+        ByteBuffer buffer = checkpointBuffer;
+        ((Buffer) buffer).clear();
+        buffer.putLong(checkpoint);
+        ((Buffer) buffer).flip();
+        try {
+            checkpointChannel.write(buffer, 0);
+            if (fsyncPolicy != FsyncPolicy.NEVER) {
+                checkpointChannel.force(false);
+            }
+            checkpointSequence = checkpoint;
+        } catch (IOException e) {
+            logger.warn("The checkpoint of outbox[{}] can't be saved", directory, e);
+        }
+    }
+
+    /**
+     * @return the number of records that are not acknowledged
+     */
+    public long getPendingCount() {
+        lock.lock();
+        try {
+            return nextSequence - acknowledgedSequence;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the total size in bytes of the segment files
+     */
+    public long getSize() {
+        lock.lock();
+        try {
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the number of segment files
+     */
+    public int getSegmentCount() {
+        lock.lock();
+        try {
+            return segments.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the persistent id of the outbox as the replication source
+     */
+    public String getSourceId() {
+        return sourceId;
+    }
+
+    public File getDirectory() {
+        return directory;
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+        List<Segment> segments;
+        lock.lock();
+        try {
+            if (!open) {
+                return;
+            }
+            open = false;
+            segments = new ArrayList<>(this.segments.values());
+            closed.signalAll();
+            notEmpty.signalAll();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        for (Segment segment : segments) {
+            segment.close();
+        }
+        checkpointChannel.close();
+    }
+
+    @Override
+    public String toString() {
+        return "RedisCommandEventOutbox{" +
+                "directory=" + directory +
+                ", fsyncPolicy=" + fsyncPolicy +
+                ", pendingCount=" + getPendingCount() +
+                ", segmentCount=" + getSegmentCount() +
+                '}';
+    }
+
+    /**
+     * The memory-mapped segment file
+     */
+    private static class Segment {
+
+        private final File file;
+
+        private final long baseSequence;
+
+        private final FileChannel channel;
+
+        private final MappedByteBuffer buffer;
+
+        private int writePosition;
+
+        private int count;
+
+        private Segment(File file, long baseSequence, int size) throws IOException {
+            this.file = file;
+            this.baseSequence = baseSequence;
+            this.channel = FileChannel.open(file.toPath(), CREATE, READ, WRITE);
+            this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(size, channel.size()));
+        }
+
+        /**
+         * Scan the valid records, the torn record and the following ones are discarded
+         */
+        private void recover(CRC32 crc32) {
+            int position = 0;
+            int capacity = buffer.capacity();
+            while (position + LENGTH_BYTES + RECORD_HEADER_BYTES <= capacity) {
+                int length = buffer.getInt(position);
+                if (length < RECORD_HEADER_BYTES || position + LENGTH_BYTES + length > capacity
+                        || buffer.getLong(position + LENGTH_BYTES + 4) != baseSequence + count) {
+                    break;
+                }
+                ByteBuffer recordBuffer = buffer.duplicate();
+                ((Buffer) recordBuffer).limit(position + LENGTH_BYTES + length);
+                ((Buffer) recordBuffer).position(position + LENGTH_BYTES + 4);
+                crc32.reset();
+                crc32.update(recordBuffer);
+                if ((int) crc32.getValue() != buffer.getInt(position + LENGTH_BYTES)) {
+                    logger.warn("The torn record[sequence : {}] of the outbox segment[{}] is discarded", baseSequence + count, file);
+                    break;
+                }
+                position += LENGTH_BYTES + length;
+                count++;
+            }
+            writePosition = position;
+            // Clear the length of the torn record, the end of segment
+            if (position + LENGTH_BYTES <= capacity) {
+                buffer.putInt(position, 0);
+            }
+        }
+
+        private boolean hasRemaining(int recordSize) {
+            return buffer.capacity() - writePosition >= recordSize;
+        }
+
+        private long nextSequence() {
+            return baseSequence + count;
+        }
+
+        private int size() {
+            return buffer.capacity();
+        }
+
+        private int positionOf(long sequence) {
+            int position = 0;
+            for (long i = baseSequence; i < sequence; i++) {
+                position += LENGTH_BYTES + buffer.getInt(position);
+            }
+            return position;
+        }
+
+        private void close() {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                logger.warn("The outbox segment[{}] can't be closed", file, e);
+            }
+        }
+
+        /**
+         * Unmap and delete the segment file, the buffer must not be accessed any more
+         */
+        private void delete() {
+            close();
+            unmap(buffer);
+            if (!file.delete()) {
+                logger.warn("The outbox segment[{}] can't be deleted", file);
+            }
+        }
+
+        /**
+         * Unmap the buffer eagerly, otherwise the mapping is kept until the buffer is garbage-collected, thus the
+         * deleted file still occupies the disk space(or it can't be deleted on Windows)
+         */
+        private void unmap(MappedByteBuffer buffer) {
+            try {
+                Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+                Method invokeCleaner;
+                try {
+                    // JDK 9+
+                    invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+                } catch (NoSuchMethodException e) {
+                    // JDK 8
+                    Method cleanerMethod = buffer.getClass().getMethod("cleaner");
+                    cleanerMethod.setAccessible(true);
+                    Object cleaner = cleanerMethod.invoke(buffer);
+                    cleaner.getClass().getMethod("clean").invoke(cleaner);
+                    return;
+                }
+                Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+                theUnsafe.setAccessible(true);
+                invokeCleaner.invoke(theUnsafe.get(null), buffer);
+            } catch (Throwable e) {
+                logger.debug("The outbox segment[{}] can't be unmapped, it will be released by GC", file, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,568 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microsphere.spring.redis.replicator.producer;
+
+import io.github.microsphere.spring.redis.event.RedisCommandEvent;
+import io.github.microsphere.spring.redis.serializer.Serializers;
+import io.github.microsphere.spring.redis.util.RedisCommandsUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.ClusterSlotHashUtil;
+import org.springframework.lang.Nullable;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import static io.github.microsphere.spring.redis.util.RedisCommandsUtils.resolveSingleKey;
+
+/**
+ * The bounded queue of {@link RedisCommandEvent RedisCommandEvents} for one domain, the Redis threads only enqueue
+ * the events, and the dispatcher thread drains them in batch. When the queue is full, the {@link OverflowPolicy} is
+ * applied.
+ * <p>
+ * If the {@link RedisCommandEventOutbox outbox} is present, the events are appended into it durably instead of the
+ * memory queue, and the dispatcher reads them from the outbox, the failed events will be re-sent in order. The events
+ * are rejected if the outbox is full.
+ * <p>
+ * The elements are stamped with the source id and the sequence in the dispatching order, the outbox elements keep
+ * their persistent stamps. The memory sequence starts from the current time in nanosecond scale, thus it keeps
+ * increasing across the restarts of the same source id.
+ * <p>
+ * The statistics(depth, dropped, spilled, sent and the latency from the Redis command to the acknowledgement) are
+ * recorded for monitoring.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see OverflowPolicy
+ * @see RedisCommandEventSpillFile
+ * @see RedisCommandEventOutbox
+ * @since 1.0.0
+ */
+public class RedisCommandEventQueue implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(RedisCommandEventQueue.class);
+
+    /**
+     * The event can't be appended into the outbox because of I/O error
+     */
+    private static final long OUTBOX_FAILURE = -2L;
+
+    /**
+     * The sequences reserved for one millisecond of the uptime
+     */
+    private static final long SEQUENCES_PER_MILLISECOND = 1000L * 1000L;
+
+    private final String domain;
+
+    private final BlockingQueue<Element> queue;
+
+    private final OverflowPolicy overflowPolicy;
+
+    private final long blockTimeout;
+
+    @Nullable
+    private final RedisCommandEventSpillFile spillFile;
+
+    @Nullable
+    private final RedisCommandEventOutbox outbox;
+
+    private final String sourceId;
+
+    /**
+     * The sequence of the dispatched elements, it's only accessed by the dispatcher thread
+     */
+    private long sequence;
+
+    private final LongAdder enqueuedCount = new LongAdder();
+
+    private final LongAdder droppedCount = new LongAdder();
+
+    private final LongAdder spilledCount = new LongAdder();
+
+    private final LongAdder sentCount = new LongAdder();
+
+    private final LongAdder failedCount = new LongAdder();
+
+    private final LongAdder totalLatency = new LongAdder();
+
+    private final AtomicLong maxLatency = new AtomicLong();
+
+    /**
+     * @param domain         the domain
+     * @param capacity       the capacity of queue
+     * @param overflowPolicy {@link OverflowPolicy}
+     * @param blockTimeout   the timeout in milliseconds for {@link OverflowPolicy#BLOCK}
+     * @param spillFile      {@link RedisCommandEventSpillFile} for {@link OverflowPolicy#SPILL}
+     */
+    public RedisCommandEventQueue(String domain, int capacity, OverflowPolicy overflowPolicy, long blockTimeout,
+                                  @Nullable RedisCommandEventSpillFile spillFile) {
+        this(domain, capacity, overflowPolicy, blockTimeout, spillFile, null);
+    }
+
+    /**
+     * @param domain         the domain
+     * @param capacity       the capacity of queue
+     * @param overflowPolicy {@link OverflowPolicy}
+     * @param blockTimeout   the timeout in milliseconds for {@link OverflowPolicy#BLOCK}
+     * @param spillFile      {@link RedisCommandEventSpillFile} for {@link OverflowPolicy#SPILL}
+     * @param outbox         {@link RedisCommandEventOutbox}, the memory queue is the fallback if it's present
+     */
+    public RedisCommandEventQueue(String domain, int capacity, OverflowPolicy overflowPolicy, long blockTimeout,
+                                  @Nullable RedisCommandEventSpillFile spillFile, @Nullable RedisCommandEventOutbox outbox) {
+        this(domain, capacity, overflowPolicy, blockTimeout, spillFile, outbox, UUID.randomUUID().toString());
+    }
+
+    /**
+     * @param domain         the domain
+     * @param capacity       the capacity of queue
+     * @param overflowPolicy {@link OverflowPolicy}
+     * @param blockTimeout   the timeout in milliseconds for {@link OverflowPolicy#BLOCK}
+     * @param spillFile      {@link RedisCommandEventSpillFile} for {@link OverflowPolicy#SPILL}
+     * @param outbox         {@link RedisCommandEventOutbox}, the memory queue is the fallback if it's present
+     * @param sourceId       the stable id of the replication source of the memory queue
+     */
+    public RedisCommandEventQueue(String domain, int capacity, OverflowPolicy overflowPolicy, long blockTimeout,
+                                  @Nullable RedisCommandEventSpillFile spillFile, @Nullable RedisCommandEventOutbox outbox,
+                                  String sourceId) {
+        this.domain = domain;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.overflowPolicy = spillFile == null && overflowPolicy == OverflowPolicy.SPILL ? OverflowPolicy.BLOCK : overflowPolicy;
+        this.blockTimeout = blockTimeout;
+        this.spillFile = spillFile;
+        this.outbox = outbox;
+        this.sourceId = sourceId;
+        this.sequence = System.currentTimeMillis() * SEQUENCES_PER_MILLISECOND;
+    }
+
+    /**
+     * Enqueue the {@link RedisCommandEvent}
+     *
+     * @param event {@link RedisCommandEvent}
+     * @return <code>true</code> if the event was enqueued or spilled, <code>false</code> if dropped
+     */
+    public boolean offer(RedisCommandEvent event) {
+        Element element = new Element(event);
+        enqueuedCount.increment();
+        if (outbox != null) {
+            long sequence = appendOutbox(element);
+            if (sequence > -1L) {
+                return true;
+            }
+            if (sequence != OUTBOX_FAILURE) {
+                // The outbox is full, the event is rejected rather than reordered by the memory queue
+                recordDropped();
+                return false;
+            }
+        }
+        switch (overflowPolicy) {
+            case DROP_OLDEST:
+                while (!queue.offer(element)) {
+                    if (queue.poll() != null) {
+                        recordDropped();
+                    }
+                }
+                return true;
+            case SPILL:
+                // The events are spilled in order once the spill file is not empty, the check and the enqueuing
+                // (or spilling) are atomic among the Redis threads
+                synchronized (spillFile) {
+                    if (spillFile.isEmpty() && queue.offer(element)) {
+                        return true;
+                    }
+                    return spill(element);
+                }
+            default:
+                try {
+                    if (queue.offer(element, blockTimeout, TimeUnit.MILLISECONDS)) {
+                        return true;
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                recordDropped();
+                return false;
+        }
+    }
+
+    /**
+     * Drain the elements into the list, the queued elements are prior to the spilled or outbox ones
+     *
+     * @param elements    the list of elements
+     * @param maxElements the max number of elements
+     * @param timeout     the timeout to wait for the first element
+     * @param unit        {@link TimeUnit}
+     * @return the number of drained elements
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public int drainTo(List<Element> elements, int maxElements, long timeout, TimeUnit unit) throws InterruptedException {
+        int count = queue.drainTo(elements, maxElements);
+        if (count == 0) {
+            if (outbox != null) {
+                return outbox.read(elements, maxElements, timeout, unit);
+            }
+            if (spillFile != null && !spillFile.isEmpty()) {
+                count = readSpilled(elements, maxElements);
+            }
+            if (count == 0) {
+                Element element = queue.poll(timeout, unit);
+                if (element != null) {
+                    elements.add(element);
+                    count = 1 + queue.drainTo(elements, maxElements - 1);
+                }
+            }
+        }
+        stamp(elements, count);
+        return count;
+    }
+
+    private void stamp(List<Element> elements, int count) {
+        int size = elements.size();
+        for (int i = size - count; i < size; i++) {
+            Element element = elements.get(i);
+            if (!element.isDurable()) {
+                element.sourceId = sourceId;
+                element.sequence = sequence++;
+            }
+        }
+    }
+
+    public void recordSent(Element element) {
+        sentCount.increment();
+        long latency = System.currentTimeMillis() - element.getTimestamp();
+        totalLatency.add(latency);
+        maxLatency.accumulateAndGet(latency, Math::max);
+        if (element.isDurable()) {
+            outbox.acknowledge(element.getSequence());
+        }
+    }
+
+    public void recordFailed(Element element) {
+        failedCount.increment();
+    }
+
+    /**
+     * Rewind the outbox to the durable element that failed to be sent, it's invoked by the dispatcher thread after all
+     * the sendings of the drained elements are completed, the elements from it will be re-drained in order
+     *
+     * @param element the failed durable element
+     */
+    public void rewind(Element element) {
+        if (element.isDurable()) {
+            outbox.rewind(element.getSequence());
+        }
+    }
+
+    private long appendOutbox(Element element) {
+        try {
+            return outbox.append(element.getTimestamp(), element.getKey(), element.getValue());
+        } catch (IOException e) {
+            logger.warn("The RedisCommandEvent can't be appended into the outbox[{}], the memory queue will be used instead", outbox, e);
+            return OUTBOX_FAILURE;
+        }
+    }
+
+    private void recordDropped() {
+        droppedCount.increment();
+        logger.debug("The RedisCommandEvent was dropped, domain : {} , overflow policy : {}", domain, overflowPolicy);
+    }
+
+    private boolean spill(Element element) {
+        try {
+            if (spillFile.write(element.getTimestamp(), element.getKey(), element.getValue())) {
+                spilledCount.increment();
+                return true;
+            }
+        } catch (IOException e) {
+            logger.warn("The RedisCommandEvent can't be spilled into the file[{}]", spillFile, e);
+        }
+        recordDropped();
+        return false;
+    }
+
+    private int readSpilled(List<Element> elements, int maxElements) {
+        try {
+            return spillFile.read(elements, maxElements);
+        } catch (IOException e) {
+            logger.warn("The spilled RedisCommandEvents can't be read from the file[{}]", spillFile, e);
+            return 0;
+        }
+    }
+
+    public String getDomain() {
+        return domain;
+    }
+
+    /**
+     * @return the id of the replication source of the memory queue
+     */
+    public String getSourceId() {
+        return sourceId;
+    }
+
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    /**
+     * @return the number of queued elements, excluding the spilled ones
+     */
+    public int getDepth() {
+        return queue.size();
+    }
+
+    /**
+     * @return the bytes of the spilled elements that are not sent
+     */
+    public long getSpilledBytes() {
+        return spillFile == null ? 0L : spillFile.getPendingBytes();
+    }
+
+    /**
+     * @return the number of the outbox records that are not acknowledged
+     */
+    public long getOutboxPendingCount() {
+        return outbox == null ? 0L : outbox.getPendingCount();
+    }
+
+    public long getEnqueuedCount() {
+        return enqueuedCount.sum();
+    }
+
+    public long getDroppedCount() {
+        return droppedCount.sum();
+    }
+
+    public long getSpilledCount() {
+        return spilledCount.sum();
+    }
+
+    public long getSentCount() {
+        return sentCount.sum();
+    }
+
+    public long getFailedCount() {
+        return failedCount.sum();
+    }
+
+    /**
+     * @return the average latency in milliseconds from the Redis command to the acknowledgement
+     */
+    public long getAverageLatency() {
+        long sentCount = getSentCount();
+        return sentCount == 0 ? 0L : totalLatency.sum() / sentCount;
+    }
+
+    /**
+     * @return the max latency in milliseconds from the Redis command to the acknowledgement
+     */
+    public long getMaxLatency() {
+        return maxLatency.get();
+    }
+
+    @Override
+    public void close() throws IOException {
+        int depth = getDepth();
+        if (depth > 0) {
+            if (spillFile != null) {
+                Element element;
+                while ((element = queue.poll()) != null) {
+                    spill(element);
+                }
+            } else {
+                logger.warn("{} RedisCommandEvents of domain[{}] were not sent before closing", depth, domain);
+            }
+        }
+        if (spillFile != null) {
+            spillFile.close();
+        }
+        if (outbox != null) {
+            outbox.close();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "RedisCommandEventQueue{" +
+                "domain='" + domain + '\'' +
+                ", overflowPolicy=" + overflowPolicy +
+                ", depth=" + getDepth() +
+                ", spilledBytes=" + getSpilledBytes() +
+                ", outboxPendingCount=" + getOutboxPendingCount() +
+                ", enqueuedCount=" + getEnqueuedCount() +
+                ", droppedCount=" + getDroppedCount() +
+                ", spilledCount=" + getSpilledCount() +
+                ", sentCount=" + getSentCount() +
+                ", failedCount=" + getFailedCount() +
+                ", averageLatency=" + getAverageLatency() +
+                ", maxLatency=" + getMaxLatency() +
+                '}';
+    }
+
+    /**
+     * The element of {@link RedisCommandEventQueue}, the value is serialized lazily by the dispatcher thread unless
+     * the outbox is present
+     */
+    public static class Element {
+
+        private static final int UNKNOWN_KEY_HASH = Integer.MIN_VALUE;
+
+        private RedisCommandEvent event;
+
+        private final boolean spilled;
+
+        private final long timestamp;
+
+        private byte[] key;
+
+        private byte[] value;
+
+        private final boolean durable;
+
+        private String sourceId;
+
+        private long sequence = -1L;
+
+        /**
+         * The hash slot of the key, it's computed once by the dispatcher thread
+         */
+        private int keyHash = UNKNOWN_KEY_HASH;
+
+        Element(RedisCommandEvent event) {
+            this.event = event;
+            this.spilled = false;
+            this.durable = false;
+            this.timestamp = event.getTimestamp();
+        }
+
+        Element(long timestamp, byte[] key, byte[] value) {
+            this.spilled = true;
+            this.durable = false;
+            this.timestamp = timestamp;
+            this.key = key;
+            this.value = value;
+        }
+
+        Element(String sourceId, long sequence, long timestamp, byte[] key, byte[] value) {
+            this.spilled = true;
+            this.durable = true;
+            this.sourceId = sourceId;
+            this.sequence = sequence;
+            this.timestamp = timestamp;
+            this.key = key;
+            this.value = value;
+        }
+
+        /**
+         * @return {@link RedisCommandEvent}, it's deserialized from the value if the element was spilled
+         */
+        public RedisCommandEvent getEvent() {
+            RedisCommandEvent event = this.event;
+            if (event == null) {
+                event = Serializers.redisCommandEventSerializer.deserialize(value);
+                this.event = event;
+            }
+            if (sourceId != null && event.getSourceId() == null) {
+                event.stamp(sourceId, sequence);
+            }
+            return event;
+        }
+
+        /**
+         * @return <code>true</code> if the element was read from the spill file or the outbox
+         */
+        public boolean isSpilled() {
+            return spilled;
+        }
+
+        /**
+         * @return <code>true</code> if the element was read from {@link RedisCommandEventOutbox}
+         */
+        public boolean isDurable() {
+            return durable;
+        }
+
+        /**
+         * @return the id of the replication source, <code>null</code> if the element is not dispatched
+         */
+        @Nullable
+        public String getSourceId() {
+            return sourceId;
+        }
+
+        /**
+         * @return the sequence in the replication source, -1 if the element is not dispatched
+         */
+        public long getSequence() {
+            return sequence;
+        }
+
+        /**
+         * @return the timestamp of {@link RedisCommandEvent}
+         */
+        public long getTimestamp() {
+            return timestamp;
+        }
+
+        /**
+         * The only Redis key of the command, the command without key or of more than one key is a barrier that can't be
+         * reordered with the others, it's consistent with the consumer
+         *
+         * @return the Redis key, <code>null</code> if the command has no key or more than one key
+         * @see RedisCommandsUtils#resolveSingleKey(RedisCommandEvent)
+         */
+        @Nullable
+        public byte[] getKey() {
+            byte[] key = this.key;
+            if (key == null && event != null) {
+                key = resolveSingleKey(event);
+                this.key = key;
+            }
+            return key;
+        }
+
+        /**
+         * @return the hash slot of the key in Redis Cluster, -1 if the key is <code>null</code>
+         */
+        public int getKeyHash() {
+            int keyHash = this.keyHash;
+            if (keyHash == UNKNOWN_KEY_HASH) {
+                byte[] key = getKey();
+                keyHash = key == null ? -1 : ClusterSlotHashUtil.calculateSlot(key);
+                this.keyHash = keyHash;
+            }
+            return keyHash;
+        }
+
+        /**
+         * @return the serialized {@link RedisCommandEvent}
+         */
+        public byte[] getValue() {
+            byte[] value = this.value;
+            if (value == null) {
+                value = Serializers.serialize(event);
+                this.value = value;
+            }
+            return value;
+        }
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microsphere.spring.redis.replicator.producer;
+
+import io.github.microsphere.spring.redis.event.RedisCommandEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.List;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * The local file that the overflowed {@link RedisCommandEvent RedisCommandEvents} of {@link RedisCommandEventQueue}
+ * are spilled into, the records are appended and read in order, and the file is truncated once all records are read.
+ * <p>
+ * The layout of record :
+ * <pre>
+ * record length(4) | timestamp(8) | key length(4, -1 means null) | key | value
+ * </pre>
+ * The records which were not read are kept after restart.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see OverflowPolicy#SPILL
+ * @since 1.0.0
+ */
+public class RedisCommandEventSpillFile implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(RedisCommandEventSpillFile.class);
+
+    private static final int LENGTH_BYTES = 4;
+
+    private static final int RECORD_HEADER_BYTES = 8 + 4;
+
+    private final File file;
+
+    private final long maxSize;
+
+    private final FileChannel channel;
+
+    private long readPosition;
+
+    private long writePosition;
+
+    private volatile long pendingBytes;
+
+    /**
+     * @param file    the spill file
+     * @param maxSize the max size of file in bytes
+     * @throws IOException if the file can't be opened
+     */
+    public RedisCommandEventSpillFile(File file, long maxSize) throws IOException {
+        File directory = file.getParentFile();
+        if (directory != null && !directory.exists() && !directory.mkdirs()) {
+            throw new IOException("The directory[" + directory + "] can't be created");
+        }
+        this.file = file;
+        this.maxSize = maxSize;
+        this.channel = FileChannel.open(file.toPath(), CREATE, READ, WRITE);
+        this.writePosition = channel.size();
+        this.pendingBytes = writePosition;
+        if (writePosition > 0) {
+            logger.info("The spill file[{}] has {} bytes to be sent", file, writePosition);
+        }
+    }
+
+    /**
+     * @return <code>true</code> if all records were read
+     */
+    public boolean isEmpty() {
+        return pendingBytes == 0L;
+    }
+
+    public long getPendingBytes() {
+        return pendingBytes;
+    }
+
+    /**
+     * Append the record
+     *
+     * @param timestamp the timestamp of {@link RedisCommandEvent}
+     * @param key       the nullable key
+     * @param value     the serialized {@link RedisCommandEvent}
+     * @return <code>false</code> if the file exceeds the max size
+     * @throws IOException
+     */
+    public synchronized boolean write(long timestamp, byte[] key, byte[] value) throws IOException {
+        int keyLength = key == null ? 0 : key.length;
+        int recordLength = RECORD_HEADER_BYTES + keyLength + value.length;
+        if (writePosition + LENGTH_BYTES + recordLength > maxSize) {
+            return false;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(LENGTH_BYTES + recordLength);
+        buffer.putInt(recordLength);
+        buffer.putLong(timestamp);
+        if (key == null) {
+            buffer.putInt(-1);
+        } else {
+            buffer.putInt(keyLength);
+            buffer.put(key);
+        }
+        buffer.put(value);
+        ((Buffer) buffer).flip();
+        long position = writePosition;
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+        writePosition = position;
+        pendingBytes = writePosition - readPosition;
+        return true;
+    }
+
+    /**
+     * Read the records in order
+     *
+     * @param elements    the list of elements
+     * @param maxElements the max number of elements
+     * @return the number of read elements
+     * @throws IOException
+     */
+    public synchronized int read(List<RedisCommandEventQueue.Element> elements, int maxElements) throws IOException {
+        int count = 0;
+        ByteBuffer lengthBuffer = ByteBuffer.allocate(LENGTH_BYTES);
+        while (count < maxElements && writePosition - readPosition >= LENGTH_BYTES) {
+            readFully(lengthBuffer, readPosition);
+            int recordLength = lengthBuffer.getInt(0);
+            if (recordLength < RECORD_HEADER_BYTES || writePosition - readPosition - LENGTH_BYTES < recordLength) {
+                logger.warn("The spill file[{}] is corrupted at the position {}, the rest records are discarded", file, readPosition);
+                readPosition = writePosition;
+                break;
+            }
+            ByteBuffer recordBuffer = ByteBuffer.allocate(recordLength);
+            readFully(recordBuffer, readPosition + LENGTH_BYTES);
+            long timestamp = recordBuffer.getLong();
+            int keyLength = recordBuffer.getInt();
+            byte[] key = null;
+            if (keyLength > -1) {
+                key = new byte[keyLength];
+                recordBuffer.get(key);
+            }
+            byte[] value = new byte[recordBuffer.remaining()];
+            recordBuffer.get(value);
+            elements.add(new RedisCommandEventQueue.Element(timestamp, key, value));
+            readPosition += LENGTH_BYTES + recordLength;
+            count++;
+        }
+        if (readPosition >= writePosition) {
+            channel.truncate(0L);
+            readPosition = 0L;
+            writePosition = 0L;
+        }
+        pendingBytes = writePosition - readPosition;
+        return count;
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        ((Buffer) buffer).clear();
+        while (buffer.hasRemaining()) {
+            int bytes = channel.read(buffer, position);
+            if (bytes < 0) {
+                throw new IOException("The end of spill file[" + file + "] is reached unexpectedly");
+            }
+            position += bytes;
+        }
+        ((Buffer) buffer).flip();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (channel.isOpen()) {
+            channel.force(true);
+            channel.close();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return file.getPath();
+    }
+}
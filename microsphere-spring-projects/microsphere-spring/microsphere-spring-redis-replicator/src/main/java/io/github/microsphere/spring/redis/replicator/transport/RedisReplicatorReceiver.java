@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microsphere.spring.redis.replicator.transport;
+
+import io.github.microsphere.spring.redis.replicator.consumer.RedisReplicatorConsumer;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * The consumer side of the Redis Replicator transport, the received {@link ReplicatedRecord records} are handed
+ * over to the {@link Handler} in batch, the batch is committed(acknowledged) by the transport only after
+ * {@link Handler#handle(List)} returns normally, thus the delivery is at-least-once.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see RedisReplicatorSender
+ * @see RedisReplicatorConsumer
+ * @since 1.0.0
+ */
+public interface RedisReplicatorReceiver {
+
+    /**
+     * Start to receive the records
+     *
+     * @param handler {@link Handler}
+     */
+    void start(Handler handler);
+
+    /**
+     * Stop to receive the records
+     */
+    void stop();
+
+    /**
+     * The handler of the received records
+     */
+    interface Handler {
+
+        /**
+         * Handle the batch of records, the records of one channel are in order
+         *
+         * @param records the batch of {@link ReplicatedRecord}
+         * @throws InterruptedException if interrupted, the batch will not be committed
+         * @throws RuntimeException     if any record is not handled, the batch will not be committed and it will be
+         *                              redelivered
+         */
+        void handle(List<ReplicatedRecord> records) throws InterruptedException;
+
+        /**
+         * The channels are (re-)assigned to the receiver, their states may be changed by the other receivers
+         *
+         * @param channels the assigned channels
+         */
+        default void onChannelsAssigned(Collection<String> channels) {
+        }
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microsphere.spring.redis.replicator.transport;
+
+import io.github.microsphere.spring.redis.replicator.producer.RedisCommandEventDispatcher;
+
+/**
+ * The producer side of the Redis Replicator transport, the {@link ReplicatedRecord records} of one domain are sent
+ * by the single dispatcher thread in order, the implementation should keep the order per partition.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see RedisReplicatorReceiver
+ * @see RedisCommandEventDispatcher
+ * @since 1.0.0
+ */
+public interface RedisReplicatorSender {
+
+    /**
+     * Get the number of partitions of the domain, the partition of record is selected by the transport if it's zero
+     *
+     * @param domain the domain
+     * @return zero by default
+     */
+    default int getPartitionCount(String domain) {
+        return 0;
+    }
+
+    /**
+     * Send the record asynchronously or synchronously, the {@link Callback} must be invoked once the record is
+     * delivered or failed
+     *
+     * @param record   {@link ReplicatedRecord}
+     * @param callback {@link Callback}
+     */
+    void send(ReplicatedRecord record, Callback callback);
+
+    /**
+     * The callback of {@link #send(ReplicatedRecord, Callback)}
+     */
+    interface Callback {
+
+        void onSuccess(ReplicatedRecord record);
+
+        void onFailure(ReplicatedRecord record, Throwable failure);
+    }
+}
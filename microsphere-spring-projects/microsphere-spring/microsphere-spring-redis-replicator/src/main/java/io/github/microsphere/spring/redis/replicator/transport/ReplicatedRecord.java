@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microsphere.spring.redis.replicator.transport;
+
+import io.github.microsphere.spring.redis.event.RedisCommandEvent;
+import org.springframework.lang.Nullable;
+
+import java.util.StringJoiner;
+
+/**
+ * The transport-neutral record of the replicated {@link RedisCommandEvent}, which is sent by
+ * {@link RedisReplicatorSender} and received by {@link RedisReplicatorReceiver}
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see RedisReplicatorSender
+ * @see RedisReplicatorReceiver
+ * @since 1.0.0
+ */
+public class ReplicatedRecord {
+
+    private final String domain;
+
+    private final String channel;
+
+    @Nullable
+    private final Integer partition;
+
+    @Nullable
+    private final byte[] key;
+
+    private final byte[] value;
+
+    private final long timestamp;
+
+    @Nullable
+    private final String sourceId;
+
+    private final long sequence;
+
+    /**
+     * @param domain    the domain
+     * @param channel   the channel of transport that the record belongs to, e.g, the partition of Kafka topic,
+     *                  the replay watermarks are tracked per channel
+     * @param partition the nullable partition selected by the producer
+     * @param key       the nullable Redis key
+     * @param value     the serialized {@link RedisCommandEvent}
+     * @param timestamp the timestamp of {@link RedisCommandEvent}
+     * @param sourceId  the nullable replication source id
+     * @param sequence  the sequence in the replication source, -1 if the source id is <code>null</code>
+     */
+    public ReplicatedRecord(String domain, String channel, @Nullable Integer partition, @Nullable byte[] key, byte[] value,
+                            long timestamp, @Nullable String sourceId, long sequence) {
+        this.domain = domain;
+        this.channel = channel;
+        this.partition = partition;
+        this.key = key;
+        this.value = value;
+        this.timestamp = timestamp;
+        this.sourceId = sourceId;
+        this.sequence = sequence;
+    }
+
+    public String getDomain() {
+        return domain;
+    }
+
+    public String getChannel() {
+        return channel;
+    }
+
+    @Nullable
+    public Integer getPartition() {
+        return partition;
+    }
+
+    @Nullable
+    public byte[] getKey() {
+        return key;
+    }
+
+    public byte[] getValue() {
+        return value;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    @Nullable
+    public String getSourceId() {
+        return sourceId;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    @Override
+    public String toString() {
+        return new StringJoiner(", ", ReplicatedRecord.class.getSimpleName() + "[", "]")
+                .add("domain='" + domain + "'")
+                .add("channel='" + channel + "'")
+                .add("partition=" + partition)
+                .add("size=" + value.length)
+                .add("timestamp=" + timestamp)
+                .add("sourceId='" + sourceId + "'")
+                .add("sequence=" + sequence)
+                .toString();
+    }
+}
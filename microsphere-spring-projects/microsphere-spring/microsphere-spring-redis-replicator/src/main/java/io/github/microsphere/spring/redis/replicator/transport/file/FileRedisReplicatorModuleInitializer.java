@@ -0,0 +1,53 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microsphere.spring.redis.replicator.transport.file;
+
+import io.github.microsphere.spring.redis.replicator.RedisReplicatorModuleInitializer;
+import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import static io.github.microsphere.spring.redis.replicator.config.RedisReplicatorConfiguration.FILE_TRANSPORT;
+import static io.github.microsphere.spring.redis.replicator.config.RedisReplicatorConfiguration.isTransport;
+import static io.github.microsphere.spring.util.BeanRegistrar.registerBeanDefinition;
+
+/**
+ * File {@link RedisReplicatorModuleInitializer}, which is enabled by the property
+ * "microsphere.redis.replicator.transport = file", the producer and consumer must share the log directory on the
+ * same host.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see RedisReplicatorLogWriter
+ * @see RedisReplicatorLogReader
+ * @since 1.0.0
+ */
+public class FileRedisReplicatorModuleInitializer implements RedisReplicatorModuleInitializer {
+
+    @Override
+    public boolean supports(ConfigurableApplicationContext context) {
+        return isTransport(context, FILE_TRANSPORT);
+    }
+
+    @Override
+    public void initializeProducerModule(ConfigurableApplicationContext context, BeanDefinitionRegistry registry) {
+        registerBeanDefinition(registry, FileRedisReplicatorSender.class);
+    }
+
+    @Override
+    public void initializeConsumerModule(ConfigurableApplicationContext context, BeanDefinitionRegistry registry) {
+        registerBeanDefinition(registry, FileRedisReplicatorReceiver.class);
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microsphere.spring.redis.replicator.transport.file;
+
+import io.github.microsphere.spring.redis.replicator.config.RedisReplicatorConfiguration;
+import io.github.microsphere.spring.redis.replicator.transport.RedisReplicatorReceiver;
+import io.github.microsphere.spring.redis.replicator.transport.ReplicatedRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static io.github.microsphere.spring.redis.replicator.config.RedisReplicatorConfiguration.DEFAULT_FILE_TRANSPORT_DIRECTORY;
+import static io.github.microsphere.spring.redis.replicator.config.RedisReplicatorConfiguration.DEFAULT_TRANSPORT_RECEIVER_BATCH_SIZE;
+import static io.github.microsphere.spring.redis.replicator.config.RedisReplicatorConfiguration.FILE_TRANSPORT_DIRECTORY_PROPERTY_NAME;
+import static io.github.microsphere.spring.redis.replicator.config.RedisReplicatorConfiguration.TRANSPORT_RECEIVER_BATCH_SIZE_PROPERTY_NAME;
+import static java.util.Collections.singleton;
+
+/**
+ * File {@link RedisReplicatorReceiver} tails the {@link RedisReplicatorLogReader log} of each domain by one thread,
+ * the offset is committed after the batch is handled.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see RedisReplicatorLogReader
+ * @see FileRedisReplicatorSender
+ * @since 1.0.0
+ */
+public class FileRedisReplicatorReceiver implements RedisReplicatorReceiver, EnvironmentAware {
+
+    private static final Logger logger = LoggerFactory.getLogger(FileRedisReplicatorReceiver.class);
+
+    private static final long READ_TIMEOUT = 100L;
+
+    private static final long SHUTDOWN_TIMEOUT = 5000L;
+
+    @Autowired
+    private RedisReplicatorConfiguration redisReplicatorConfiguration;
+
+    private File directory;
+
+    private int batchSize;
+
+    private final List<RedisReplicatorLogReader> readers = new ArrayList<>();
+
+    private volatile boolean running;
+
+    private ExecutorService executor;
+
+    @Override
+    public void start(Handler handler) {
+        List<String> domains = redisReplicatorConfiguration.getDomains();
+        this.executor = Executors.newFixedThreadPool(domains.size(), new CustomizableThreadFactory("Redis-Replicator-File-Receiver-"));
+        this.running = true;
+        for (String domain : domains) {
+            RedisReplicatorLogReader reader;
+            try {
+                reader = new RedisReplicatorLogReader(new File(directory, domain), domain);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            readers.add(reader);
+            handler.onChannelsAssigned(singleton(domain));
+            executor.execute(() -> receive(reader, handler));
+        }
+    }
+
+    private void receive(RedisReplicatorLogReader reader, Handler handler) {
+        List<ReplicatedRecord> records = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                if (reader.read(records, batchSize, READ_TIMEOUT, TimeUnit.MILLISECONDS) > 0) {
+                    handler.handle(records);
+                    reader.commit();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Throwable e) {
+                logger.warn("[Redis-Replicator-File-C-F] Failed to handle the records[size : {}] of the log[{}], they will be read again",
+                        records.size(), reader.getDirectory(), e);
+                reader.rewind();
+            } finally {
+                records.clear();
+            }
+        }
+        try {
+            reader.close();
+        } catch (IOException e) {
+            logger.warn("The log reader[{}] can't be closed", reader, e);
+        }
+    }
+
+    @Override
+    public void stop() {
+        this.running = false;
+        ExecutorService executor = this.executor;
+        if (executor != null) {
+            executor.shutdown();
+            try {
+                if (!executor.awaitTermination(SHUTDOWN_TIMEOUT, TimeUnit.MILLISECONDS)) {
+                    executor.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        readers.clear();
+    }
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        this.directory = new File(environment.getProperty(FILE_TRANSPORT_DIRECTORY_PROPERTY_NAME, DEFAULT_FILE_TRANSPORT_DIRECTORY));
+        this.batchSize = environment.getProperty(TRANSPORT_RECEIVER_BATCH_SIZE_PROPERTY_NAME, int.class, DEFAULT_TRANSPORT_RECEIVER_BATCH_SIZE);
+    }
+
+    @Override
+    public String toString() {
+        return "FileRedisReplicatorReceiver{readers=" + readers + '}';
+    }
+}
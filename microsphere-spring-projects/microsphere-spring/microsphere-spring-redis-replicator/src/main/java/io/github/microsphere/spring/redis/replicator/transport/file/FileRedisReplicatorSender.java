@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microsphere.spring.redis.replicator.transport.file;
+
+import io.github.microsphere.spring.redis.replicator.producer.FsyncPolicy;
+import io.github.microsphere.spring.redis.replicator.transport.RedisReplicatorSender;
+import io.github.microsphere.spring.redis.replicator.transport.ReplicatedRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.env.Environment;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static io.github.microsphere.spring.redis.replicator.config.RedisReplicatorConfiguration.DEFAULT_FILE_TRANSPORT_DIRECTORY;
+import static io.github.microsphere.spring.redis.replicator.config.RedisReplicatorConfiguration.DEFAULT_FILE_TRANSPORT_FSYNC_INTERVAL;
+import static io.github.microsphere.spring.redis.replicator.config.RedisReplicatorConfiguration.DEFAULT_FILE_TRANSPORT_FSYNC_POLICY;
+import static io.github.microsphere.spring.redis.replicator.config.RedisReplicatorConfiguration.DEFAULT_FILE_TRANSPORT_SEGMENT_SIZE;
+import static io.github.microsphere.spring.redis.replicator.config.RedisReplicatorConfiguration.FILE_TRANSPORT_DIRECTORY_PROPERTY_NAME;
+import static io.github.microsphere.spring.redis.replicator.config.RedisReplicatorConfiguration.FILE_TRANSPORT_FSYNC_INTERVAL_PROPERTY_NAME;
+import static io.github.microsphere.spring.redis.replicator.config.RedisReplicatorConfiguration.FILE_TRANSPORT_FSYNC_POLICY_PROPERTY_NAME;
+import static io.github.microsphere.spring.redis.replicator.config.RedisReplicatorConfiguration.FILE_TRANSPORT_SEGMENT_SIZE_PROPERTY_NAME;
+
+/**
+ * File {@link RedisReplicatorSender} appends the records into the {@link RedisReplicatorLogWriter log} of domain,
+ * the record is delivered once it's appended.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see RedisReplicatorLogWriter
+ * @see FileRedisReplicatorReceiver
+ * @since 1.0.0
+ */
+public class FileRedisReplicatorSender implements RedisReplicatorSender, EnvironmentAware, DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(FileRedisReplicatorSender.class);
+
+    private final ConcurrentMap<String, RedisReplicatorLogWriter> writers = new ConcurrentHashMap<>();
+
+    private File directory;
+
+    private int segmentSize;
+
+    private FsyncPolicy fsyncPolicy;
+
+    private long fsyncInterval;
+
+    @Override
+    public void send(ReplicatedRecord record, Callback callback) {
+        try {
+            getWriter(record.getDomain()).append(record);
+            callback.onSuccess(record);
+        } catch (IOException | UncheckedIOException e) {
+            callback.onFailure(record, e);
+        }
+    }
+
+    private RedisReplicatorLogWriter getWriter(String domain) {
+        RedisReplicatorLogWriter writer = writers.get(domain);
+        if (writer == null) {
+            writer = writers.computeIfAbsent(domain, this::createWriter);
+        }
+        return writer;
+    }
+
+    private RedisReplicatorLogWriter createWriter(String domain) {
+        try {
+            return new RedisReplicatorLogWriter(new File(directory, domain), segmentSize, fsyncPolicy, fsyncInterval);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        this.directory = new File(environment.getProperty(FILE_TRANSPORT_DIRECTORY_PROPERTY_NAME, DEFAULT_FILE_TRANSPORT_DIRECTORY));
+        this.segmentSize = environment.getProperty(FILE_TRANSPORT_SEGMENT_SIZE_PROPERTY_NAME, int.class, DEFAULT_FILE_TRANSPORT_SEGMENT_SIZE);
+        this.fsyncPolicy = FsyncPolicy.resolve(environment.getProperty(FILE_TRANSPORT_FSYNC_POLICY_PROPERTY_NAME, DEFAULT_FILE_TRANSPORT_FSYNC_POLICY));
+        this.fsyncInterval = environment.getProperty(FILE_TRANSPORT_FSYNC_INTERVAL_PROPERTY_NAME, long.class, DEFAULT_FILE_TRANSPORT_FSYNC_INTERVAL);
+    }
+
+    @Override
+    public void destroy() {
+        for (RedisReplicatorLogWriter writer : writers.values()) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                logger.warn("The log writer[{}] can't be closed", writer, e);
+            }
+        }
+        writers.clear();
+    }
+}
@@ -0,0 +1,266 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microsphere.spring.redis.replicator.transport.file;
+
+import io.github.microsphere.spring.redis.replicator.transport.ReplicatedRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.lang.Nullable;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+import static io.github.microsphere.spring.redis.replicator.transport.file.RedisReplicatorLogSegment.LENGTH_BYTES;
+import static io.github.microsphere.spring.redis.replicator.transport.file.RedisReplicatorLogSegment.fileOf;
+import static io.github.microsphere.spring.redis.replicator.transport.file.RedisReplicatorLogSegment.listFiles;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * The single reader tails the Redis Replicator log in the directory, which is written by
+ * {@link RedisReplicatorLogWriter} in the same or the other process on the same host. The offset of the next record
+ * is saved into the checkpoint file by {@link #commit()} after the records are handled, thus the uncommitted records
+ * are read again after restarting.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see RedisReplicatorLogSegment
+ * @see RedisReplicatorLogWriter
+ * @since 1.0.0
+ */
+public class RedisReplicatorLogReader implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(RedisReplicatorLogReader.class);
+
+    static final String CHECKPOINT_FILE_NAME = "checkpoint";
+
+    private static final long POLL_INTERVAL = 1L;
+
+    private final File directory;
+
+    private final String domain;
+
+    private final FileChannel checkpointChannel;
+
+    private final ByteBuffer checkpointBuffer = ByteBuffer.allocate(8);
+
+    private final CRC32 crc32 = new CRC32();
+
+    @Nullable
+    private RedisReplicatorLogSegment segment;
+
+    private int readPosition;
+
+    /**
+     * The offset of the next record to read
+     */
+    private long offset;
+
+    private long committedOffset;
+
+    /**
+     * @param directory the directory of the segment files
+     * @param domain    the domain of records
+     * @throws IOException if the checkpoint can't be read
+     */
+    public RedisReplicatorLogReader(File directory, String domain) throws IOException {
+        if (!directory.exists() && !directory.mkdirs()) {
+            throw new IOException("The directory[" + directory + "] can't be created");
+        }
+        this.directory = directory;
+        this.domain = domain;
+        this.checkpointChannel = FileChannel.open(new File(directory, CHECKPOINT_FILE_NAME).toPath(), CREATE, READ, WRITE);
+        this.offset = readCheckpoint(checkpointChannel);
+        this.committedOffset = offset;
+    }
+
+    /**
+     * Read the records in order into the list
+     *
+     * @param records    the list of records
+     * @param maxRecords the max number of records
+     * @param timeout    the timeout to wait for the first record
+     * @param unit       {@link TimeUnit}
+     * @return the number of read records
+     * @throws InterruptedException if interrupted while waiting
+     * @throws IOException          if the segment can't be opened
+     */
+    public int read(List<ReplicatedRecord> records, int maxRecords, long timeout, TimeUnit unit) throws InterruptedException, IOException {
+        long deadline = System.currentTimeMillis() + unit.toMillis(timeout);
+        int count = 0;
+        while (count < maxRecords) {
+            RedisReplicatorLogSegment segment = locateSegment();
+            ReplicatedRecord record = segment == null ? null : segment.read(readPosition, offset, domain, crc32);
+            if (record != null) {
+                records.add(record);
+                readPosition += LENGTH_BYTES + segment.lengthAt(readPosition);
+                offset++;
+                count++;
+                continue;
+            }
+            if (segment != null && rollSegment(segment)) {
+                continue;
+            }
+            if (count > 0 || System.currentTimeMillis() >= deadline) {
+                break;
+            }
+            // Wait for the writer
+            TimeUnit.MILLISECONDS.sleep(POLL_INTERVAL);
+        }
+        return count;
+    }
+
+    @Nullable
+    private RedisReplicatorLogSegment locateSegment() throws IOException {
+        RedisReplicatorLogSegment segment = this.segment;
+        if (segment != null) {
+            return segment;
+        }
+        NavigableMap<Long, File> files = listFiles(directory);
+        Map.Entry<Long, File> entry = files.floorEntry(offset);
+        if (entry == null) {
+            entry = files.ceilingEntry(offset);
+            if (entry == null) {
+                return null;
+            }
+            logger.warn("The records of log[{}] from the offset {} to {} are absent", directory, offset, entry.getKey());
+            offset = entry.getKey();
+        }
+        long baseOffset = entry.getKey();
+        segment = RedisReplicatorLogSegment.openForRead(entry.getValue(), baseOffset);
+        if (segment == null) {
+            return null;
+        }
+        // Skip the records before the offset
+        int position = 0;
+        int length;
+        for (long i = baseOffset; i < offset && (length = segment.lengthAt(position)) > 0; i++) {
+            position += LENGTH_BYTES + length;
+        }
+        this.segment = segment;
+        this.readPosition = position;
+        return segment;
+    }
+
+    /**
+     * Switch to the next segment if it was rolled by the writer
+     *
+     * @return <code>true</code> if switched
+     */
+    private boolean rollSegment(RedisReplicatorLogSegment segment) {
+        File nextFile = fileOf(directory, offset);
+        if (offset == segment.getBaseOffset() || !nextFile.exists()) {
+            return false;
+        }
+        segment.close();
+        this.segment = null;
+        return true;
+    }
+
+    /**
+     * Save the offset of the read records into the checkpoint
+     *
+     * @throws IOException if the checkpoint can't be saved
+     */
+    public void commit() throws IOException {
+        long offset = this.offset;
+        if (offset <= committedOffset) {
+            return;
+        }
+        ByteBuffer buffer = checkpointBuffer;
+        ((Buffer) buffer).clear();
+        buffer.putLong(offset);
+        ((Buffer) buffer).flip();
+        checkpointChannel.write(buffer, 0);
+        committedOffset = offset;
+    }
+
+    /**
+     * Rewind to the committed offset, the uncommitted records will be read again
+     */
+    public void rewind() {
+        if (segment != null) {
+            segment.close();
+            segment = null;
+        }
+        offset = committedOffset;
+    }
+
+    /**
+     * Read the checkpoint of the reader in the directory
+     *
+     * @param directory the directory of the log
+     * @return the offset of the next record to read
+     * @throws IOException if the checkpoint can't be read
+     */
+    static long readCheckpoint(File directory) throws IOException {
+        File file = new File(directory, CHECKPOINT_FILE_NAME);
+        if (!file.exists()) {
+            return 0L;
+        }
+        try (FileChannel channel = FileChannel.open(file.toPath(), READ)) {
+            return readCheckpoint(channel);
+        }
+    }
+
+    private static long readCheckpoint(FileChannel channel) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(8);
+        if (channel.read(buffer, 0) == 8) {
+            ((Buffer) buffer).flip();
+            return buffer.getLong();
+        }
+        return 0L;
+    }
+
+    /**
+     * @return the offset of the next record to read
+     */
+    public long getOffset() {
+        return offset;
+    }
+
+    public File getDirectory() {
+        return directory;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (segment != null) {
+            segment.close();
+            segment = null;
+        }
+        checkpointChannel.close();
+    }
+
+    @Override
+    public String toString() {
+        return "RedisReplicatorLogReader{" +
+                "directory=" + directory +
+                ", offset=" + offset +
+                ", committedOffset=" + committedOffset +
+                '}';
+    }
+}
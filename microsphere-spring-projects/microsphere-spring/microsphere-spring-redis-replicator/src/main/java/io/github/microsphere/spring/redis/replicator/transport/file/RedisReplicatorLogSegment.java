@@ -0,0 +1,254 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microsphere.spring.redis.replicator.transport.file;
+
+import io.github.microsphere.spring.redis.replicator.transport.ReplicatedRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.lang.Nullable;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+
+import static java.lang.String.format;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * The memory-mapped segment file of the Redis Replicator log, the layout of record :
+ * <pre>
+ * record length(4) | crc32(4) | offset(8) | timestamp(8) | source sequence(8) |
+ * source id length(2, -1 means null) | source id | key length(4, -1 means null) | key | value
+ * </pre>
+ * The record length is written at last, the zero length means the end of the written records, and the incomplete
+ * record is detected by the crc32. The file name is the offset of the first record.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see RedisReplicatorLogWriter
+ * @see RedisReplicatorLogReader
+ * @since 1.0.0
+ */
+class RedisReplicatorLogSegment implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(RedisReplicatorLogSegment.class);
+
+    static final String SEGMENT_FILE_SUFFIX = ".log";
+
+    static final int LENGTH_BYTES = 4;
+
+    static final int RECORD_HEADER_BYTES = 4 + 8 + 8 + 8 + 2 + 4;
+
+    private static final int CRC_OFFSET = LENGTH_BYTES;
+
+    private static final int OFFSET_OFFSET = CRC_OFFSET + 4;
+
+    private final File file;
+
+    private final long baseOffset;
+
+    private final FileChannel channel;
+
+    private final MappedByteBuffer buffer;
+
+    private RedisReplicatorLogSegment(File file, long baseOffset, FileChannel channel, MappedByteBuffer buffer) {
+        this.file = file;
+        this.baseOffset = baseOffset;
+        this.channel = channel;
+        this.buffer = buffer;
+    }
+
+    /**
+     * Create or open the segment for writing
+     */
+    static RedisReplicatorLogSegment openForWrite(File directory, long baseOffset, int size) throws IOException {
+        File file = fileOf(directory, baseOffset);
+        FileChannel channel = FileChannel.open(file.toPath(), CREATE, READ, WRITE);
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(size, channel.size()));
+        return new RedisReplicatorLogSegment(file, baseOffset, channel, buffer);
+    }
+
+    /**
+     * Open the segment for reading
+     *
+     * @return <code>null</code> if the segment file is being created
+     */
+    @Nullable
+    static RedisReplicatorLogSegment openForRead(File file, long baseOffset) throws IOException {
+        FileChannel channel = FileChannel.open(file.toPath(), READ);
+        long size = channel.size();
+        if (size < LENGTH_BYTES + RECORD_HEADER_BYTES) {
+            channel.close();
+            return null;
+        }
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        return new RedisReplicatorLogSegment(file, baseOffset, channel, buffer);
+    }
+
+    static File fileOf(File directory, long baseOffset) {
+        return new File(directory, format("%020d%s", baseOffset, SEGMENT_FILE_SUFFIX));
+    }
+
+    /**
+     * List the segment files ordered by their base offsets
+     */
+    static NavigableMap<Long, File> listFiles(File directory) {
+        NavigableMap<Long, File> files = new TreeMap<>();
+        File[] segmentFiles = directory.listFiles((dir, name) -> name.endsWith(SEGMENT_FILE_SUFFIX));
+        if (segmentFiles != null) {
+            for (File file : segmentFiles) {
+                String name = file.getName();
+                files.put(Long.parseLong(name.substring(0, name.length() - SEGMENT_FILE_SUFFIX.length())), file);
+            }
+        }
+        return files;
+    }
+
+    static int sizeOf(@Nullable byte[] sourceId, @Nullable byte[] key, byte[] value) {
+        return LENGTH_BYTES + RECORD_HEADER_BYTES + (sourceId == null ? 0 : sourceId.length) + (key == null ? 0 : key.length) + value.length;
+    }
+
+    boolean hasRemaining(int position, int recordSize) {
+        return buffer.capacity() - position >= recordSize;
+    }
+
+    /**
+     * Write the record at the position
+     *
+     * @return the position of the next record
+     */
+    int write(int position, long offset, ReplicatedRecord record, @Nullable byte[] sourceId, CRC32 crc32) {
+        byte[] key = record.getKey();
+        byte[] value = record.getValue();
+        int recordSize = sizeOf(sourceId, key, value);
+        ByteBuffer recordBuffer = buffer.duplicate();
+        ((Buffer) recordBuffer).position(position + OFFSET_OFFSET);
+        recordBuffer.putLong(offset);
+        recordBuffer.putLong(record.getTimestamp());
+        recordBuffer.putLong(record.getSequence());
+        recordBuffer.putShort(sourceId == null ? -1 : (short) sourceId.length);
+        if (sourceId != null) {
+            recordBuffer.put(sourceId);
+        }
+        recordBuffer.putInt(key == null ? -1 : key.length);
+        if (key != null) {
+            recordBuffer.put(key);
+        }
+        recordBuffer.put(value);
+        buffer.putInt(position + CRC_OFFSET, crc(position, recordSize - LENGTH_BYTES, crc32));
+        // The length is written at last
+        buffer.putInt(position, recordSize - LENGTH_BYTES);
+        return position + recordSize;
+    }
+
+    /**
+     * Read the complete record at the position
+     *
+     * @param position the position of record
+     * @param offset   the expected offset of record
+     * @param domain   the domain of record
+     * @param crc32    {@link CRC32}
+     * @return <code>null</code> if the record is not written completely
+     */
+    @Nullable
+    ReplicatedRecord read(int position, long offset, String domain, CRC32 crc32) {
+        int length = lengthAt(position);
+        if (length < RECORD_HEADER_BYTES || position + LENGTH_BYTES + length > buffer.capacity()
+                || buffer.getLong(position + OFFSET_OFFSET) != offset
+                || crc(position, length, crc32) != buffer.getInt(position + CRC_OFFSET)) {
+            return null;
+        }
+        ByteBuffer recordBuffer = buffer.duplicate();
+        ((Buffer) recordBuffer).position(position + OFFSET_OFFSET + 8);
+        long timestamp = recordBuffer.getLong();
+        long sequence = recordBuffer.getLong();
+        short sourceIdLength = recordBuffer.getShort();
+        String sourceId = null;
+        if (sourceIdLength > -1) {
+            byte[] sourceIdBytes = new byte[sourceIdLength];
+            recordBuffer.get(sourceIdBytes);
+            sourceId = new String(sourceIdBytes, StandardCharsets.UTF_8);
+        }
+        int keyLength = recordBuffer.getInt();
+        byte[] key = null;
+        if (keyLength > -1) {
+            key = new byte[keyLength];
+            recordBuffer.get(key);
+        }
+        byte[] value = new byte[position + LENGTH_BYTES + length - recordBuffer.position()];
+        recordBuffer.get(value);
+        return new ReplicatedRecord(domain, domain, null, key, value, timestamp, sourceId, sequence);
+    }
+
+    /**
+     * @return the length of record at the position, zero means no record
+     */
+    int lengthAt(int position) {
+        return position + LENGTH_BYTES > buffer.capacity() ? 0 : buffer.getInt(position);
+    }
+
+    /**
+     * The crc32 covers from the offset to the end of value
+     */
+    private int crc(int position, int length, CRC32 crc32) {
+        ByteBuffer recordBuffer = buffer.duplicate();
+        ((Buffer) recordBuffer).limit(position + LENGTH_BYTES + length);
+        ((Buffer) recordBuffer).position(position + OFFSET_OFFSET);
+        crc32.reset();
+        crc32.update(recordBuffer);
+        return (int) crc32.getValue();
+    }
+
+    /**
+     * Clear the length at the position, the end of the written records
+     */
+    void truncate(int position) {
+        if (position + LENGTH_BYTES <= buffer.capacity()) {
+            buffer.putInt(position, 0);
+        }
+    }
+
+    void force() {
+        buffer.force();
+    }
+
+    File getFile() {
+        return file;
+    }
+
+    long getBaseOffset() {
+        return baseOffset;
+    }
+
+    @Override
+    public void close() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            logger.warn("The log segment[{}] can't be closed", file, e);
+        }
+    }
+}
@@ -0,0 +1,263 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microsphere.spring.redis.replicator.transport.file;
+
+import io.github.microsphere.spring.redis.replicator.producer.FsyncPolicy;
+import io.github.microsphere.spring.redis.replicator.transport.ReplicatedRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.lang.Nullable;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.zip.CRC32;
+
+import static io.github.microsphere.spring.redis.replicator.transport.file.RedisReplicatorLogReader.readCheckpoint;
+import static io.github.microsphere.spring.redis.replicator.transport.file.RedisReplicatorLogSegment.LENGTH_BYTES;
+import static io.github.microsphere.spring.redis.replicator.transport.file.RedisReplicatorLogSegment.listFiles;
+import static io.github.microsphere.spring.redis.replicator.transport.file.RedisReplicatorLogSegment.sizeOf;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * The single writer of the Redis Replicator log in the directory, the records are appended sequentially into the
+ * memory-mapped segment files, which are tailed by {@link RedisReplicatorLogReader} in the other process on the same
+ * host. The segments before the checkpoint of the reader are deleted when the new segment is rolled.
+ * <p>
+ * The directory is locked by the writer, thus only one process could write the log.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see RedisReplicatorLogSegment
+ * @see RedisReplicatorLogReader
+ * @since 1.0.0
+ */
+public class RedisReplicatorLogWriter implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(RedisReplicatorLogWriter.class);
+
+    static final String LOCK_FILE_NAME = "writer.lock";
+
+    private final File directory;
+
+    private final int segmentSize;
+
+    private final FsyncPolicy fsyncPolicy;
+
+    private final long fsyncInterval;
+
+    private final FileChannel lockChannel;
+
+    private final FileLock lock;
+
+    private final CRC32 crc32 = new CRC32();
+
+    @Nullable
+    private RedisReplicatorLogSegment segment;
+
+    private int writePosition;
+
+    private long nextOffset;
+
+    private long lastFsyncTime;
+
+    private boolean open = true;
+
+    /**
+     * @param directory     the directory of the segment files
+     * @param segmentSize   the size of segment in bytes
+     * @param fsyncPolicy   {@link FsyncPolicy}
+     * @param fsyncInterval the interval in milliseconds for {@link FsyncPolicy#INTERVAL}
+     * @throws IOException if the directory is locked by the other writer or the log can't be recovered
+     */
+    public RedisReplicatorLogWriter(File directory, int segmentSize, FsyncPolicy fsyncPolicy, long fsyncInterval) throws IOException {
+        if (!directory.exists() && !directory.mkdirs()) {
+            throw new IOException("The directory[" + directory + "] can't be created");
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.fsyncPolicy = fsyncPolicy;
+        this.fsyncInterval = fsyncInterval;
+        this.lockChannel = FileChannel.open(new File(directory, LOCK_FILE_NAME).toPath(), CREATE, WRITE);
+        this.lock = tryLock(lockChannel, directory);
+        recover();
+    }
+
+    private static FileLock tryLock(FileChannel lockChannel, File directory) throws IOException {
+        FileLock lock;
+        try {
+            lock = lockChannel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            // Locked by the other writer in the same JVM
+            lock = null;
+        }
+        if (lock == null) {
+            lockChannel.close();
+            throw new IOException("The log directory[" + directory + "] is being written by the other writer");
+        }
+        return lock;
+    }
+
+    /**
+     * Recover the write position from the last segment, the incomplete record is discarded
+     */
+    private void recover() throws IOException {
+        Map.Entry<Long, File> lastEntry = listFiles(directory).lastEntry();
+        if (lastEntry == null) {
+            this.nextOffset = readCheckpoint(directory);
+            return;
+        }
+        long baseOffset = lastEntry.getKey();
+        RedisReplicatorLogSegment segment = RedisReplicatorLogSegment.openForWrite(directory, baseOffset, segmentSize);
+        int position = 0;
+        long offset = baseOffset;
+        int length;
+        while ((length = segment.lengthAt(position)) > 0 && segment.read(position, offset, directory.getName(), crc32) != null) {
+            position += LENGTH_BYTES + length;
+            offset++;
+        }
+        segment.truncate(position);
+        this.segment = segment;
+        this.writePosition = position;
+        this.nextOffset = offset;
+        logger.debug("The log[{}] was recovered, the next offset : {}", directory, offset);
+    }
+
+    /**
+     * Append the record
+     *
+     * @param record {@link ReplicatedRecord}
+     * @return the offset of the record
+     * @throws IOException if the segment can't be created or the writer is closed
+     */
+    public synchronized long append(ReplicatedRecord record) throws IOException {
+        if (!open) {
+            throw new IOException("The log writer[" + directory + "] was closed");
+        }
+        String sourceId = record.getSourceId();
+        byte[] sourceIdBytes = sourceId == null ? null : sourceId.getBytes(StandardCharsets.UTF_8);
+        int recordSize = sizeOf(sourceIdBytes, record.getKey(), record.getValue());
+        RedisReplicatorLogSegment segment = this.segment;
+        if (segment == null || !segment.hasRemaining(writePosition, recordSize)) {
+            segment = rollSegment(recordSize);
+        }
+        long offset = nextOffset;
+        writePosition = segment.write(writePosition, offset, record, sourceIdBytes, crc32);
+        nextOffset = offset + 1;
+        if (fsyncPolicy == FsyncPolicy.ALWAYS) {
+            segment.force();
+        } else if (fsyncPolicy == FsyncPolicy.INTERVAL) {
+            long now = System.currentTimeMillis();
+            if (now - lastFsyncTime >= fsyncInterval) {
+                segment.force();
+                lastFsyncTime = now;
+            }
+        }
+        return offset;
+    }
+
+    private RedisReplicatorLogSegment rollSegment(int recordSize) throws IOException {
+        RedisReplicatorLogSegment segment = this.segment;
+        if (segment != null) {
+            if (fsyncPolicy != FsyncPolicy.NEVER) {
+                segment.force();
+            }
+            segment.close();
+        }
+        segment = RedisReplicatorLogSegment.openForWrite(directory, nextOffset, Math.max(segmentSize, recordSize + LENGTH_BYTES));
+        this.segment = segment;
+        this.writePosition = 0;
+        deleteConsumedSegments();
+        return segment;
+    }
+
+    /**
+     * Delete the segments whose records were all consumed by the reader, except the write segment
+     */
+    private void deleteConsumedSegments() {
+        long checkpoint;
+        try {
+            checkpoint = readCheckpoint(directory);
+        } catch (IOException e) {
+            logger.warn("The checkpoint of log[{}] can't be read", directory, e);
+            return;
+        }
+        NavigableMap<Long, File> files = listFiles(directory);
+        for (Map.Entry<Long, File> entry : files.entrySet()) {
+            // All records of the segment are before the base offset of the next segment
+            Long nextBaseOffset = files.higherKey(entry.getKey());
+            if (nextBaseOffset == null || nextBaseOffset > checkpoint) {
+                break;
+            }
+            File file = entry.getValue();
+            if (!file.delete()) {
+                logger.warn("The consumed log segment[{}] can't be deleted", file);
+            }
+        }
+    }
+
+    /**
+     * Force the appended records
+     */
+    public synchronized void flush() {
+        if (segment != null) {
+            segment.force();
+        }
+    }
+
+    /**
+     * @return the offset of the next record
+     */
+    public synchronized long getNextOffset() {
+        return nextOffset;
+    }
+
+    public File getDirectory() {
+        return directory;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (!open) {
+            return;
+        }
+        open = false;
+        if (segment != null) {
+            if (fsyncPolicy != FsyncPolicy.NEVER) {
+                segment.force();
+            }
+            segment.close();
+        }
+        lock.release();
+        lockChannel.close();
+    }
+
+    @Override
+    public String toString() {
+        return "RedisReplicatorLogWriter{" +
+                "directory=" + directory +
+                ", fsyncPolicy=" + fsyncPolicy +
+                ", nextOffset=" + getNextOffset() +
+                '}';
+    }
+}
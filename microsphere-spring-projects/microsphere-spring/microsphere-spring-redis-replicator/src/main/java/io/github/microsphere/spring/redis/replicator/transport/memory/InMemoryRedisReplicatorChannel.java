@@ -0,0 +1,227 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microsphere.spring.redis.replicator.transport.memory;
+
+import io.github.microsphere.spring.redis.replicator.transport.ReplicatedRecord;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The in-JVM channel of {@link ReplicatedRecord records} for one domain, which is a bounded ring buffer with
+ * multiple publishers and the single consumer in the style of Disruptor :
+ * <ul>
+ *     <li>the slots are pre-allocated, the capacity is the power of 2, thus the slot is located by the mask</li>
+ *     <li>the publisher claims the sequence by CAS only if the slot was consumed, then publishes the sequence of slot</li>
+ *     <li>the consumer reads the slots whose sequences were published in order, and releases them in batch</li>
+ *     <li>both sides wait by spinning, yielding and then parking, no lock is involved</li>
+ * </ul>
+ * The channels are shared by the application contexts in the same JVM by their names.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see InMemoryRedisReplicatorSender
+ * @see InMemoryRedisReplicatorReceiver
+ * @since 1.0.0
+ */
+public class InMemoryRedisReplicatorChannel {
+
+    private static final ConcurrentMap<String, InMemoryRedisReplicatorChannel> channels = new ConcurrentHashMap<>();
+
+    private static final int SPIN_TRIES = 100;
+
+    private static final int YIELD_TRIES = 100;
+
+    private static final long PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    private final String name;
+
+    private final int capacity;
+
+    private final int mask;
+
+    private final AtomicReferenceArray<ReplicatedRecord> slots;
+
+    /**
+     * The published sequence of slot, -1 means never published
+     */
+    private final AtomicLongArray publishedSequences;
+
+    /**
+     * The next sequence to be claimed by the publishers
+     */
+    private final AtomicLong claimSequence = new AtomicLong();
+
+    /**
+     * The next sequence to be consumed, all slots before it are free
+     */
+    private final AtomicLong consumeSequence = new AtomicLong();
+
+    private final AtomicBoolean attached = new AtomicBoolean();
+
+    public InMemoryRedisReplicatorChannel(String name, int capacity) {
+        int size = Integer.highestOneBit(Math.max(capacity, 2) - 1) << 1;
+        this.name = name;
+        this.capacity = size;
+        this.mask = size - 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.publishedSequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            publishedSequences.set(i, -1L);
+        }
+    }
+
+    /**
+     * Get or create the shared channel in the JVM
+     *
+     * @param name     the name of channel
+     * @param capacity the capacity of channel if it's created
+     * @return non-null
+     */
+    public static InMemoryRedisReplicatorChannel get(String name, int capacity) {
+        return channels.computeIfAbsent(name, n -> new InMemoryRedisReplicatorChannel(n, capacity));
+    }
+
+    /**
+     * Publish the record, wait for the free slot if the channel is full
+     *
+     * @param record  {@link ReplicatedRecord}
+     * @param timeout the timeout to wait for the free slot
+     * @param unit    {@link TimeUnit}
+     * @return <code>true</code> if published, <code>false</code> if timeout
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public boolean publish(ReplicatedRecord record, long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        int tries = 0;
+        while (true) {
+            long sequence = claimSequence.get();
+            if (sequence - consumeSequence.get() < capacity) {
+                if (claimSequence.compareAndSet(sequence, sequence + 1)) {
+                    int index = (int) sequence & mask;
+                    slots.lazySet(index, record);
+                    // The volatile write of the sequence makes the slot visible to the consumer
+                    publishedSequences.set(index, sequence);
+                    return true;
+                }
+                continue;
+            }
+            if (System.nanoTime() >= deadline) {
+                return false;
+            }
+            tries = await(tries);
+        }
+    }
+
+    /**
+     * Drain the published records in order, it must be invoked by the single consumer
+     *
+     * @param records    the list of records
+     * @param maxRecords the max number of records
+     * @param timeout    the timeout to wait for the first record
+     * @param unit       {@link TimeUnit}
+     * @return the number of drained records
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public int drainTo(List<ReplicatedRecord> records, int maxRecords, long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        long sequence = consumeSequence.get();
+        int tries = 0;
+        while (publishedSequences.get((int) sequence & mask) != sequence) {
+            if (System.nanoTime() >= deadline) {
+                return 0;
+            }
+            tries = await(tries);
+        }
+        int count = 0;
+        while (count < maxRecords) {
+            int index = (int) sequence & mask;
+            if (publishedSequences.get(index) != sequence) {
+                break;
+            }
+            records.add(slots.get(index));
+            slots.lazySet(index, null);
+            sequence++;
+            count++;
+        }
+        // Release the slots to the publishers
+        consumeSequence.set(sequence);
+        return count;
+    }
+
+    private int await(int tries) throws InterruptedException {
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+        if (tries < SPIN_TRIES) {
+            // Busy spin
+        } else if (tries < SPIN_TRIES + YIELD_TRIES) {
+            Thread.yield();
+        } else {
+            LockSupport.parkNanos(this, PARK_NANOS);
+        }
+        return tries + 1;
+    }
+
+    /**
+     * Attach the single consumer
+     *
+     * @throws IllegalStateException if the other consumer has been attached
+     */
+    public void attach() throws IllegalStateException {
+        if (!attached.compareAndSet(false, true)) {
+            throw new IllegalStateException("The consumer of the in-memory channel[" + name + "] has been attached");
+        }
+    }
+
+    /**
+     * Detach the consumer
+     */
+    public void detach() {
+        attached.set(false);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * @return the number of records that are not consumed
+     */
+    public long getDepth() {
+        return claimSequence.get() - consumeSequence.get();
+    }
+
+    @Override
+    public String toString() {
+        return "InMemoryRedisReplicatorChannel{" +
+                "name='" + name + '\'' +
+                ", capacity=" + capacity +
+                ", depth=" + getDepth() +
+                '}';
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microsphere.spring.redis.replicator.transport.memory;
+
+import io.github.microsphere.spring.redis.replicator.config.RedisReplicatorConfiguration;
+import io.github.microsphere.spring.redis.replicator.transport.RedisReplicatorReceiver;
+import io.github.microsphere.spring.redis.replicator.transport.ReplicatedRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static io.github.microsphere.spring.redis.replicator.config.RedisReplicatorConfiguration.DEFAULT_IN_MEMORY_TRANSPORT_CAPACITY;
+import static io.github.microsphere.spring.redis.replicator.config.RedisReplicatorConfiguration.DEFAULT_TRANSPORT_RECEIVER_BATCH_SIZE;
+import static io.github.microsphere.spring.redis.replicator.config.RedisReplicatorConfiguration.IN_MEMORY_TRANSPORT_CAPACITY_PROPERTY_NAME;
+import static io.github.microsphere.spring.redis.replicator.config.RedisReplicatorConfiguration.TRANSPORT_RECEIVER_BATCH_SIZE_PROPERTY_NAME;
+import static java.util.Collections.singleton;
+
+/**
+ * In-memory {@link RedisReplicatorReceiver} drains the {@link InMemoryRedisReplicatorChannel} of each domain by
+ * one thread, the channel is the single-consumer one, thus only one receiver of domain is allowed in the JVM.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see InMemoryRedisReplicatorChannel
+ * @see InMemoryRedisReplicatorSender
+ * @since 1.0.0
+ */
+public class InMemoryRedisReplicatorReceiver implements RedisReplicatorReceiver, EnvironmentAware {
+
+    private static final Logger logger = LoggerFactory.getLogger(InMemoryRedisReplicatorReceiver.class);
+
+    private static final long DRAIN_TIMEOUT = 100L;
+
+    private static final long RETRY_INTERVAL = 1000L;
+
+    private static final long SHUTDOWN_TIMEOUT = 5000L;
+
+    @Autowired
+    private RedisReplicatorConfiguration redisReplicatorConfiguration;
+
+    private int capacity;
+
+    private int batchSize;
+
+    private final List<InMemoryRedisReplicatorChannel> channels = new ArrayList<>();
+
+    private volatile boolean running;
+
+    private ExecutorService executor;
+
+    @Override
+    public void start(Handler handler) {
+        List<String> domains = redisReplicatorConfiguration.getDomains();
+        this.executor = Executors.newFixedThreadPool(domains.size(), new CustomizableThreadFactory("Redis-Replicator-Memory-Receiver-"));
+        this.running = true;
+        for (String domain : domains) {
+            InMemoryRedisReplicatorChannel channel = InMemoryRedisReplicatorChannel.get(domain, capacity);
+            channel.attach();
+            channels.add(channel);
+            handler.onChannelsAssigned(singleton(domain));
+            executor.execute(() -> receive(channel, handler));
+        }
+    }
+
+    private void receive(InMemoryRedisReplicatorChannel channel, Handler handler) {
+        List<ReplicatedRecord> records = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                // The records that failed to be handled are kept and handled again, the channel can't be rewound
+                if (!records.isEmpty() || channel.drainTo(records, batchSize, DRAIN_TIMEOUT, TimeUnit.MILLISECONDS) > 0) {
+                    handler.handle(records);
+                    records.clear();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Throwable e) {
+                logger.warn("[Redis-Replicator-Memory-C-F] Failed to handle the records[size : {}] of the in-memory channel[{}], they will be handled again",
+                        records.size(), channel.getName(), e);
+                if (!backoff()) {
+                    break;
+                }
+            }
+        }
+    }
+
+    private boolean backoff() {
+        try {
+            TimeUnit.MILLISECONDS.sleep(RETRY_INTERVAL);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    @Override
+    public void stop() {
+        this.running = false;
+        ExecutorService executor = this.executor;
+        if (executor != null) {
+            executor.shutdown();
+            try {
+                if (!executor.awaitTermination(SHUTDOWN_TIMEOUT, TimeUnit.MILLISECONDS)) {
+                    executor.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        channels.forEach(InMemoryRedisReplicatorChannel::detach);
+        channels.clear();
+    }
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        this.capacity = environment.getProperty(IN_MEMORY_TRANSPORT_CAPACITY_PROPERTY_NAME, int.class, DEFAULT_IN_MEMORY_TRANSPORT_CAPACITY);
+        this.batchSize = environment.getProperty(TRANSPORT_RECEIVER_BATCH_SIZE_PROPERTY_NAME, int.class, DEFAULT_TRANSPORT_RECEIVER_BATCH_SIZE);
+    }
+
+    @Override
+    public String toString() {
+        return "InMemoryRedisReplicatorReceiver{channels=" + channels + '}';
+    }
+}
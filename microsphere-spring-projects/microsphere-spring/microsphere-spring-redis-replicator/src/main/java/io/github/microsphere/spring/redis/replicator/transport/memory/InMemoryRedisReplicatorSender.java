@@ -0,0 +1,67 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microsphere.spring.redis.replicator.transport.memory;
+
+import io.github.microsphere.spring.redis.replicator.transport.RedisReplicatorSender;
+import io.github.microsphere.spring.redis.replicator.transport.ReplicatedRecord;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.env.Environment;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static io.github.microsphere.spring.redis.replicator.config.RedisReplicatorConfiguration.DEFAULT_IN_MEMORY_TRANSPORT_CAPACITY;
+import static io.github.microsphere.spring.redis.replicator.config.RedisReplicatorConfiguration.DEFAULT_IN_MEMORY_TRANSPORT_PUBLISH_TIMEOUT;
+import static io.github.microsphere.spring.redis.replicator.config.RedisReplicatorConfiguration.IN_MEMORY_TRANSPORT_CAPACITY_PROPERTY_NAME;
+import static io.github.microsphere.spring.redis.replicator.config.RedisReplicatorConfiguration.IN_MEMORY_TRANSPORT_PUBLISH_TIMEOUT_PROPERTY_NAME;
+
+/**
+ * In-memory {@link RedisReplicatorSender} publishes the records into the {@link InMemoryRedisReplicatorChannel} of
+ * domain, the record is delivered once it's published.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see InMemoryRedisReplicatorChannel
+ * @see InMemoryRedisReplicatorReceiver
+ * @since 1.0.0
+ */
+public class InMemoryRedisReplicatorSender implements RedisReplicatorSender, EnvironmentAware {
+
+    private int capacity;
+
+    private long publishTimeout;
+
+    @Override
+    public void send(ReplicatedRecord record, Callback callback) {
+        InMemoryRedisReplicatorChannel channel = InMemoryRedisReplicatorChannel.get(record.getDomain(), capacity);
+        try {
+            if (channel.publish(record, publishTimeout, TimeUnit.MILLISECONDS)) {
+                callback.onSuccess(record);
+            } else {
+                callback.onFailure(record, new TimeoutException("The in-memory channel is full : " + channel));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            callback.onFailure(record, e);
+        }
+    }
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        this.capacity = environment.getProperty(IN_MEMORY_TRANSPORT_CAPACITY_PROPERTY_NAME, int.class, DEFAULT_IN_MEMORY_TRANSPORT_CAPACITY);
+        this.publishTimeout = environment.getProperty(IN_MEMORY_TRANSPORT_PUBLISH_TIMEOUT_PROPERTY_NAME, long.class, DEFAULT_IN_MEMORY_TRANSPORT_PUBLISH_TIMEOUT);
+    }
+}
@@ -17,6 +17,7 @@
 package io.github.microsphere.spring.redis.replicator;
 
 import io.github.microsphere.spring.redis.context.RedisInitializer;
+import io.github.microsphere.spring.redis.replicator.consumer.RedisReplicatorConsumer;
 import io.github.microsphere.spring.redis.replicator.event.RedisCommandReplicatedEvent;
 import io.github.microsphere.spring.redis.replicator.kafka.consumer.KafkaConsumerRedisReplicatorConfiguration;
 import org.junit.jupiter.api.Test;
@@ -37,6 +38,7 @@ import java.util.concurrent.CountDownLatch;
  */
 @ContextConfiguration(classes = {
         KafkaConsumerRedisReplicatorConfiguration.class,
+        RedisReplicatorConsumer.class,
         RedisCommandReplicator.class,
         RedisCommandReplicatorTest.class},
         initializers = RedisInitializer.class)
@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microsphere.spring.redis.replicator.consumer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link ParallelRedisCommandReplayer} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see ParallelRedisCommandReplayer
+ * @since 1.0.0
+ */
+public class ParallelRedisCommandReplayerTest {
+
+    @Test
+    public void testReplayInKeyOrder() throws Exception {
+        try (ParallelRedisCommandReplayer replayer = new ParallelRedisCommandReplayer("test", 4, 2)) {
+            List<String[]> batch = new ArrayList<>();
+            for (int i = 0; i < 1000; i++) {
+                batch.add(new String[]{"key-" + (i % 10), String.valueOf(i)});
+            }
+            Map<String, List<Integer>> replayed = new ConcurrentHashMap<>();
+            replayer.replay(batch, command -> command[0].getBytes(), command ->
+                    replayed.computeIfAbsent(command[0], k -> Collections.synchronizedList(new ArrayList<>()))
+                            .add(Integer.valueOf(command[1])));
+
+            assertEquals(10, replayed.size());
+            replayed.forEach((key, values) -> {
+                assertEquals(100, values.size());
+                for (int i = 1; i < values.size(); i++) {
+                    assertEquals(values.get(i - 1) + 10, values.get(i));
+                }
+            });
+        }
+    }
+
+    @Test
+    public void testReplayBarrier() throws Exception {
+        try (ParallelRedisCommandReplayer replayer = new ParallelRedisCommandReplayer("test", 4, 1)) {
+            List<String> batch = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                batch.add("key-" + i);
+            }
+            // The command without key
+            batch.add(null);
+            for (int i = 0; i < 100; i++) {
+                batch.add("key-" + i);
+            }
+            AtomicInteger counter = new AtomicInteger();
+            AtomicInteger barrier = new AtomicInteger();
+            replayer.replay(batch, command -> command == null ? null : command.getBytes(), command -> {
+                int count = counter.getAndIncrement();
+                if (command == null) {
+                    barrier.set(count);
+                }
+            });
+            assertEquals(201, counter.get());
+            assertEquals(100, barrier.get());
+        }
+    }
+
+    @Test
+    public void testReplayInBatches() throws Exception {
+        try (ParallelRedisCommandReplayer replayer = new ParallelRedisCommandReplayer("test", 4, 1)) {
+            List<String> batch = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                batch.add("key-" + (i % 5));
+            }
+            AtomicInteger counter = new AtomicInteger();
+            AtomicInteger batches = new AtomicInteger();
+            replayer.replayInBatches(batch, String::getBytes, commands -> {
+                batches.incrementAndGet();
+                counter.addAndGet(commands.size());
+            });
+            assertEquals(100, counter.get());
+            assertTrue(batches.get() <= 4);
+        }
+    }
+
+    @Test
+    public void testReplayFailure() throws Exception {
+        try (ParallelRedisCommandReplayer replayer = new ParallelRedisCommandReplayer("test", 2, 1)) {
+            List<String> replayed = Collections.synchronizedList(new ArrayList<>());
+            List<String> batch = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                batch.add("key-" + i);
+            }
+            batch.add("FLUSHDB");
+            batch.add("key-10");
+            IllegalStateException e = assertThrows(IllegalStateException.class, () ->
+                    replayer.replay(batch, command -> command.startsWith("key-") ? command.getBytes() : null, command -> {
+                        replayed.add(command);
+                        if ("key-3".equals(command)) {
+                            throw new IllegalStateException(command);
+                        }
+                    }));
+            assertEquals("key-3", e.getMessage());
+            assertTrue(replayed.contains("key-3"));
+            // The barrier and the commands after it must not be replayed after the failure
+            assertFalse(replayed.contains("FLUSHDB"));
+            assertFalse(replayed.contains("key-10"));
+        }
+    }
+}
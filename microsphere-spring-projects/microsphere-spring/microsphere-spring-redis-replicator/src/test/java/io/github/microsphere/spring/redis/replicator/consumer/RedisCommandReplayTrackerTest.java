@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microsphere.spring.redis.replicator.consumer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.Map;
+
+import static java.util.Collections.emptyMap;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link RedisCommandReplayTracker} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see RedisCommandReplayTracker
+ * @since 1.0.0
+ */
+public class RedisCommandReplayTrackerTest {
+
+    @TempDir
+    File tempDirectory;
+
+    @Test
+    public void testAccept() throws Exception {
+        RedisCommandReplayTracker tracker = new RedisCommandReplayTracker(new FileReplayWatermarkStore(tempDirectory));
+
+        RedisCommandReplayTracker.Batch batch = tracker.begin();
+        assertTrue(batch.accept("topic-0", "S1", 0));
+        assertTrue(batch.accept("topic-0", "S1", 1));
+        // The duplicated event in the batch
+        assertFalse(batch.accept("topic-0", "S1", 1));
+        assertTrue(batch.accept("topic-0", "S2", 0));
+        assertTrue(batch.accept("topic-1", "S1", 0));
+        // The events without stamp
+        assertTrue(batch.accept("topic-0", null, -1));
+        assertEquals(1, batch.getSkippedCount());
+        batch.commit();
+
+        batch = tracker.begin();
+        assertFalse(batch.accept("topic-0", "S1", 0));
+        assertFalse(batch.accept("topic-0", "S1", 1));
+        assertTrue(batch.accept("topic-0", "S1", 2));
+        assertFalse(batch.accept("topic-1", "S1", 0));
+        assertTrue(batch.accept("topic-0", "S2", 1));
+
+        // The watermarks are restored from the store after restart
+        tracker = new RedisCommandReplayTracker(new FileReplayWatermarkStore(tempDirectory));
+        batch = tracker.begin();
+        assertFalse(batch.accept("topic-0", "S1", 1));
+        assertTrue(batch.accept("topic-0", "S1", 2));
+        assertFalse(batch.accept("topic-0", "S2", 0));
+    }
+
+    @Test
+    public void testReject() throws Exception {
+        RedisCommandReplayTracker tracker = new RedisCommandReplayTracker(new FileReplayWatermarkStore(tempDirectory));
+
+        RedisCommandReplayTracker.Batch batch = tracker.begin();
+        assertTrue(batch.accept("topic-0", "S1", 0));
+        batch.commit();
+
+        batch = tracker.begin();
+        assertTrue(batch.accept("topic-0", "S1", 1));
+        batch.reject("topic-0", "S1", 1);
+        assertTrue(batch.accept("topic-0", "S1", 2));
+        assertTrue(batch.accept("topic-0", "S2", 0));
+        batch.commit();
+
+        // The watermark of S1 stops before the rejected event
+        batch = tracker.begin();
+        assertFalse(batch.accept("topic-0", "S1", 0));
+        assertTrue(batch.accept("topic-0", "S1", 1));
+        assertFalse(batch.accept("topic-0", "S2", 0));
+    }
+
+    @Test
+    public void testFlushed() throws Exception {
+        Map<String, Map<String, Long>> storage = new HashMap<>();
+        ReplayWatermarkStore store = new ReplayWatermarkStore() {
+            @Override
+            public Map<String, Long> load(String partition) {
+                return storage.getOrDefault(partition, emptyMap());
+            }
+
+            @Override
+            public void save(String partition, Map<String, Long> watermarks) {
+                storage.computeIfAbsent(partition, p -> new HashMap<>()).putAll(watermarks);
+            }
+        };
+        RedisCommandReplayTracker tracker = new RedisCommandReplayTracker(store);
+
+        RedisCommandReplayTracker.Batch batch = tracker.begin();
+        assertTrue(batch.accept("topic-0", "S1", 0));
+        assertTrue(batch.accept("topic-1", "S1", 1));
+        batch.commit();
+
+        // FLUSHDB wipes the watermarks in the target Redis
+        storage.clear();
+        batch = tracker.begin();
+        assertTrue(batch.accept("topic-0", "S1", 2));
+        batch.flushed();
+        batch.commit();
+
+        assertEquals(Long.valueOf(2), storage.get("topic-0").get("S1"));
+        assertEquals(Long.valueOf(1), storage.get("topic-1").get("S1"));
+    }
+}
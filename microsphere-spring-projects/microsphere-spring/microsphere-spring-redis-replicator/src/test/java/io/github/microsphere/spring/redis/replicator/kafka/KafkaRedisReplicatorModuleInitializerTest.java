@@ -19,6 +19,7 @@ package io.github.microsphere.spring.redis.replicator.kafka;
 import io.github.microsphere.spring.redis.context.RedisInitializer;
 import io.github.microsphere.spring.redis.event.RedisCommandEvent;
 import io.github.microsphere.spring.redis.replicator.AbstractRedisReplicatorTest;
+import io.github.microsphere.spring.redis.replicator.consumer.RedisReplicatorConsumer;
 import io.github.microsphere.spring.redis.replicator.event.RedisCommandReplicatedEvent;
 import io.github.microsphere.spring.redis.replicator.kafka.consumer.KafkaConsumerRedisReplicatorConfiguration;
 import org.junit.jupiter.api.Test;
@@ -44,6 +45,7 @@ import static org.junit.Assert.assertEquals;
 @ContextConfiguration(
         classes = {
                 KafkaConsumerRedisReplicatorConfiguration.class,
+                RedisReplicatorConsumer.class,
                 KafkaRedisReplicatorModuleInitializerTest.class
         },
         initializers = RedisInitializer.class
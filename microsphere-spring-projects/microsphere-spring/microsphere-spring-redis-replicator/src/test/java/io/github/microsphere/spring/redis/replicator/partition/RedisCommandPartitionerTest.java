@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microsphere.spring.redis.replicator.partition;
+
+import io.github.microsphere.spring.redis.event.RedisCommandEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.ClusterSlotHashUtil;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link RedisCommandPartitioner} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see RedisCommandPartitioner
+ * @since 1.0.0
+ */
+public class RedisCommandPartitionerTest {
+
+    private static final int PARTITION_COUNT = 8;
+
+    @Test
+    public void testDefault() {
+        assertNull(DefaultRedisCommandPartitioner.INSTANCE.partition("K".getBytes(), buildEvent("K"), PARTITION_COUNT));
+    }
+
+    @Test
+    public void testKeyHash() {
+        RedisCommandPartitioner partitioner = KeyHashRedisCommandPartitioner.INSTANCE;
+        assertNull(partitioner.partition(null, buildEvent("K"), PARTITION_COUNT));
+
+        // The keys with the same hash tag are routed to the same partition
+        Integer partition = partitioner.partition("{user:1}:name".getBytes(), buildEvent("K"), PARTITION_COUNT);
+        assertEquals(partition, partitioner.partition("{user:1}:age".getBytes(), buildEvent("K"), PARTITION_COUNT));
+
+        Set<Integer> partitions = new HashSet<>();
+        for (int i = 0; i < 1000; i++) {
+            byte[] key = ("key-" + i).getBytes();
+            int p = partitioner.partition(key, buildEvent("K"), PARTITION_COUNT);
+            assertTrue(p >= 0 && p < PARTITION_COUNT);
+            partitions.add(p);
+        }
+        assertEquals(PARTITION_COUNT, partitions.size());
+
+        // The pre-computed key hash doesn't require the event
+        byte[] key = "K".getBytes();
+        assertEquals(partitioner.partition(key, buildEvent("K"), PARTITION_COUNT),
+                partitioner.partition(ClusterSlotHashUtil.calculateSlot(key), key, () -> {
+                    throw new AssertionError("The event should not be resolved");
+                }, PARTITION_COUNT));
+        assertNull(partitioner.partition(-1, null, () -> buildEvent("K"), PARTITION_COUNT));
+    }
+
+    @Test
+    public void testJumpConsistentHash() {
+        // Only the part of values are moved when the buckets grow
+        int moved = 0;
+        for (int i = 0; i < 16384; i++) {
+            int bucket = KeyHashRedisCommandPartitioner.jumpConsistentHash(i, 8);
+            int newBucket = KeyHashRedisCommandPartitioner.jumpConsistentHash(i, 9);
+            if (bucket != newBucket) {
+                assertEquals(8, newBucket);
+                moved++;
+            }
+        }
+        assertTrue(moved < 16384 / 4);
+    }
+
+    @Test
+    public void testCommandAffinity() {
+        RedisCommandPartitioner partitioner = new CommandAffinityRedisCommandPartitioner(Collections.singletonMap("set", 3));
+        assertEquals(3, partitioner.partition("K".getBytes(), buildEvent("K"), PARTITION_COUNT));
+        assertEquals(1, partitioner.partition("K".getBytes(), buildEvent("K"), 2));
+        assertEquals(3, partitioner.partition(-1, null, () -> buildEvent("K"), PARTITION_COUNT));
+    }
+
+    @Test
+    public void testCommandAffinityWithNegativePartition() {
+        assertThrows(IllegalArgumentException.class, () -> new CommandAffinityRedisCommandPartitioner(Collections.singletonMap("set", -1)));
+    }
+
+    @Test
+    public void testSticky() {
+        RedisCommandPartitioner partitioner = new StickyRedisCommandPartitioner(3);
+        Integer partition = partitioner.partition(null, buildEvent("K"), PARTITION_COUNT);
+        assertEquals(partition, partitioner.partition(null, buildEvent("K"), PARTITION_COUNT));
+        assertEquals(partition, partitioner.partition(null, buildEvent("K"), PARTITION_COUNT));
+        Integer nextPartition = partitioner.partition(null, buildEvent("K"), PARTITION_COUNT);
+        assertTrue(!partition.equals(nextPartition));
+    }
+
+    private RedisCommandEvent buildEvent(String key) {
+        return new RedisCommandEvent.Builder()
+                .interfaceName("org.springframework.data.redis.connection.RedisStringCommands")
+                .methodName("set")
+                .parameterTypes("[B", "[B")
+                .parameters(new byte[][]{key.getBytes(), "V".getBytes()})
+                .sourceApplication("test")
+                .build();
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microsphere.spring.redis.replicator.producer;
+
+import io.github.microsphere.spring.redis.event.RedisCommandEvent;
+import io.github.microsphere.spring.redis.event.RedisTransactionCommandEvent;
+import io.github.microsphere.spring.redis.replicator.partition.DefaultRedisCommandPartitioner;
+import io.github.microsphere.spring.redis.replicator.partition.StickyRedisCommandPartitioner;
+import io.github.microsphere.spring.redis.replicator.transport.ReplicatedRecord;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static io.github.microsphere.spring.redis.replicator.config.RedisReplicatorConfiguration.PRODUCER_INSTANCE_ID_PROPERTY_NAME;
+import static io.github.microsphere.spring.redis.serializer.Serializers.redisCommandEventSerializer;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link RedisCommandEventDispatcher} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see RedisCommandEventDispatcher
+ * @since 1.0.0
+ */
+public class RedisCommandEventDispatcherTest {
+
+    @Test
+    public void testResolveInstanceId() {
+        MockEnvironment environment = new MockEnvironment();
+        // The process id is used if the server port is absent
+        assertTrue(RedisCommandEventDispatcher.resolveInstanceId(environment).contains("@"));
+
+        environment.setProperty("server.port", "8080");
+        assertTrue(RedisCommandEventDispatcher.resolveInstanceId(environment).endsWith(":8080"));
+
+        environment.setProperty(PRODUCER_INSTANCE_ID_PROPERTY_NAME, "instance-1");
+        assertEquals("instance-1", RedisCommandEventDispatcher.resolveInstanceId(environment));
+    }
+
+    @Test
+    public void testBatchWithTransaction() throws Exception {
+        List<RedisCommandEvent> commands = Arrays.asList(buildEvent("K2", "V2"), buildEvent("K3", "V3"));
+        RedisTransactionCommandEvent transaction = new RedisTransactionCommandEvent(commands, "test");
+        List<RedisCommandEvent> events = Arrays.asList(buildEvent("K1", "V1"), transaction, buildEvent("K4", "V4"));
+
+        // All events are drained at once and sent to one partition
+        List<RedisCommandEventDispatcher.Batch> batches = RedisCommandEventDispatcher.toBatches(drain(events),
+                new StickyRedisCommandPartitioner(events.size()), 1, true);
+        assertEquals(1, batches.size());
+
+        ReplicatedRecord record = batches.iterator().next().toRecord("test");
+        List<RedisCommandEvent> deserialized = redisCommandEventSerializer.deserializeEvents(record.getValue());
+        assertEquals(events, deserialized);
+        assertTrue(deserialized.get(1) instanceof RedisTransactionCommandEvent);
+        assertEquals(commands, ((RedisTransactionCommandEvent) deserialized.get(1)).getCommands());
+    }
+
+    @Test
+    public void testBatchNotSupported() throws Exception {
+        List<RedisCommandEvent> events = Arrays.asList(buildEvent("K1", "V1"), buildEvent("K2", "V2"), buildEvent("K3", "V3"));
+
+        // The legacy serialization versions can't read the batch record, each event is sent as one record
+        List<RedisCommandEventDispatcher.Batch> batches = RedisCommandEventDispatcher.toBatches(drain(events),
+                new StickyRedisCommandPartitioner(events.size()), 1, false);
+        assertEquals(events.size(), batches.size());
+
+        int i = 0;
+        for (RedisCommandEventDispatcher.Batch batch : batches) {
+            assertEquals(1, batch.getElements().size());
+            ReplicatedRecord record = batch.toRecord("test");
+            assertEquals(events.get(i++), redisCommandEventSerializer.deserialize(record.getValue()));
+        }
+    }
+
+    @Test
+    public void testBatchInDrainOrder() throws Exception {
+        List<RedisCommandEvent> events = Arrays.asList(buildEvent("A", "V1"), buildEvent("B", "V2"), buildEvent("A", "V3"));
+
+        // The partitions are selected by the transport
+        List<RedisCommandEventDispatcher.Batch> batches = RedisCommandEventDispatcher.toBatches(drain(events),
+                DefaultRedisCommandPartitioner.INSTANCE, 0, true);
+        assertEquals(3, batches.size());
+        assertRecordsInOrder(events, batches);
+
+        // All events are sent to one partition in drain order
+        batches = RedisCommandEventDispatcher.toBatches(drain(events), new StickyRedisCommandPartitioner(events.size()), 1, true);
+        assertEquals(1, batches.size());
+        assertRecordsInOrder(events, batches);
+    }
+
+    @Test
+    public void testBatchWithBarrier() throws Exception {
+        RedisCommandEvent flushDb = new RedisCommandEvent.Builder()
+                .interfaceName("org.springframework.data.redis.connection.RedisServerCommands")
+                .methodName("flushDb")
+                .parameterTypes()
+                .parameters(new byte[0][])
+                .sourceApplication("test")
+                .build();
+        List<RedisCommandEvent> events = Arrays.asList(buildEvent("A", "V1"), buildEvent("A", "V2"), flushDb,
+                buildEvent("A", "V3"));
+
+        // The command without key is sent alone between the consecutive commands of the same key
+        List<RedisCommandEventDispatcher.Batch> batches = RedisCommandEventDispatcher.toBatches(drain(events),
+                DefaultRedisCommandPartitioner.INSTANCE, 0, true);
+        assertEquals(3, batches.size());
+        assertEquals(2, batches.get(0).getElements().size());
+        assertEquals(1, batches.get(1).getElements().size());
+        assertEquals(1, batches.get(2).getElements().size());
+        assertRecordsInOrder(events, batches);
+    }
+
+    private void assertRecordsInOrder(List<RedisCommandEvent> events, List<RedisCommandEventDispatcher.Batch> batches) {
+        List<RedisCommandEvent> sentEvents = new ArrayList<>();
+        long lastSequence = -1L;
+        for (RedisCommandEventDispatcher.Batch batch : batches) {
+            ReplicatedRecord record = batch.toRecord("test");
+            // The sequences of the records are monotonic
+            assertTrue(record.getSequence() > lastSequence);
+            lastSequence = record.getSequence();
+            sentEvents.addAll(redisCommandEventSerializer.deserializeEvents(record.getValue()));
+        }
+        assertEquals(events, sentEvents);
+    }
+
+    private List<RedisCommandEventQueue.Element> drain(List<RedisCommandEvent> events) throws Exception {
+        RedisCommandEventQueue queue = new RedisCommandEventQueue("test", events.size(), OverflowPolicy.BLOCK, 0L, null);
+        for (RedisCommandEvent event : events) {
+            assertTrue(queue.offer(event));
+        }
+        List<RedisCommandEventQueue.Element> elements = new ArrayList<>();
+        assertEquals(events.size(), queue.drainTo(elements, events.size(), 0, TimeUnit.MILLISECONDS));
+        queue.close();
+        return elements;
+    }
+
+    private RedisCommandEvent buildEvent(String key, String value) {
+        return new RedisCommandEvent.Builder()
+                .interfaceName("org.springframework.data.redis.connection.RedisStringCommands")
+                .methodName("set")
+                .parameterTypes("[B", "[B")
+                .parameters(new byte[][]{key.getBytes(), value.getBytes()})
+                .sourceApplication("test")
+                .build();
+    }
+}
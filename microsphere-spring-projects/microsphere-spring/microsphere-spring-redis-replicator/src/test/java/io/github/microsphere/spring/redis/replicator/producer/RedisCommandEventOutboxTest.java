@@ -0,0 +1,182 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microsphere.spring.redis.replicator.producer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link RedisCommandEventOutbox} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see RedisCommandEventOutbox
+ * @since 1.0.0
+ */
+public class RedisCommandEventOutboxTest {
+
+    @TempDir
+    File tempDirectory;
+
+    @Test
+    public void testAppendAndRead() throws Exception {
+        try (RedisCommandEventOutbox outbox = newOutbox()) {
+            append(outbox, 20);
+            assertEquals(20, outbox.getPendingCount());
+            assertTrue(outbox.getSegmentCount() > 1);
+
+            List<RedisCommandEventQueue.Element> elements = new ArrayList<>();
+            assertEquals(20, outbox.read(elements, 100, 0, TimeUnit.MILLISECONDS));
+            for (int i = 0; i < 20; i++) {
+                RedisCommandEventQueue.Element element = elements.get(i);
+                assertEquals(i, element.getSequence());
+                assertEquals(i, element.getTimestamp());
+                assertTrue(element.isSpilled());
+                if (i % 3 == 0) {
+                    assertNull(element.getKey());
+                } else {
+                    assertArrayEquals(("K" + i).getBytes(), element.getKey());
+                }
+                assertArrayEquals(("V" + i).getBytes(), element.getValue());
+            }
+
+            // The acknowledged segments are deleted
+            int segmentCount = outbox.getSegmentCount();
+            for (int i = 19; i >= 0; i--) {
+                outbox.acknowledge(i);
+            }
+            assertEquals(0, outbox.getPendingCount());
+            assertEquals(1, outbox.getSegmentCount());
+            assertTrue(segmentCount > outbox.getSegmentCount());
+        }
+    }
+
+    @Test
+    public void testRewind() throws Exception {
+        try (RedisCommandEventOutbox outbox = newOutbox()) {
+            append(outbox, 10);
+            List<RedisCommandEventQueue.Element> elements = new ArrayList<>();
+            assertEquals(10, outbox.read(elements, 100, 0, TimeUnit.MILLISECONDS));
+            outbox.acknowledge(0);
+            outbox.rewind(5);
+            outbox.rewind(3);
+
+            elements.clear();
+            // Waiting for the retry backoff
+            assertEquals(0, outbox.read(elements, 100, 0, TimeUnit.MILLISECONDS));
+            Thread.sleep(100);
+            assertEquals(7, outbox.read(elements, 100, 0, TimeUnit.MILLISECONDS));
+            assertEquals(3, elements.get(0).getSequence());
+        }
+    }
+
+    @Test
+    public void testRecover() throws Exception {
+        try (RedisCommandEventOutbox outbox = newOutbox()) {
+            append(outbox, 20);
+            for (int i = 0; i < 15; i++) {
+                outbox.acknowledge(i);
+            }
+        }
+
+        try (RedisCommandEventOutbox outbox = newOutbox()) {
+            List<RedisCommandEventQueue.Element> elements = new ArrayList<>();
+            int count = outbox.read(elements, 100, 0, TimeUnit.MILLISECONDS);
+            // The records after the checkpoint are re-read at least
+            assertTrue(count >= 5);
+            assertEquals(19, elements.get(count - 1).getSequence());
+            assertEquals(20, outbox.append(20, null, "V20".getBytes()));
+        }
+    }
+
+    @Test
+    public void testRecoverTornRecord() throws Exception {
+        try (RedisCommandEventOutbox outbox = newOutbox()) {
+            append(outbox, 3);
+        }
+
+        // Corrupt the value of the last record
+        File segmentFile = new File(tempDirectory, String.format("%020d%s", 0, RedisCommandEventOutbox.SEGMENT_FILE_SUFFIX));
+        try (RandomAccessFile file = new RandomAccessFile(segmentFile, "rw")) {
+            int position = 0;
+            for (int i = 0; i < 2; i++) {
+                file.seek(position);
+                position += 4 + file.readInt();
+            }
+            file.seek(position + 4 + 4 + 8 + 8 + 4);
+            file.write('X');
+        }
+
+        try (RedisCommandEventOutbox outbox = newOutbox()) {
+            List<RedisCommandEventQueue.Element> elements = new ArrayList<>();
+            assertEquals(2, outbox.read(elements, 100, 0, TimeUnit.MILLISECONDS));
+            assertEquals(2, outbox.append(2, null, "V2".getBytes()));
+        }
+    }
+
+    @Test
+    public void testMaxSize() throws Exception {
+        try (RedisCommandEventOutbox outbox = new RedisCommandEventOutbox(tempDirectory, 256, FsyncPolicy.INTERVAL, 10L, 50L, 512L, 0L)) {
+            long sequence = 0;
+            while (outbox.append(sequence, null, ("V" + sequence).getBytes()) > -1L) {
+                sequence++;
+            }
+            // The full outbox rejects the records
+            assertEquals(2, outbox.getSegmentCount());
+            assertEquals(512L, outbox.getSize());
+            assertEquals(-1L, outbox.append(sequence, null, "V".getBytes()));
+
+            List<RedisCommandEventQueue.Element> elements = new ArrayList<>();
+            assertEquals(sequence, outbox.read(elements, 100, 0, TimeUnit.MILLISECONDS));
+            for (int i = 0; i < sequence; i++) {
+                outbox.acknowledge(i);
+            }
+            assertEquals(1, outbox.getSegmentCount());
+            assertEquals(sequence, outbox.append(sequence, null, "V".getBytes()));
+        }
+    }
+
+    @Test
+    public void testResolveFsyncPolicy() {
+        assertEquals(FsyncPolicy.ALWAYS, FsyncPolicy.resolve(" always "));
+        assertEquals(FsyncPolicy.NEVER, FsyncPolicy.resolve("NEVER"));
+        assertThrows(IllegalArgumentException.class, () -> FsyncPolicy.resolve("sometimes"));
+        assertThrows(IllegalArgumentException.class, () -> FsyncPolicy.resolve(null));
+    }
+
+    private RedisCommandEventOutbox newOutbox() throws Exception {
+        return new RedisCommandEventOutbox(tempDirectory, 256, FsyncPolicy.INTERVAL, 10L, 50L);
+    }
+
+    private void append(RedisCommandEventOutbox outbox, int count) throws Exception {
+        for (int i = 0; i < count; i++) {
+            byte[] key = i % 3 == 0 ? null : ("K" + i).getBytes();
+            assertEquals(i, outbox.append(i, key, ("V" + i).getBytes()));
+        }
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microsphere.spring.redis.replicator.producer;
+
+import io.github.microsphere.spring.redis.event.RedisCommandEvent;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link RedisCommandEventQueue} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see RedisCommandEventQueue
+ * @since 1.0.0
+ */
+public class RedisCommandEventQueueTest {
+
+    @TempDir
+    File tempDirectory;
+
+    @Test
+    public void testDropOldest() throws Exception {
+        RedisCommandEventQueue queue = new RedisCommandEventQueue("test", 2, OverflowPolicy.DROP_OLDEST, 0L, null);
+        RedisCommandEvent event1 = buildEvent("K1");
+        RedisCommandEvent event2 = buildEvent("K2");
+        RedisCommandEvent event3 = buildEvent("K3");
+        assertTrue(queue.offer(event1));
+        assertTrue(queue.offer(event2));
+        assertTrue(queue.offer(event3));
+        assertEquals(2, queue.getDepth());
+        assertEquals(1, queue.getDroppedCount());
+
+        List<RedisCommandEventQueue.Element> elements = new ArrayList<>();
+        assertEquals(2, queue.drainTo(elements, 10, 0, TimeUnit.MILLISECONDS));
+        assertSame(event2, elements.get(0).getEvent());
+        assertSame(event3, elements.get(1).getEvent());
+        queue.close();
+    }
+
+    @Test
+    public void testBlock() throws Exception {
+        RedisCommandEventQueue queue = new RedisCommandEventQueue("test", 1, OverflowPolicy.BLOCK, 1L, null);
+        assertTrue(queue.offer(buildEvent("K1")));
+        assertFalse(queue.offer(buildEvent("K2")));
+        assertEquals(1, queue.getDepth());
+        assertEquals(1, queue.getDroppedCount());
+        queue.close();
+    }
+
+    @Test
+    public void testSpill() throws Exception {
+        File file = new File(tempDirectory, "test.spill");
+        RedisCommandEventQueue queue = new RedisCommandEventQueue("test", 1, OverflowPolicy.SPILL, 0L,
+                new RedisCommandEventSpillFile(file, 1024 * 1024));
+        RedisCommandEvent event1 = buildEvent("K1");
+        RedisCommandEvent event2 = buildEvent("K2");
+        RedisCommandEvent event3 = buildEvent("K3");
+        assertTrue(queue.offer(event1));
+        assertTrue(queue.offer(event2));
+        assertTrue(queue.offer(event3));
+        assertEquals(1, queue.getDepth());
+        assertEquals(2, queue.getSpilledCount());
+        assertTrue(queue.getSpilledBytes() > 0);
+
+        List<RedisCommandEventQueue.Element> elements = new ArrayList<>();
+        assertEquals(1, queue.drainTo(elements, 10, 0, TimeUnit.MILLISECONDS));
+        assertSame(event1, elements.get(0).getEvent());
+
+        elements.clear();
+        assertEquals(2, queue.drainTo(elements, 10, 0, TimeUnit.MILLISECONDS));
+        assertTrue(elements.get(0).isSpilled());
+        assertEquals(event2, elements.get(0).getEvent());
+        assertArrayEquals(event2.getParameter(0), elements.get(0).getKey());
+        assertArrayEquals(event3.getParameter(0), elements.get(1).getKey());
+        assertEquals(0, queue.getSpilledBytes());
+        assertEquals(0, file.length());
+
+        queue.recordSent(elements.get(0));
+        assertEquals(1, queue.getSentCount());
+        queue.close();
+    }
+
+    @Test
+    public void testSourceId() throws Exception {
+        String sourceId = "test-app:test:1";
+        RedisCommandEventQueue queue = new RedisCommandEventQueue("test", 2, OverflowPolicy.BLOCK, 0L, null, null, sourceId);
+        assertEquals(sourceId, queue.getSourceId());
+        assertTrue(queue.offer(buildEvent("K1")));
+        assertTrue(queue.offer(buildEvent("K2")));
+        List<RedisCommandEventQueue.Element> elements = new ArrayList<>();
+        assertEquals(2, queue.drainTo(elements, 10, 0, TimeUnit.MILLISECONDS));
+        assertEquals(sourceId, elements.get(0).getSourceId());
+        assertEquals(elements.get(0).getSequence() + 1, elements.get(1).getSequence());
+        queue.close();
+
+        // The sequences of the same source keep increasing after restart
+        Thread.sleep(1L);
+        RedisCommandEventQueue restartedQueue = new RedisCommandEventQueue("test", 1, OverflowPolicy.BLOCK, 0L, null, null, sourceId);
+        assertTrue(restartedQueue.offer(buildEvent("K3")));
+        List<RedisCommandEventQueue.Element> restartedElements = new ArrayList<>();
+        assertEquals(1, restartedQueue.drainTo(restartedElements, 10, 0, TimeUnit.MILLISECONDS));
+        assertEquals(sourceId, restartedElements.get(0).getSourceId());
+        assertTrue(restartedElements.get(0).getSequence() > elements.get(1).getSequence());
+        restartedQueue.close();
+    }
+
+    @Test
+    public void testKey() throws Exception {
+        RedisCommandEvent set = buildEvent("K1");
+        RedisCommandEvent del = buildEvent("org.springframework.data.redis.connection.RedisKeyCommands", "del",
+                new String[]{"[[B"}, "K1");
+        RedisCommandEvent mSet = buildEvent("org.springframework.data.redis.connection.RedisStringCommands", "mSet",
+                new String[]{"java.util.Map"}, "K1");
+        RedisCommandEvent rename = buildEvent("org.springframework.data.redis.connection.RedisKeyCommands", "rename",
+                new String[]{"[B", "[B"}, "K1", "K2");
+        RedisCommandEvent flushDb = buildEvent("org.springframework.data.redis.connection.RedisServerCommands", "flushDb",
+                new String[0]);
+        RedisCommandEventQueue queue = new RedisCommandEventQueue("test", 5, OverflowPolicy.BLOCK, 0L, null);
+        assertTrue(queue.offer(set));
+        assertTrue(queue.offer(del));
+        assertTrue(queue.offer(mSet));
+        assertTrue(queue.offer(rename));
+        assertTrue(queue.offer(flushDb));
+
+        List<RedisCommandEventQueue.Element> elements = new ArrayList<>();
+        assertEquals(5, queue.drainTo(elements, 10, 0, TimeUnit.MILLISECONDS));
+        assertArrayEquals(set.getParameter(0), elements.get(0).getKey());
+        // The commands without key or of more than one key are the barriers
+        for (int i = 1; i < elements.size(); i++) {
+            assertNull(elements.get(i).getKey());
+        }
+        queue.close();
+    }
+
+    private RedisCommandEvent buildEvent(String key) {
+        return buildEvent("org.springframework.data.redis.connection.RedisStringCommands", "set",
+                new String[]{"[B", "[B"}, key, "V");
+    }
+
+    private RedisCommandEvent buildEvent(String interfaceName, String methodName, String[] parameterTypes,
+                                         String... parameters) {
+        byte[][] rawParameters = new byte[parameterTypes.length][];
+        for (int i = 0; i < rawParameters.length; i++) {
+            rawParameters[i] = (i < parameters.length ? parameters[i] : "").getBytes();
+        }
+        return new RedisCommandEvent.Builder()
+                .interfaceName(interfaceName)
+                .methodName(methodName)
+                .parameterTypes(parameterTypes)
+                .parameters(rawParameters)
+                .sourceApplication("test")
+                .build();
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microsphere.spring.redis.replicator.transport.file;
+
+import io.github.microsphere.spring.redis.replicator.producer.FsyncPolicy;
+import io.github.microsphere.spring.redis.replicator.transport.ReplicatedRecord;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link RedisReplicatorLogWriter} and {@link RedisReplicatorLogReader} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see RedisReplicatorLogWriter
+ * @see RedisReplicatorLogReader
+ * @since 1.0.0
+ */
+public class RedisReplicatorLogTest {
+
+    private static final int SEGMENT_SIZE = 256;
+
+    @TempDir
+    File tempDirectory;
+
+    @Test
+    public void testWriteAndRead() throws Exception {
+        try (RedisReplicatorLogWriter writer = newWriter();
+             RedisReplicatorLogReader reader = new RedisReplicatorLogReader(tempDirectory, "default")) {
+            append(writer, 0, 20);
+            assertTrue(RedisReplicatorLogSegment.listFiles(tempDirectory).size() > 1);
+
+            List<ReplicatedRecord> records = new ArrayList<>();
+            assertEquals(20, readFully(reader, records, 20));
+            for (int i = 0; i < 20; i++) {
+                ReplicatedRecord record = records.get(i);
+                assertEquals("default", record.getDomain());
+                assertEquals(i, record.getTimestamp());
+                assertEquals(i, record.getSequence());
+                if (i % 3 == 0) {
+                    assertNull(record.getKey());
+                    assertNull(record.getSourceId());
+                } else {
+                    assertArrayEquals(("K" + i).getBytes(), record.getKey());
+                    assertEquals("S", record.getSourceId());
+                }
+                assertArrayEquals(("V" + i).getBytes(), record.getValue());
+            }
+            // No more record
+            assertEquals(0, reader.read(records, 10, 10, TimeUnit.MILLISECONDS));
+
+            // The consumed segments are deleted after rolling
+            reader.commit();
+            assertTrue(RedisReplicatorLogSegment.fileOf(tempDirectory, 0).exists());
+            append(writer, 20, 20);
+            assertFalse(RedisReplicatorLogSegment.fileOf(tempDirectory, 0).exists());
+            records.clear();
+            assertEquals(20, readFully(reader, records, 20));
+            assertEquals(20, records.get(0).getSequence());
+        }
+    }
+
+    @Test
+    public void testRecoverAndCommit() throws Exception {
+        try (RedisReplicatorLogWriter writer = newWriter()) {
+            append(writer, 0, 10);
+        }
+        try (RedisReplicatorLogReader reader = new RedisReplicatorLogReader(tempDirectory, "default")) {
+            List<ReplicatedRecord> records = new ArrayList<>();
+            assertEquals(4, reader.read(records, 4, 0, TimeUnit.MILLISECONDS));
+            reader.commit();
+            assertEquals(3, reader.read(records, 3, 0, TimeUnit.MILLISECONDS));
+            // The uncommitted records will be read again
+            reader.rewind();
+            assertEquals(4, reader.getOffset());
+        }
+        try (RedisReplicatorLogWriter writer = newWriter()) {
+            assertEquals(10, writer.getNextOffset());
+            append(writer, 10, 2);
+        }
+        try (RedisReplicatorLogReader reader = new RedisReplicatorLogReader(tempDirectory, "default")) {
+            List<ReplicatedRecord> records = new ArrayList<>();
+            assertEquals(8, readFully(reader, records, 8));
+            for (int i = 0; i < 8; i++) {
+                assertEquals(i + 4, records.get(i).getSequence());
+            }
+        }
+    }
+
+    @Test
+    public void testSingleWriter() throws Exception {
+        try (RedisReplicatorLogWriter writer = newWriter()) {
+            assertThrows(IOException.class, this::newWriter);
+        }
+    }
+
+    private RedisReplicatorLogWriter newWriter() throws IOException {
+        return new RedisReplicatorLogWriter(tempDirectory, SEGMENT_SIZE, FsyncPolicy.NEVER, 0);
+    }
+
+    private void append(RedisReplicatorLogWriter writer, int from, int count) throws IOException {
+        for (int i = from; i < from + count; i++) {
+            boolean stamped = i % 3 != 0;
+            writer.append(new ReplicatedRecord("default", "default", null, stamped ? ("K" + i).getBytes() : null,
+                    ("V" + i).getBytes(), i, stamped ? "S" : null, i));
+        }
+    }
+
+    private int readFully(RedisReplicatorLogReader reader, List<ReplicatedRecord> records, int count) throws Exception {
+        int read = 0;
+        while (read < count) {
+            int n = reader.read(records, count - read, 100, TimeUnit.MILLISECONDS);
+            if (n == 0) {
+                break;
+            }
+            read += n;
+        }
+        return read;
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microsphere.spring.redis.replicator.transport.memory;
+
+import io.github.microsphere.spring.redis.replicator.transport.ReplicatedRecord;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link InMemoryRedisReplicatorChannel} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see InMemoryRedisReplicatorChannel
+ * @since 1.0.0
+ */
+public class InMemoryRedisReplicatorChannelTest {
+
+    @Test
+    public void testPublishAndDrain() throws Exception {
+        InMemoryRedisReplicatorChannel channel = new InMemoryRedisReplicatorChannel("test", 3);
+        assertEquals(4, channel.getCapacity());
+
+        for (int i = 0; i < 4; i++) {
+            assertTrue(channel.publish(newRecord("test", i), 0, TimeUnit.MILLISECONDS));
+        }
+        // The channel is full
+        assertFalse(channel.publish(newRecord("test", 4), 10, TimeUnit.MILLISECONDS));
+        assertEquals(4, channel.getDepth());
+
+        List<ReplicatedRecord> records = new ArrayList<>();
+        assertEquals(3, channel.drainTo(records, 3, 0, TimeUnit.MILLISECONDS));
+        assertTrue(channel.publish(newRecord("test", 4), 0, TimeUnit.MILLISECONDS));
+        assertEquals(2, channel.drainTo(records, 10, 0, TimeUnit.MILLISECONDS));
+        assertEquals(0, channel.drainTo(records, 10, 10, TimeUnit.MILLISECONDS));
+        for (int i = 0; i < 5; i++) {
+            assertEquals(i, records.get(i).getSequence());
+        }
+    }
+
+    @Test
+    public void testConcurrentPublishers() throws Exception {
+        InMemoryRedisReplicatorChannel channel = new InMemoryRedisReplicatorChannel("concurrent", 64);
+        int publishers = 4;
+        int count = 10000;
+        ExecutorService executor = Executors.newFixedThreadPool(publishers);
+        CountDownLatch latch = new CountDownLatch(publishers);
+        for (int p = 0; p < publishers; p++) {
+            String sourceId = "P" + p;
+            executor.execute(() -> {
+                try {
+                    for (int i = 0; i < count; i++) {
+                        assertTrue(channel.publish(newRecord(sourceId, i), 10, TimeUnit.SECONDS));
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+
+        // The records of each publisher are in order
+        Map<String, Long> lastSequences = new HashMap<>();
+        List<ReplicatedRecord> records = new ArrayList<>();
+        int received = 0;
+        while (received < publishers * count) {
+            channel.drainTo(records, 100, 1, TimeUnit.SECONDS);
+            for (ReplicatedRecord record : records) {
+                long lastSequence = lastSequences.getOrDefault(record.getSourceId(), -1L);
+                assertEquals(lastSequence + 1, record.getSequence());
+                lastSequences.put(record.getSourceId(), record.getSequence());
+            }
+            received += records.size();
+            records.clear();
+        }
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        executor.shutdown();
+        assertEquals(0, channel.getDepth());
+    }
+
+    @Test
+    public void testAttach() {
+        InMemoryRedisReplicatorChannel channel = InMemoryRedisReplicatorChannel.get("attach", 16);
+        channel.attach();
+        assertThrows(IllegalStateException.class, channel::attach);
+        channel.detach();
+        channel.attach();
+        channel.detach();
+    }
+
+    private ReplicatedRecord newRecord(String sourceId, long sequence) {
+        return new ReplicatedRecord("default", "default", null, null, new byte[]{1}, sequence, sourceId, sequence);
+    }
+}
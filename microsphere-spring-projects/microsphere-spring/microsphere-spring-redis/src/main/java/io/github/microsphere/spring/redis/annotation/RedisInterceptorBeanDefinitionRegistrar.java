@@ -20,7 +20,9 @@ import io.github.microsphere.spring.redis.beans.RedisConnectionFactoryWrapperBea
 import io.github.microsphere.spring.redis.beans.RedisTemplateWrapperBeanPostProcessor;
 import io.github.microsphere.spring.redis.beans.WrapperProcessors;
 import io.github.microsphere.spring.redis.interceptor.EventPublishingRedisCommandInterceptor;
+import io.github.microsphere.spring.redis.interceptor.MetricsRedisCommandInterceptor;
 import io.github.microsphere.spring.redis.metadata.MethodMetadataRepository;
+import io.github.microsphere.spring.redis.metrics.JmxRedisCommandMetricsExporter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.support.BeanDefinitionBuilder;
@@ -35,6 +37,10 @@ import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
 
+import static io.github.microsphere.spring.redis.util.RedisConstants.DEFAULT_METRICS_ENABLED;
+import static io.github.microsphere.spring.redis.util.RedisConstants.DEFAULT_METRICS_JMX_ENABLED;
+import static io.github.microsphere.spring.redis.util.RedisConstants.METRICS_ENABLED_PROPERTY_NAME;
+import static io.github.microsphere.spring.redis.util.RedisConstants.METRICS_JMX_ENABLED_PROPERTY_NAME;
 import static java.util.Arrays.asList;
 import static org.springframework.beans.factory.support.BeanDefinitionBuilder.genericBeanDefinition;
 import static org.springframework.util.CollectionUtils.isEmpty;
@@ -82,6 +88,10 @@ public class RedisInterceptorBeanDefinitionRegistrar implements ImportBeanDefini
             MethodMetadataRepository.init();
             registerEventPublishingRedisCommendInterceptor(registry);
         }
+
+        if (environment.getProperty(METRICS_ENABLED_PROPERTY_NAME, boolean.class, DEFAULT_METRICS_ENABLED)) {
+            registerMetricsRedisCommandInterceptor(registry);
+        }
     }
 
     private void registerRedisTemplateWrapperBeanPostProcessor(Set<String> wrappedRedisTemplateBeanNames, BeanDefinitionRegistry registry) {
@@ -116,6 +126,13 @@ public class RedisInterceptorBeanDefinitionRegistrar implements ImportBeanDefini
         registerBeanDefinition(registry, EventPublishingRedisCommandInterceptor.BEAN_NAME, EventPublishingRedisCommandInterceptor.class);
     }
 
+    private void registerMetricsRedisCommandInterceptor(BeanDefinitionRegistry registry) {
+        registerBeanDefinition(registry, MetricsRedisCommandInterceptor.BEAN_NAME, MetricsRedisCommandInterceptor.class);
+        if (environment.getProperty(METRICS_JMX_ENABLED_PROPERTY_NAME, boolean.class, DEFAULT_METRICS_JMX_ENABLED)) {
+            registerBeanDefinition(registry, JmxRedisCommandMetricsExporter.BEAN_NAME, JmxRedisCommandMetricsExporter.class);
+        }
+    }
+
     private void registerBeanDefinition(BeanDefinitionRegistry registry, String beanName, Class<?>
             beanClass, Object... constructorArgs) {
         if (!registry.containsBeanDefinition(beanName)) {
@@ -9,21 +9,31 @@ import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
 import org.springframework.context.ApplicationListener;
 import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.Ordered;
 import org.springframework.core.env.ConfigurableEnvironment;
 import org.springframework.core.env.Environment;
 
+import java.util.concurrent.atomic.AtomicLong;
+
 import static io.github.microsphere.spring.redis.util.RedisConstants.COMMAND_EVENT_EXPOSED_PROPERTY_NAME;
 import static io.github.microsphere.spring.redis.util.RedisConstants.DEFAULT_COMMAND_EVENT_EXPOSED;
 import static io.github.microsphere.spring.redis.util.RedisConstants.DEFAULT_ENABLED;
+import static io.github.microsphere.spring.redis.util.RedisConstants.DEFAULT_INTERCEPTOR_PROXY_TYPE;
 import static io.github.microsphere.spring.redis.util.RedisConstants.ENABLED_PROPERTY_NAME;
+import static io.github.microsphere.spring.redis.util.RedisConstants.INTERCEPTOR_PROXY_TYPE_PROPERTY_NAME;
+import static io.github.microsphere.spring.redis.util.RedisConstants.PROPERTY_NAME_PREFIX;
 
 /**
  * Redis Configuration
+ * <p>
+ * The properties are resolved into the immutable {@link RedisConfigurationSnapshot}, which is swapped atomically
+ * when the {@link RedisConfigurationPropertyChangedEvent} carries any property of Microsphere Redis, this listener
+ * is {@link Ordered#HIGHEST_PRECEDENCE ordered first}, so the other listeners of the event see the new snapshot.
  *
  * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
  * @since 1.0.0
  */
-public class RedisConfiguration implements ApplicationListener<RedisConfigurationPropertyChangedEvent>, ApplicationContextAware {
+public class RedisConfiguration implements ApplicationListener<RedisConfigurationPropertyChangedEvent>, ApplicationContextAware, Ordered {
 
     private static final Logger logger = LoggerFactory.getLogger(RedisConfiguration.class);
 
@@ -39,21 +49,47 @@ public class RedisConfiguration implements ApplicationListener<RedisConfiguratio
 
     protected String applicationName;
 
-    protected volatile boolean enabled;
+    private final AtomicLong snapshotVersion = new AtomicLong();
+
+    private volatile RedisConfigurationSnapshot snapshot;
 
     @Override
     public void onApplicationEvent(RedisConfigurationPropertyChangedEvent event) {
-        if (event.hasProperty(ENABLED_PROPERTY_NAME)) {
-            setEnabled();
+        for (String propertyName : event.getPropertyNames()) {
+            if (propertyName.startsWith(PROPERTY_NAME_PREFIX)) {
+                refresh();
+                break;
+            }
         }
     }
 
+    /**
+     * Resolve the properties and swap the {@link RedisConfigurationSnapshot snapshot}
+     *
+     * @return the new snapshot
+     */
+    public RedisConfigurationSnapshot refresh() {
+        RedisConfigurationSnapshot snapshot = RedisConfigurationSnapshot.resolve(snapshotVersion.incrementAndGet(), context);
+        this.snapshot = snapshot;
+        logger.debug("The RedisConfigurationSnapshot is refreshed : {}", snapshot);
+        return snapshot;
+    }
+
+    /**
+     * Get the current snapshot of the Redis configuration properties
+     *
+     * @return non-null after {@link #setApplicationContext(ApplicationContext)}
+     */
+    public RedisConfigurationSnapshot getSnapshot() {
+        return snapshot;
+    }
+
     public void setEnabled() {
-        this.enabled = isEnabled(context);
+        refresh();
     }
 
     public boolean isEnabled() {
-        return enabled;
+        return snapshot.isEnabled();
     }
 
     protected String resolveApplicationName(Environment environment) {
@@ -70,7 +106,11 @@ public class RedisConfiguration implements ApplicationListener<RedisConfiguratio
     }
 
     public boolean isCommandEventExposed() {
-        return isCommandEventExposed(context);
+        return snapshot.isCommandEventExposed();
+    }
+
+    public String getInterceptorProxyType() {
+        return snapshot.getInterceptorProxyType();
     }
 
     @Override
@@ -78,7 +118,12 @@ public class RedisConfiguration implements ApplicationListener<RedisConfiguratio
         this.context = (ConfigurableApplicationContext) context;
         this.environment = (ConfigurableEnvironment) context.getEnvironment();
         this.applicationName = resolveApplicationName(environment);
-        setEnabled();
+        refresh();
+    }
+
+    @Override
+    public int getOrder() {
+        return HIGHEST_PRECEDENCE;
     }
 
     public static boolean isEnabled(ApplicationContext context) {
@@ -89,6 +134,11 @@ public class RedisConfiguration implements ApplicationListener<RedisConfiguratio
         return getBoolean(context, COMMAND_EVENT_EXPOSED_PROPERTY_NAME, DEFAULT_COMMAND_EVENT_EXPOSED, "Command Event", "exposed");
     }
 
+    public static String getInterceptorProxyType(ApplicationContext context) {
+        Environment environment = context.getEnvironment();
+        return environment.getProperty(INTERCEPTOR_PROXY_TYPE_PROPERTY_NAME, DEFAULT_INTERCEPTOR_PROXY_TYPE);
+    }
+
     public static boolean getBoolean(ApplicationContext context, String propertyName, boolean defaultValue, String feature, String statusIfTrue) {
         Environment environment = context.getEnvironment();
         Boolean propertyValue = environment.getProperty(propertyName, Boolean.class);
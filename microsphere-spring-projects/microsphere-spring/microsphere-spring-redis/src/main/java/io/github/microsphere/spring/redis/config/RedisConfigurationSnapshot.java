@@ -0,0 +1,147 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microsphere.spring.redis.config;
+
+import io.github.microsphere.spring.redis.event.RedisConfigurationPropertyChangedEvent;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.env.Environment;
+
+import java.util.StringJoiner;
+
+import static io.github.microsphere.spring.redis.util.RedisConstants.COMMAND_EVENT_ASYNC_BATCH_SIZE_PROPERTY_NAME;
+import static io.github.microsphere.spring.redis.util.RedisConstants.COMMAND_EVENT_ASYNC_DISPATCHERS_PROPERTY_NAME;
+import static io.github.microsphere.spring.redis.util.RedisConstants.COMMAND_EVENT_ASYNC_ENABLED_PROPERTY_NAME;
+import static io.github.microsphere.spring.redis.util.RedisConstants.COMMAND_EVENT_ASYNC_QUEUE_CAPACITY_PROPERTY_NAME;
+import static io.github.microsphere.spring.redis.util.RedisConstants.DEFAULT_COMMAND_EVENT_ASYNC_BATCH_SIZE;
+import static io.github.microsphere.spring.redis.util.RedisConstants.DEFAULT_COMMAND_EVENT_ASYNC_DISPATCHERS;
+import static io.github.microsphere.spring.redis.util.RedisConstants.DEFAULT_COMMAND_EVENT_ASYNC_ENABLED;
+import static io.github.microsphere.spring.redis.util.RedisConstants.DEFAULT_COMMAND_EVENT_ASYNC_QUEUE_CAPACITY;
+import static io.github.microsphere.spring.redis.util.RedisConstants.DEFAULT_INTERCEPTOR_ENABLED;
+import static io.github.microsphere.spring.redis.util.RedisConstants.INTERCEPTOR_ENABLED_PROPERTY_NAME;
+
+/**
+ * The immutable snapshot of the Redis configuration properties, which are resolved from the {@link Environment}
+ * once, the hot paths read the properties from the current snapshot of {@link RedisConfiguration} rather than
+ * walking the property sources on every Redis command.
+ * <p>
+ * A new snapshot is resolved and swapped by {@link RedisConfiguration} when the
+ * {@link RedisConfigurationPropertyChangedEvent} is received.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see RedisConfiguration#getSnapshot()
+ * @since 1.0.0
+ */
+public final class RedisConfigurationSnapshot {
+
+    private final long version;
+
+    private final boolean enabled;
+
+    private final boolean commandEventExposed;
+
+    private final boolean interceptorEnabled;
+
+    private final String interceptorProxyType;
+
+    private final boolean commandEventAsyncEnabled;
+
+    private final int commandEventAsyncDispatchers;
+
+    private final int commandEventAsyncQueueCapacity;
+
+    private final int commandEventAsyncBatchSize;
+
+    private RedisConfigurationSnapshot(long version, ApplicationContext context) {
+        Environment environment = context.getEnvironment();
+        this.version = version;
+        this.enabled = RedisConfiguration.isEnabled(context);
+        this.commandEventExposed = RedisConfiguration.isCommandEventExposed(context);
+        this.interceptorEnabled = environment.getProperty(INTERCEPTOR_ENABLED_PROPERTY_NAME, boolean.class, DEFAULT_INTERCEPTOR_ENABLED);
+        this.interceptorProxyType = RedisConfiguration.getInterceptorProxyType(context);
+        this.commandEventAsyncEnabled = environment.getProperty(COMMAND_EVENT_ASYNC_ENABLED_PROPERTY_NAME, boolean.class, DEFAULT_COMMAND_EVENT_ASYNC_ENABLED);
+        this.commandEventAsyncDispatchers = environment.getProperty(COMMAND_EVENT_ASYNC_DISPATCHERS_PROPERTY_NAME, int.class, DEFAULT_COMMAND_EVENT_ASYNC_DISPATCHERS);
+        this.commandEventAsyncQueueCapacity = environment.getProperty(COMMAND_EVENT_ASYNC_QUEUE_CAPACITY_PROPERTY_NAME, int.class, DEFAULT_COMMAND_EVENT_ASYNC_QUEUE_CAPACITY);
+        this.commandEventAsyncBatchSize = environment.getProperty(COMMAND_EVENT_ASYNC_BATCH_SIZE_PROPERTY_NAME, int.class, DEFAULT_COMMAND_EVENT_ASYNC_BATCH_SIZE);
+    }
+
+    /**
+     * The version of this snapshot, it's increased by every resolution
+     *
+     * @return the positive version
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean isCommandEventExposed() {
+        return commandEventExposed;
+    }
+
+    public boolean isInterceptorEnabled() {
+        return interceptorEnabled;
+    }
+
+    public String getInterceptorProxyType() {
+        return interceptorProxyType;
+    }
+
+    public boolean isCommandEventAsyncEnabled() {
+        return commandEventAsyncEnabled;
+    }
+
+    public int getCommandEventAsyncDispatchers() {
+        return commandEventAsyncDispatchers;
+    }
+
+    public int getCommandEventAsyncQueueCapacity() {
+        return commandEventAsyncQueueCapacity;
+    }
+
+    public int getCommandEventAsyncBatchSize() {
+        return commandEventAsyncBatchSize;
+    }
+
+    @Override
+    public String toString() {
+        return new StringJoiner(", ", RedisConfigurationSnapshot.class.getSimpleName() + "[", "]")
+                .add("version=" + version)
+                .add("enabled=" + enabled)
+                .add("commandEventExposed=" + commandEventExposed)
+                .add("interceptorEnabled=" + interceptorEnabled)
+                .add("interceptorProxyType='" + interceptorProxyType + "'")
+                .add("commandEventAsyncEnabled=" + commandEventAsyncEnabled)
+                .add("commandEventAsyncDispatchers=" + commandEventAsyncDispatchers)
+                .add("commandEventAsyncQueueCapacity=" + commandEventAsyncQueueCapacity)
+                .add("commandEventAsyncBatchSize=" + commandEventAsyncBatchSize)
+                .toString();
+    }
+
+    /**
+     * Resolve the snapshot from the {@link Environment} of {@link ApplicationContext}
+     *
+     * @param version the version of snapshot
+     * @param context {@link ApplicationContext}
+     * @return non-null
+     */
+    static RedisConfigurationSnapshot resolve(long version, ApplicationContext context) {
+        return new RedisConfigurationSnapshot(version, context);
+    }
+}
@@ -1,6 +1,5 @@
 package io.github.microsphere.spring.redis.connection.dynamic;
 
-import io.github.microsphere.commons.text.FormatUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.BeansException;
@@ -14,18 +13,37 @@ import org.springframework.data.redis.connection.RedisConnection;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.RedisSentinelConnection;
 import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 
-import java.util.Collections;
-import java.util.HashMap;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
 
+import static io.github.microsphere.spring.redis.connection.dynamic.RedisRoutingContext.EMPTY;
+import static java.util.Collections.unmodifiableMap;
 import static org.springframework.util.StringUtils.hasText;
 
 /**
  * Dynamic {@link RedisConnectionFactory} Class
+ * <p>
+ * The target {@link RedisConnectionFactory} beans are resolved into the {@link RedisConnectionFactoryTarget handles}
+ * once, and the target of the current thread is determined by :
+ * <ol>
+ *     <li>the handle or the bean name of the current {@link RoutingScope}</li>
+ *     <li>the {@link RedisConnectionFactoryRoutingStrategy} if present</li>
+ *     <li>the default {@link RedisConnectionFactory}</li>
+ * </ol>
+ * The routing scopes are opened by {@link #route(RedisConnectionFactoryTarget)}, {@link #route(String)},
+ * {@link #readOnly()} or {@link #routeByKey(Object)} in the try-with-resources statement, and they are propagated to
+ * the executor threads by {@link #wrap(Runnable)} or {@link #wrap(Callable)}.
  *
  * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see RoutingScope
+ * @see RedisConnectionFactoryTarget
+ * @see RedisConnectionFactoryRoutingStrategy
  * @since 1.0.0
  */
 public class DynamicRedisConnectionFactory implements RedisConnectionFactory, SmartInitializingSingleton,
@@ -38,26 +56,50 @@ public class DynamicRedisConnectionFactory implements RedisConnectionFactory, Sm
 
     private static final Logger logger = LoggerFactory.getLogger(DynamicRedisConnectionFactory.class);
 
-    private static final ThreadLocal<String> beanNameHolder = new ThreadLocal<>();
+    private static final ThreadLocal<RedisRoutingContext> routingContextHolder = new ThreadLocal<>();
 
     private String beanName;
 
     private ApplicationContext context;
 
+    private volatile boolean initialized;
+
+    private Map<String, RedisConnectionFactoryTarget> targets;
+
     private Map<String, RedisConnectionFactory> redisConnectionFactories;
 
     private String defaultRedisConnectionFactoryBeanName = DEFAULT_REDIS_CONNECTION_FACTORY_BEAN_NAME;
 
-    private RedisConnectionFactory defaultRedisConnectionFactory;
+    private RedisConnectionFactoryTarget defaultTarget;
+
+    private volatile RedisConnectionFactoryRoutingStrategy routingStrategy;
 
     @Override
     public RedisConnection getConnection() {
-        return determineTargetRedisConnectionFactory().getConnection();
+        RedisConnectionFactoryTarget target = determineTarget();
+        long startTime = System.nanoTime();
+        boolean failed = true;
+        try {
+            RedisConnection connection = target.getRedisConnectionFactory().getConnection();
+            failed = false;
+            return connection;
+        } finally {
+            target.recordConnection(System.nanoTime() - startTime, failed);
+        }
     }
 
     @Override
     public RedisClusterConnection getClusterConnection() {
-        return determineTargetRedisConnectionFactory().getClusterConnection();
+        RedisConnectionFactoryTarget target = determineTarget();
+        long startTime = System.nanoTime();
+        boolean failed = true;
+        try {
+            RedisClusterConnection connection = target.getRedisConnectionFactory().getClusterConnection();
+            failed = false;
+            return connection;
+        } finally {
+            target.recordConnection(System.nanoTime() - startTime, failed);
+        }
     }
 
     @Override
@@ -98,58 +140,288 @@ public class DynamicRedisConnectionFactory implements RedisConnectionFactory, Sm
         return defaultRedisConnectionFactoryBeanName;
     }
 
-    protected void initialize() {
-        this.redisConnectionFactories = resolveRedisConnectionFactories();
-        this.defaultRedisConnectionFactory = resolveDefaultRedisConnectionFactory();
+    /**
+     * Set the {@link RedisConnectionFactoryRoutingStrategy} that routes the connections out of the explicit
+     * {@link RoutingScope routing scopes}, the strategy that is set after the initialization is initialized before
+     * it's used
+     *
+     * @param routingStrategy the nullable {@link RedisConnectionFactoryRoutingStrategy}
+     */
+    public synchronized void setRoutingStrategy(@Nullable RedisConnectionFactoryRoutingStrategy routingStrategy) {
+        if (initialized && routingStrategy != null) {
+            routingStrategy.initialize(this);
+        }
+        this.routingStrategy = routingStrategy;
+    }
+
+    @Nullable
+    public RedisConnectionFactoryRoutingStrategy getRoutingStrategy() {
+        return routingStrategy;
+    }
+
+    protected synchronized void initialize() {
+        if (initialized) {
+            return;
+        }
+        this.targets = resolveTargets();
+        this.redisConnectionFactories = resolveRedisConnectionFactories(targets);
+        this.defaultTarget = resolveDefaultTarget();
+        RedisConnectionFactoryRoutingStrategy routingStrategy = this.routingStrategy;
+        if (routingStrategy != null) {
+            routingStrategy.initialize(this);
+        }
+        this.initialized = true;
+        logger.debug("DynamicRedisConnectionFactory[name : '{}'] initialized, targets : {} , default : '{}' , routing strategy : {}",
+                beanName, targets.keySet(), defaultRedisConnectionFactoryBeanName, routingStrategy);
+    }
+
+    /**
+     * Determine the target of the current thread, it reads the pre-resolved handle from the current
+     * {@link RedisRoutingContext} without any lookup if the current thread is routed by
+     * {@link #route(RedisConnectionFactoryTarget)}
+     *
+     * @return non-null
+     */
+    @NonNull
+    protected RedisConnectionFactoryTarget determineTarget() {
+        if (!initialized) {
+            initialize();
+        }
+        RedisRoutingContext context = getRoutingContext();
+        RedisConnectionFactoryTarget target = context.getTarget();
+        if (target != null && target.getOwner() == this) {
+            return target;
+        }
+        String targetBeanName = context.getBeanName();
+        if (targetBeanName != null) {
+            return getTarget(targetBeanName);
+        }
+        RedisConnectionFactoryRoutingStrategy routingStrategy = this.routingStrategy;
+        if (routingStrategy != null) {
+            target = routingStrategy.route(context);
+            if (target != null) {
+                return target;
+            }
+        }
+        return defaultTarget;
     }
 
     @NonNull
     protected RedisConnectionFactory determineTargetRedisConnectionFactory() {
-        String targetBeanName = getTargetBeanName();
-        if (targetBeanName == null) {
-            RedisConnectionFactory defaultRedisConnectionFactory = getDefaultRedisConnectionFactory();
-            logger.debug("Current target Bean Name is not set or is executed in a multi-threaded environment, using the default RedisConnectionFactory Bean[name: '{}']", defaultRedisConnectionFactoryBeanName);
-            return defaultRedisConnectionFactory;
+        return determineTarget().getRedisConnectionFactory();
+    }
+
+    /**
+     * Get the pre-resolved handle of the target {@link RedisConnectionFactory}
+     *
+     * @param beanName the bean name of the target {@link RedisConnectionFactory}
+     * @return non-null
+     * @throws IllegalArgumentException if the target is not found
+     */
+    @NonNull
+    public RedisConnectionFactoryTarget getTarget(String beanName) {
+        RedisConnectionFactoryTarget target = getTargetsMap().get(beanName);
+        if (target == null) {
+            throw new IllegalArgumentException("The RedisConnectionFactory Bean[name : '" + beanName + "'] does not exist");
+        }
+        return target;
+    }
+
+    /**
+     * Get the pre-resolved handles of the target {@link RedisConnectionFactory RedisConnectionFactories}
+     *
+     * @param beanNames the bean names of the target {@link RedisConnectionFactory RedisConnectionFactories}
+     * @return the handles in the order of bean names
+     * @throws IllegalArgumentException if any target is not found
+     */
+    public RedisConnectionFactoryTarget[] getTargets(List<String> beanNames) {
+        int size = beanNames.size();
+        RedisConnectionFactoryTarget[] targets = new RedisConnectionFactoryTarget[size];
+        for (int i = 0; i < size; i++) {
+            targets[i] = getTarget(beanNames.get(i));
         }
-        logger.debug("Start toggle destination RedisConnectionFactory Bean[name: '{}']", targetBeanName);
-        RedisConnectionFactory targetRedisConnectionFactory = getRedisConnectionFactory(targetBeanName);
-        logger.debug("RedisConnectionFactory Bean[name: '{}']", targetBeanName);
-        return targetRedisConnectionFactory;
+        return targets;
+    }
+
+    /**
+     * @return the handles of all target {@link RedisConnectionFactory RedisConnectionFactories}, which expose the
+     * statistics of the connections
+     */
+    public Collection<RedisConnectionFactoryTarget> getTargets() {
+        return getTargetsMap().values();
     }
 
     protected RedisConnectionFactory getRedisConnectionFactory(String beanName) {
-        Map<String, RedisConnectionFactory> redisConnectionFactories = getRedisConnectionFactories();
-        RedisConnectionFactory redisConnectionFactory = redisConnectionFactories.get(beanName);
-        Assert.notNull(redisConnectionFactory, () -> FormatUtils.format("RedisConnectionFactory Bean[name : '{}'] 不存在", beanName));
-        return redisConnectionFactory;
+        return getTarget(beanName).getRedisConnectionFactory();
     }
 
     protected RedisConnectionFactory getDefaultRedisConnectionFactory() {
-        if (defaultRedisConnectionFactory == null) {
-            defaultRedisConnectionFactory = resolveDefaultRedisConnectionFactory();
-        }
-        return defaultRedisConnectionFactory;
+        return getDefaultTarget().getRedisConnectionFactory();
     }
 
     protected Map<String, RedisConnectionFactory> getRedisConnectionFactories() {
-        if (redisConnectionFactories == null) {
-            redisConnectionFactories = resolveRedisConnectionFactories();
+        if (!initialized) {
+            initialize();
         }
         return redisConnectionFactories;
     }
 
-    private RedisConnectionFactory resolveDefaultRedisConnectionFactory() {
+    public RedisConnectionFactoryTarget getDefaultTarget() {
+        if (!initialized) {
+            initialize();
+        }
+        return defaultTarget;
+    }
+
+    private Map<String, RedisConnectionFactoryTarget> getTargetsMap() {
+        Map<String, RedisConnectionFactoryTarget> targets = this.targets;
+        if (targets == null) {
+            initialize();
+            targets = this.targets;
+        }
+        return targets;
+    }
+
+    private RedisConnectionFactoryTarget resolveDefaultTarget() {
         String beanName = defaultRedisConnectionFactoryBeanName;
         Assert.isTrue(hasText(beanName), "The default RedisConnectionFactory Bean Name cannot be left blank");
-        return getRedisConnectionFactory(beanName);
+        return getTarget(beanName);
     }
 
-    private Map<String, RedisConnectionFactory> resolveRedisConnectionFactories() {
-        Map<String, RedisConnectionFactory> redisConnectionFactories = new HashMap<>(context.getBeansOfType(RedisConnectionFactory.class));
-        // Remove the current Bean
-        redisConnectionFactories.remove(beanName);
-        Assert.notEmpty(redisConnectionFactories, "RedisConnectionFactory Beans do not exist");
-        return Collections.unmodifiableMap(redisConnectionFactories);
+    private Map<String, RedisConnectionFactoryTarget> resolveTargets() {
+        Map<String, RedisConnectionFactory> redisConnectionFactories = context.getBeansOfType(RedisConnectionFactory.class);
+        Map<String, RedisConnectionFactoryTarget> targets = new LinkedHashMap<>(redisConnectionFactories.size());
+        for (Map.Entry<String, RedisConnectionFactory> entry : redisConnectionFactories.entrySet()) {
+            String targetBeanName = entry.getKey();
+            // Remove the current Bean
+            if (!targetBeanName.equals(beanName)) {
+                targets.put(targetBeanName, new RedisConnectionFactoryTarget(this, targetBeanName, targets.size(), entry.getValue()));
+            }
+        }
+        Assert.notEmpty(targets, "RedisConnectionFactory Beans do not exist");
+        return unmodifiableMap(targets);
+    }
+
+    private Map<String, RedisConnectionFactory> resolveRedisConnectionFactories(Map<String, RedisConnectionFactoryTarget> targets) {
+        Map<String, RedisConnectionFactory> redisConnectionFactories = new LinkedHashMap<>(targets.size());
+        for (RedisConnectionFactoryTarget target : targets.values()) {
+            redisConnectionFactories.put(target.getBeanName(), target.getRedisConnectionFactory());
+        }
+        return unmodifiableMap(redisConnectionFactories);
+    }
+
+    /**
+     * Open the routing scope to the pre-resolved target
+     *
+     * @param target the handle from {@link #getTarget(String)}
+     * @return the {@link RoutingScope} that must be closed
+     */
+    public static RoutingScope route(RedisConnectionFactoryTarget target) {
+        Assert.notNull(target, "The target must not be null");
+        return openScope(getRoutingContext().withTarget(target));
+    }
+
+    /**
+     * Open the routing scope to the target by bean name, {@link #route(RedisConnectionFactoryTarget)} is preferred
+     * because the bean name is looked up for every connection
+     *
+     * @param redisConnectionFactoryBeanName the bean name of the target {@link RedisConnectionFactory}
+     * @return the {@link RoutingScope} that must be closed
+     */
+    public static RoutingScope route(String redisConnectionFactoryBeanName) {
+        Assert.hasText(redisConnectionFactoryBeanName, "The bean name of target must not be blank");
+        return openScope(getRoutingContext().withBeanName(redisConnectionFactoryBeanName));
+    }
+
+    /**
+     * Open the read-only routing scope for the {@link RedisConnectionFactoryRoutingStrategy}
+     *
+     * @return the {@link RoutingScope} that must be closed
+     * @see ReadWriteSplittingRoutingStrategy
+     */
+    public static RoutingScope readOnly() {
+        return openScope(getRoutingContext().withReadOnly(true));
+    }
+
+    /**
+     * Open the routing scope with the routing key for the {@link RedisConnectionFactoryRoutingStrategy}
+     *
+     * @param routingKey the routing key, e.g, the Redis key or tenant id
+     * @return the {@link RoutingScope} that must be closed
+     * @see KeyHashRoutingStrategy
+     */
+    public static RoutingScope routeByKey(Object routingKey) {
+        Assert.notNull(routingKey, "The routing key must not be null");
+        return openScope(getRoutingContext().withRoutingKey(routingKey));
+    }
+
+    /**
+     * Get the routing context of the current thread
+     *
+     * @return {@link RedisRoutingContext#EMPTY} if absent
+     */
+    @NonNull
+    public static RedisRoutingContext getRoutingContext() {
+        RedisRoutingContext context = routingContextHolder.get();
+        return context == null ? EMPTY : context;
+    }
+
+    /**
+     * Wrap the task to run with the routing context of the current thread, the routing context of the executing thread
+     * is restored after the task, thus the context never leaks across the pooled threads.
+     *
+     * @param task the task
+     * @return the wrapped task
+     */
+    public static Runnable wrap(Runnable task) {
+        RedisRoutingContext captured = routingContextHolder.get();
+        return () -> {
+            RedisRoutingContext previous = bindRoutingContext(captured);
+            try {
+                task.run();
+            } finally {
+                restoreRoutingContext(previous);
+            }
+        };
+    }
+
+    /**
+     * Wrap the task to run with the routing context of the current thread
+     *
+     * @param task the task
+     * @param <V>  the type of result
+     * @return the wrapped task
+     * @see #wrap(Runnable)
+     */
+    public static <V> Callable<V> wrap(Callable<V> task) {
+        RedisRoutingContext captured = routingContextHolder.get();
+        return () -> {
+            RedisRoutingContext previous = bindRoutingContext(captured);
+            try {
+                return task.call();
+            } finally {
+                restoreRoutingContext(previous);
+            }
+        };
+    }
+
+    private static RoutingScope openScope(RedisRoutingContext context) {
+        routingContextHolder.set(context);
+        return new RoutingScope(context);
+    }
+
+    private static RedisRoutingContext bindRoutingContext(RedisRoutingContext context) {
+        RedisRoutingContext previous = routingContextHolder.get();
+        restoreRoutingContext(context);
+        return previous;
+    }
+
+    static void restoreRoutingContext(RedisRoutingContext context) {
+        if (context == null || context == EMPTY) {
+            routingContextHolder.remove();
+        } else {
+            routingContextHolder.set(context);
+        }
     }
 
     /**
@@ -163,21 +435,20 @@ public class DynamicRedisConnectionFactory implements RedisConnectionFactory, Sm
      *     <li>When a < code > redisConnectionFactoryBeanName < code > points to Bean in the current application context does not exist,
      *     will throw an exception</li>
      * </ul>
+     * The scoped {@link #route(String)} or {@link #route(RedisConnectionFactoryTarget)} is preferred, which is cleared
+     * automatically.
      *
      * @param redisConnectionFactoryBeanName Target {@link RedisConnectionFactory} Bean name
      */
     public static void switchTarget(String redisConnectionFactoryBeanName) {
-        beanNameHolder.set(redisConnectionFactoryBeanName);
-        logger.debug("Switch target RedisConnectionFactory Bean Name: '{}'", redisConnectionFactoryBeanName);
+        routingContextHolder.set(new RedisRoutingContext(null, null, redisConnectionFactoryBeanName, false, null));
     }
 
     public static void clearTarget() {
-        String targetBeanName = getTargetBeanName();
-        beanNameHolder.remove();
-        logger.debug("Clear target RedisConnectionFactory Bean Name: '{}'", targetBeanName);
+        routingContextHolder.remove();
     }
 
     protected static String getTargetBeanName() {
-        return beanNameHolder.get();
+        return getRoutingContext().getBeanName();
     }
 }
@@ -0,0 +1,67 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microsphere.spring.redis.connection.dynamic;
+
+import org.springframework.util.Assert;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * {@link RedisConnectionFactoryRoutingStrategy} routes the connections by the hash of the
+ * {@link RedisRoutingContext#getRoutingKey() routing key}, the same key is always routed to the same target, and the
+ * scopes without the routing key are routed to the default target.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see DynamicRedisConnectionFactory#routeByKey(Object)
+ * @since 1.0.0
+ */
+public class KeyHashRoutingStrategy implements RedisConnectionFactoryRoutingStrategy {
+
+    private final List<String> beanNames;
+
+    private RedisConnectionFactoryTarget[] targets;
+
+    /**
+     * @param beanNames the bean names of targets, the order must be stable
+     */
+    public KeyHashRoutingStrategy(List<String> beanNames) {
+        Assert.notEmpty(beanNames, "The bean names of the targets must not be empty");
+        this.beanNames = beanNames;
+    }
+
+    @Override
+    public void initialize(DynamicRedisConnectionFactory dynamicRedisConnectionFactory) {
+        this.targets = dynamicRedisConnectionFactory.getTargets(beanNames);
+    }
+
+    @Override
+    public RedisConnectionFactoryTarget route(RedisRoutingContext context) {
+        Object routingKey = context.getRoutingKey();
+        if (routingKey == null) {
+            return null;
+        }
+        RedisConnectionFactoryTarget[] targets = this.targets;
+        return targets[Math.floorMod(hash(routingKey), targets.length)];
+    }
+
+    static int hash(Object routingKey) {
+        int hash = routingKey instanceof byte[] ? Arrays.hashCode((byte[]) routingKey) : routingKey.hashCode();
+        // Spread the higher bits
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microsphere.spring.redis.connection.dynamic;
+
+import org.springframework.util.Assert;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * {@link RedisConnectionFactoryRoutingStrategy} routes the {@link DynamicRedisConnectionFactory#readOnly() read-only}
+ * scopes to one of the read targets randomly, and the others to the write target.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see DynamicRedisConnectionFactory#readOnly()
+ * @since 1.0.0
+ */
+public class ReadWriteSplittingRoutingStrategy implements RedisConnectionFactoryRoutingStrategy {
+
+    private final String writeBeanName;
+
+    private final List<String> readBeanNames;
+
+    private RedisConnectionFactoryTarget writeTarget;
+
+    private RedisConnectionFactoryTarget[] readTargets;
+
+    /**
+     * @param writeBeanName the bean name of the write(master) target
+     * @param readBeanNames the bean names of the read(replica) targets
+     */
+    public ReadWriteSplittingRoutingStrategy(String writeBeanName, List<String> readBeanNames) {
+        Assert.hasText(writeBeanName, "The bean name of the write target must not be blank");
+        Assert.notEmpty(readBeanNames, "The bean names of the read targets must not be empty");
+        this.writeBeanName = writeBeanName;
+        this.readBeanNames = readBeanNames;
+    }
+
+    @Override
+    public void initialize(DynamicRedisConnectionFactory dynamicRedisConnectionFactory) {
+        this.writeTarget = dynamicRedisConnectionFactory.getTarget(writeBeanName);
+        this.readTargets = dynamicRedisConnectionFactory.getTargets(readBeanNames);
+    }
+
+    @Override
+    public RedisConnectionFactoryTarget route(RedisRoutingContext context) {
+        if (!context.isReadOnly()) {
+            return writeTarget;
+        }
+        RedisConnectionFactoryTarget[] readTargets = this.readTargets;
+        int length = readTargets.length;
+        return length == 1 ? readTargets[0] : readTargets[ThreadLocalRandom.current().nextInt(length)];
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microsphere.spring.redis.connection.dynamic;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * The strategy to route the target {@link org.springframework.data.redis.connection.RedisConnectionFactory} of
+ * {@link DynamicRedisConnectionFactory} if the current {@link RedisRoutingContext} does not specify the target
+ * explicitly.
+ * <p>
+ * The implementation should resolve the {@link RedisConnectionFactoryTarget handles} in
+ * {@link #initialize(DynamicRedisConnectionFactory)}, and {@link #route(RedisRoutingContext)} is invoked for every
+ * connection, it must be thread-safe and should not allocate.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see ReadWriteSplittingRoutingStrategy
+ * @see WeightedRoutingStrategy
+ * @see KeyHashRoutingStrategy
+ * @since 1.0.0
+ */
+public interface RedisConnectionFactoryRoutingStrategy {
+
+    /**
+     * Initialize the strategy once the targets of {@link DynamicRedisConnectionFactory} are resolved
+     *
+     * @param dynamicRedisConnectionFactory {@link DynamicRedisConnectionFactory}
+     */
+    void initialize(DynamicRedisConnectionFactory dynamicRedisConnectionFactory);
+
+    /**
+     * Route the target
+     *
+     * @param context the non-null {@link RedisRoutingContext}
+     * @return <code>null</code> if the default target should be used
+     */
+    @Nullable
+    RedisConnectionFactoryTarget route(RedisRoutingContext context);
+}
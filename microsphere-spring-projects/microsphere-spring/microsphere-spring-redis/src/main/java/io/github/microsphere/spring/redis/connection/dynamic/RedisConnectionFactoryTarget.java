@@ -0,0 +1,135 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microsphere.spring.redis.connection.dynamic;
+
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The pre-resolved handle of the target {@link RedisConnectionFactory} of {@link DynamicRedisConnectionFactory}, which
+ * is routed by {@link DynamicRedisConnectionFactory#route(RedisConnectionFactoryTarget)} without any lookup by the
+ * bean name, and the statistics of the connections acquired from the target are recorded.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see DynamicRedisConnectionFactory#getTarget(String)
+ * @since 1.0.0
+ */
+public final class RedisConnectionFactoryTarget {
+
+    private final DynamicRedisConnectionFactory owner;
+
+    private final String beanName;
+
+    private final int index;
+
+    private final RedisConnectionFactory redisConnectionFactory;
+
+    private final LongAdder connections = new LongAdder();
+
+    private final LongAdder failures = new LongAdder();
+
+    private final LongAdder totalLatency = new LongAdder();
+
+    private final AtomicLong maxLatency = new AtomicLong();
+
+    RedisConnectionFactoryTarget(DynamicRedisConnectionFactory owner, String beanName, int index,
+                                 RedisConnectionFactory redisConnectionFactory) {
+        this.owner = owner;
+        this.beanName = beanName;
+        this.index = index;
+        this.redisConnectionFactory = redisConnectionFactory;
+    }
+
+    void recordConnection(long latencyNanos, boolean failed) {
+        if (failed) {
+            failures.increment();
+        } else {
+            connections.increment();
+        }
+        totalLatency.add(latencyNanos);
+        if (latencyNanos > maxLatency.get()) {
+            maxLatency.accumulateAndGet(latencyNanos, Math::max);
+        }
+    }
+
+    DynamicRedisConnectionFactory getOwner() {
+        return owner;
+    }
+
+    /**
+     * @return the bean name of the target {@link RedisConnectionFactory}
+     */
+    public String getBeanName() {
+        return beanName;
+    }
+
+    /**
+     * @return the stable index of the target in the {@link DynamicRedisConnectionFactory#getTargets() targets}
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    public RedisConnectionFactory getRedisConnectionFactory() {
+        return redisConnectionFactory;
+    }
+
+    /**
+     * @return the count of the connections that were acquired successfully
+     */
+    public long getConnectionCount() {
+        return connections.sum();
+    }
+
+    /**
+     * @return the count of the failed connection acquisitions
+     */
+    public long getFailureCount() {
+        return failures.sum();
+    }
+
+    /**
+     * @param unit {@link TimeUnit}
+     * @return the average latency of the connection acquisitions
+     */
+    public long getAverageLatency(TimeUnit unit) {
+        long count = connections.sum() + failures.sum();
+        return count == 0 ? 0L : unit.convert(totalLatency.sum() / count, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @param unit {@link TimeUnit}
+     * @return the max latency of the connection acquisitions
+     */
+    public long getMaxLatency(TimeUnit unit) {
+        return unit.convert(maxLatency.get(), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public String toString() {
+        return new StringJoiner(", ", RedisConnectionFactoryTarget.class.getSimpleName() + "[", "]")
+                .add("beanName='" + beanName + "'")
+                .add("index=" + index)
+                .add("connections=" + getConnectionCount())
+                .add("failures=" + getFailureCount())
+                .toString();
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microsphere.spring.redis.connection.dynamic;
+
+import org.springframework.lang.Nullable;
+
+import java.util.StringJoiner;
+
+/**
+ * The immutable routing context of {@link DynamicRedisConnectionFactory} that is bound to the current thread by
+ * {@link RoutingScope}, the nested scopes are linked by {@link #getPrevious()}.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see RoutingScope
+ * @see RedisConnectionFactoryRoutingStrategy
+ * @since 1.0.0
+ */
+public final class RedisRoutingContext {
+
+    /**
+     * The context without any routing information
+     */
+    public static final RedisRoutingContext EMPTY = new RedisRoutingContext(null, null, null, false, null);
+
+    private final RedisRoutingContext previous;
+
+    private final RedisConnectionFactoryTarget target;
+
+    private final String beanName;
+
+    private final boolean readOnly;
+
+    private final Object routingKey;
+
+    RedisRoutingContext(RedisRoutingContext previous, RedisConnectionFactoryTarget target, String beanName,
+                        boolean readOnly, Object routingKey) {
+        this.previous = previous;
+        this.target = target;
+        this.beanName = beanName;
+        this.readOnly = readOnly;
+        this.routingKey = routingKey;
+    }
+
+    RedisRoutingContext withTarget(RedisConnectionFactoryTarget target) {
+        return new RedisRoutingContext(this, target, target.getBeanName(), readOnly, routingKey);
+    }
+
+    RedisRoutingContext withBeanName(String beanName) {
+        return new RedisRoutingContext(this, null, beanName, readOnly, routingKey);
+    }
+
+    RedisRoutingContext withReadOnly(boolean readOnly) {
+        return new RedisRoutingContext(this, target, beanName, readOnly, routingKey);
+    }
+
+    RedisRoutingContext withRoutingKey(Object routingKey) {
+        return new RedisRoutingContext(this, target, beanName, readOnly, routingKey);
+    }
+
+    /**
+     * @return the context of the outer scope, <code>null</code> if this is the outermost context
+     */
+    @Nullable
+    public RedisRoutingContext getPrevious() {
+        return previous;
+    }
+
+    /**
+     * @return the explicit target handle, <code>null</code> if not routed by handle
+     */
+    @Nullable
+    public RedisConnectionFactoryTarget getTarget() {
+        return target;
+    }
+
+    /**
+     * @return the explicit target bean name, <code>null</code> if not routed explicitly
+     */
+    @Nullable
+    public String getBeanName() {
+        return beanName;
+    }
+
+    /**
+     * @return whether the commands in the scope are read-only or not
+     */
+    public boolean isReadOnly() {
+        return readOnly;
+    }
+
+    /**
+     * @return the routing key for the {@link RedisConnectionFactoryRoutingStrategy}, e.g, the Redis key or tenant id
+     */
+    @Nullable
+    public Object getRoutingKey() {
+        return routingKey;
+    }
+
+    @Override
+    public String toString() {
+        return new StringJoiner(", ", RedisRoutingContext.class.getSimpleName() + "[", "]")
+                .add("beanName='" + beanName + "'")
+                .add("readOnly=" + readOnly)
+                .add("routingKey=" + routingKey)
+                .toString();
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microsphere.spring.redis.connection.dynamic;
+
+/**
+ * The token of the routing scope of {@link DynamicRedisConnectionFactory}, which restores the routing context of the
+ * outer scope when it's closed, thus it should be used in the try-with-resources statement :
+ * <pre>{@code
+ * try (RoutingScope scope = DynamicRedisConnectionFactory.route(target)) {
+ *     redisTemplate.opsForValue().get(key);
+ * }
+ * }</pre>
+ * The token must be closed in the thread that opened it.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see DynamicRedisConnectionFactory#route(RedisConnectionFactoryTarget)
+ * @see DynamicRedisConnectionFactory#route(String)
+ * @see DynamicRedisConnectionFactory#readOnly()
+ * @see DynamicRedisConnectionFactory#routeByKey(Object)
+ * @since 1.0.0
+ */
+public final class RoutingScope implements AutoCloseable {
+
+    private final RedisRoutingContext context;
+
+    private boolean closed;
+
+    RoutingScope(RedisRoutingContext context) {
+        this.context = context;
+    }
+
+    public RedisRoutingContext getContext() {
+        return context;
+    }
+
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            DynamicRedisConnectionFactory.restoreRoutingContext(context.getPrevious());
+        }
+    }
+}
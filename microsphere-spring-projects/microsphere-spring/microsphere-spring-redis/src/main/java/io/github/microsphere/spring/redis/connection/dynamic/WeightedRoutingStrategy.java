@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microsphere.spring.redis.connection.dynamic;
+
+import org.springframework.util.Assert;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * {@link RedisConnectionFactoryRoutingStrategy} routes the connections to the targets randomly in proportion to
+ * their weights, the targets of zero weight are never routed.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @since 1.0.0
+ */
+public class WeightedRoutingStrategy implements RedisConnectionFactoryRoutingStrategy {
+
+    private final Map<String, Integer> weights;
+
+    private RedisConnectionFactoryTarget[] targets;
+
+    /**
+     * The cumulative weights of {@link #targets}
+     */
+    private int[] cumulativeWeights;
+
+    private int totalWeight;
+
+    /**
+     * @param weights the weights of targets, the key is the bean name, the value must not be negative
+     */
+    public WeightedRoutingStrategy(Map<String, Integer> weights) {
+        Assert.notEmpty(weights, "The weights must not be empty");
+        this.weights = new LinkedHashMap<>(weights);
+    }
+
+    @Override
+    public void initialize(DynamicRedisConnectionFactory dynamicRedisConnectionFactory) {
+        List<String> beanNames = new ArrayList<>(weights.size());
+        int[] cumulativeWeights = new int[weights.size()];
+        int totalWeight = 0;
+        for (Map.Entry<String, Integer> entry : weights.entrySet()) {
+            int weight = entry.getValue();
+            Assert.isTrue(weight >= 0, () -> "The weight of target[name : '" + entry.getKey() + "'] must not be negative");
+            if (weight == 0) {
+                // The cumulative weights must be strictly increasing, otherwise the binary search may hit this target
+                continue;
+            }
+            totalWeight += weight;
+            cumulativeWeights[beanNames.size()] = totalWeight;
+            beanNames.add(entry.getKey());
+        }
+        Assert.isTrue(totalWeight > 0, "The total weight must be positive");
+        this.targets = dynamicRedisConnectionFactory.getTargets(beanNames);
+        this.cumulativeWeights = Arrays.copyOf(cumulativeWeights, beanNames.size());
+        this.totalWeight = totalWeight;
+    }
+
+    @Override
+    public RedisConnectionFactoryTarget route(RedisRoutingContext context) {
+        int value = ThreadLocalRandom.current().nextInt(totalWeight);
+        int index = Arrays.binarySearch(cumulativeWeights, value + 1);
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return targets[index];
+    }
+}
@@ -17,8 +17,10 @@
 package io.github.microsphere.spring.redis.context;
 
 import io.github.microsphere.spring.redis.config.RedisConfiguration;
+import io.github.microsphere.spring.redis.event.SynchronousRedisCommandEventListener;
 import io.github.microsphere.spring.redis.interceptor.RedisCommandInterceptor;
 import io.github.microsphere.spring.redis.interceptor.RedisConnectionInterceptor;
+import io.github.microsphere.spring.redis.interceptor.RedisConnectionProxyFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.BeansException;
@@ -43,6 +45,7 @@ import java.util.Set;
 import static io.github.microsphere.spring.util.BeanUtils.getBeanNames;
 import static io.github.microsphere.spring.util.BeanUtils.getSortedBeans;
 import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
 import static java.util.Collections.unmodifiableSet;
 
 /**
@@ -77,6 +80,10 @@ public class RedisContext implements SmartInitializingSingleton, ApplicationCont
 
     private List<RedisCommandInterceptor> redisCommandInterceptors;
 
+    private List<SynchronousRedisCommandEventListener> synchronousRedisCommandEventListeners = emptyList();
+
+    private volatile RedisConnectionProxyFactory redisConnectionProxyFactory;
+
     @Override
     public void afterSingletonsInstantiated() {
         this.redisConfiguration = RedisConfiguration.get(context);
@@ -84,6 +91,7 @@ public class RedisContext implements SmartInitializingSingleton, ApplicationCont
         this.redisConnectionFactoryBeanNames = findRedisConnectionFactoryBeanNames(beanFactory);
         this.redisConnectionInterceptors = findRedisConnectionInterceptors(beanFactory);
         this.redisCommandInterceptors = findRedisCommandInterceptors(beanFactory);
+        this.synchronousRedisCommandEventListeners = findSynchronousRedisCommandEventListeners(beanFactory);
     }
 
     @NonNull
@@ -151,6 +159,22 @@ public class RedisContext implements SmartInitializingSingleton, ApplicationCont
         return redisCommandInterceptors;
     }
 
+    public List<SynchronousRedisCommandEventListener> getSynchronousRedisCommandEventListeners() {
+        return synchronousRedisCommandEventListeners;
+    }
+
+    @NonNull
+    public RedisConnectionProxyFactory getRedisConnectionProxyFactory() {
+        RedisConnectionProxyFactory redisConnectionProxyFactory = this.redisConnectionProxyFactory;
+        if (redisConnectionProxyFactory == null) {
+            String proxyType = getRedisConfiguration().getInterceptorProxyType();
+            redisConnectionProxyFactory = RedisConnectionProxyFactory.create(proxyType, classLoader);
+            logger.debug("The RedisConnectionProxyFactory[proxy type : '{}'] : {}", proxyType, redisConnectionProxyFactory);
+            this.redisConnectionProxyFactory = redisConnectionProxyFactory;
+        }
+        return redisConnectionProxyFactory;
+    }
+
     public RedisTemplate<?, ?> getRedisTemplate(String redisTemplateBeanName) {
         return getRedisTemplate(context, redisTemplateBeanName);
     }
@@ -191,4 +215,8 @@ public class RedisContext implements SmartInitializingSingleton, ApplicationCont
     public static List<RedisConnectionInterceptor> findRedisConnectionInterceptors(ListableBeanFactory beanFactory) {
         return getSortedBeans(beanFactory, RedisConnectionInterceptor.class);
     }
+
+    public static List<SynchronousRedisCommandEventListener> findSynchronousRedisCommandEventListeners(ListableBeanFactory beanFactory) {
+        return getSortedBeans(beanFactory, SynchronousRedisCommandEventListener.class);
+    }
 }
@@ -2,8 +2,11 @@ package io.github.microsphere.spring.redis.event;
 
 import io.github.microsphere.spring.redis.context.RedisContext;
 import io.github.microsphere.spring.redis.interceptor.RedisMethodContext;
+import io.github.microsphere.spring.redis.metadata.MethodMetadata;
+import io.github.microsphere.spring.redis.metadata.MethodMetadataRepository;
 import io.github.microsphere.spring.redis.metadata.Parameter;
 import io.github.microsphere.spring.redis.serializer.Serializers;
+import io.github.microsphere.spring.redis.util.RedisConstants;
 import org.springframework.context.ApplicationEvent;
 import org.springframework.data.redis.connection.RedisCommands;
 import org.springframework.data.redis.connection.RedisConnectionCommands;
@@ -26,8 +29,9 @@ import java.lang.reflect.Method;
 import java.util.Arrays;
 import java.util.Objects;
 import java.util.StringJoiner;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
-import static io.github.microsphere.spring.redis.serializer.RedisCommandEventSerializer.VERSION_1;
+import static io.github.microsphere.spring.redis.util.RedisConstants.DEFAULT_COMMAND_EVENT_SERIALIZATION_VERSION;
 import static org.springframework.util.ClassUtils.resolveClassName;
 
 
@@ -38,6 +42,12 @@ import static org.springframework.util.ClassUtils.resolveClassName;
  *     <li>RedisStringCommands</li>
  *     <li>RedisHashCommands</li>
  * </ul>
+ * <p>
+ * The event created by the intercepted command owns one reference of its {@link RedisMethodContext}, which is
+ * {@link #release() released} once the event is published to all listeners, the listener that uses
+ * {@link #getRedisMethodContext()} beyond the handling must {@link RedisMethodContext#retain() retain} the context and
+ * {@link RedisMethodContext#release() release} it by itself, the other states of the event are still available after
+ * the release.
  *
  * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
  * @see RedisCommands
@@ -60,11 +70,16 @@ public class RedisCommandEvent extends ApplicationEvent {
 
     /**
      * Serialization Version
+     *
+     * @see RedisConstants#COMMAND_EVENT_SERIALIZATION_VERSION_PROPERTY_NAME
      */
-    public static final byte SERIALIZATION_VERSION = VERSION_1;
+    public static final byte SERIALIZATION_VERSION = DEFAULT_COMMAND_EVENT_SERIALIZATION_VERSION;
 
     private static final ClassLoader DEFAULT_CLASS_LOADER = ClassUtils.getDefaultClassLoader();
 
+    private static final AtomicReferenceFieldUpdater<RedisCommandEvent, RedisMethodContext> redisMethodContextUpdater =
+            AtomicReferenceFieldUpdater.newUpdater(RedisCommandEvent.class, RedisMethodContext.class, "redisMethodContext");
+
     /**
      * Command interface name, such as：
      * <ul>
@@ -98,11 +113,30 @@ public class RedisCommandEvent extends ApplicationEvent {
 
     private transient RedisContext redisContext;
 
-    private transient @Nullable
+    private transient volatile @Nullable
     RedisMethodContext redisMethodContext;
 
+    /**
+     * Source Bean name (non-serialized field)
+     */
+    private transient @Nullable
+    String sourceBeanName;
+
     private transient ClassLoader classLoader;
 
+    private transient MethodMetadata methodMetadata;
+
+    /**
+     * The id of the replication source (non-serialized field, stamped by the replicator)
+     */
+    private transient @Nullable
+    String sourceId;
+
+    /**
+     * The sequence of the event in the replication source (non-serialized field, stamped by the replicator)
+     */
+    private transient long sequence = -1L;
+
     protected RedisCommandEvent(String interfaceName, String methodName, String[] parameterTypes, byte[][] parameters, String sourceApplication) {
         super("default");
         this.interfaceName = interfaceName;
@@ -115,7 +149,12 @@ public class RedisCommandEvent extends ApplicationEvent {
 
     public RedisCommandEvent(RedisMethodContext redisMethodContext) {
         super(redisMethodContext);
-        Method method = redisMethodContext.getMethod();
+        // The context is referenced by this event until it's released
+        redisMethodContext.retain();
+        this.redisContext = redisMethodContext.getRedisContext();
+        this.sourceBeanName = redisMethodContext.getSourceBeanName();
+        MethodMetadata methodMetadata = redisMethodContext.getMethodMetadata();
+        Method method = methodMetadata.getMethod();
         this.interfaceName = resolveInterfaceName(method);
         this.methodName = method.getName();
         Parameter[] parameters = redisMethodContext.getParameters();
@@ -124,6 +163,7 @@ public class RedisCommandEvent extends ApplicationEvent {
         this.parameters = new byte[parameterCount][];
         this.sourceApplication = redisMethodContext.getApplicationName();
         this.redisMethodContext = redisMethodContext;
+        this.methodMetadata = methodMetadata;
         init(parameters, parameterCount);
     }
 
@@ -139,6 +179,8 @@ public class RedisCommandEvent extends ApplicationEvent {
 
         private String sourceApplication;
 
+        private MethodMetadata methodMetadata;
+
         public Builder interfaceName(String interfaceName) {
             this.interfaceName = interfaceName;
             return this;
@@ -165,6 +207,19 @@ public class RedisCommandEvent extends ApplicationEvent {
             return this;
         }
 
+        /**
+         * Set the interface name, method name and parameter types from the resolved {@link MethodMetadata}
+         *
+         * @param methodMetadata {@link MethodMetadata}
+         * @return {@link Builder}
+         */
+        public Builder methodMetadata(MethodMetadata methodMetadata) {
+            this.methodMetadata = methodMetadata;
+            return interfaceName(methodMetadata.getInterfaceName())
+                    .methodName(methodMetadata.getMethodName())
+                    .parameterTypes(methodMetadata.getParameterTypes());
+        }
+
         public String getInterfaceName() {
             return interfaceName;
         }
@@ -190,7 +245,9 @@ public class RedisCommandEvent extends ApplicationEvent {
         }
 
         public RedisCommandEvent build() {
-            return new RedisCommandEvent(interfaceName, methodName, parameterTypes, parameters, sourceApplication);
+            RedisCommandEvent event = new RedisCommandEvent(interfaceName, methodName, parameterTypes, parameters, sourceApplication);
+            event.methodMetadata = methodMetadata;
+            return event;
         }
     }
 
@@ -254,7 +311,7 @@ public class RedisCommandEvent extends ApplicationEvent {
      * @return The parameter type
      */
     public Class<?> getParameterClass(int parameterIndex) {
-        if (redisMethodContext == null) {
+        if (methodMetadata == null) {
             String parameterType = getParameterType(parameterIndex);
             ClassLoader classLoader = getClassLoader();
             return resolveClassName(parameterType, classLoader);
@@ -269,8 +326,8 @@ public class RedisCommandEvent extends ApplicationEvent {
      * @return All parameter Types
      */
     public Class<?>[] getParameterClasses() {
-        RedisMethodContext redisMethodContext = this.redisMethodContext;
-        if (redisMethodContext == null) {
+        MethodMetadata methodMetadata = this.methodMetadata;
+        if (methodMetadata == null) {
             int parameterCount = getParameterCount();
             Class<?>[] parameterClasses = new Class[parameterCount];
             for (int i = 0; i < parameterCount; i++) {
@@ -278,7 +335,7 @@ public class RedisCommandEvent extends ApplicationEvent {
             }
             return parameterClasses;
         } else {
-            return redisMethodContext.getMethod().getParameterTypes();
+            return methodMetadata.getMethod().getParameterTypes();
         }
     }
 
@@ -316,13 +373,19 @@ public class RedisCommandEvent extends ApplicationEvent {
     }
 
     /**
-     * Source Bean name (non-serialized field, initialized by the consumer)
+     * Source Bean name (non-serialized field, initialized by the producer)
      *
      * @return Source Bean name
      */
     public String getSourceBeanName() {
-        RedisMethodContext redisMethodContext = this.redisMethodContext;
-        return redisMethodContext == null ? null : redisMethodContext.getSourceBeanName();
+        return sourceBeanName;
+    }
+
+    /**
+     * @param sourceBeanName Source Bean name
+     */
+    protected void setSourceBeanName(String sourceBeanName) {
+        this.sourceBeanName = sourceBeanName;
     }
 
     public byte getSerializationVersion() {
@@ -331,20 +394,72 @@ public class RedisCommandEvent extends ApplicationEvent {
     }
 
     public RedisContext getRedisContext() {
-        RedisContext redisContext = this.redisContext;
-        if (redisContext == null) {
-            RedisMethodContext redisMethodContext = this.redisMethodContext;
-            if (redisMethodContext != null) {
-                return redisMethodContext.getRedisContext();
-            }
-        }
         return redisContext;
     }
 
+    /**
+     * Get the {@link MethodMetadata} of the Redis command method, it's resolved by the index of
+     * {@link MethodMetadataRepository} if the event is deserialized.
+     *
+     * @return <code>null</code> if the method can't be found in current Redis API
+     */
+    @Nullable
+    public MethodMetadata getMethodMetadata() {
+        MethodMetadata methodMetadata = this.methodMetadata;
+        if (methodMetadata == null) {
+            methodMetadata = MethodMetadataRepository.getMethodMetadata(interfaceName, methodName, parameterTypes);
+            this.methodMetadata = methodMetadata;
+        }
+        return methodMetadata;
+    }
+
+    /**
+     * Stamp the event with the replication source id and the sequence, which are used to skip the events that were
+     * replayed
+     *
+     * @param sourceId the id of the replication source
+     * @param sequence the sequence in the replication source, it's non-decreasing
+     */
+    public void stamp(String sourceId, long sequence) {
+        this.sourceId = sourceId;
+        this.sequence = sequence;
+    }
+
+    /**
+     * @return the id of the replication source, <code>null</code> if the event is not stamped
+     */
+    @Nullable
+    public String getSourceId() {
+        return sourceId;
+    }
+
+    /**
+     * @return the sequence in the replication source, -1 if the event is not stamped
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * @return the {@link RedisMethodContext} of the intercepted command, <code>null</code> if the event was
+     * deserialized or {@link #release() released}
+     */
+    @Nullable
     public RedisMethodContext getRedisMethodContext() {
         return redisMethodContext;
     }
 
+    /**
+     * Release the reference of {@link RedisMethodContext} owned by this event, it's invoked by the publisher after the
+     * event is published to all listeners, the repeated invocations are ignored
+     */
+    public void release() {
+        RedisMethodContext redisMethodContext = this.redisMethodContext;
+        if (redisMethodContext != null && redisMethodContextUpdater.compareAndSet(this, redisMethodContext, null)) {
+            redisMethodContext.release();
+        }
+    }
+
     public ClassLoader getClassLoader() {
         ClassLoader classLoader = this.classLoader;
         if (classLoader == null) {
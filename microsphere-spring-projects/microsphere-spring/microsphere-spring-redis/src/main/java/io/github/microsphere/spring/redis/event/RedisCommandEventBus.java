@@ -0,0 +1,428 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microsphere.spring.redis.event;
+
+import io.github.microsphere.spring.redis.util.RedisCommandsUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.Arrays;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+import static io.github.microsphere.spring.redis.util.RedisCommandsUtils.resolveSingleKey;
+
+/**
+ * The event bus publishes the {@link RedisCommandEvent Redis command events} asynchronously, thus the latency of
+ * the Redis threads is independent of the cost of the listeners.
+ * <p>
+ * Every dispatcher thread owns a bounded multi-writer ring queue, the event is routed to the fixed queue by the hash
+ * of its {@link RedisCommandsUtils#resolveSingleKey(RedisCommandEvent) only key}, so the events of the same key are
+ * always dispatched in the order of the publication, even if they are published by the different threads, and no
+ * lock is required on the publishing. The events without key or of more than one key(e.g, FLUSHDB, RENAME and the
+ * transactions) are routed to the first queue, thus they are ordered with each other, but they are not ordered with
+ * the keyed events of the other queues unless there is only one dispatcher. The publisher thread waits if the queue
+ * is full.
+ * <p>
+ * The lag from the publication to the dispatching is recorded, see {@link #getStatistics()}.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see RedisCommandEvent
+ * @see SynchronousRedisCommandEventListener
+ * @since 1.0.0
+ */
+public class RedisCommandEventBus implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(RedisCommandEventBus.class);
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private static final long FULL_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(10);
+
+    private static final long CLOSE_TIMEOUT = TimeUnit.SECONDS.toNanos(5);
+
+    private final Consumer<RedisCommandEvent> listener;
+
+    private final int queueCapacity;
+
+    private final int batchSize;
+
+    private final Dispatcher[] dispatchers;
+
+    private final LongAdder publishedCount = new LongAdder();
+
+    private final LongAdder dispatchedCount = new LongAdder();
+
+    private final LongAdder failedCount = new LongAdder();
+
+    private final LongAdder blockedCount = new LongAdder();
+
+    private final LongAdder totalLag = new LongAdder();
+
+    private final LongAccumulator maxLag = new LongAccumulator(Math::max, 0L);
+
+    private volatile boolean running;
+
+    /**
+     * @param listener      the listener of the events, which is invoked by the dispatcher threads
+     * @param dispatchers   the count of the dispatcher threads
+     * @param queueCapacity the capacity of the queue of each dispatcher thread
+     * @param batchSize     the max count of the events that are drained from the queue in a batch
+     */
+    public RedisCommandEventBus(Consumer<RedisCommandEvent> listener, int dispatchers, int queueCapacity, int batchSize) {
+        this.listener = listener;
+        this.queueCapacity = Integer.highestOneBit(Math.max(queueCapacity, 2) * 2 - 1);
+        this.batchSize = Math.max(batchSize, 1);
+        this.dispatchers = new Dispatcher[Math.max(dispatchers, 1)];
+        this.running = true;
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("Redis-Command-Event-Dispatcher-");
+        threadFactory.setDaemon(true);
+        for (int i = 0; i < this.dispatchers.length; i++) {
+            Dispatcher dispatcher = new Dispatcher(new EventQueue(this.queueCapacity));
+            dispatcher.thread = threadFactory.newThread(dispatcher);
+            this.dispatchers[i] = dispatcher;
+            dispatcher.thread.start();
+        }
+        logger.debug("The RedisCommandEventBus[dispatchers : {} , queue capacity : {} , batch size : {}] is started",
+                this.dispatchers.length, this.queueCapacity, this.batchSize);
+    }
+
+    /**
+     * Publish the {@link RedisCommandEvent} asynchronously, the event is dispatched directly by current thread
+     * if this bus is closed
+     *
+     * @param event {@link RedisCommandEvent}
+     */
+    public void publish(RedisCommandEvent event) {
+        if (!running) {
+            dispatch(event, System.nanoTime());
+            return;
+        }
+        Dispatcher dispatcher = route(event);
+        EventQueue queue = dispatcher.queue;
+        long timestamp = System.nanoTime();
+        if (!queue.offer(event, timestamp)) {
+            blockedCount.increment();
+            do {
+                dispatcher.wakeUp();
+                LockSupport.parkNanos(this, FULL_PARK_NANOS);
+                if (!running) {
+                    // The queue will not be drained anymore
+                    dispatch(event, timestamp);
+                    return;
+                }
+            } while (!queue.offer(event, timestamp));
+        }
+        publishedCount.increment();
+        dispatcher.wakeUp();
+    }
+
+    private Dispatcher route(RedisCommandEvent event) {
+        int count = dispatchers.length;
+        if (count == 1) {
+            return dispatchers[0];
+        }
+        byte[] key = resolveSingleKey(event);
+        return key == null ? dispatchers[0] : dispatchers[(Arrays.hashCode(key) & Integer.MAX_VALUE) % count];
+    }
+
+    private void dispatch(RedisCommandEvent event, long timestamp) {
+        long lag = System.nanoTime() - timestamp;
+        totalLag.add(lag);
+        maxLag.accumulate(lag);
+        try {
+            listener.accept(event);
+        } catch (Throwable e) {
+            failedCount.increment();
+            logger.warn("The RedisCommandEvent can't be dispatched : {}", event, e);
+        } finally {
+            dispatchedCount.increment();
+        }
+    }
+
+    /**
+     * @return the count of the events that are published but not dispatched yet
+     */
+    public long getPendingCount() {
+        long count = 0;
+        for (Dispatcher dispatcher : dispatchers) {
+            count += dispatcher.queue.size();
+        }
+        return count;
+    }
+
+    /**
+     * Get the snapshot of the statistics
+     *
+     * @return non-null
+     */
+    public Statistics getStatistics() {
+        return new Statistics(publishedCount.sum(), dispatchedCount.sum(), failedCount.sum(), blockedCount.sum(),
+                getPendingCount(), totalLag.sum(), maxLag.get());
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Stop the dispatcher threads after the pending events are dispatched or timeout
+     */
+    @Override
+    public void close() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        long deadline = System.nanoTime() + CLOSE_TIMEOUT;
+        for (Dispatcher dispatcher : dispatchers) {
+            dispatcher.wakeUp();
+            try {
+                dispatcher.thread.join(Math.max(TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()), 1L));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        for (Dispatcher dispatcher : dispatchers) {
+            if (!dispatcher.thread.isAlive()) {
+                // The events that were offered during the closing
+                while (dispatcher.drain() > 0) {
+                }
+            }
+        }
+        logger.debug("The RedisCommandEventBus is closed : {}", getStatistics());
+    }
+
+    private class Dispatcher implements Runnable {
+
+        private final EventQueue queue;
+
+        private Thread thread;
+
+        private volatile boolean waiting;
+
+        Dispatcher(EventQueue queue) {
+            this.queue = queue;
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                boolean running = RedisCommandEventBus.this.running;
+                if (drain() > 0) {
+                    continue;
+                }
+                if (!running) {
+                    // All events published before closing are dispatched
+                    break;
+                }
+                waiting = true;
+                if (drain() == 0 && RedisCommandEventBus.this.running) {
+                    LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                }
+                waiting = false;
+            }
+        }
+
+        private int drain() {
+            return queue.drain(RedisCommandEventBus.this, batchSize);
+        }
+
+        void wakeUp() {
+            if (waiting) {
+                LockSupport.unpark(thread);
+            }
+        }
+    }
+
+    /**
+     * The bounded ring queue, which is written by any thread and read by its dispatcher thread only, every slot has
+     * the sequence that tells whether it's free to write(the sequence equals the index to write) or ready to read(the
+     * sequence equals the index to read plus one)
+     */
+    private static class EventQueue {
+
+        private final RedisCommandEvent[] events;
+
+        private final long[] timestamps;
+
+        private final AtomicLongArray sequences;
+
+        private final int mask;
+
+        /**
+         * The index of the next event to read, it's updated by the dispatcher thread
+         */
+        private final AtomicLong head = new AtomicLong();
+
+        /**
+         * The index of the next event to write, it's claimed by the publisher threads
+         */
+        private final AtomicLong tail = new AtomicLong();
+
+        EventQueue(int capacity) {
+            this.events = new RedisCommandEvent[capacity];
+            this.timestamps = new long[capacity];
+            this.sequences = new AtomicLongArray(capacity);
+            this.mask = capacity - 1;
+            for (int i = 0; i < capacity; i++) {
+                sequences.set(i, i);
+            }
+        }
+
+        boolean offer(RedisCommandEvent event, long timestamp) {
+            long tail;
+            int index;
+            while (true) {
+                tail = this.tail.get();
+                index = (int) tail & mask;
+                long sequence = sequences.get(index);
+                if (sequence < tail) {
+                    // The slot has not been read yet, the queue is full
+                    return false;
+                }
+                if (sequence == tail && this.tail.compareAndSet(tail, tail + 1)) {
+                    break;
+                }
+            }
+            events[index] = event;
+            timestamps[index] = timestamp;
+            // The volatile write publishes the event, and it's ordered before the read of Dispatcher#waiting
+            sequences.set(index, tail + 1);
+            return true;
+        }
+
+        int drain(RedisCommandEventBus bus, int maxCount) {
+            long head = this.head.get();
+            int count = 0;
+            while (count < maxCount) {
+                int index = (int) head & mask;
+                if (sequences.get(index) != head + 1) {
+                    // The slot is empty or being written
+                    break;
+                }
+                RedisCommandEvent event = events[index];
+                long timestamp = timestamps[index];
+                events[index] = null;
+                // The slot is free to write for the next round
+                sequences.lazySet(index, head + events.length);
+                this.head.lazySet(++head);
+                bus.dispatch(event, timestamp);
+                count++;
+            }
+            return count;
+        }
+
+        long size() {
+            return Math.max(tail.get() - head.get(), 0L);
+        }
+    }
+
+    /**
+     * The statistics of {@link RedisCommandEventBus}
+     */
+    public static final class Statistics {
+
+        private final long publishedCount;
+
+        private final long dispatchedCount;
+
+        private final long failedCount;
+
+        private final long blockedCount;
+
+        private final long pendingCount;
+
+        private final long totalLag;
+
+        private final long maxLag;
+
+        Statistics(long publishedCount, long dispatchedCount, long failedCount, long blockedCount, long pendingCount,
+                   long totalLag, long maxLag) {
+            this.publishedCount = publishedCount;
+            this.dispatchedCount = dispatchedCount;
+            this.failedCount = failedCount;
+            this.blockedCount = blockedCount;
+            this.pendingCount = pendingCount;
+            this.totalLag = totalLag;
+            this.maxLag = maxLag;
+        }
+
+        public long getPublishedCount() {
+            return publishedCount;
+        }
+
+        public long getDispatchedCount() {
+            return dispatchedCount;
+        }
+
+        /**
+         * @return the count of the events that the listener failed to handle
+         */
+        public long getFailedCount() {
+            return failedCount;
+        }
+
+        /**
+         * @return the count of the publications that waited for the full queues
+         */
+        public long getBlockedCount() {
+            return blockedCount;
+        }
+
+        public long getPendingCount() {
+            return pendingCount;
+        }
+
+        /**
+         * @param unit {@link TimeUnit}
+         * @return the average lag from the publication to the dispatching
+         */
+        public long getAverageLag(TimeUnit unit) {
+            return dispatchedCount == 0 ? 0L : unit.convert(totalLag / dispatchedCount, TimeUnit.NANOSECONDS);
+        }
+
+        /**
+         * @param unit {@link TimeUnit}
+         * @return the max lag from the publication to the dispatching
+         */
+        public long getMaxLag(TimeUnit unit) {
+            return unit.convert(maxLag, TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public String toString() {
+            return new StringJoiner(", ", Statistics.class.getSimpleName() + "[", "]")
+                    .add("publishedCount=" + publishedCount)
+                    .add("dispatchedCount=" + dispatchedCount)
+                    .add("failedCount=" + failedCount)
+                    .add("blockedCount=" + blockedCount)
+                    .add("pendingCount=" + pendingCount)
+                    .add("averageLag=" + getAverageLag(TimeUnit.MICROSECONDS) + "us")
+                    .add("maxLag=" + getMaxLag(TimeUnit.MICROSECONDS) + "us")
+                    .toString();
+        }
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microsphere.spring.redis.event;
+
+import org.springframework.data.redis.connection.RedisTxCommands;
+
+import java.util.List;
+import java.util.StringJoiner;
+
+import static io.github.microsphere.spring.redis.util.RedisCommandsUtils.REDIS_TX_COMMANDS_INTERFACE_NAME;
+import static java.util.Collections.unmodifiableList;
+
+/**
+ * The {@link RedisCommandEvent} of the Redis transaction, the write commands between
+ * {@link RedisTxCommands#multi() MULTI} and {@link RedisTxCommands#exec() EXEC} on the same connection are published
+ * as one event after the transaction is executed, thus they are replicated as one atomic unit.
+ * <p>
+ * The event itself is represented as the {@link RedisTxCommands#exec() EXEC} command without parameters, and the
+ * queued commands are in {@link #getCommands()}.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see RedisTxCommands
+ * @since 1.0.0
+ */
+public class RedisTransactionCommandEvent extends RedisCommandEvent {
+
+    public static final String EXEC_METHOD_NAME = "exec";
+
+    private static final String[] NO_PARAMETER_TYPES = new String[0];
+
+    private static final byte[][] NO_PARAMETERS = new byte[0][];
+
+    private final List<RedisCommandEvent> commands;
+
+    /**
+     * The source bean name is the one of the first queued command
+     *
+     * @param commands          the queued write commands in order
+     * @param sourceApplication the source application name
+     */
+    public RedisTransactionCommandEvent(List<RedisCommandEvent> commands, String sourceApplication) {
+        this(commands, sourceApplication, commands.isEmpty() ? null : commands.get(0).getSourceBeanName());
+    }
+
+    /**
+     * @param commands          the queued write commands in order
+     * @param sourceApplication the source application name
+     * @param sourceBeanName    the name of the source bean that executed the transaction
+     */
+    public RedisTransactionCommandEvent(List<RedisCommandEvent> commands, String sourceApplication, String sourceBeanName) {
+        super(REDIS_TX_COMMANDS_INTERFACE_NAME, EXEC_METHOD_NAME, NO_PARAMETER_TYPES, NO_PARAMETERS, sourceApplication);
+        this.commands = unmodifiableList(commands);
+        setSourceBeanName(sourceBeanName);
+    }
+
+    /**
+     * @return the queued write commands of the transaction in order
+     */
+    public List<RedisCommandEvent> getCommands() {
+        return commands;
+    }
+
+    /**
+     * Release the references of the queued commands' {@link io.github.microsphere.spring.redis.interceptor.RedisMethodContext}
+     */
+    @Override
+    public void release() {
+        super.release();
+        for (int i = 0, size = commands.size(); i < size; i++) {
+            commands.get(i).release();
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return super.equals(o) && commands.equals(((RedisTransactionCommandEvent) o).commands);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * super.hashCode() + commands.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return new StringJoiner(", ", RedisTransactionCommandEvent.class.getSimpleName() + "[", "]")
+                .add("commands=" + commands)
+                .add("sourceApplication='" + getSourceApplication() + "'")
+                .toString();
+    }
+}
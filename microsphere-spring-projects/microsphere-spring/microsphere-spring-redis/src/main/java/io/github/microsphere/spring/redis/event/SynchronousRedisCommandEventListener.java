@@ -0,0 +1,43 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microsphere.spring.redis.event;
+
+import org.springframework.context.ApplicationListener;
+
+import java.util.EventListener;
+
+/**
+ * The listener of {@link RedisCommandEvent} that is invoked by the Redis thread synchronously, the event is
+ * received before the Redis command method returns, while the {@link ApplicationListener ApplicationListeners} of
+ * {@link RedisCommandEvent} are invoked by the {@link RedisCommandEventBus} asynchronously by default.
+ * <p>
+ * The implementation should be registered as the Spring Bean, and it should be as light as possible.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see RedisCommandEventBus
+ * @since 1.0.0
+ */
+@FunctionalInterface
+public interface SynchronousRedisCommandEventListener extends EventListener {
+
+    /**
+     * Handle the {@link RedisCommandEvent}, the exception will be propagated to the intercepting chain
+     *
+     * @param event {@link RedisCommandEvent}
+     */
+    void onRedisCommandEvent(RedisCommandEvent event);
+}
@@ -0,0 +1,173 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microsphere.spring.redis.interceptor;
+
+import io.github.microsphere.spring.redis.context.RedisContext;
+import io.github.microsphere.spring.redis.metadata.MethodMetadata;
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.asm.Advice;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import net.bytebuddy.dynamic.scaffold.subclass.ConstructorStrategy;
+import net.bytebuddy.implementation.MethodCall;
+import net.bytebuddy.implementation.bytecode.assign.Assigner;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.RedisConnection;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static io.github.microsphere.spring.redis.metadata.MethodMetadataRepository.getMethodMetadata;
+import static net.bytebuddy.matcher.ElementMatchers.named;
+import static net.bytebuddy.matcher.ElementMatchers.takesArguments;
+
+/**
+ * {@link RedisConnectionProxyFactory} generates the sub-class of {@link InterceptingRedisConnection} at runtime by
+ * <a href="https://bytebuddy.net">Byte Buddy</a>, every method of {@link RedisConnection} is implemented as a direct
+ * call to the raw {@link RedisConnection}, which is surrounded by the inlined interceptor hooks, thus neither
+ * {@link Method#invoke(Object, Object...)} nor the boxed argument dispatch of the JDK dynamic proxy is involved.
+ * <p>
+ * The proxy class is generated only once, the methods table is shared by all instances.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see InterceptingRedisConnection
+ * @see JdkRedisConnectionProxyFactory
+ * @since 1.0.0
+ */
+public class ByteBuddyRedisConnectionProxyFactory implements RedisConnectionProxyFactory {
+
+    private static final Logger logger = LoggerFactory.getLogger(ByteBuddyRedisConnectionProxyFactory.class);
+
+    public static final String BYTE_BUDDY_CLASS_NAME = "net.bytebuddy.ByteBuddy";
+
+    private static final String PROXY_CLASS_NAME = InterceptingRedisConnection.class.getName() + "$Generated";
+
+    private final Method[] methods;
+
+    private final MethodMetadata[] methodsMetadata;
+
+    private final Constructor<? extends InterceptingRedisConnection> constructor;
+
+    public ByteBuddyRedisConnectionProxyFactory() {
+        this.methods = resolveMethods();
+        this.methodsMetadata = resolveMethodsMetadata(methods);
+        this.constructor = generateConstructor(methods);
+    }
+
+    @Override
+    public RedisConnection newProxy(RedisConnection connection, RedisContext redisContext, String sourceBeanName) {
+        InterceptingRedisConnectionInvocationHandler handler = new InterceptingRedisConnectionInvocationHandler(connection, redisContext, sourceBeanName);
+        try {
+            return constructor.newInstance(connection, methods, methodsMetadata, handler);
+        } catch (Throwable e) {
+            throw new IllegalStateException("The generated RedisConnection proxy can't be instantiated", e);
+        }
+    }
+
+    /**
+     * Resolve the public methods of {@link RedisConnection}, the duplicated signatures from the super interfaces
+     * are removed
+     *
+     * @return non-null
+     */
+    static Method[] resolveMethods() {
+        Map<String, Method> methodsMap = new LinkedHashMap<>();
+        for (Method method : RedisConnection.class.getMethods()) {
+            if (Modifier.isStatic(method.getModifiers())) {
+                continue;
+            }
+            String signature = method.getName() + Arrays.toString(method.getParameterTypes());
+            methodsMap.putIfAbsent(signature, method);
+        }
+        return methodsMap.values().toArray(new Method[0]);
+    }
+
+    static MethodMetadata[] resolveMethodsMetadata(Method[] methods) {
+        int length = methods.length;
+        MethodMetadata[] methodsMetadata = new MethodMetadata[length];
+        for (int i = 0; i < length; i++) {
+            methodsMetadata[i] = getMethodMetadata(methods[i]);
+        }
+        return methodsMetadata;
+    }
+
+    private static Constructor<? extends InterceptingRedisConnection> generateConstructor(Method[] methods) {
+        DynamicType.Builder<InterceptingRedisConnection> builder = new ByteBuddy()
+                .subclass(InterceptingRedisConnection.class, ConstructorStrategy.Default.IMITATE_SUPER_CLASS_PUBLIC)
+                .name(PROXY_CLASS_NAME);
+
+        for (int i = 0; i < methods.length; i++) {
+            Method method = methods[i];
+            builder = builder.method(named(method.getName()).and(takesArguments(method.getParameterTypes())))
+                    .intercept(Advice.withCustomMapping()
+                            .bind(MethodIndex.class, i)
+                            .to(InterceptingAdvice.class)
+                            .wrap(MethodCall.invokeSelf().onField("target").withAllArguments()));
+        }
+
+        Class<? extends InterceptingRedisConnection> proxyClass = builder.make()
+                .load(InterceptingRedisConnection.class.getClassLoader(), ClassLoadingStrategy.Default.WRAPPER)
+                .getLoaded();
+
+        logger.debug("The RedisConnection proxy class[name : '{}' , methods : {}] was generated", proxyClass.getName(), methods.length);
+
+        try {
+            return proxyClass.getConstructor(RedisConnection.class, Method[].class, MethodMetadata[].class,
+                    InterceptingRedisConnectionInvocationHandler.class);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * The index of the intercepted method in the methods table, bound as a constant into the generated code
+     */
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target(ElementType.PARAMETER)
+    public @interface MethodIndex {
+    }
+
+    /**
+     * The advice is inlined into every generated method of {@link InterceptingRedisConnection}
+     */
+    public static class InterceptingAdvice {
+
+        @Advice.OnMethodEnter
+        public static RedisMethodContext<RedisConnection> enter(@Advice.This InterceptingRedisConnection connection,
+                                                                @MethodIndex int methodIndex,
+                                                                @Advice.AllArguments Object[] args) {
+            return connection.beforeExecute(methodIndex, args);
+        }
+
+        @Advice.OnMethodExit(onThrowable = Throwable.class)
+        public static void exit(@Advice.This InterceptingRedisConnection connection,
+                                @Advice.Enter RedisMethodContext<RedisConnection> redisMethodContext,
+                                @Advice.Return(typing = Assigner.Typing.DYNAMIC) Object result,
+                                @Advice.Thrown Throwable failure) {
+            connection.afterExecute(redisMethodContext, result, failure);
+        }
+    }
+}
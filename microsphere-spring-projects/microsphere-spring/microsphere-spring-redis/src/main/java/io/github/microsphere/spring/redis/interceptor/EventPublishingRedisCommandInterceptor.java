@@ -16,28 +16,66 @@
  */
 package io.github.microsphere.spring.redis.interceptor;
 
+import io.github.microsphere.spring.redis.config.RedisConfigurationSnapshot;
 import io.github.microsphere.spring.redis.context.RedisContext;
 import io.github.microsphere.spring.redis.event.RedisCommandEvent;
+import io.github.microsphere.spring.redis.event.RedisCommandEventBus;
 import io.github.microsphere.spring.redis.event.RedisConfigurationPropertyChangedEvent;
+import io.github.microsphere.spring.redis.event.RedisTransactionCommandEvent;
+import io.github.microsphere.spring.redis.event.SynchronousRedisCommandEventListener;
+import io.github.microsphere.spring.redis.metadata.MethodMetadata;
+import io.github.microsphere.spring.redis.metadata.Parameter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.ApplicationEventPublisherAware;
 import org.springframework.context.ApplicationListener;
 import org.springframework.data.redis.connection.RedisCommands;
+import org.springframework.data.redis.connection.RedisTxCommands;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.serializer.RedisSerializer;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static io.github.microsphere.spring.redis.serializer.Serializers.getSerializer;
 import static io.github.microsphere.spring.redis.util.RedisConstants.COMMAND_EVENT_EXPOSED_PROPERTY_NAME;
 
 /**
  * {@link RedisCommandInterceptor} publishes {@link RedisCommandEvent}
+ * <p>
+ * The write commands between {@link RedisTxCommands#multi() MULTI} and {@link RedisTxCommands#exec() EXEC} are
+ * queued by the connection, and they are published as one {@link RedisTransactionCommandEvent} once the transaction
+ * is executed successfully, the queued commands are dropped if the transaction is discarded or failed.
+ * <p>
+ * The {@link ApplicationListener ApplicationListeners} of {@link RedisCommandEvent} are invoked by the
+ * {@link RedisCommandEventBus} asynchronously by default, they are invoked by the Redis thread if the property
+ * {@link io.github.microsphere.spring.redis.util.RedisConstants#COMMAND_EVENT_ASYNC_ENABLED_PROPERTY_NAME} is false,
+ * the {@link SynchronousRedisCommandEventListener SynchronousRedisCommandEventListeners} are always invoked by the
+ * Redis thread.
  *
  * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see RedisCommandEventBus
+ * @see SynchronousRedisCommandEventListener
  * @since 1.0.0
  */
-public class EventPublishingRedisCommandInterceptor implements RedisCommandInterceptor, ApplicationListener<RedisConfigurationPropertyChangedEvent>, ApplicationEventPublisherAware {
+public class EventPublishingRedisCommandInterceptor implements RedisCommandInterceptor, ApplicationListener<RedisConfigurationPropertyChangedEvent>,
+        ApplicationEventPublisherAware, DisposableBean {
 
     private static final Logger logger = LoggerFactory.getLogger(EventPublishingRedisCommandInterceptor.class);
 
+    private static final String MULTI_METHOD_NAME = "multi";
+
+    private static final String EXEC_METHOD_NAME = "exec";
+
+    private static final String CLOSE_METHOD_NAME = "close";
+
+    private static final String XADD_METHOD_NAME = "xAdd";
+
     public static final String BEAN_NAME = "eventPublishingRedisCommendInterceptor";
 
     private final RedisContext redisContext;
@@ -48,14 +86,38 @@ public class EventPublishingRedisCommandInterceptor implements RedisCommandInter
 
     private volatile boolean enabled = false;
 
+    /**
+     * The nullable {@link RedisCommandEventBus}, which is absent if the asynchronous publication is disabled
+     */
+    private final RedisCommandEventBus redisCommandEventBus;
+
+    /**
+     * The queued write commands of the open transactions, the key is the raw Redis connection
+     */
+    private final ConcurrentMap<Object, List<RedisCommandEvent>> transactions = new ConcurrentHashMap<>();
+
     public EventPublishingRedisCommandInterceptor(RedisContext redisContext) {
         this.redisContext = redisContext;
         this.applicationName = redisContext.getApplicationName();
+        this.redisCommandEventBus = createRedisCommandEventBus(redisContext.getRedisConfiguration().getSnapshot());
         setEnabled();
     }
 
+    private RedisCommandEventBus createRedisCommandEventBus(RedisConfigurationSnapshot snapshot) {
+        if (!snapshot.isCommandEventAsyncEnabled()) {
+            return null;
+        }
+        return new RedisCommandEventBus(this::doPublishRedisCommandEvent, snapshot.getCommandEventAsyncDispatchers(),
+                snapshot.getCommandEventAsyncQueueCapacity(), snapshot.getCommandEventAsyncBatchSize());
+    }
+
     public void setEnabled() {
         this.enabled = redisContext.isCommandEventExposed();
+        if (!enabled) {
+            for (Object connection : transactions.keySet()) {
+                release(transactions.remove(connection));
+            }
+        }
     }
 
     public boolean isEnabled() {
@@ -64,10 +126,67 @@ public class EventPublishingRedisCommandInterceptor implements RedisCommandInter
 
     @Override
     public void afterExecute(RedisMethodContext<RedisCommands> context, Object result, Throwable failure) throws Throwable {
-        if (isEnabled() && failure == null) {
-            if (context.isWriteMethod(true)) { // The current method is a Redis write command
-                // Publish Redis Command Event
-                publishRedisCommandEvent(context);
+        if (isEnabled()) {
+            MethodMetadata methodMetadata = context.getMethodMetadata();
+            if (isTransactionMethod(methodMetadata)) {
+                handleTransaction(context, methodMetadata.getMethodName(), failure);
+            } else if (failure == null && context.isWriteMethod(true)) { // The current method is a Redis write command
+                List<RedisCommandEvent> queuedEvents = transactions.isEmpty() ? null : transactions.get(context.getTarget());
+                resolveRecordId(context, result);
+                if (queuedEvents == null) {
+                    // Publish Redis Command Event
+                    publishRedisCommandEvent(context);
+                } else {
+                    queuedEvents.add(createRedisCommandEvent(context));
+                }
+            } else if (!transactions.isEmpty() && CLOSE_METHOD_NAME.equals(methodMetadata.getMethodName())) {
+                // The transaction is abandoned by the closed connection
+                release(transactions.remove(context.getTarget()));
+            }
+        }
+    }
+
+    /**
+     * The auto-generated id("*") of XADD is replaced by the one that Redis returned, thus the replicated stream has the
+     * same ids as the source one. The result of the queued or pipelined XADD is absent, its id is kept as it is.
+     */
+    private void resolveRecordId(RedisMethodContext<RedisCommands> context, Object result) {
+        if (result instanceof RecordId && XADD_METHOD_NAME.equals(context.getMethodMetadata().getMethodName())) {
+            Parameter parameter = context.getParameter(0);
+            MapRecord<?, ?, ?> record = (MapRecord<?, ?, ?>) parameter.getValue();
+            RedisSerializer serializer = getSerializer(parameter.getParameterType());
+            if (serializer != null) {
+                parameter.setRawValue(serializer.serialize(record.withId((RecordId) result)));
+            }
+        }
+    }
+
+    private boolean isTransactionMethod(MethodMetadata methodMetadata) {
+        // MULTI, EXEC and DISCARD are the write commands of RedisTxCommands, WATCH and UNWATCH are not
+        return methodMetadata.isWrite() && methodMetadata.getMethod().getDeclaringClass() == RedisTxCommands.class;
+    }
+
+    private void handleTransaction(RedisMethodContext<RedisCommands> context, String methodName, Throwable failure) {
+        Object connection = context.getTarget();
+        if (MULTI_METHOD_NAME.equals(methodName)) {
+            if (failure == null) {
+                transactions.put(connection, new ArrayList<>());
+            }
+        } else {
+            List<RedisCommandEvent> queuedEvents = transactions.remove(connection);
+            if (EXEC_METHOD_NAME.equals(methodName) && failure == null && queuedEvents != null && !queuedEvents.isEmpty()) {
+                publishRedisCommandEvent(new RedisTransactionCommandEvent(queuedEvents, applicationName, context.getSourceBeanName()));
+            } else if (queuedEvents != null) {
+                logger.debug("The queued {} Redis commands of the transaction are dropped by {}", queuedEvents.size(), methodName);
+                release(queuedEvents);
+            }
+        }
+    }
+
+    private void release(List<RedisCommandEvent> queuedEvents) {
+        if (queuedEvents != null) {
+            for (int i = 0, size = queuedEvents.size(); i < size; i++) {
+                queuedEvents.get(i).release();
             }
         }
     }
@@ -75,11 +194,41 @@ public class EventPublishingRedisCommandInterceptor implements RedisCommandInter
     private void publishRedisCommandEvent(RedisMethodContext<RedisCommands> context) {
         RedisCommandEvent redisCommandEvent = createRedisCommandEvent(context);
         if (redisCommandEvent != null) {
+            publishRedisCommandEvent(redisCommandEvent);
+        }
+    }
+
+    private void publishRedisCommandEvent(RedisCommandEvent redisCommandEvent) {
+        List<SynchronousRedisCommandEventListener> listeners = redisContext.getSynchronousRedisCommandEventListeners();
+        for (int i = 0, size = listeners.size(); i < size; i++) {
+            // Event handling allows exceptions to be thrown
+            listeners.get(i).onRedisCommandEvent(redisCommandEvent);
+        }
+        RedisCommandEventBus redisCommandEventBus = this.redisCommandEventBus;
+        if (redisCommandEventBus == null) {
+            doPublishRedisCommandEvent(redisCommandEvent);
+        } else {
+            redisCommandEventBus.publish(redisCommandEvent);
+        }
+    }
+
+    private void doPublishRedisCommandEvent(RedisCommandEvent redisCommandEvent) {
+        try {
             // Event handling allows exceptions to be thrown
             applicationEventPublisher.publishEvent(redisCommandEvent);
+        } finally {
+            // All listeners have handled the event
+            redisCommandEvent.release();
         }
     }
 
+    /**
+     * @return the nullable {@link RedisCommandEventBus} if the asynchronous publication is disabled
+     */
+    public RedisCommandEventBus getRedisCommandEventBus() {
+        return redisCommandEventBus;
+    }
+
     private RedisCommandEvent createRedisCommandEvent(RedisMethodContext<RedisCommands> redisMethodContext) {
         RedisCommandEvent redisCommandEvent = new RedisCommandEvent(redisMethodContext);
         return redisCommandEvent;
@@ -96,4 +245,12 @@ public class EventPublishingRedisCommandInterceptor implements RedisCommandInter
     public void setApplicationEventPublisher(ApplicationEventPublisher applicationEventPublisher) {
         this.applicationEventPublisher = applicationEventPublisher;
     }
+
+    @Override
+    public void destroy() throws Exception {
+        RedisCommandEventBus redisCommandEventBus = this.redisCommandEventBus;
+        if (redisCommandEventBus != null) {
+            redisCommandEventBus.close();
+        }
+    }
 }
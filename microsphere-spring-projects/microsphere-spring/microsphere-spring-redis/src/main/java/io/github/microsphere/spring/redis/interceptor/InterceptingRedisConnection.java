@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microsphere.spring.redis.interceptor;
+
+import io.github.microsphere.spring.redis.metadata.MethodMetadata;
+import org.springframework.data.redis.connection.RedisConnection;
+
+import java.lang.reflect.Method;
+
+/**
+ * The base class of the generated intercepting {@link RedisConnection}, the sub-class implements all methods of
+ * {@link RedisConnection} by calling the target directly, and the interceptor hooks are around them.
+ * <p>
+ * {@link #equals(Object)} and {@link #hashCode()} keep the identity semantics of the JDK dynamic proxy, they are final
+ * and never delegate to the target.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see ByteBuddyRedisConnectionProxyFactory
+ * @since 1.0.0
+ */
+public abstract class InterceptingRedisConnection implements RedisConnection {
+
+    /**
+     * The raw {@link RedisConnection}, the generated methods delegate to it
+     */
+    protected final RedisConnection target;
+
+    private final Method[] methods;
+
+    private final MethodMetadata[] methodsMetadata;
+
+    private final InterceptingRedisConnectionInvocationHandler handler;
+
+    public InterceptingRedisConnection(RedisConnection target, Method[] methods, MethodMetadata[] methodsMetadata,
+                                       InterceptingRedisConnectionInvocationHandler handler) {
+        this.target = target;
+        this.methods = methods;
+        this.methodsMetadata = methodsMetadata;
+        this.handler = handler;
+    }
+
+    /**
+     * Intercept the method before execution
+     *
+     * @param methodIndex the index of the method in the methods table
+     * @param args        the arguments of method
+     * @return {@link RedisMethodContext}
+     */
+    public final RedisMethodContext<RedisConnection> beforeExecute(int methodIndex, Object[] args) {
+        RedisMethodContext<RedisConnection> redisMethodContext = handler.createRedisMethodContext(methods[methodIndex], methodsMetadata[methodIndex], args);
+        handler.beforeExecute(redisMethodContext);
+        return redisMethodContext;
+    }
+
+    /**
+     * Intercept the method after execution
+     *
+     * @param redisMethodContext {@link RedisMethodContext}
+     * @param result             the nullable result of method
+     * @param failure            the nullable failure of method
+     */
+    public final void afterExecute(RedisMethodContext<RedisConnection> redisMethodContext, Object result, Throwable failure) {
+        handler.afterExecute(redisMethodContext, result, failure);
+    }
+
+    public final RedisConnection getTarget() {
+        return target;
+    }
+
+    @Override
+    public final boolean equals(Object obj) {
+        // Only consider equal when proxies are identical.
+        return this == obj;
+    }
+
+    @Override
+    public final int hashCode() {
+        return System.identityHashCode(this);
+    }
+
+    @Override
+    public String toString() {
+        return target.toString();
+    }
+}
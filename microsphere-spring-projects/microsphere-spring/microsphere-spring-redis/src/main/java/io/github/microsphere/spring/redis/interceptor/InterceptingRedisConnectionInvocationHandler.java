@@ -1,6 +1,8 @@
 package io.github.microsphere.spring.redis.interceptor;
 
 import io.github.microsphere.spring.redis.context.RedisContext;
+import io.github.microsphere.spring.redis.metadata.MethodMetadata;
+import io.github.microsphere.spring.redis.util.RawValueCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.redis.connection.RedisConnection;
@@ -9,6 +11,8 @@ import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.util.List;
 
+import static io.github.microsphere.spring.redis.metadata.MethodMetadataRepository.getMethodMetadata;
+
 /**
  * {@link InvocationHandler} for Intercepting {@link RedisConnection}
  *
@@ -68,33 +72,34 @@ public class InterceptingRedisConnectionInvocationHandler implements InvocationH
             return System.identityHashCode(proxy);
         }
 
-        if (!method.isAccessible()) {
-            method.setAccessible(true);
-        }
-
-        RedisMethodContext<RedisConnection> redisMethodContext = createRedisMethodContext(method, args);
+        MethodMetadata methodMetadata = getMethodMetadata(method);
+        RedisMethodContext<RedisConnection> redisMethodContext = createRedisMethodContext(method, methodMetadata, args);
 
         Object result = null;
         Throwable failure = null;
         try {
             beforeExecute(redisMethodContext);
-            result = method.invoke(rawRedisConnection, args);
+            result = methodMetadata.invoke(rawRedisConnection, args);
         } catch (Throwable e) {
             failure = e;
-            throw e.getCause();
+            throw e;
         } finally {
             afterExecute(redisMethodContext, result, failure);
         }
         return result;
     }
 
-    private RedisMethodContext<RedisConnection> createRedisMethodContext(Method method, Object[] args) {
-        RedisMethodContext<RedisConnection> redisMethodContext = new RedisMethodContext<>(rawRedisConnection, method, args, redisContext, sourceBeanName);
-        return redisMethodContext;
+    RedisMethodContext<RedisConnection> createRedisMethodContext(Method method, Object[] args) {
+        return createRedisMethodContext(method, getMethodMetadata(method), args);
+    }
+
+    RedisMethodContext<RedisConnection> createRedisMethodContext(Method method, MethodMetadata methodMetadata, Object[] args) {
+        return RedisMethodContext.acquire(rawRedisConnection, method, methodMetadata, args, redisContext, sourceBeanName);
     }
 
 
-    private void beforeExecute(RedisMethodContext<RedisConnection> redisMethodContext) {
+    void beforeExecute(RedisMethodContext<RedisConnection> redisMethodContext) {
+        RawValueCache.current().enter();
         beforeExecute(redisConnectionInterceptors, redisConnectionInterceptorCount, hasRedisConnectionInterceptors, redisMethodContext);
         beforeExecute(redisCommandInterceptors, redisCommandInterceptorCount, hasRedisCommandInterceptors, redisMethodContext);
     }
@@ -113,9 +118,12 @@ public class InterceptingRedisConnectionInvocationHandler implements InvocationH
         }
     }
 
-    private void afterExecute(RedisMethodContext<RedisConnection> redisMethodContext, Object result, Throwable failure) {
+    void afterExecute(RedisMethodContext<RedisConnection> redisMethodContext, Object result, Throwable failure) {
         afterExecute(redisConnectionInterceptors, redisConnectionInterceptorCount, hasRedisConnectionInterceptors, redisMethodContext, result, failure);
         afterExecute(redisCommandInterceptors, redisCommandInterceptorCount, hasRedisCommandInterceptors, redisMethodContext, result, failure);
+        RedisMethodContext.release(redisMethodContext);
+        // The raw values cached by the serialization before this invocation are not needed anymore
+        RawValueCache.current().exit();
     }
 
     private void afterExecute(List<? extends RedisMethodInterceptor> redisMethodInterceptors, int size, boolean exists, RedisMethodContext<RedisConnection> redisMethodContext, Object result, Throwable failure) {
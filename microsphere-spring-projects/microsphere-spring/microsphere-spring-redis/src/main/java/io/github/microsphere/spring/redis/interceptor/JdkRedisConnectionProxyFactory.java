@@ -0,0 +1,44 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microsphere.spring.redis.interceptor;
+
+import io.github.microsphere.spring.redis.context.RedisContext;
+import org.springframework.data.redis.connection.RedisConnection;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+
+/**
+ * {@link RedisConnectionProxyFactory} based on the JDK dynamic {@link Proxy}
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see InterceptingRedisConnectionInvocationHandler
+ * @since 1.0.0
+ */
+public class JdkRedisConnectionProxyFactory implements RedisConnectionProxyFactory {
+
+    public static final JdkRedisConnectionProxyFactory INSTANCE = new JdkRedisConnectionProxyFactory();
+
+    private static final Class<?>[] REDIS_CONNECTION_TYPES = new Class[]{RedisConnection.class};
+
+    @Override
+    public RedisConnection newProxy(RedisConnection connection, RedisContext redisContext, String sourceBeanName) {
+        ClassLoader classLoader = redisContext.getClassLoader();
+        InvocationHandler invocationHandler = new InterceptingRedisConnectionInvocationHandler(connection, redisContext, sourceBeanName);
+        return (RedisConnection) Proxy.newProxyInstance(classLoader, REDIS_CONNECTION_TYPES, invocationHandler);
+    }
+}
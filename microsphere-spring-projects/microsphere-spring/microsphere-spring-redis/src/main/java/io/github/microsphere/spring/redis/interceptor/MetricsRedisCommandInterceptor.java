@@ -0,0 +1,208 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microsphere.spring.redis.interceptor;
+
+import io.github.microsphere.spring.redis.context.RedisContext;
+import io.github.microsphere.spring.redis.metadata.MethodMetadata;
+import io.github.microsphere.spring.redis.metadata.MethodMetadataRepository;
+import io.github.microsphere.spring.redis.metrics.RedisCommandMetrics;
+import io.github.microsphere.spring.redis.metrics.RedisCommandMetricsExporter;
+import io.github.microsphere.spring.redis.metrics.RedisCommandMetricsSnapshot;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.core.env.Environment;
+import org.springframework.data.redis.connection.RedisCommands;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static io.github.microsphere.spring.redis.util.RedisConstants.DEFAULT_METRICS_INTERVAL;
+import static io.github.microsphere.spring.redis.util.RedisConstants.DEFAULT_METRICS_STRIPES;
+import static io.github.microsphere.spring.redis.util.RedisConstants.METRICS_INTERVAL_PROPERTY_NAME;
+import static io.github.microsphere.spring.redis.util.RedisConstants.METRICS_STRIPES_PROPERTY_NAME;
+import static io.github.microsphere.spring.util.BeanUtils.getSortedBeans;
+import static java.util.concurrent.Executors.newSingleThreadScheduledExecutor;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * {@link RedisCommandInterceptor} records the latency, the request payload size and the error of every Redis command
+ * per source bean into the {@link RedisCommandMetrics}, which are looked up by the {@link MethodMetadata#getId() id}
+ * without hashing the {@link java.lang.reflect.Method}.
+ * <p>
+ * The interval snapshots are taken by a daemon thread every
+ * {@link io.github.microsphere.spring.redis.util.RedisConstants#METRICS_INTERVAL_PROPERTY_NAME interval}, and then
+ * they are exported to all {@link RedisCommandMetricsExporter} beans, the commands without any execution in the
+ * interval are skipped.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see RedisCommandMetrics
+ * @see RedisCommandMetricsExporter
+ * @since 1.0.0
+ */
+public class MetricsRedisCommandInterceptor implements RedisCommandInterceptor, SmartInitializingSingleton, DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(MetricsRedisCommandInterceptor.class);
+
+    public static final String BEAN_NAME = "metricsRedisCommandInterceptor";
+
+    /**
+     * The source bean name of the commands executed by the un-wrapped connections
+     */
+    private static final String UNKNOWN_SOURCE_BEAN_NAME = "";
+
+    private final RedisContext redisContext;
+
+    private final long interval;
+
+    private final int stripes;
+
+    private final int methodsCount;
+
+    private final ConcurrentMap<String, AtomicReferenceArray<RedisCommandMetrics>> metricsMap = new ConcurrentHashMap<>();
+
+    private List<RedisCommandMetricsExporter> exporters = Collections.emptyList();
+
+    private ScheduledExecutorService scheduler;
+
+    public MetricsRedisCommandInterceptor(RedisContext redisContext) {
+        Environment environment = redisContext.getEnvironment();
+        this.redisContext = redisContext;
+        this.interval = environment.getProperty(METRICS_INTERVAL_PROPERTY_NAME, long.class, DEFAULT_METRICS_INTERVAL);
+        this.stripes = environment.getProperty(METRICS_STRIPES_PROPERTY_NAME, int.class, DEFAULT_METRICS_STRIPES);
+        this.methodsCount = MethodMetadataRepository.getMethodsMetadata().size();
+    }
+
+    @Override
+    public void beforeExecute(RedisMethodContext<RedisCommands> context) throws Throwable {
+        context.start();
+    }
+
+    @Override
+    public void afterExecute(RedisMethodContext<RedisCommands> context, Object result, Throwable failure) throws Throwable {
+        context.stop();
+        RedisCommandMetrics metrics = getMetrics(context.getSourceBeanName(), context.getMethodMetadata());
+        if (metrics != null) {
+            metrics.record(context.getDurationNanos(), getPayloadSize(context.getArgs()), failure != null);
+        }
+    }
+
+    private RedisCommandMetrics getMetrics(String sourceBeanName, MethodMetadata methodMetadata) {
+        int id = methodMetadata.getId();
+        if (id < 0 || id >= methodsCount) {
+            // The method is not registered
+            return null;
+        }
+        String key = sourceBeanName == null ? UNKNOWN_SOURCE_BEAN_NAME : sourceBeanName;
+        AtomicReferenceArray<RedisCommandMetrics> metricsArray = metricsMap.get(key);
+        if (metricsArray == null) {
+            metricsArray = metricsMap.computeIfAbsent(key, k -> new AtomicReferenceArray<>(methodsCount));
+        }
+        RedisCommandMetrics metrics = metricsArray.get(id);
+        if (metrics == null) {
+            metrics = new RedisCommandMetrics(key, methodMetadata, stripes, System.currentTimeMillis());
+            if (!metricsArray.compareAndSet(id, null, metrics)) {
+                metrics = metricsArray.get(id);
+            }
+        }
+        return metrics;
+    }
+
+    static long getPayloadSize(Object[] args) {
+        long size = 0;
+        if (args == null) {
+            return size;
+        }
+        for (int i = 0; i < args.length; i++) {
+            Object arg = args[i];
+            if (arg instanceof byte[]) {
+                size += ((byte[]) arg).length;
+            } else if (arg instanceof byte[][]) {
+                byte[][] values = (byte[][]) arg;
+                for (int j = 0; j < values.length; j++) {
+                    byte[] value = values[j];
+                    if (value != null) {
+                        size += value.length;
+                    }
+                }
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Take the snapshots of the current interval and export them
+     *
+     * @return the exported snapshots
+     */
+    public List<RedisCommandMetricsSnapshot> export() {
+        long time = System.currentTimeMillis();
+        List<RedisCommandMetricsSnapshot> snapshots = new ArrayList<>();
+        Collection<AtomicReferenceArray<RedisCommandMetrics>> metricsArrays = metricsMap.values();
+        for (AtomicReferenceArray<RedisCommandMetrics> metricsArray : metricsArrays) {
+            for (int i = 0; i < methodsCount; i++) {
+                RedisCommandMetrics metrics = metricsArray.get(i);
+                if (metrics != null) {
+                    RedisCommandMetricsSnapshot snapshot = metrics.snapshot(time);
+                    if (snapshot.getCount() > 0 || snapshot.getErrorCount() > 0) {
+                        snapshots.add(snapshot);
+                    }
+                }
+            }
+        }
+        for (RedisCommandMetricsExporter exporter : exporters) {
+            try {
+                exporter.export(snapshots);
+            } catch (Throwable e) {
+                logger.warn("The Redis command metrics can't be exported by {}", exporter, e);
+            }
+        }
+        return snapshots;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        this.exporters = getSortedBeans(redisContext.getBeanFactory(), RedisCommandMetricsExporter.class);
+        if (interval > 0) {
+            this.scheduler = newSingleThreadScheduledExecutor(newThreadFactory());
+            this.scheduler.scheduleAtFixedRate(this::export, interval, interval, MILLISECONDS);
+            logger.debug("The Redis command metrics will be exported to {} every {} ms", exporters, interval);
+        }
+    }
+
+    private CustomizableThreadFactory newThreadFactory() {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("Redis-Command-Metrics-Exporter-");
+        threadFactory.setDaemon(true);
+        return threadFactory;
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        ScheduledExecutorService scheduler = this.scheduler;
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+}
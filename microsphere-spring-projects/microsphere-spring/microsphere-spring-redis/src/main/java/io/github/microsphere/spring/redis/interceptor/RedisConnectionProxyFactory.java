@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microsphere.spring.redis.interceptor;
+
+import io.github.microsphere.spring.redis.context.RedisContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.RedisConnection;
+
+import static io.github.microsphere.spring.redis.util.RedisConstants.BYTE_BUDDY_INTERCEPTOR_PROXY_TYPE;
+import static org.springframework.util.ClassUtils.isPresent;
+
+/**
+ * The factory creates the intercepting proxy of {@link RedisConnection}
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see JdkRedisConnectionProxyFactory
+ * @see ByteBuddyRedisConnectionProxyFactory
+ * @since 1.0.0
+ */
+public interface RedisConnectionProxyFactory {
+
+    /**
+     * Create a new proxy of {@link RedisConnection} that intercepts the invocations for
+     * {@link RedisConnectionInterceptor} and {@link RedisCommandInterceptor}
+     *
+     * @param connection     the raw {@link RedisConnection}
+     * @param redisContext   {@link RedisContext}
+     * @param sourceBeanName the source bean name
+     * @return non-null
+     */
+    RedisConnection newProxy(RedisConnection connection, RedisContext redisContext, String sourceBeanName);
+
+    /**
+     * Create an instance of {@link RedisConnectionProxyFactory} by the specified proxy type,
+     * {@link JdkRedisConnectionProxyFactory} will be used as the fallback if the generated proxy is not available
+     *
+     * @param proxyType   the proxy type, e.g : "jdk", "byte-buddy"
+     * @param classLoader {@link ClassLoader}
+     * @return non-null
+     */
+    static RedisConnectionProxyFactory create(String proxyType, ClassLoader classLoader) {
+        Logger logger = LoggerFactory.getLogger(RedisConnectionProxyFactory.class);
+        if (BYTE_BUDDY_INTERCEPTOR_PROXY_TYPE.equals(proxyType)) {
+            if (isPresent(ByteBuddyRedisConnectionProxyFactory.BYTE_BUDDY_CLASS_NAME, classLoader)) {
+                try {
+                    return new ByteBuddyRedisConnectionProxyFactory();
+                } catch (Throwable e) {
+                    logger.warn("The generated RedisConnection proxy can't be created, the JDK dynamic proxy will be used instead", e);
+                }
+            } else {
+                logger.warn("byte-buddy is not found in the class-path, the JDK dynamic proxy will be used instead");
+            }
+        }
+        return JdkRedisConnectionProxyFactory.INSTANCE;
+    }
+}
@@ -18,8 +18,9 @@ package io.github.microsphere.spring.redis.interceptor;
 
 import io.github.microsphere.spring.redis.config.RedisConfiguration;
 import io.github.microsphere.spring.redis.context.RedisContext;
+import io.github.microsphere.spring.redis.metadata.MethodMetadata;
+import io.github.microsphere.spring.redis.metadata.MethodMetadataRepository;
 import io.github.microsphere.spring.redis.metadata.Parameter;
-import io.github.microsphere.spring.redis.util.RedisCommandsUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
@@ -34,13 +35,25 @@ import java.util.Map;
 import java.util.Set;
 import java.util.StringJoiner;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 
-import static io.github.microsphere.spring.redis.metadata.MethodMetadataRepository.isWriteCommandMethod;
+import static io.github.microsphere.spring.redis.util.RedisCommandsUtils.buildParameters;
 import static java.util.Collections.emptyMap;
 import static java.util.Collections.unmodifiableMap;
 
 /**
  * Redis Method Context
+ * <p>
+ * The instances are recycled per thread by the intercepting {@link org.springframework.data.redis.connection.RedisConnection},
+ * the context is reference-counted, the invocation owns the first reference, which is released after the execution of
+ * {@link RedisMethodInterceptor#afterExecute(RedisMethodContext, Object, Throwable)}. The context is {@link #reset() reset}
+ * and reused once all references are released.
+ * <p>
+ * The retain/release contract : any owner that references the context beyond the invocation, e.g, the
+ * {@link RedisMethodInterceptor} stores it or hands it over to another thread, must invoke {@link #retain()} during the
+ * invocation, and invoke {@link #release()} exactly once when it does not reference the context anymore, the context
+ * must not be accessed after the release. {@link io.github.microsphere.spring.redis.event.RedisCommandEvent} owns one
+ * reference, which is released after the event is published to all listeners.
  *
  * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
  * @since 1.0.0
@@ -51,44 +64,67 @@ public class RedisMethodContext<T> {
 
     private static final Parameter[] EMPTY_PARAMETERS = new Parameter[0];
 
+    private static final byte UNKNOWN = 0;
+
+    private static final byte TRUE = 1;
+
+    private static final byte FALSE = 2;
+
     private static final ThreadLocal<RedisMethodContext<?>> redisMethodContextThreadLocal = new ThreadLocal<>();
 
-    private final T target;
+    private static final ThreadLocal<Recycler> recyclerThreadLocal = ThreadLocal.withInitial(Recycler::new);
 
-    private final Method method;
+    private static final AtomicIntegerFieldUpdater<RedisMethodContext> referencesUpdater =
+            AtomicIntegerFieldUpdater.newUpdater(RedisMethodContext.class, "references");
 
-    private final Object[] args;
+    private T target;
 
-    private Parameter[] parameters = null;
+    private Method method;
 
-    private Map<Object, Parameter> parametersMap = null;
+    private Object[] args;
 
-    private Integer parameterCount = null;
+    private MethodMetadata methodMetadata;
 
-    private Boolean write = null;
+    private Parameter[] parameters;
 
-    private final RedisContext redisContext;
+    private Map<Object, Parameter> parametersMap;
 
-    private final String sourceBeanName;
+    private RedisContext redisContext;
 
-    private Boolean sourceFromRedisTemplate = null;
+    private String sourceBeanName;
 
-    private Boolean sourceFromRedisConnectionFactory = null;
+    private byte sourceFromRedisTemplate = UNKNOWN;
+
+    private byte sourceFromRedisConnectionFactory = UNKNOWN;
 
     private long startTimeNanos = -1;
 
     private long durationNanos = -1;
 
+    /**
+     * The count of the owners' references
+     */
+    private volatile int references;
+
+    private RedisMethodContext() {
+    }
+
     public RedisMethodContext(T target, Method method, Object[] args, RedisContext redisContext) {
         this(target, method, args, redisContext, null);
     }
 
     public RedisMethodContext(T target, Method method, Object[] args, RedisContext redisContext, String sourceBeanName) {
+        init(target, method, MethodMetadataRepository.getMethodMetadata(method), args, redisContext, sourceBeanName);
+    }
+
+    private void init(T target, Method method, MethodMetadata methodMetadata, Object[] args, RedisContext redisContext, String sourceBeanName) {
         this.target = target;
         this.method = method;
+        this.methodMetadata = methodMetadata;
         this.args = args;
         this.redisContext = redisContext;
         this.sourceBeanName = sourceBeanName;
+        referencesUpdater.set(this, 1);
     }
 
     public T getTarget() {
@@ -103,6 +139,15 @@ public class RedisMethodContext<T> {
         return args;
     }
 
+    /**
+     * Get the precomputed {@link MethodMetadata} of {@link #getMethod() the method}
+     *
+     * @return non-null
+     */
+    public MethodMetadata getMethodMetadata() {
+        return methodMetadata;
+    }
+
     public String getSourceBeanName() {
         return sourceBeanName;
     }
@@ -112,27 +157,22 @@ public class RedisMethodContext<T> {
     }
 
     private void initParameters() {
-        int size = args.length;
-        final Parameter[] parameters;
-        final Map<Object, Parameter> parametersMap;
-        final boolean write;
-
-        if (size > 1) {
-            parameters = new Parameter[size];
-            parametersMap = new HashMap<>(size);
-            write = RedisCommandsUtils.initParameters(method, args, (parameter, index) -> {
-                parameters[index] = parameter;
+        this.parameters = methodMetadata.getParameterCount() > 0 ? buildParameters(methodMetadata, args) : EMPTY_PARAMETERS;
+    }
+
+    private void initParametersMap() {
+        Parameter[] parameters = getParameters();
+        int size = parameters.length;
+        if (size > 0) {
+            Map<Object, Parameter> parametersMap = new HashMap<>(size);
+            for (int i = 0; i < size; i++) {
+                Parameter parameter = parameters[i];
                 parametersMap.put(parameter.getValue(), parameter);
-            });
+            }
+            this.parametersMap = unmodifiableMap(parametersMap);
         } else {
-            parameters = EMPTY_PARAMETERS;
-            parametersMap = emptyMap();
-            write = false;
+            this.parametersMap = emptyMap();
         }
-
-        this.parameters = parameters;
-        this.parametersMap = unmodifiableMap(parametersMap);
-        this.write = write;
     }
 
     /**
@@ -188,24 +228,25 @@ public class RedisMethodContext<T> {
     }
 
     public boolean isWriteMethod() {
-        if (write == null) {
-            return isWriteMethod(false);
-        }
-        return write;
+        return methodMetadata.isWrite();
     }
 
+    /**
+     * Whether the method is a write command or not
+     *
+     * @param initializedParameters if <code>true</code>, the {@link #getParameters() parameters} will be initialized
+     * @return <code>true</code> if the method is a write command
+     */
     public boolean isWriteMethod(boolean initializedParameters) {
-        if (initializedParameters) {
+        if (initializedParameters && parameters == null) {
             initParameters();
-        } else {
-            this.write = isWriteCommandMethod(method);
         }
-        return this.write;
+        return methodMetadata.isWrite();
     }
 
     public Map<Object, Parameter> getParametersMap() {
         if (parametersMap == null) {
-            initParameters();
+            initParametersMap();
         }
         return parametersMap;
     }
@@ -218,10 +259,7 @@ public class RedisMethodContext<T> {
     }
 
     public int getParameterCount() {
-        if (parameterCount == null) {
-            initParameters();
-        }
-        return parameterCount.intValue();
+        return methodMetadata.getParameterCount();
     }
 
     public Parameter getParameterMap(Object parameterValue) {
@@ -274,21 +312,21 @@ public class RedisMethodContext<T> {
     }
 
     public boolean isSourceFromRedisTemplate() {
-        Boolean sourceFromRedisTemplate = this.sourceFromRedisTemplate;
-        if (sourceFromRedisTemplate == null) {
-            sourceFromRedisTemplate = redisContext.getRedisTemplateBeanNames().contains(sourceBeanName);
+        byte sourceFromRedisTemplate = this.sourceFromRedisTemplate;
+        if (sourceFromRedisTemplate == UNKNOWN) {
+            sourceFromRedisTemplate = redisContext.getRedisTemplateBeanNames().contains(sourceBeanName) ? TRUE : FALSE;
             this.sourceFromRedisTemplate = sourceFromRedisTemplate;
         }
-        return sourceFromRedisTemplate;
+        return sourceFromRedisTemplate == TRUE;
     }
 
     public boolean isSourceFromRedisConnectionFactory() {
-        Boolean sourceFromRedisConnectionFactory = this.sourceFromRedisConnectionFactory;
-        if (sourceFromRedisConnectionFactory == null) {
-            sourceFromRedisConnectionFactory = redisContext.getRedisConnectionFactoryBeanNames().contains(sourceBeanName);
+        byte sourceFromRedisConnectionFactory = this.sourceFromRedisConnectionFactory;
+        if (sourceFromRedisConnectionFactory == UNKNOWN) {
+            sourceFromRedisConnectionFactory = redisContext.getRedisConnectionFactoryBeanNames().contains(sourceBeanName) ? TRUE : FALSE;
             this.sourceFromRedisConnectionFactory = sourceFromRedisConnectionFactory;
         }
-        return sourceFromRedisConnectionFactory;
+        return sourceFromRedisConnectionFactory == TRUE;
     }
 
     public void setParameters(Parameter[] parameters) {
@@ -299,13 +337,135 @@ public class RedisMethodContext<T> {
         this.parametersMap = parametersMap;
     }
 
+    /**
+     * Retain this context by one more owner, it will not be {@link #reset() reset} and reused until the owner
+     * {@link #release() releases} it, the context must be retained if it's referenced beyond the invocation
+     *
+     * @throws IllegalStateException if this context has been released by all owners
+     */
+    public void retain() {
+        int references;
+        do {
+            references = this.references;
+            if (references <= 0) {
+                throw new IllegalStateException("The RedisMethodContext has been released : " + this);
+            }
+        } while (!referencesUpdater.compareAndSet(this, references, references + 1));
+    }
+
+    /**
+     * Release the reference of one owner, this context is {@link #reset() reset} and recycled by current thread once
+     * all references are released
+     *
+     * @return <code>true</code> if this context was released by the last owner
+     * @throws IllegalStateException if this context has been released by all owners
+     */
+    public boolean release() {
+        int references = referencesUpdater.decrementAndGet(this);
+        if (references > 0) {
+            return false;
+        }
+        if (references < 0) {
+            referencesUpdater.incrementAndGet(this);
+            throw new IllegalStateException("The RedisMethodContext has been released : " + this);
+        }
+        reset();
+        Recycler recycler = recyclerThreadLocal.get();
+        if (recycler.context == null) {
+            recycler.context = this;
+        }
+        return true;
+    }
+
+    /**
+     * @return <code>true</code> if this context is {@link #retain() retained} by any owner beyond the invocation
+     */
+    public boolean isRetained() {
+        return references > 1;
+    }
+
+    /**
+     * @return the count of the owners' references, 0 if this context has been released by all owners
+     */
+    public int getReferenceCount() {
+        return references;
+    }
+
+    /**
+     * Reset all states of this context, the context is available to be reused
+     */
+    public void reset() {
+        this.target = null;
+        this.method = null;
+        this.args = null;
+        this.methodMetadata = null;
+        this.parameters = null;
+        this.parametersMap = null;
+        this.redisContext = null;
+        this.sourceBeanName = null;
+        this.sourceFromRedisTemplate = UNKNOWN;
+        this.sourceFromRedisConnectionFactory = UNKNOWN;
+        this.startTimeNanos = -1;
+        this.durationNanos = -1;
+        referencesUpdater.set(this, 0);
+    }
+
     @Override
     public String toString() {
-        return new StringJoiner(", ", RedisMethodContext.class.getSimpleName() + "[", "]").add("target=" + target).add("method=" + method).add("args=" + Arrays.toString(args)).add("write=" + write).add("parameters=" + parameters).add("redisContext=" + redisContext).add("sourceBeanName='" + sourceBeanName + "'").add("startTimeNanos=" + startTimeNanos).add("durationNanos=" + durationNanos).toString();
+        return new StringJoiner(", ", RedisMethodContext.class.getSimpleName() + "[", "]").add("target=" + target).add("method=" + method).add("args=" + Arrays.toString(args)).add("write=" + (methodMetadata != null && methodMetadata.isWrite())).add("parameters=" + Arrays.toString(parameters)).add("redisContext=" + redisContext).add("sourceBeanName='" + sourceBeanName + "'").add("startTimeNanos=" + startTimeNanos).add("durationNanos=" + durationNanos).toString();
+    }
+
+    /**
+     * Acquire an instance of {@link RedisMethodContext} which is recycled by current thread if possible
+     *
+     * @param target         the target
+     * @param methodMetadata {@link MethodMetadata}
+     * @param method         the invoked {@link Method}
+     * @param args           the arguments of method
+     * @param redisContext   {@link RedisContext}
+     * @param sourceBeanName the source bean name
+     * @param <T>            the type of target
+     * @return non-null
+     * @see #release(RedisMethodContext)
+     */
+    static <T> RedisMethodContext<T> acquire(T target, Method method, MethodMetadata methodMetadata, Object[] args,
+                                             RedisContext redisContext, String sourceBeanName) {
+        Recycler recycler = recyclerThreadLocal.get();
+        RedisMethodContext<T> redisMethodContext = (RedisMethodContext<T>) recycler.context;
+        if (redisMethodContext == null) {
+            redisMethodContext = new RedisMethodContext<>();
+        } else {
+            // The nested invocations on the same thread will create new instances
+            recycler.context = null;
+        }
+        redisMethodContext.init(target, method, methodMetadata, args, redisContext, sourceBeanName);
+        return redisMethodContext;
+    }
+
+    /**
+     * Release the reference of the invocation, the {@link RedisMethodContext} will be reset and reused by current thread
+     * unless it was {@link #retain() retained} by other owners
+     *
+     * @param redisMethodContext {@link RedisMethodContext}
+     * @see #acquire(Object, Method, MethodMetadata, Object[], RedisContext, String)
+     */
+    static void release(RedisMethodContext<?> redisMethodContext) {
+        redisMethodContext.release();
     }
 
+    /**
+     * Store the {@link RedisMethodContext} into the {@link ThreadLocal}, which owns one reference until
+     * {@link #clear()} or the next {@link #set(RedisMethodContext)}
+     *
+     * @param redisMethodContext {@link RedisMethodContext}
+     */
     public static void set(RedisMethodContext redisMethodContext) {
+        redisMethodContext.retain();
+        RedisMethodContext<?> previousContext = redisMethodContextThreadLocal.get();
         redisMethodContextThreadLocal.set(redisMethodContext);
+        if (previousContext != null) {
+            previousContext.release();
+        }
         logger.debug("{} stores into ThreadLocal", redisMethodContext);
     }
 
@@ -313,7 +473,22 @@ public class RedisMethodContext<T> {
         return (RedisMethodContext<T>) redisMethodContextThreadLocal.get();
     }
 
+    /**
+     * Remove the {@link RedisMethodContext} from the {@link ThreadLocal} and release its reference
+     */
     public static void clear() {
+        RedisMethodContext<?> redisMethodContext = redisMethodContextThreadLocal.get();
         redisMethodContextThreadLocal.remove();
+        if (redisMethodContext != null) {
+            redisMethodContext.release();
+        }
+    }
+
+    /**
+     * The holder of the recycled {@link RedisMethodContext} per thread
+     */
+    private static class Recycler {
+
+        private RedisMethodContext<?> context;
     }
 }
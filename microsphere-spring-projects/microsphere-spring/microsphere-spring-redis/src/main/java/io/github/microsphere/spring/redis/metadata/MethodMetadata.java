@@ -0,0 +1,279 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microsphere.spring.redis.metadata;
+
+import io.github.microsphere.spring.redis.serializer.Serializers;
+import org.springframework.data.redis.connection.RedisCommands;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.function.Function;
+
+import static io.github.microsphere.spring.redis.util.RedisCommandsUtils.resolveKeyParameterIndex;
+import static java.util.Arrays.asList;
+import static java.util.Collections.unmodifiableList;
+
+/**
+ * The immutable metadata of Redis {@link Method}, which is resolved once and shared by all invocations, except the
+ * {@link ParameterSerializationPlan} that follows the registrations of {@link Serializers}
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see MethodMetadataRepository#getMethodMetadata(Method)
+ * @see MethodMetadataRepository#getMethodMetadata(int)
+ * @since 1.0.0
+ */
+public class MethodMetadata {
+
+    /**
+     * The id of {@link MethodMetadata} that is not registered in {@link MethodMetadataRepository}
+     */
+    public static final int UNKNOWN_ID = -1;
+
+    private static final MethodType INVOKER_TYPE = MethodType.methodType(Object.class, Object.class, Object[].class);
+
+    private final int id;
+
+    private final Method method;
+
+    private final int signature;
+
+    private final boolean write;
+
+    private final ParameterMetadata[] parameterMetadata;
+
+    private final List<ParameterMetadata> parameterMetadataList;
+
+    private final String[] parameterTypes;
+
+    private volatile ParameterSerializationPlan parameterSerializationPlan;
+
+    /**
+     * The {@link Serializers#getGeneration() generation} of {@link Serializers} that the
+     * {@link #parameterSerializationPlan} was resolved in
+     */
+    private volatile int serializersGeneration;
+
+    private final int parameterCount;
+
+    private final int keyParameterIndex;
+
+    private final MethodHandle invoker;
+
+    private final Function<RedisConnection, Object> redisCommandsBinding;
+
+    public MethodMetadata(int id, Method method, boolean write, List<ParameterMetadata> parameterMetadataList,
+                          Function<RedisConnection, Object> redisCommandsBinding) {
+        this.id = id;
+        this.method = method;
+        this.write = write;
+        this.parameterMetadata = parameterMetadataList.toArray(new ParameterMetadata[0]);
+        this.parameterMetadataList = unmodifiableList(asList(parameterMetadata));
+        this.parameterCount = parameterMetadata.length;
+        this.parameterTypes = new String[parameterCount];
+        for (int i = 0; i < parameterCount; i++) {
+            this.parameterTypes[i] = parameterMetadata[i].getParameterType();
+        }
+        resolveParameterSerializationPlan();
+        this.signature = resolveSignature(method, parameterTypes);
+        this.keyParameterIndex = resolveKeyParameterIndex(getInterfaceName(), getMethodName(), parameterTypes);
+        this.invoker = resolveInvoker(method);
+        this.redisCommandsBinding = redisCommandsBinding;
+    }
+
+    private synchronized ParameterSerializationPlan resolveParameterSerializationPlan() {
+        // The generation is read before the resolution, the plan is resolved again if any registration is racing
+        int generation = Serializers.getGeneration();
+        RedisSerializer[] parameterSerializers = new RedisSerializer[parameterCount];
+        for (int i = 0; i < parameterCount; i++) {
+            parameterSerializers[i] = Serializers.getSerializer(parameterTypes[i]);
+        }
+        ParameterSerializationPlan plan = new ParameterSerializationPlan(parameterSerializers);
+        this.parameterSerializationPlan = plan;
+        this.serializersGeneration = generation;
+        return plan;
+    }
+
+    private static int resolveSignature(Method method, String[] parameterTypes) {
+        StringBuilder signatureBuilder = new StringBuilder(method.getDeclaringClass().getName())
+                .append('#').append(method.getName()).append('(');
+        for (int i = 0; i < parameterTypes.length; i++) {
+            if (i > 0) {
+                signatureBuilder.append(',');
+            }
+            signatureBuilder.append(parameterTypes[i]);
+        }
+        return signatureBuilder.append(')').toString().hashCode();
+    }
+
+    private static MethodHandle resolveInvoker(Method method) {
+        try {
+            MethodHandle methodHandle = MethodHandles.publicLookup().unreflect(method).asFixedArity();
+            return methodHandle.asSpreader(Object[].class, method.getParameterCount()).asType(INVOKER_TYPE);
+        } catch (IllegalAccessException e) {
+            throw new IllegalArgumentException("The invoker of method can't be resolved : " + method, e);
+        }
+    }
+
+    /**
+     * The compact id of the Redis command {@link Method}, it's the index of {@link MethodMetadataRepository}
+     *
+     * @return {@link #UNKNOWN_ID} if the method is not registered
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * The hash of the method signature(interface name, method name and parameter types), which is stable across
+     * the JVMs and the versions of Spring Data Redis, it's used to verify the {@link #getId() id} that is transferred
+     * between the applications.
+     *
+     * @return the hash of the method signature
+     */
+    public int getSignature() {
+        return signature;
+    }
+
+    /**
+     * The Redis command {@link Method}, if the method is a write command, it's declared by the {@link RedisCommands}
+     * sub-interface, e.g, RedisStringCommands
+     *
+     * @return non-null
+     */
+    public Method getMethod() {
+        return method;
+    }
+
+    public String getInterfaceName() {
+        return method.getDeclaringClass().getName();
+    }
+
+    public String getMethodName() {
+        return method.getName();
+    }
+
+    public boolean isWrite() {
+        return write;
+    }
+
+    public int getParameterCount() {
+        return parameterCount;
+    }
+
+    /**
+     * The index of the parameter that is the only Redis key of the method, the method without key or of more than one
+     * key(e.g, RENAME, DEL with multiple keys, MSET) can't be ordered by the key
+     *
+     * @return -1 if the method has no key or more than one key
+     */
+    public int getKeyParameterIndex() {
+        return keyParameterIndex;
+    }
+
+    public ParameterMetadata getParameterMetadata(int index) {
+        return parameterMetadata[index];
+    }
+
+    public List<ParameterMetadata> getParameterMetadataList() {
+        return parameterMetadataList;
+    }
+
+    /**
+     * @param index the index of parameter
+     * @return the type name of parameter
+     */
+    public String getParameterType(int index) {
+        return parameterTypes[index];
+    }
+
+    /**
+     * @return the copy of the parameter type names
+     */
+    public String[] getParameterTypes() {
+        return parameterTypes.clone();
+    }
+
+    /**
+     * @param index the index of parameter
+     * @return the {@link RedisSerializer} of parameter
+     */
+    public RedisSerializer getParameterSerializer(int index) {
+        return getParameterSerializationPlan().getSerializer(index);
+    }
+
+    /**
+     * The plan is resolved again if any {@link RedisSerializer} was {@link Serializers#register registered} after
+     * it was resolved.
+     *
+     * @return the compiled {@link ParameterSerializationPlan} of parameters
+     */
+    public ParameterSerializationPlan getParameterSerializationPlan() {
+        if (serializersGeneration != Serializers.getGeneration()) {
+            return resolveParameterSerializationPlan();
+        }
+        return parameterSerializationPlan;
+    }
+
+    /**
+     * Whether the parameter types are matched or not
+     *
+     * @param parameterTypes the type names of parameters
+     * @return <code>true</code> if matched
+     */
+    public boolean matches(String[] parameterTypes) {
+        return Arrays.equals(this.parameterTypes, parameterTypes);
+    }
+
+    /**
+     * Get the Redis commands object from the {@link RedisConnection}, e.g, {@link RedisConnection#stringCommands()}
+     *
+     * @param redisConnection {@link RedisConnection}
+     * @return the target to {@link #invoke(Object, Object...) invoke}
+     */
+    public Object getRedisCommands(RedisConnection redisConnection) {
+        return redisCommandsBinding.apply(redisConnection);
+    }
+
+    /**
+     * Invoke the Redis command method by the pre-resolved invoker
+     *
+     * @param target the Redis commands object
+     * @param args   the arguments
+     * @return the result of method
+     * @throws Throwable the exception thrown by the method
+     */
+    public Object invoke(Object target, Object... args) throws Throwable {
+        return invoker.invokeExact(target, args);
+    }
+
+    @Override
+    public String toString() {
+        return new StringJoiner(", ", MethodMetadata.class.getSimpleName() + "[", "]")
+                .add("id=" + id)
+                .add("method=" + method)
+                .add("write=" + write)
+                .add("parameterMetadata=" + parameterMetadataList)
+                .toString();
+    }
+}
@@ -17,27 +17,51 @@ import org.springframework.data.redis.connection.RedisPubSubCommands;
 import org.springframework.data.redis.connection.RedisScriptingCommands;
 import org.springframework.data.redis.connection.RedisServerCommands;
 import org.springframework.data.redis.connection.RedisSetCommands;
+import org.springframework.data.redis.connection.RedisStreamCommands;
 import org.springframework.data.redis.connection.RedisStringCommands;
 import org.springframework.data.redis.connection.RedisTxCommands;
 import org.springframework.data.redis.connection.RedisZSetCommands;
 import org.springframework.data.redis.connection.ReturnType;
 import org.springframework.data.redis.connection.SortParameters;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.RecordId;
 import org.springframework.data.redis.core.types.Expiration;
 import org.springframework.util.ReflectionUtils;
 
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 import static io.github.microsphere.spring.redis.util.RedisCommandsUtils.buildCommandMethodId;
 import static io.github.microsphere.spring.redis.util.RedisCommandsUtils.buildParameterMetadata;
+import static io.github.microsphere.spring.redis.util.RedisCommandsUtils.buildParameterMetadataList;
+import static io.github.microsphere.spring.redis.util.RedisCommandsUtils.REDIS_GEO_COMMANDS_INTERFACE_NAME;
+import static io.github.microsphere.spring.redis.util.RedisCommandsUtils.REDIS_HASH_COMMANDS_INTERFACE_NAME;
+import static io.github.microsphere.spring.redis.util.RedisCommandsUtils.REDIS_HYPER_LOG_LOG_COMMANDS_INTERFACE_NAME;
+import static io.github.microsphere.spring.redis.util.RedisCommandsUtils.REDIS_KEY_COMMANDS_INTERFACE_NAME;
+import static io.github.microsphere.spring.redis.util.RedisCommandsUtils.REDIS_LIST_COMMANDS_INTERFACE_NAME;
+import static io.github.microsphere.spring.redis.util.RedisCommandsUtils.REDIS_SCRIPTING_COMMANDS_INTERFACE_NAME;
+import static io.github.microsphere.spring.redis.util.RedisCommandsUtils.REDIS_SERVER_COMMANDS_INTERFACE_NAME;
+import static io.github.microsphere.spring.redis.util.RedisCommandsUtils.REDIS_SET_COMMANDS_INTERFACE_NAME;
+import static io.github.microsphere.spring.redis.util.RedisCommandsUtils.REDIS_STREAM_COMMANDS_INTERFACE_NAME;
+import static io.github.microsphere.spring.redis.util.RedisCommandsUtils.REDIS_STRING_COMMANDS_INTERFACE_NAME;
+import static io.github.microsphere.spring.redis.util.RedisCommandsUtils.REDIS_ZSET_COMMANDS_INTERFACE_NAME;
 import static io.github.microsphere.spring.redis.util.RedisConstants.FAIL_FAST_ENABLED;
 import static io.github.microsphere.spring.redis.util.RedisConstants.FAIL_FAST_ENABLED_PROPERTY_NAME;
+import static java.util.Arrays.asList;
+import static java.util.Collections.unmodifiableList;
 
 /**
  * Redis Method Metadata Repository
@@ -65,9 +89,26 @@ public class MethodMetadataRepository {
     static final Map<Method, List<ParameterMetadata>> writeCommandMethodsMetadata = new HashMap<>();
 
     /**
-     * Method Simple signature with {@link Method} object caching (reduces reflection cost)
+     * The registered {@link MethodMetadata} indexed by {@link MethodMetadata#getId() id}
      */
-    static final Map<String, Method> writeCommandMethodsCache = new HashMap<>();
+    static volatile MethodMetadata[] methodsMetadata = new MethodMetadata[0];
+
+    /**
+     * Command interface class name -> method name -> {@link MethodMetadata} candidates
+     */
+    static final Map<String, Map<String, MethodMetadata[]>> methodsMetadataIndex = new HashMap<>();
+
+    /**
+     * The registered {@link MethodMetadata} indexed by {@link MethodMetadata#getSignature() signature}
+     */
+    static final Map<Integer, MethodMetadata> methodsMetadataBySignature = new HashMap<>();
+
+    /**
+     * The resolved {@link MethodMetadata} of the invoked {@link Method}
+     */
+    static final ConcurrentMap<Method, MethodMetadata> methodsMetadataCache = new ConcurrentHashMap<>();
+
+    private static final Function<RedisConnection, Object> IDENTITY_BINDING = redisConnection -> redisConnection;
 
     static {
         init();
@@ -83,15 +124,141 @@ public class MethodMetadataRepository {
         initRedisMethodsAccessible();
         initRedisCommandsInterfaces();
         initWriteCommandMethods();
+        initMethodsMetadata();
         initialized = true;
     }
 
     public static boolean isWriteCommandMethod(Method method) {
-        return writeCommandMethodsMetadata.containsKey(method);
+        return getMethodMetadata(method).isWrite();
     }
 
     public static List<ParameterMetadata> getWriteParameterMetadataList(Method method) {
-        return writeCommandMethodsMetadata.get(method);
+        MethodMetadata methodMetadata = getMethodMetadata(method);
+        return methodMetadata.isWrite() ? methodMetadata.getParameterMetadataList() : null;
+    }
+
+    /**
+     * Get the registered {@link MethodMetadata} by the id
+     *
+     * @param id the {@link MethodMetadata#getId() id}
+     * @return <code>null</code> if not found
+     */
+    public static MethodMetadata getMethodMetadata(int id) {
+        MethodMetadata[] methodsMetadata = MethodMetadataRepository.methodsMetadata;
+        return id > -1 && id < methodsMetadata.length ? methodsMetadata[id] : null;
+    }
+
+    /**
+     * Get the registered {@link MethodMetadata} by the signature
+     *
+     * @param signature the {@link MethodMetadata#getSignature() signature}
+     * @return <code>null</code> if not found
+     */
+    public static MethodMetadata getMethodMetadataBySignature(int signature) {
+        return methodsMetadataBySignature.get(signature);
+    }
+
+    /**
+     * Get the registered {@link MethodMetadata} by the id, and the signature is verified
+     *
+     * @param id        the {@link MethodMetadata#getId() id}
+     * @param signature the {@link MethodMetadata#getSignature() signature}
+     * @return <code>null</code> if not found
+     */
+    public static MethodMetadata getMethodMetadata(int id, int signature) {
+        MethodMetadata methodMetadata = getMethodMetadata(id);
+        if (methodMetadata == null || methodMetadata.getSignature() != signature) {
+            // The ids may be different if the versions of Spring Data Redis are mismatched
+            methodMetadata = getMethodMetadataBySignature(signature);
+        }
+        return methodMetadata;
+    }
+
+    /**
+     * Get all registered {@link MethodMetadata} indexed by the id
+     *
+     * @return non-null
+     */
+    public static List<MethodMetadata> getMethodsMetadata() {
+        return unmodifiableList(asList(methodsMetadata));
+    }
+
+    /**
+     * Get the {@link MethodMetadata} of the specified Redis {@link Method}, the result is cached.
+     * <p>
+     * If the {@link Method} is overridden by the sub-interface of {@link RedisConnection}, the {@link MethodMetadata}
+     * of the {@link RedisCommands} sub-interface method with the same signature will be matched.
+     *
+     * @param method the Redis {@link Method}
+     * @return non-null
+     */
+    public static MethodMetadata getMethodMetadata(Method method) {
+        MethodMetadata methodMetadata = methodsMetadataCache.get(method);
+        if (methodMetadata == null) {
+            methodMetadata = resolveMethodMetadata(method);
+            MethodMetadata existed = methodsMetadataCache.putIfAbsent(method, methodMetadata);
+            if (existed != null) {
+                methodMetadata = existed;
+            }
+        }
+        return methodMetadata;
+    }
+
+    /**
+     * Get the {@link MethodMetadata} of the Redis command method
+     *
+     * @param interfaceName  the Redis command interface name
+     * @param methodName     the method name
+     * @param parameterTypes the type names of parameters
+     * @return <code>null</code> if not found
+     */
+    public static MethodMetadata getMethodMetadata(String interfaceName, String methodName, String... parameterTypes) {
+        Map<String, MethodMetadata[]> methodsMetadata = methodsMetadataIndex.get(interfaceName);
+        if (methodsMetadata == null) {
+            return null;
+        }
+        MethodMetadata[] candidates = methodsMetadata.get(methodName);
+        if (candidates == null) {
+            return null;
+        }
+        for (int i = 0; i < candidates.length; i++) {
+            MethodMetadata candidate = candidates[i];
+            if (candidate.matches(parameterTypes)) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    private static MethodMetadata resolveMethodMetadata(Method method) {
+        Class<?> declaringClass = method.getDeclaringClass();
+        String[] parameterTypes = getParameterTypeNames(method);
+        // the method overridden by the sub-interface of RedisConnection, e.g, DefaultedRedisConnection
+        for (Class<?> interfaceClass : redisCommandInterfacesCache.values()) {
+            if (interfaceClass.isAssignableFrom(declaringClass)) {
+                MethodMetadata methodMetadata = getMethodMetadata(interfaceClass.getName(), method.getName(), parameterTypes);
+                if (methodMetadata != null) {
+                    return methodMetadata;
+                }
+            }
+        }
+        logger.debug("The Redis method[{}] is not registered", method);
+        return new MethodMetadata(MethodMetadata.UNKNOWN_ID, method, false, buildParameterMetadataList(method), IDENTITY_BINDING);
+    }
+
+    /**
+     * Find the {@link MethodMetadata} of the write command from {@link RedisCommandEvent}
+     *
+     * @param event {@link RedisCommandEvent}
+     * @return <code>null</code> if not found
+     */
+    public static MethodMetadata findWriteMethodMetadata(RedisCommandEvent event) {
+        MethodMetadata methodMetadata = event.getMethodMetadata();
+        if (methodMetadata == null) {
+            Method method = findWriteCommandMethod(event);
+            methodMetadata = method == null ? null : getMethodMetadata(method);
+        }
+        return methodMetadata;
     }
 
     public static Method findWriteCommandMethod(RedisCommandEvent event) {
@@ -117,8 +284,8 @@ public class MethodMetadataRepository {
     }
 
     public static Method getWriteCommandMethod(String interfaceName, String methodName, String... parameterTypes) {
-        String id = buildCommandMethodId(interfaceName, methodName, parameterTypes);
-        return writeCommandMethodsCache.get(id);
+        MethodMetadata methodMetadata = getMethodMetadata(interfaceName, methodName, parameterTypes);
+        return methodMetadata != null && methodMetadata.isWrite() ? methodMetadata.getMethod() : null;
     }
 
     public static Set<Method> getWriteCommandMethods() {
@@ -136,7 +303,7 @@ public class MethodMetadataRepository {
     }
 
     public static Function<RedisConnection, Object> getRedisCommandBindingFunction(String interfaceName) {
-        return redisCommandBindings.getOrDefault(interfaceName, redisConnection -> redisConnection);
+        return redisCommandBindings.getOrDefault(interfaceName, IDENTITY_BINDING);
     }
 
     private static void initRedisMethodsAccessible() {
@@ -171,15 +338,84 @@ public class MethodMetadataRepository {
     }
 
     private static void initRedisCommandBindings() {
-        Class<?> redisConnectionClass = RedisConnection.class;
-        for (Map.Entry<String, Class<?>> entry : redisCommandInterfacesCache.entrySet()) {
-            String interfaceName = entry.getKey();
-            Class<?> interfaceClass = entry.getValue();
-            ReflectionUtils.doWithMethods(redisConnectionClass, method -> {
-                redisCommandBindings.put(interfaceName, redisConnection -> ReflectionUtils.invokeMethod(method, redisConnection));
-                logger.debug("Redis command interface {} Bind RedisConnection command object method {}", interfaceName, method);
-            }, method -> interfaceClass.equals(method.getReturnType()) && method.getParameterCount() < 1);
+        redisCommandBindings.put(REDIS_KEY_COMMANDS_INTERFACE_NAME, RedisConnection::keyCommands);
+        redisCommandBindings.put(REDIS_STRING_COMMANDS_INTERFACE_NAME, RedisConnection::stringCommands);
+        redisCommandBindings.put(REDIS_LIST_COMMANDS_INTERFACE_NAME, RedisConnection::listCommands);
+        redisCommandBindings.put(REDIS_SET_COMMANDS_INTERFACE_NAME, RedisConnection::setCommands);
+        redisCommandBindings.put(REDIS_ZSET_COMMANDS_INTERFACE_NAME, RedisConnection::zSetCommands);
+        redisCommandBindings.put(REDIS_HASH_COMMANDS_INTERFACE_NAME, RedisConnection::hashCommands);
+        redisCommandBindings.put(REDIS_GEO_COMMANDS_INTERFACE_NAME, RedisConnection::geoCommands);
+        redisCommandBindings.put(REDIS_HYPER_LOG_LOG_COMMANDS_INTERFACE_NAME, RedisConnection::hyperLogLogCommands);
+        redisCommandBindings.put(REDIS_SCRIPTING_COMMANDS_INTERFACE_NAME, RedisConnection::scriptingCommands);
+        redisCommandBindings.put(REDIS_SERVER_COMMANDS_INTERFACE_NAME, RedisConnection::serverCommands);
+        redisCommandBindings.put(REDIS_STREAM_COMMANDS_INTERFACE_NAME, RedisConnection::streamCommands);
+        logger.debug("Redis command interfaces bind RedisConnection command objects : {}", redisCommandBindings.keySet());
+    }
+
+    /**
+     * Initializes the {@link MethodMetadata} of all methods declared by the {@link RedisCommands} sub-interfaces,
+     * the ids are assigned by the order of interface name, method name and parameter types.
+     */
+    private static void initMethodsMetadata() {
+        List<Class<?>> interfaces = new ArrayList<>(redisCommandInterfacesCache.values());
+        interfaces.sort(Comparator.comparing(Class::getName));
+
+        List<MethodMetadata> methodsMetadataList = new ArrayList<>(512);
+        for (Class<?> interfaceClass : interfaces) {
+            String interfaceName = interfaceClass.getName();
+            Function<RedisConnection, Object> binding = getRedisCommandBindingFunction(interfaceName);
+            Map<String, List<MethodMetadata>> methodsMetadataMap = new HashMap<>();
+            for (Method method : getSortedMethods(interfaceClass)) {
+                int id = methodsMetadataList.size();
+                List<ParameterMetadata> writeParameterMetadataList = writeCommandMethodsMetadata.get(method);
+                boolean write = writeParameterMetadataList != null;
+                List<ParameterMetadata> parameterMetadataList = write ? writeParameterMetadataList : buildParameterMetadataList(method);
+                MethodMetadata methodMetadata = new MethodMetadata(id, method, write, parameterMetadataList, binding);
+                methodsMetadataList.add(methodMetadata);
+                methodsMetadataCache.put(method, methodMetadata);
+                MethodMetadata conflicted = methodsMetadataBySignature.putIfAbsent(methodMetadata.getSignature(), methodMetadata);
+                if (conflicted != null) {
+                    logger.warn("The signature of Redis command method [{}] is conflicted with [{}]", method, conflicted.getMethod());
+                }
+                methodsMetadataMap.computeIfAbsent(method.getName(), name -> new ArrayList<>(2)).add(methodMetadata);
+            }
+            Map<String, MethodMetadata[]> methodsMetadataIndexMap = new HashMap<>(methodsMetadataMap.size());
+            for (Map.Entry<String, List<MethodMetadata>> entry : methodsMetadataMap.entrySet()) {
+                methodsMetadataIndexMap.put(entry.getKey(), entry.getValue().toArray(new MethodMetadata[0]));
+            }
+            methodsMetadataIndex.put(interfaceName, methodsMetadataIndexMap);
+        }
+        methodsMetadata = methodsMetadataList.toArray(new MethodMetadata[0]);
+
+        // Pre-resolve the methods of RedisConnection
+        for (Method method : RedisConnection.class.getMethods()) {
+            if (!Modifier.isStatic(method.getModifiers())) {
+                getMethodMetadata(method);
+            }
+        }
+        logger.debug("{} Redis command methods metadata were initialized", methodsMetadata.length);
+    }
+
+    private static List<Method> getSortedMethods(Class<?> interfaceClass) {
+        List<Method> methods = new ArrayList<>();
+        for (Method method : interfaceClass.getDeclaredMethods()) {
+            int modifiers = method.getModifiers();
+            if (Modifier.isPublic(modifiers) && !Modifier.isStatic(modifiers) && !method.isSynthetic()) {
+                methods.add(method);
+            }
+        }
+        methods.sort(Comparator.comparing(Method::getName).thenComparing(method -> Arrays.toString(getParameterTypeNames(method))));
+        return methods;
+    }
+
+    private static String[] getParameterTypeNames(Method method) {
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        int length = parameterTypes.length;
+        String[] parameterTypeNames = new String[length];
+        for (int i = 0; i < length; i++) {
+            parameterTypeNames[i] = parameterTypes[i].getName();
         }
+        return parameterTypeNames;
     }
 
     /**
@@ -194,14 +430,15 @@ public class MethodMetadataRepository {
      *     <li>{@link #initRedisScriptingCommandsWriteCommandMethods() RedisScriptingCommands write command method}</li>
      *     <li>{@link #initRedisGeoCommandsWriteCommandMethods() RedisGeoCommands write command method}</li>
      *     <li>{@link #initRedisHyperLogLogCommandsWriteCommandMethods() RedisHyperLogLogCommands write command method}</li>
+     *     <li>{@link #initRedisStreamCommandsWriteCommandMethods() RedisStreamCommands write command method}</li>
+     *     <li>{@link #initRedisTxCommandsWriteCommandMethods() RedisTxCommands write command method}</li>
+     *     <li>{@link #initRedisServerCommandsWriteCommandMethods() RedisServerCommands write command method}</li>
      * </ol>
      * <p>
      * Not Support：
      * <ul>
-     *     <li>{@link RedisTxCommands}</li>
      *     <li>{@link RedisPubSubCommands}</li>
      *     <li>{@link RedisConnectionCommands}</li>
-     *     <li>{@link RedisServerCommands}</li>
      * </ul>
      */
     private static void initWriteCommandMethods() {
@@ -235,6 +472,15 @@ public class MethodMetadataRepository {
         // Initialize {@link RedisHyperLogLogCommands}
         initRedisHyperLogLogCommandsWriteCommandMethods();
 
+        // Initialize {@link RedisStreamCommands} write command method
+        initRedisStreamCommandsWriteCommandMethods();
+
+        // Initialize {@link RedisTxCommands} write command method
+        initRedisTxCommandsWriteCommandMethods();
+
+        // Initialize {@link RedisServerCommands} write command method
+        initRedisServerCommandsWriteCommandMethods();
+
     }
 
     /**
@@ -795,6 +1041,134 @@ public class MethodMetadataRepository {
         initWriteCommandMethod(RedisHyperLogLogCommands.class, "pfMerge", byte[].class, byte[][].class);
     }
 
+    /**
+     * Initialize {@link RedisStreamCommands} write command method
+     * <p>
+     * XCLAIM and XREADGROUP are not replicated, because the pending entries of the consumer group depend on the
+     * delivery of the source server.
+     */
+    private static void initRedisStreamCommandsWriteCommandMethods() {
+
+        /**
+         * xAck(byte[], String, RecordId...) Method
+         * @see <a href="https://redis.io/commands/xack">Redis Documentation: XACK</a>
+         */
+        initWriteCommandMethod(RedisStreamCommands.class, "xAck", byte[].class, String.class, RecordId[].class);
+
+        /**
+         * xAck(byte[], String, String...) Method
+         * @see <a href="https://redis.io/commands/xack">Redis Documentation: XACK</a>
+         */
+        initWriteCommandMethod(RedisStreamCommands.class, "xAck", byte[].class, String.class, String[].class);
+
+        /**
+         * xAdd(MapRecord<byte[], byte[], byte[]>) Method
+         * @see <a href="https://redis.io/commands/xadd">Redis Documentation: XADD</a>
+         */
+        initWriteCommandMethod(RedisStreamCommands.class, "xAdd", MapRecord.class);
+
+        /**
+         * xAdd(MapRecord<byte[], byte[], byte[]>, XAddOptions) Method
+         * @see <a href="https://redis.io/commands/xadd">Redis Documentation: XADD</a>
+         */
+        initWriteCommandMethod(RedisStreamCommands.class, "xAdd", MapRecord.class, RedisStreamCommands.XAddOptions.class);
+
+        /**
+         * xDel(byte[], RecordId...) Method
+         * @see <a href="https://redis.io/commands/xdel">Redis Documentation: XDEL</a>
+         */
+        initWriteCommandMethod(RedisStreamCommands.class, "xDel", byte[].class, RecordId[].class);
+
+        /**
+         * xDel(byte[], String...) Method
+         * @see <a href="https://redis.io/commands/xdel">Redis Documentation: XDEL</a>
+         */
+        initWriteCommandMethod(RedisStreamCommands.class, "xDel", byte[].class, String[].class);
+
+        /**
+         * xGroupCreate(byte[], String, ReadOffset) Method
+         * @see <a href="https://redis.io/commands/xgroup">Redis Documentation: XGROUP</a>
+         */
+        initWriteCommandMethod(RedisStreamCommands.class, "xGroupCreate", byte[].class, String.class, ReadOffset.class);
+
+        /**
+         * xGroupCreate(byte[], String, ReadOffset, boolean) Method
+         * @see <a href="https://redis.io/commands/xgroup">Redis Documentation: XGROUP</a>
+         */
+        initWriteCommandMethod(RedisStreamCommands.class, "xGroupCreate", byte[].class, String.class, ReadOffset.class, boolean.class);
+
+        /**
+         * xGroupDelConsumer(byte[], Consumer) Method
+         * @see <a href="https://redis.io/commands/xgroup">Redis Documentation: XGROUP</a>
+         */
+        initWriteCommandMethod(RedisStreamCommands.class, "xGroupDelConsumer", byte[].class, Consumer.class);
+
+        /**
+         * xGroupDestroy(byte[], String) Method
+         * @see <a href="https://redis.io/commands/xgroup">Redis Documentation: XGROUP</a>
+         */
+        initWriteCommandMethod(RedisStreamCommands.class, "xGroupDestroy", byte[].class, String.class);
+
+        /**
+         * xTrim(byte[], long) Method
+         * @see <a href="https://redis.io/commands/xtrim">Redis Documentation: XTRIM</a>
+         */
+        initWriteCommandMethod(RedisStreamCommands.class, "xTrim", byte[].class, long.class);
+
+        /**
+         * xTrim(byte[], long, boolean) Method
+         * @see <a href="https://redis.io/commands/xtrim">Redis Documentation: XTRIM</a>
+         */
+        initWriteCommandMethod(RedisStreamCommands.class, "xTrim", byte[].class, long.class, boolean.class);
+    }
+
+    /**
+     * Initialize {@link RedisTxCommands} write command method
+     * <p>
+     * The commands between MULTI and EXEC are published as one
+     * {@link io.github.microsphere.spring.redis.event.RedisTransactionCommandEvent} after EXEC.
+     */
+    private static void initRedisTxCommandsWriteCommandMethods() {
+
+        /**
+         * multi() Method
+         * @see <a href="https://redis.io/commands/multi">Redis Documentation: MULTI</a>
+         */
+        initWriteCommandMethod(RedisTxCommands.class, "multi");
+
+        /**
+         * exec() Method
+         * @see <a href="https://redis.io/commands/exec">Redis Documentation: EXEC</a>
+         */
+        initWriteCommandMethod(RedisTxCommands.class, "exec");
+
+        /**
+         * discard() Method
+         * @see <a href="https://redis.io/commands/discard">Redis Documentation: DISCARD</a>
+         */
+        initWriteCommandMethod(RedisTxCommands.class, "discard");
+    }
+
+    /**
+     * Initialize {@link RedisServerCommands} write command method
+     * <p>
+     * The commands that only affect the local server(e.g, SAVE, CONFIG SET, SHUTDOWN) are not replicated.
+     */
+    private static void initRedisServerCommandsWriteCommandMethods() {
+
+        /**
+         * flushDb() Method
+         * @see <a href="https://redis.io/commands/flushdb">Redis Documentation: FLUSHDB</a>
+         */
+        initWriteCommandMethod(RedisServerCommands.class, "flushDb");
+
+        /**
+         * flushAll() Method
+         * @see <a href="https://redis.io/commands/flushall">Redis Documentation: FLUSHALL</a>
+         */
+        initWriteCommandMethod(RedisServerCommands.class, "flushAll");
+    }
+
     private static void initWriteCommandMethod(Class<?> declaredClass, String methodName, Class<?>... parameterTypes) {
         try {
             logger.debug("Initializes the write command method[Declared Class: {} , Method: {}, Parameter types: {}]...", declaredClass.getName(), methodName, Arrays.toString(parameterTypes));
@@ -804,7 +1178,6 @@ public class MethodMetadataRepository {
                 method.setAccessible(true);
             }
             initWriteCommandMethodMethod(method, parameterTypes);
-            initWriteCommandMethodCache(declaredClass, method, parameterTypes);
         } catch (Throwable e) {
             logger.error("Unable to initialize write command method[Declared Class: {}, Method: {}, Parameter types: {}], Reason: {}", declaredClass.getName(), methodName, Arrays.toString(parameterTypes), e.getMessage());
             if (FAIL_FAST_ENABLED) {
@@ -822,15 +1195,4 @@ public class MethodMetadataRepository {
         writeCommandMethodsMetadata.put(method, parameterMetadataList);
         logger.debug("Initializing write command method metadata information successfully, Method: {}, parameter Write Command Method metadata information: {}", method.getName(), parameterMetadataList);
     }
-
-    private static void initWriteCommandMethodCache(Class<?> declaredClass, Method method, Class<?>[] parameterTypes) {
-        String id = buildCommandMethodId(declaredClass.getName(), method.getName(), parameterTypes);
-        if (writeCommandMethodsCache.putIfAbsent(id, method) == null) {
-            logger.debug("Cache write command method[id: {}, Method: {}]", id, method);
-        } else {
-            logger.warn("write command method[id: {}, Method: {}] is cached", id, method);
-        }
-    }
-
-
 }
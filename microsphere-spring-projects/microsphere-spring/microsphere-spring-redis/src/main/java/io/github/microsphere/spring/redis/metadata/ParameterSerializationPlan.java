@@ -0,0 +1,296 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microsphere.spring.redis.metadata;
+
+import io.github.microsphere.spring.redis.serializer.BooleanSerializer;
+import io.github.microsphere.spring.redis.serializer.ByteArraySerializer;
+import io.github.microsphere.spring.redis.serializer.ByteBufferSerializer;
+import io.github.microsphere.spring.redis.serializer.DoubleSerializer;
+import io.github.microsphere.spring.redis.serializer.IntegerSerializer;
+import io.github.microsphere.spring.redis.serializer.LongSerializer;
+import io.github.microsphere.spring.redis.serializer.ShortSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.nio.ByteBuffer;
+
+import static io.github.microsphere.spring.redis.util.VarIntUtils.readVarInt;
+import static io.github.microsphere.spring.redis.util.VarIntUtils.varIntSize;
+import static io.github.microsphere.spring.redis.util.VarIntUtils.writeVarInt;
+
+/**
+ * The serialization plan of the parameters of one Redis command {@link java.lang.reflect.Method}, which is compiled
+ * once from the pre-resolved {@link RedisSerializer RedisSerializers} of {@link MethodMetadata}.
+ * <p>
+ * The parameters of the built-in serializers for <code>byte[]</code>, <code>boolean</code>, <code>short</code>,
+ * <code>int</code>, <code>long</code> and <code>double</code> are serialized by the inlined fast paths into the
+ * exactly sized arrays, the output is identical with the serializers, the others are delegated to their serializers.
+ * <p>
+ * {@link #serializeArguments(Object[])} serializes all arguments into one pre-sized buffer by the
+ * {@link ByteBufferSerializer ByteBufferSerializers}, the layout is the count of arguments(varint) and the
+ * length-prefixed(varint of length + 1, zero for null) arguments, which is same as the parameters of
+ * {@link io.github.microsphere.spring.redis.serializer.RedisCommandEventSerializer#VERSION_3 the version 3 format}.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see MethodMetadata#getParameterSerializationPlan()
+ * @since 1.0.0
+ */
+public final class ParameterSerializationPlan {
+
+    static final byte SKIP = 0;
+
+    static final byte DELEGATE = 1;
+
+    static final byte BYTES = 2;
+
+    static final byte BOOLEAN = 3;
+
+    static final byte SHORT = 4;
+
+    static final byte INT = 5;
+
+    static final byte LONG = 6;
+
+    static final byte DOUBLE = 7;
+
+    /**
+     * The bytes length of the null or skipped argument
+     */
+    private static final int NULL_BYTES_LENGTH = -2;
+
+    private final byte[] kinds;
+
+    private final RedisSerializer[] serializers;
+
+    ParameterSerializationPlan(RedisSerializer[] serializers) {
+        int length = serializers.length;
+        this.kinds = new byte[length];
+        this.serializers = serializers;
+        for (int i = 0; i < length; i++) {
+            kinds[i] = kindOf(serializers[i]);
+        }
+    }
+
+    /**
+     * @param index the index of parameter
+     * @return the {@link RedisSerializer} of parameter
+     */
+    RedisSerializer getSerializer(int index) {
+        return serializers[index];
+    }
+
+    static byte kindOf(RedisSerializer serializer) {
+        if (serializer == null) {
+            return SKIP;
+        }
+        // The fast paths are applied to the built-in serializers only, the sub-classes may change the format
+        Class<?> serializerClass = serializer.getClass();
+        if (serializerClass == ByteArraySerializer.class) {
+            return BYTES;
+        } else if (serializerClass == BooleanSerializer.class) {
+            return BOOLEAN;
+        } else if (serializerClass == ShortSerializer.class) {
+            return SHORT;
+        } else if (serializerClass == IntegerSerializer.class) {
+            return INT;
+        } else if (serializerClass == LongSerializer.class) {
+            return LONG;
+        } else if (serializerClass == DoubleSerializer.class) {
+            return DOUBLE;
+        }
+        return DELEGATE;
+    }
+
+    /**
+     * Serialize the arguments
+     *
+     * @param args the arguments of the Redis command {@link java.lang.reflect.Method}
+     * @return the raw values of the arguments, the element is <code>null</code> if the argument is null or it can't
+     * be serialized
+     */
+    public byte[][] serialize(Object[] args) {
+        int length = kinds.length;
+        byte[][] rawValues = new byte[length][];
+        for (int i = 0; i < length; i++) {
+            rawValues[i] = serialize(i, args[i]);
+        }
+        return rawValues;
+    }
+
+    /**
+     * Serialize the argument
+     *
+     * @param index the index of parameter
+     * @param arg   the argument
+     * @return <code>null</code> if the argument is null or it can't be serialized
+     */
+    public byte[] serialize(int index, Object arg) {
+        if (arg == null) {
+            return null;
+        }
+        switch (kinds[index]) {
+            case BYTES:
+                return (byte[]) arg;
+            case BOOLEAN:
+                return new byte[]{(byte) (((Boolean) arg) ? 1 : 0)};
+            case SHORT:
+                return writeShort((Short) arg);
+            case INT:
+                return writeInt((Integer) arg);
+            case LONG:
+                return writeLong((Long) arg);
+            case DOUBLE:
+                return writeLong(Double.doubleToLongBits((Double) arg));
+            case DELEGATE:
+                return serializers[index].serialize(arg);
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Serialize all arguments into one byte array, the lengths are estimated before, thus only one buffer is
+     * allocated unless the argument can't be estimated by its serializer.
+     *
+     * @param args the arguments of the Redis command {@link java.lang.reflect.Method}
+     * @return non-null
+     * @see #readArguments(ByteBuffer)
+     */
+    public byte[] serializeArguments(Object[] args) {
+        int length = kinds.length;
+        // The arguments which are serialized to estimate the length
+        byte[][] serializedArgs = null;
+        int size = varIntSize(length);
+        for (int i = 0; i < length; i++) {
+            Object arg = args[i];
+            int bytesLength = getBytesLength(i, arg);
+            if (bytesLength == ByteBufferSerializer.UNBOUND_BYTES_LENGTH) {
+                if (serializedArgs == null) {
+                    serializedArgs = new byte[length][];
+                }
+                byte[] bytes = serialize(i, arg);
+                serializedArgs[i] = bytes;
+                bytesLength = bytes == null ? NULL_BYTES_LENGTH : bytes.length;
+            }
+            size += bytesLength < 0 ? 1 : varIntSize(bytesLength + 1) + bytesLength;
+        }
+
+        byte[] bytes = new byte[size];
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        writeVarInt(length, buffer);
+        for (int i = 0; i < length; i++) {
+            byte[] serializedArg = serializedArgs == null ? null : serializedArgs[i];
+            if (serializedArg != null) {
+                writeVarInt(serializedArg.length + 1, buffer);
+                buffer.put(serializedArg);
+            } else {
+                serialize(i, args[i], buffer);
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * Read the raw values of the arguments that were serialized by {@link #serializeArguments(Object[])}
+     *
+     * @param buffer {@link ByteBuffer}
+     * @return non-null
+     */
+    public static byte[][] readArguments(ByteBuffer buffer) {
+        int length = readVarInt(buffer);
+        byte[][] rawValues = new byte[length][];
+        for (int i = 0; i < length; i++) {
+            int bytesLength = readVarInt(buffer) - 1;
+            if (bytesLength > -1) {
+                byte[] bytes = new byte[bytesLength];
+                buffer.get(bytes);
+                rawValues[i] = bytes;
+            }
+        }
+        return rawValues;
+    }
+
+    private int getBytesLength(int index, Object arg) {
+        if (arg == null) {
+            return NULL_BYTES_LENGTH;
+        }
+        switch (kinds[index]) {
+            case BYTES:
+                return ((byte[]) arg).length;
+            case BOOLEAN:
+                return 1;
+            case SHORT:
+                return 2;
+            case INT:
+                return 4;
+            case LONG:
+            case DOUBLE:
+                return 8;
+            case DELEGATE:
+                RedisSerializer serializer = serializers[index];
+                if (serializer instanceof ByteBufferSerializer) {
+                    return ((ByteBufferSerializer) serializer).getBytesLength(arg);
+                }
+                return ByteBufferSerializer.UNBOUND_BYTES_LENGTH;
+            default:
+                return NULL_BYTES_LENGTH;
+        }
+    }
+
+    private void serialize(int index, Object arg, ByteBuffer buffer) {
+        int bytesLength = getBytesLength(index, arg);
+        if (bytesLength < 0) {
+            buffer.put((byte) 0);
+            return;
+        }
+        writeVarInt(bytesLength + 1, buffer);
+        if (kinds[index] == BYTES) {
+            buffer.put((byte[]) arg);
+        } else {
+            // The built-in serializers of primitives are ByteBufferSerializers
+            ((ByteBufferSerializer) serializers[index]).serialize(arg, buffer);
+        }
+    }
+
+    /**
+     * @return the count of parameters
+     */
+    public int getParameterCount() {
+        return kinds.length;
+    }
+
+    private static byte[] writeShort(short value) {
+        return new byte[]{(byte) (value >>> 8), (byte) value};
+    }
+
+    private static byte[] writeInt(int value) {
+        return new byte[]{(byte) (value >> 24), (byte) (value >> 16), (byte) (value >> 8), (byte) value};
+    }
+
+    private static byte[] writeLong(long value) {
+        // The byte order is same as LongSerializer
+        return new byte[]{
+                (byte) value,
+                (byte) (value >> 8),
+                (byte) (value >> 16),
+                (byte) (value >> 24),
+                (byte) (value >> 32),
+                (byte) (value >> 40),
+                (byte) (value >> 48),
+                (byte) (value >> 56)
+        };
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microsphere.spring.redis.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The lock-free histogram of the non-negative long values, e.g, the latencies in nano seconds or the sizes in bytes.
+ * <p>
+ * The values are counted in the log-linear buckets like HdrHistogram does : every power-of-two range is split into
+ * {@link #SUB_BUCKET_COUNT} linear sub-buckets, thus the relative error of the recorded value is less than
+ * 1/{@link #SUB_BUCKET_COUNT}, the values that are larger than {@link #HIGHEST_TRACKABLE_VALUE} are recorded as it.
+ * <p>
+ * The counts are striped by the recording threads to reduce the contention, and the recording is allocation-free.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see HistogramSnapshot
+ * @since 1.0.0
+ */
+public class Histogram {
+
+    static final int SUB_BUCKET_BITS = 5;
+
+    public static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+    static final int MAX_MAGNITUDE = 36;
+
+    /**
+     * The highest trackable value : 2^36 - 1, about 68 seconds in nano seconds or 64 GiB in bytes
+     */
+    public static final long HIGHEST_TRACKABLE_VALUE = (1L << MAX_MAGNITUDE) - 1;
+
+    static final int BUCKET_COUNT = indexOf(HIGHEST_TRACKABLE_VALUE) + 1;
+
+    /**
+     * The index of the sum of values in the stripe
+     */
+    private static final int SUM_INDEX = BUCKET_COUNT;
+
+    private final AtomicLongArray[] stripes;
+
+    private final int stripeMask;
+
+    /**
+     * @param stripes the count of stripes, it will be rounded up to the power of two
+     */
+    public Histogram(int stripes) {
+        int count = Integer.highestOneBit(Math.max(stripes, 1) * 2 - 1);
+        this.stripes = new AtomicLongArray[count];
+        for (int i = 0; i < count; i++) {
+            this.stripes[i] = new AtomicLongArray(BUCKET_COUNT + 1);
+        }
+        this.stripeMask = count - 1;
+    }
+
+    /**
+     * Record the value
+     *
+     * @param value the value, the negative value is recorded as zero
+     */
+    public void record(long value) {
+        if (value < 0) {
+            value = 0;
+        } else if (value > HIGHEST_TRACKABLE_VALUE) {
+            value = HIGHEST_TRACKABLE_VALUE;
+        }
+        AtomicLongArray stripe = stripes[(int) Thread.currentThread().getId() & stripeMask];
+        stripe.incrementAndGet(indexOf(value));
+        stripe.addAndGet(SUM_INDEX, value);
+    }
+
+    /**
+     * Take the snapshot of the cumulative counts since this histogram was created
+     *
+     * @return non-null
+     */
+    public HistogramSnapshot snapshot() {
+        long[] counts = new long[BUCKET_COUNT];
+        long sum = 0;
+        for (AtomicLongArray stripe : stripes) {
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                counts[i] += stripe.get(i);
+            }
+            sum += stripe.get(SUM_INDEX);
+        }
+        return new HistogramSnapshot(counts, sum);
+    }
+
+    static int indexOf(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int magnitude = 63 - Long.numberOfLeadingZeros(value);
+        int shift = magnitude - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) & (SUB_BUCKET_COUNT - 1);
+        return SUB_BUCKET_COUNT + shift * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    /**
+     * @param index the index of bucket
+     * @return the highest value that is counted in the bucket
+     */
+    static long highestValueOf(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = (index - SUB_BUCKET_COUNT) / SUB_BUCKET_COUNT;
+        int subBucket = (index - SUB_BUCKET_COUNT) % SUB_BUCKET_COUNT;
+        long lowestValue = (long) (SUB_BUCKET_COUNT + subBucket) << shift;
+        return lowestValue + (1L << shift) - 1;
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microsphere.spring.redis.metrics;
+
+import java.util.StringJoiner;
+
+/**
+ * The immutable snapshot of {@link Histogram}, which may be cumulative or the difference of two cumulative
+ * snapshots, see {@link #minus(HistogramSnapshot)}
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see Histogram#snapshot()
+ * @since 1.0.0
+ */
+public class HistogramSnapshot {
+
+    static final HistogramSnapshot EMPTY = new HistogramSnapshot(new long[Histogram.BUCKET_COUNT], 0L);
+
+    private final long[] counts;
+
+    private final long count;
+
+    private final long sum;
+
+    HistogramSnapshot(long[] counts, long sum) {
+        long count = 0;
+        for (long c : counts) {
+            count += c;
+        }
+        this.counts = counts;
+        this.count = count;
+        this.sum = sum;
+    }
+
+    /**
+     * @return the count of the recorded values
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * @return the sum of the recorded values
+     */
+    public long getSum() {
+        return sum;
+    }
+
+    public double getMean() {
+        return count == 0 ? 0d : (double) sum / count;
+    }
+
+    /**
+     * @return the highest equivalent value of the max recorded value, or zero if none
+     */
+    public long getMax() {
+        for (int i = counts.length - 1; i > -1; i--) {
+            if (counts[i] > 0) {
+                return Histogram.highestValueOf(i);
+            }
+        }
+        return 0L;
+    }
+
+    /**
+     * Get the value at the percentile, e.g, 99.9 for p999
+     *
+     * @param percentile the percentile in the range [0, 100]
+     * @return the highest equivalent value of the recorded value at the percentile, or zero if none
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (count == 0) {
+            return 0L;
+        }
+        double p = Math.min(Math.max(percentile, 0d), 100d);
+        long target = Math.max((long) Math.ceil(p / 100d * count), 1L);
+        long accumulated = 0;
+        for (int i = 0; i < counts.length; i++) {
+            accumulated += counts[i];
+            if (accumulated >= target) {
+                return Histogram.highestValueOf(i);
+            }
+        }
+        return getMax();
+    }
+
+    /**
+     * Subtract the earlier snapshot from this snapshot
+     *
+     * @param previous the earlier snapshot of the same {@link Histogram}
+     * @return the snapshot of the values that were recorded between two snapshots
+     */
+    public HistogramSnapshot minus(HistogramSnapshot previous) {
+        long[] counts = new long[this.counts.length];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = this.counts[i] - previous.counts[i];
+        }
+        return new HistogramSnapshot(counts, sum - previous.sum);
+    }
+
+    @Override
+    public String toString() {
+        return new StringJoiner(", ", HistogramSnapshot.class.getSimpleName() + "[", "]")
+                .add("count=" + count)
+                .add("mean=" + getMean())
+                .add("p50=" + getValueAtPercentile(50d))
+                .add("p99=" + getValueAtPercentile(99d))
+                .add("p999=" + getValueAtPercentile(99.9d))
+                .add("max=" + getMax())
+                .toString();
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microsphere.spring.redis.metrics;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.unmodifiableList;
+
+/**
+ * {@link RedisCommandMetricsExporter} holds the snapshots of the last interval in memory, which is useful for the
+ * tests and the diagnostics
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @since 1.0.0
+ */
+public class InMemoryRedisCommandMetricsExporter implements RedisCommandMetricsExporter {
+
+    private volatile List<RedisCommandMetricsSnapshot> snapshots = emptyList();
+
+    private final AtomicLong exports = new AtomicLong();
+
+    @Override
+    public void export(List<RedisCommandMetricsSnapshot> snapshots) {
+        this.snapshots = unmodifiableList(snapshots);
+        exports.incrementAndGet();
+    }
+
+    /**
+     * @return the snapshots of the last interval
+     */
+    public List<RedisCommandMetricsSnapshot> getSnapshots() {
+        return snapshots;
+    }
+
+    /**
+     * Find the snapshot of the last interval
+     *
+     * @param sourceBeanName the source bean name
+     * @param commandName    the {@link RedisCommandMetricsSnapshot#getCommandName() command name}
+     * @return <code>null</code> if not found
+     */
+    public RedisCommandMetricsSnapshot getSnapshot(String sourceBeanName, String commandName) {
+        for (RedisCommandMetricsSnapshot snapshot : snapshots) {
+            if (snapshot.getSourceBeanName().equals(sourceBeanName) && snapshot.getCommandName().equals(commandName)) {
+                return snapshot;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return the times of exporting
+     */
+    public long getExports() {
+        return exports.get();
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microsphere.spring.redis.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link RedisCommandMetricsExporter} exposes the snapshots of the last interval as the {@link RedisCommandMetricsMXBean
+ * MXBeans} in the platform {@link MBeanServer}, the object name pattern :
+ * "io.github.microsphere.spring.redis:type=RedisCommandMetrics,source={source bean name},command={command name}#{id}"
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see RedisCommandMetricsMXBean
+ * @since 1.0.0
+ */
+public class JmxRedisCommandMetricsExporter implements RedisCommandMetricsExporter, DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(JmxRedisCommandMetricsExporter.class);
+
+    public static final String BEAN_NAME = "jmxRedisCommandMetricsExporter";
+
+    public static final String DOMAIN = "io.github.microsphere.spring.redis";
+
+    private final MBeanServer mBeanServer;
+
+    private final Map<String, RedisCommandMetricsMXBeanImpl> mxBeans = new ConcurrentHashMap<>();
+
+    public JmxRedisCommandMetricsExporter() {
+        this(ManagementFactory.getPlatformMBeanServer());
+    }
+
+    public JmxRedisCommandMetricsExporter(MBeanServer mBeanServer) {
+        this.mBeanServer = mBeanServer;
+    }
+
+    @Override
+    public void export(List<RedisCommandMetricsSnapshot> snapshots) {
+        long version = System.nanoTime();
+        for (RedisCommandMetricsSnapshot snapshot : snapshots) {
+            String key = snapshot.getSourceBeanName() + "#" + snapshot.getMethodMetadata().getId();
+            RedisCommandMetricsMXBeanImpl mxBean = mxBeans.get(key);
+            if (mxBean == null) {
+                mxBean = register(key, snapshot);
+            }
+            mxBean.update(snapshot, version);
+        }
+        for (RedisCommandMetricsMXBeanImpl mxBean : mxBeans.values()) {
+            if (mxBean.version != version) {
+                // No command was executed in the interval
+                mxBean.update(null, version);
+            }
+        }
+    }
+
+    private RedisCommandMetricsMXBeanImpl register(String key, RedisCommandMetricsSnapshot snapshot) {
+        RedisCommandMetricsMXBeanImpl mxBean = new RedisCommandMetricsMXBeanImpl(snapshot);
+        try {
+            ObjectName objectName = new ObjectName(DOMAIN + ":type=RedisCommandMetrics,source="
+                    + ObjectName.quote(snapshot.getSourceBeanName()) + ",command="
+                    + ObjectName.quote(snapshot.getCommandName() + "#" + snapshot.getMethodMetadata().getId()));
+            mBeanServer.registerMBean(mxBean, objectName);
+            mxBean.objectName = objectName;
+        } catch (Throwable e) {
+            logger.warn("The MXBean of the Redis command metrics[key : '{}'] can't be registered", key, e);
+        }
+        mxBeans.put(key, mxBean);
+        return mxBean;
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        for (RedisCommandMetricsMXBeanImpl mxBean : mxBeans.values()) {
+            ObjectName objectName = mxBean.objectName;
+            if (objectName != null && mBeanServer.isRegistered(objectName)) {
+                mBeanServer.unregisterMBean(objectName);
+            }
+        }
+        mxBeans.clear();
+    }
+
+    static class RedisCommandMetricsMXBeanImpl implements RedisCommandMetricsMXBean {
+
+        private final String sourceBeanName;
+
+        private final String commandName;
+
+        private final String method;
+
+        private volatile RedisCommandMetricsSnapshot snapshot;
+
+        private volatile ObjectName objectName;
+
+        private long version;
+
+        RedisCommandMetricsMXBeanImpl(RedisCommandMetricsSnapshot snapshot) {
+            this.sourceBeanName = snapshot.getSourceBeanName();
+            this.commandName = snapshot.getCommandName();
+            this.method = snapshot.getMethodMetadata().getMethod().toString();
+        }
+
+        void update(RedisCommandMetricsSnapshot snapshot, long version) {
+            this.snapshot = snapshot;
+            this.version = version;
+        }
+
+        @Override
+        public String getSourceBeanName() {
+            return sourceBeanName;
+        }
+
+        @Override
+        public String getCommandName() {
+            return commandName;
+        }
+
+        @Override
+        public String getMethod() {
+            return method;
+        }
+
+        @Override
+        public long getIntervalEndTime() {
+            RedisCommandMetricsSnapshot snapshot = this.snapshot;
+            return snapshot == null ? 0L : snapshot.getEndTime();
+        }
+
+        @Override
+        public long getCount() {
+            RedisCommandMetricsSnapshot snapshot = this.snapshot;
+            return snapshot == null ? 0L : snapshot.getCount();
+        }
+
+        @Override
+        public long getErrorCount() {
+            RedisCommandMetricsSnapshot snapshot = this.snapshot;
+            return snapshot == null ? 0L : snapshot.getErrorCount();
+        }
+
+        @Override
+        public double getLatencyMean() {
+            RedisCommandMetricsSnapshot snapshot = this.snapshot;
+            return snapshot == null ? 0d : snapshot.getLatency().getMean() / 1000d;
+        }
+
+        @Override
+        public long getLatencyP50() {
+            return getLatency(50d);
+        }
+
+        @Override
+        public long getLatencyP99() {
+            return getLatency(99d);
+        }
+
+        @Override
+        public long getLatencyP999() {
+            return getLatency(99.9d);
+        }
+
+        @Override
+        public long getLatencyMax() {
+            RedisCommandMetricsSnapshot snapshot = this.snapshot;
+            return snapshot == null ? 0L : TimeUnit.NANOSECONDS.toMicros(snapshot.getLatency().getMax());
+        }
+
+        @Override
+        public double getPayloadSizeMean() {
+            RedisCommandMetricsSnapshot snapshot = this.snapshot;
+            return snapshot == null ? 0d : snapshot.getPayloadSize().getMean();
+        }
+
+        @Override
+        public long getPayloadSizeP99() {
+            RedisCommandMetricsSnapshot snapshot = this.snapshot;
+            return snapshot == null ? 0L : snapshot.getPayloadSize().getValueAtPercentile(99d);
+        }
+
+        @Override
+        public long getPayloadSizeMax() {
+            RedisCommandMetricsSnapshot snapshot = this.snapshot;
+            return snapshot == null ? 0L : snapshot.getPayloadSize().getMax();
+        }
+
+        private long getLatency(double percentile) {
+            RedisCommandMetricsSnapshot snapshot = this.snapshot;
+            return snapshot == null ? 0L : TimeUnit.NANOSECONDS.toMicros(snapshot.getLatency().getValueAtPercentile(percentile));
+        }
+    }
+}
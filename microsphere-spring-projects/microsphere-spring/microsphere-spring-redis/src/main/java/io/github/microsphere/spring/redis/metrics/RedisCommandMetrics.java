@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microsphere.spring.redis.metrics;
+
+import io.github.microsphere.spring.redis.metadata.MethodMetadata;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The metrics recorder of one Redis command from one source bean, the latencies, the payload sizes and the errors are
+ * recorded without allocation, and the interval snapshots are taken by {@link #snapshot(long)}.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see RedisCommandMetricsSnapshot
+ * @since 1.0.0
+ */
+public class RedisCommandMetrics {
+
+    private final String sourceBeanName;
+
+    private final MethodMetadata methodMetadata;
+
+    private final Histogram latency;
+
+    private final Histogram payloadSize;
+
+    private final LongAdder errors = new LongAdder();
+
+    private HistogramSnapshot lastLatency = HistogramSnapshot.EMPTY;
+
+    private HistogramSnapshot lastPayloadSize = HistogramSnapshot.EMPTY;
+
+    private long lastErrorCount;
+
+    private long lastSnapshotTime;
+
+    public RedisCommandMetrics(String sourceBeanName, MethodMetadata methodMetadata, int stripes, long startTime) {
+        this.sourceBeanName = sourceBeanName;
+        this.methodMetadata = methodMetadata;
+        this.latency = new Histogram(stripes);
+        this.payloadSize = new Histogram(stripes);
+        this.lastSnapshotTime = startTime;
+    }
+
+    /**
+     * Record the execution of Redis command
+     *
+     * @param latencyNanos the latency in nano seconds
+     * @param payloadSize  the size of the request payload in bytes
+     * @param failed       whether the execution is failed or not
+     */
+    public void record(long latencyNanos, long payloadSize, boolean failed) {
+        this.latency.record(latencyNanos);
+        this.payloadSize.record(payloadSize);
+        if (failed) {
+            errors.increment();
+        }
+    }
+
+    /**
+     * Take the snapshot of the interval since last snapshot
+     *
+     * @param time the current time in milliseconds
+     * @return non-null
+     */
+    public synchronized RedisCommandMetricsSnapshot snapshot(long time) {
+        HistogramSnapshot latency = this.latency.snapshot();
+        HistogramSnapshot payloadSize = this.payloadSize.snapshot();
+        long errorCount = errors.sum();
+        RedisCommandMetricsSnapshot snapshot = new RedisCommandMetricsSnapshot(sourceBeanName, methodMetadata,
+                lastSnapshotTime, time, latency.minus(lastLatency), payloadSize.minus(lastPayloadSize),
+                errorCount - lastErrorCount);
+        this.lastLatency = latency;
+        this.lastPayloadSize = payloadSize;
+        this.lastErrorCount = errorCount;
+        this.lastSnapshotTime = time;
+        return snapshot;
+    }
+
+    public String getSourceBeanName() {
+        return sourceBeanName;
+    }
+
+    public MethodMetadata getMethodMetadata() {
+        return methodMetadata;
+    }
+}
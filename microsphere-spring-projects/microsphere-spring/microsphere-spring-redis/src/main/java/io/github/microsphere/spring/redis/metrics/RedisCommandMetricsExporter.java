@@ -0,0 +1,39 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microsphere.spring.redis.metrics;
+
+import java.util.List;
+
+/**
+ * The exporter of the Redis command metrics, the implementations are registered as the Spring Beans, and they are
+ * invoked by the metrics thread of {@link io.github.microsphere.spring.redis.interceptor.MetricsRedisCommandInterceptor}
+ * periodically.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see InMemoryRedisCommandMetricsExporter
+ * @see JmxRedisCommandMetricsExporter
+ * @since 1.0.0
+ */
+public interface RedisCommandMetricsExporter {
+
+    /**
+     * Export the snapshots of an interval
+     *
+     * @param snapshots the snapshots of the Redis commands that were executed in the interval
+     */
+    void export(List<RedisCommandMetricsSnapshot> snapshots);
+}
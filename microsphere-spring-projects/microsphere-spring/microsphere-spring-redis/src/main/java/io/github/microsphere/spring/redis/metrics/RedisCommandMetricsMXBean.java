@@ -0,0 +1,56 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microsphere.spring.redis.metrics;
+
+/**
+ * The MXBean of the Redis command metrics in the last interval, the latencies are in microseconds and the payload
+ * sizes are in bytes
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see JmxRedisCommandMetricsExporter
+ * @since 1.0.0
+ */
+public interface RedisCommandMetricsMXBean {
+
+    String getSourceBeanName();
+
+    String getCommandName();
+
+    String getMethod();
+
+    long getIntervalEndTime();
+
+    long getCount();
+
+    long getErrorCount();
+
+    double getLatencyMean();
+
+    long getLatencyP50();
+
+    long getLatencyP99();
+
+    long getLatencyP999();
+
+    long getLatencyMax();
+
+    double getPayloadSizeMean();
+
+    long getPayloadSizeP99();
+
+    long getPayloadSizeMax();
+}
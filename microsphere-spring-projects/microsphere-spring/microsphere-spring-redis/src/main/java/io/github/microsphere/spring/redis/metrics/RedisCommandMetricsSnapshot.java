@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microsphere.spring.redis.metrics;
+
+import io.github.microsphere.spring.redis.metadata.MethodMetadata;
+
+import java.util.StringJoiner;
+
+/**
+ * The immutable snapshot of {@link RedisCommandMetrics} in an interval
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see RedisCommandMetrics#snapshot(long)
+ * @since 1.0.0
+ */
+public class RedisCommandMetricsSnapshot {
+
+    private final String sourceBeanName;
+
+    private final MethodMetadata methodMetadata;
+
+    private final long startTime;
+
+    private final long endTime;
+
+    private final HistogramSnapshot latency;
+
+    private final HistogramSnapshot payloadSize;
+
+    private final long errorCount;
+
+    public RedisCommandMetricsSnapshot(String sourceBeanName, MethodMetadata methodMetadata, long startTime, long endTime,
+                                       HistogramSnapshot latency, HistogramSnapshot payloadSize, long errorCount) {
+        this.sourceBeanName = sourceBeanName;
+        this.methodMetadata = methodMetadata;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.latency = latency;
+        this.payloadSize = payloadSize;
+        this.errorCount = errorCount;
+    }
+
+    /**
+     * @return the bean name of RedisTemplate or RedisConnectionFactory, or the empty string if unknown
+     */
+    public String getSourceBeanName() {
+        return sourceBeanName;
+    }
+
+    public MethodMetadata getMethodMetadata() {
+        return methodMetadata;
+    }
+
+    /**
+     * @return the name of command, e.g, "RedisStringCommands.set"
+     */
+    public String getCommandName() {
+        return methodMetadata.getMethod().getDeclaringClass().getSimpleName() + "." + methodMetadata.getMethodName();
+    }
+
+    /**
+     * @return the start time of the interval in milliseconds
+     */
+    public long getStartTime() {
+        return startTime;
+    }
+
+    /**
+     * @return the end time of the interval in milliseconds
+     */
+    public long getEndTime() {
+        return endTime;
+    }
+
+    /**
+     * @return the latencies in nano seconds
+     */
+    public HistogramSnapshot getLatency() {
+        return latency;
+    }
+
+    /**
+     * @return the sizes of the request payloads in bytes
+     */
+    public HistogramSnapshot getPayloadSize() {
+        return payloadSize;
+    }
+
+    public long getCount() {
+        return latency.getCount();
+    }
+
+    public long getErrorCount() {
+        return errorCount;
+    }
+
+    @Override
+    public String toString() {
+        return new StringJoiner(", ", RedisCommandMetricsSnapshot.class.getSimpleName() + "[", "]")
+                .add("sourceBeanName='" + sourceBeanName + "'")
+                .add("command='" + getCommandName() + "'")
+                .add("startTime=" + startTime)
+                .add("endTime=" + endTime)
+                .add("latency=" + latency)
+                .add("payloadSize=" + payloadSize)
+                .add("errorCount=" + errorCount)
+                .toString();
+    }
+}
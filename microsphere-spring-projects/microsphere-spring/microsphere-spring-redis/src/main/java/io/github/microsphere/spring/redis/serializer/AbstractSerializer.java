@@ -4,6 +4,9 @@ import org.springframework.core.ResolvableType;
 import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.SerializationException;
 
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+
 import static org.springframework.core.ResolvableType.forType;
 
 /**
@@ -13,9 +16,9 @@ import static org.springframework.core.ResolvableType.forType;
  * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
  * @since 1.0.0
  */
-public abstract class AbstractSerializer<T> implements RedisSerializer<T> {
+public abstract class AbstractSerializer<T> implements RedisSerializer<T>, ByteBufferSerializer<T> {
 
-    public static final int UNBOUND_BYTES_LENGTH = -1;
+    public static final int UNBOUND_BYTES_LENGTH = ByteBufferSerializer.UNBOUND_BYTES_LENGTH;
 
     public static final int BOOLEAN_BYTES_LENGTH = 1;
 
@@ -68,6 +71,37 @@ public abstract class AbstractSerializer<T> implements RedisSerializer<T> {
         return doDeserialize(bytes);
     }
 
+    @Override
+    public int getBytesLength(T t) {
+        return t == null ? 0 : bytesLength;
+    }
+
+    @Override
+    public final void serialize(T t, ByteBuffer buffer) throws SerializationException {
+        // null compatible case
+        if (t == null) {
+            return;
+        }
+
+        doSerialize(t, buffer);
+    }
+
+    @Override
+    public final T deserialize(ByteBuffer buffer, int length) throws SerializationException {
+        // null compatible case
+        if (buffer == null) {
+            return null;
+        }
+
+        // Compatible byte array fixed case
+        if (bytesLength != UNBOUND_BYTES_LENGTH && length != bytesLength) {
+            ((Buffer) buffer).position(buffer.position() + length);
+            return null;
+        }
+
+        return doDeserialize(buffer, length);
+    }
+
     @Override
     public final Class<T> getTargetType() {
         return targetType;
@@ -93,6 +127,33 @@ public abstract class AbstractSerializer<T> implements RedisSerializer<T> {
 
     protected abstract T doDeserialize(byte[] bytes) throws SerializationException;
 
+    /**
+     * Serialize the non-null value into the {@link ByteBuffer}, the sub-class should override this method to write the
+     * buffer directly without the intermediate byte array.
+     *
+     * @param t      the non-null value
+     * @param buffer {@link ByteBuffer}
+     * @throws SerializationException
+     */
+    protected void doSerialize(T t, ByteBuffer buffer) throws SerializationException {
+        buffer.put(doSerialize(t));
+    }
+
+    /**
+     * Deserialize the value from the {@link ByteBuffer}, the sub-class should override this method to read the
+     * buffer directly without the intermediate byte array.
+     *
+     * @param buffer {@link ByteBuffer}
+     * @param length the length of the serialized value
+     * @return the value
+     * @throws SerializationException
+     */
+    protected T doDeserialize(ByteBuffer buffer, int length) throws SerializationException {
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return doDeserialize(bytes);
+    }
+
     private ResolvableType resolvableType() {
         return forType(getClass()).as(RedisSerializer.class).getGeneric(0);
     }
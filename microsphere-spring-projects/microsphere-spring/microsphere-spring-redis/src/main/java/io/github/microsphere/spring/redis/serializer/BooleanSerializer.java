@@ -3,6 +3,8 @@ package io.github.microsphere.spring.redis.serializer;
 import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.SerializationException;
 
+import java.nio.ByteBuffer;
+
 /**
  * Java {@code boolean} or {@link Boolean} type {@link RedisSerializer} Class
  *
@@ -33,8 +35,21 @@ public final class BooleanSerializer extends AbstractSerializer<Boolean> {
 
     @Override
     protected Boolean doDeserialize(byte[] bytes) throws SerializationException {
+        return valueOf(bytes[0]);
+    }
+
+    @Override
+    protected void doSerialize(Boolean booleanValue, ByteBuffer buffer) throws SerializationException {
+        buffer.put(booleanValue ? TRUE_VALUE : FALSE_VALUE);
+    }
+
+    @Override
+    protected Boolean doDeserialize(ByteBuffer buffer, int length) throws SerializationException {
+        return valueOf(buffer.get());
+    }
+
+    private static Boolean valueOf(byte byteValue) {
         Boolean booleanValue = null;
-        byte byteValue = bytes[0];
         switch (byteValue) {
             case NULL_VALUE:
                 booleanValue = null;
@@ -3,13 +3,15 @@ package io.github.microsphere.spring.redis.serializer;
 import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.SerializationException;
 
+import java.nio.ByteBuffer;
+
 /**
- * byte[] {@link RedisSerializer} Class
+ * byte[] {@link RedisSerializer} Class, the bytes are passed through without copy
  *
  * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
  * @since 1.0.0
  */
-public final class ByteArraySerializer implements RedisSerializer<byte[]> {
+public final class ByteArraySerializer implements RedisSerializer<byte[]>, ByteBufferSerializer<byte[]> {
 
     public static final ByteArraySerializer INSTANCE = new ByteArraySerializer();
 
@@ -22,4 +24,26 @@ public final class ByteArraySerializer implements RedisSerializer<byte[]> {
     public byte[] deserialize(byte[] bytes) throws SerializationException {
         return bytes;
     }
+
+    @Override
+    public int getBytesLength(byte[] bytes) {
+        return bytes == null ? 0 : bytes.length;
+    }
+
+    @Override
+    public void serialize(byte[] bytes, ByteBuffer buffer) throws SerializationException {
+        if (bytes != null) {
+            buffer.put(bytes);
+        }
+    }
+
+    @Override
+    public byte[] deserialize(ByteBuffer buffer, int length) throws SerializationException {
+        if (buffer == null) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return bytes;
+    }
 }
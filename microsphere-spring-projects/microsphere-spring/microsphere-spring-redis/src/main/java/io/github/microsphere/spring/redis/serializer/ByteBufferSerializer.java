@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microsphere.spring.redis.serializer;
+
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The serializer writes into and reads from the caller-supplied {@link ByteBuffer}, thus the values of one Redis
+ * command can be serialized into one pre-sized buffer :
+ * <ol>
+ *     <li>{@link #getBytesLength(Object)} estimates the length of every value</li>
+ *     <li>the buffer is allocated once by the total length</li>
+ *     <li>{@link #serialize(Object, ByteBuffer)} writes every value into the buffer</li>
+ * </ol>
+ * The format is identical with the byte array of the {@link org.springframework.data.redis.serializer.RedisSerializer}.
+ *
+ * @param <T> Serialized/Deserialized type
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see AbstractSerializer
+ * @since 1.0.0
+ */
+public interface ByteBufferSerializer<T> {
+
+    /**
+     * The length can't be estimated without serialization
+     */
+    int UNBOUND_BYTES_LENGTH = -1;
+
+    /**
+     * Estimate the length of the serialized value
+     *
+     * @param t the value
+     * @return the exact length, zero if the value is null, or {@link #UNBOUND_BYTES_LENGTH} if it can't be estimated
+     */
+    int getBytesLength(T t);
+
+    /**
+     * Serialize the value into the {@link ByteBuffer}, nothing is written if the value is null
+     *
+     * @param t      the value
+     * @param buffer the {@link ByteBuffer} that has enough remaining
+     * @throws SerializationException
+     */
+    void serialize(T t, ByteBuffer buffer) throws SerializationException;
+
+    /**
+     * Deserialize the value from the {@link ByteBuffer}, the position of buffer is moved forward by the length
+     *
+     * @param buffer the {@link ByteBuffer}
+     * @param length the length of the serialized value
+     * @return <code>null</code> if the buffer is null or the length is mismatched
+     * @throws SerializationException
+     */
+    T deserialize(ByteBuffer buffer, int length) throws SerializationException;
+}
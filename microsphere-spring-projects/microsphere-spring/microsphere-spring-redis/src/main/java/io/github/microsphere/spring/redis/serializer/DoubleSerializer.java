@@ -3,6 +3,8 @@ package io.github.microsphere.spring.redis.serializer;
 import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.SerializationException;
 
+import java.nio.ByteBuffer;
+
 /**
  * Java {@code double} or {@link Double} type {@link RedisSerializer} Class
  *
@@ -34,4 +36,14 @@ public final class DoubleSerializer extends AbstractSerializer<Double> {
         double doubleValue = Double.longBitsToDouble(longValue);
         return doubleValue;
     }
+
+    @Override
+    protected void doSerialize(Double aDouble, ByteBuffer buffer) throws SerializationException {
+        LongSerializer.writeLong(Double.doubleToLongBits(aDouble.doubleValue()), buffer);
+    }
+
+    @Override
+    protected Double doDeserialize(ByteBuffer buffer, int length) throws SerializationException {
+        return Double.longBitsToDouble(LongSerializer.readLong(buffer));
+    }
 }
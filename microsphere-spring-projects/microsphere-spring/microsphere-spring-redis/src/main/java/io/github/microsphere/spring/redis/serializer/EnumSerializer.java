@@ -5,6 +5,8 @@ import org.springframework.data.redis.serializer.SerializationException;
 import org.springframework.util.ReflectionUtils;
 
 import java.lang.reflect.Method;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
 import java.util.Objects;
 
 /**
@@ -13,7 +15,7 @@ import java.util.Objects;
  * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
  * @since 1.0.0
  */
-public class EnumSerializer<E extends Enum> implements RedisSerializer<E> {
+public class EnumSerializer<E extends Enum> implements RedisSerializer<E>, ByteBufferSerializer<E> {
 
     private static final String VALUES_METHOD_NAME = "values";
 
@@ -113,6 +115,58 @@ public class EnumSerializer<E extends Enum> implements RedisSerializer<E> {
         return enums[ordinal];
     }
 
+    @Override
+    public int getBytesLength(E e) {
+        return e == null ? 0 : bytesLength;
+    }
+
+    @Override
+    public void serialize(E e, ByteBuffer buffer) throws SerializationException {
+        // null compatible case
+        if (e == null) {
+            return;
+        }
+
+        int ordinal = e.ordinal();
+        switch (bytesLength) {
+            case BYTE_BYTES_LENGTH: // Most scenarios match
+                buffer.put((byte) ordinal);
+                break;
+            case SHORT_BYTES_LENGTH:
+                shortSerializer.serialize((short) ordinal, buffer);
+                break;
+            case INTEGER_BYTES_LENGTH:
+                integerSerializer.serialize(ordinal, buffer);
+        }
+    }
+
+    @Override
+    public E deserialize(ByteBuffer buffer, int length) throws SerializationException {
+        // null compatible case
+        if (buffer == null) {
+            return null;
+        }
+
+        if (length != bytesLength) {
+            ((Buffer) buffer).position(buffer.position() + length);
+            return null;
+        }
+
+        int ordinal = 0;
+        switch (bytesLength) {
+            case BYTE_BYTES_LENGTH: // Most scenarios match
+                ordinal = buffer.get();
+                break;
+            case SHORT_BYTES_LENGTH:
+                ordinal = shortSerializer.deserialize(buffer, length);
+                break;
+            case INTEGER_BYTES_LENGTH:
+                ordinal = integerSerializer.deserialize(buffer, length);
+        }
+
+        return enums[ordinal];
+    }
+
     public Class<E> getEnumType() {
         return enumType;
     }
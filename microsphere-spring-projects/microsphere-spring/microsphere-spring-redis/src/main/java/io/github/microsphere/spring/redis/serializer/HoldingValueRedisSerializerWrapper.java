@@ -17,14 +17,14 @@
 package io.github.microsphere.spring.redis.serializer;
 
 import io.github.microsphere.spring.redis.beans.DelegatingWrapper;
-import io.github.microsphere.spring.redis.util.ValueHolder;
+import io.github.microsphere.spring.redis.util.RawValueCache;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.SerializationException;
 import org.springframework.lang.Nullable;
 
 /**
- * {@link ValueHolder} {@link RedisSerializer} Wrapper
+ * {@link RedisSerializer} Wrapper holding the values and their raw bytes in the {@link RawValueCache} of current thread
  *
  * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
  * @since 1.0.0
@@ -41,12 +41,12 @@ public class HoldingValueRedisSerializerWrapper<T> implements RedisSerializer<T>
     @Nullable
     public byte[] serialize(T value) throws SerializationException {
         // Try to find the ThreadLocal cached result
-        ValueHolder valueHolder = ValueHolder.get();
-        byte[] rawValue = valueHolder.getRawValue(value);
+        RawValueCache rawValueCache = RawValueCache.current();
+        byte[] rawValue = rawValueCache.getRawValue(value);
         if (rawValue == null) {
             rawValue = delegate.serialize(value);
             // Cache the first time serialization
-            valueHolder.set(value, rawValue);
+            rawValueCache.put(value, rawValue);
         }
         return rawValue;
     }
@@ -55,11 +55,11 @@ public class HoldingValueRedisSerializerWrapper<T> implements RedisSerializer<T>
     @Nullable
     public T deserialize(byte[] bytes) throws SerializationException {
         // Try to find the ThreadLocal cached result
-        ValueHolder valueHolder = ValueHolder.get();
-        T value = (T) valueHolder.getValue(bytes);
+        RawValueCache rawValueCache = RawValueCache.current();
+        T value = (T) rawValueCache.getValue(bytes);
         if (value == null) {
             value = delegate.deserialize(bytes);
-            valueHolder.set(value, bytes);
+            rawValueCache.put(value, bytes);
         }
         return value;
     }
@@ -3,6 +3,9 @@ package io.github.microsphere.spring.redis.serializer;
 import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.SerializationException;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
 /**
  * Java {@code int} or {@link Integer} type {@link RedisSerializer} Class
  *
@@ -38,4 +41,17 @@ public class IntegerSerializer extends AbstractSerializer<Integer> {
                 (0xff & bytes[3]) << 0;
         return intValue;
     }
+
+    @Override
+    protected void doSerialize(Integer integer, ByteBuffer buffer) throws SerializationException {
+        int intValue = integer.intValue();
+        // The big-endian order regardless of the buffer order
+        buffer.putInt(buffer.order() == ByteOrder.BIG_ENDIAN ? intValue : Integer.reverseBytes(intValue));
+    }
+
+    @Override
+    protected Integer doDeserialize(ByteBuffer buffer, int length) throws SerializationException {
+        int intValue = buffer.getInt();
+        return buffer.order() == ByteOrder.BIG_ENDIAN ? intValue : Integer.reverseBytes(intValue);
+    }
 }
@@ -3,6 +3,9 @@ package io.github.microsphere.spring.redis.serializer;
 import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.SerializationException;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
 /**
  * Java {@code long} or {@link Long} type {@link RedisSerializer} Class
  *
@@ -46,4 +49,26 @@ public final class LongSerializer extends AbstractSerializer<Long> {
                 | ((long) bytes[0] & 0xff);
         return longValue;
     }
+
+    @Override
+    protected void doSerialize(Long aLong, ByteBuffer buffer) throws SerializationException {
+        writeLong(aLong.longValue(), buffer);
+    }
+
+    @Override
+    protected Long doDeserialize(ByteBuffer buffer, int length) throws SerializationException {
+        return readLong(buffer);
+    }
+
+    /**
+     * Write the long value in the little-endian order regardless of the {@link ByteBuffer#order() buffer order}
+     */
+    static void writeLong(long longValue, ByteBuffer buffer) {
+        buffer.putLong(buffer.order() == ByteOrder.LITTLE_ENDIAN ? longValue : Long.reverseBytes(longValue));
+    }
+
+    static long readLong(ByteBuffer buffer) {
+        long longValue = buffer.getLong();
+        return buffer.order() == ByteOrder.LITTLE_ENDIAN ? longValue : Long.reverseBytes(longValue);
+    }
 }
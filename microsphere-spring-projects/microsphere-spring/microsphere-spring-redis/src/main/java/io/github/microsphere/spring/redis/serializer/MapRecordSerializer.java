@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microsphere.spring.redis.serializer;
+
+import org.springframework.data.redis.connection.stream.ByteRecord;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static io.github.microsphere.spring.redis.util.VarIntUtils.readVarInt;
+import static io.github.microsphere.spring.redis.util.VarIntUtils.varIntSize;
+import static io.github.microsphere.spring.redis.util.VarIntUtils.writeVarInt;
+
+/**
+ * {@link MapRecord} {@link org.springframework.data.redis.serializer.RedisSerializer} for the raw stream record of
+ * RedisStreamCommands, whose stream key, fields and values are byte arrays.
+ * <p>
+ * The layout :
+ * <pre>
+ * stream key | record id | field count(varint) | [ field | value ]...
+ * </pre>
+ * The bytes are written as the length + 1(varint, 0 means null) and the raw bytes, the buffer is sized exactly before
+ * encoding, thus the fields and values are copied into the result directly without any intermediate map or the JDK
+ * serialization.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @since 1.0.0
+ */
+public class MapRecordSerializer extends AbstractSerializer<MapRecord> {
+
+    public static final MapRecordSerializer INSTANCE = new MapRecordSerializer();
+
+    @Override
+    protected byte[] doSerialize(MapRecord record) throws SerializationException {
+        byte[] stream = toBytes(record.getStream());
+        RecordId id = record.getId();
+        byte[] idBytes = id == null ? null : id.getValue().getBytes(StandardCharsets.US_ASCII);
+        Map<?, ?> content = record.getValue();
+
+        int size = bytesSize(stream) + bytesSize(idBytes) + varIntSize(content.size());
+        for (Map.Entry<?, ?> entry : content.entrySet()) {
+            size += bytesSize(toBytes(entry.getKey())) + bytesSize(toBytes(entry.getValue()));
+        }
+
+        byte[] bytes = new byte[size];
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        writeBytes(stream, buffer);
+        writeBytes(idBytes, buffer);
+        writeVarInt(content.size(), buffer);
+        for (Map.Entry<?, ?> entry : content.entrySet()) {
+            writeBytes(toBytes(entry.getKey()), buffer);
+            writeBytes(toBytes(entry.getValue()), buffer);
+        }
+        return bytes;
+    }
+
+    @Override
+    protected MapRecord doDeserialize(byte[] bytes) throws SerializationException {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        try {
+            byte[] stream = readBytes(buffer);
+            byte[] idBytes = readBytes(buffer);
+            int count = readVarInt(buffer);
+            // The initial capacity avoids the rehash
+            Map<byte[], byte[]> content = new LinkedHashMap<>((int) (count / 0.75f) + 1);
+            for (int i = 0; i < count; i++) {
+                byte[] field = readBytes(buffer);
+                byte[] value = readBytes(buffer);
+                content.put(field, value);
+            }
+            ByteRecord record = StreamRecords.rawBytes(content).withStreamKey(stream);
+            return idBytes == null ? record : record.withId(RecordId.of(new String(idBytes, StandardCharsets.US_ASCII)));
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            throw new SerializationException("The content of MapRecord is malformed", e);
+        }
+    }
+
+    private static byte[] toBytes(Object value) {
+        if (value == null || value instanceof byte[]) {
+            return (byte[]) value;
+        }
+        throw new SerializationException("The stream record of RedisStreamCommands must be raw bytes, but actual : " + value.getClass().getName());
+    }
+
+    private static int bytesSize(byte[] bytes) {
+        return bytes == null ? 1 : varIntSize(bytes.length + 1) + bytes.length;
+    }
+
+    private static void writeBytes(byte[] bytes, ByteBuffer buffer) {
+        if (bytes == null) {
+            buffer.put((byte) 0);
+        } else {
+            writeVarInt(bytes.length + 1, buffer);
+            buffer.put(bytes);
+        }
+    }
+
+    private static byte[] readBytes(ByteBuffer buffer) {
+        int length = readVarInt(buffer) - 1;
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return bytes;
+    }
+}
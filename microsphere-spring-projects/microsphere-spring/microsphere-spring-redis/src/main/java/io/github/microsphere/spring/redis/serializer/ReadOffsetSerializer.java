@@ -0,0 +1,44 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microsphere.spring.redis.serializer;
+
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * {@link ReadOffset} {@link org.springframework.data.redis.serializer.RedisSerializer}, the offset(e.g, "$", "&gt;"
+ * or the record id) is ASCII encoded.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @since 1.0.0
+ */
+public class ReadOffsetSerializer extends AbstractSerializer<ReadOffset> {
+
+    public static final ReadOffsetSerializer INSTANCE = new ReadOffsetSerializer();
+
+    @Override
+    protected byte[] doSerialize(ReadOffset readOffset) throws SerializationException {
+        return readOffset.getOffset().getBytes(StandardCharsets.US_ASCII);
+    }
+
+    @Override
+    protected ReadOffset doDeserialize(byte[] bytes) throws SerializationException {
+        return ReadOffset.from(new String(bytes, StandardCharsets.US_ASCII));
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microsphere.spring.redis.serializer;
+
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.nio.Buffer;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static io.github.microsphere.spring.redis.util.VarIntUtils.readVarInt;
+import static io.github.microsphere.spring.redis.util.VarIntUtils.varIntSize;
+import static io.github.microsphere.spring.redis.util.VarIntUtils.writeVarInt;
+
+/**
+ * {@link RecordId RecordId[]} {@link org.springframework.data.redis.serializer.RedisSerializer}, e.g, the ids of
+ * XACK and XDEL, the layout is the count(varint) and the length-prefixed(varint) ASCII values.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see RecordIdSerializer
+ * @since 1.0.0
+ */
+public class RecordIdArraySerializer extends AbstractSerializer<RecordId[]> {
+
+    public static final RecordIdArraySerializer INSTANCE = new RecordIdArraySerializer();
+
+    @Override
+    protected byte[] doSerialize(RecordId[] recordIds) throws SerializationException {
+        int count = recordIds.length;
+        byte[][] values = new byte[count][];
+        int size = varIntSize(count);
+        for (int i = 0; i < count; i++) {
+            byte[] value = recordIds[i].getValue().getBytes(StandardCharsets.US_ASCII);
+            values[i] = value;
+            size += varIntSize(value.length) + value.length;
+        }
+        byte[] bytes = new byte[size];
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        writeVarInt(count, buffer);
+        for (int i = 0; i < count; i++) {
+            byte[] value = values[i];
+            writeVarInt(value.length, buffer);
+            buffer.put(value);
+        }
+        return bytes;
+    }
+
+    @Override
+    protected RecordId[] doDeserialize(byte[] bytes) throws SerializationException {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        try {
+            int count = readVarInt(buffer);
+            RecordId[] recordIds = new RecordId[count];
+            for (int i = 0; i < count; i++) {
+                int length = readVarInt(buffer);
+                int position = buffer.position();
+                recordIds[i] = RecordId.of(new String(bytes, position, length, StandardCharsets.US_ASCII));
+                ((Buffer) buffer).position(position + length);
+            }
+            return recordIds;
+        } catch (BufferUnderflowException | IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new SerializationException("The content of RecordId[] is malformed", e);
+        }
+    }
+}
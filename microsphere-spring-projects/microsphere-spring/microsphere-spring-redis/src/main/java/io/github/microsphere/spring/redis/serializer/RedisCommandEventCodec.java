@@ -0,0 +1,512 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microsphere.spring.redis.serializer;
+
+import io.github.microsphere.spring.redis.event.RedisCommandEvent;
+import io.github.microsphere.spring.redis.event.RedisTransactionCommandEvent;
+import io.github.microsphere.spring.redis.metadata.MethodMetadata;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.nio.Buffer;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+import static io.github.microsphere.spring.redis.metadata.MethodMetadata.UNKNOWN_ID;
+import static io.github.microsphere.spring.redis.metadata.MethodMetadataRepository.getMethodMetadata;
+import static io.github.microsphere.spring.redis.metadata.ParameterSerializationPlan.readArguments;
+import static io.github.microsphere.spring.redis.serializer.RedisCommandEventSerializer.VERSION_3;
+import static io.github.microsphere.spring.redis.util.RedisCommandsUtils.resolveInterfaceName;
+import static io.github.microsphere.spring.redis.util.RedisCommandsUtils.resolveSimpleInterfaceName;
+import static io.github.microsphere.spring.redis.util.VarIntUtils.readVarInt;
+import static io.github.microsphere.spring.redis.util.VarIntUtils.varIntSize;
+import static io.github.microsphere.spring.redis.util.VarIntUtils.writeVarInt;
+
+/**
+ * The codec of {@link RedisCommandEventSerializer#VERSION_3 the binary format V3} of {@link RedisCommandEvent}.
+ * <p>
+ * The layout of single event :
+ * <pre>
+ * version(1) | flags(1) | command | source application | parameter count(varint) | parameters | crc32(4)
+ * </pre>
+ * The layout of the batch events :
+ * <pre>
+ * version(1) | flags(1) | dictionary size(varint) | dictionary strings | event count(varint) |
+ *     [ flags(1) | command | source application | parameter count(varint) | parameters ]... | crc32(4)
+ * </pre>
+ * The {@link RedisTransactionCommandEvent transaction} is encoded as the batch of its commands with
+ * {@link #FLAG_TRANSACTION}, and it's decoded as single event. The transaction in the batch events is encoded as the
+ * nested group of its commands :
+ * <pre>
+ *     [ flags(1) = {@link #FLAG_TRANSACTION} | source application | command count(varint) | commands ]
+ * </pre>
+ * <ul>
+ *     <li>command : the {@link MethodMetadata#getId() id}(varint) and the {@link MethodMetadata#getSignature() signature}(4)
+ *     if {@link #FLAG_METHOD_ID} is present, or the strings of the interface name, method name and parameter types</li>
+ *     <li>string : length + 1(varint, 0 means null) and UTF-8 bytes, or the index + 1(varint) of dictionary in the batch</li>
+ *     <li>parameter : length + 1(varint, 0 means null) and the raw bytes</li>
+ * </ul>
+ * The buffer is sized exactly before encoding, and the decoding reads the {@link ByteBuffer} in place.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see RedisCommandEventSerializer
+ * @since 1.0.0
+ */
+final class RedisCommandEventCodec {
+
+    /**
+     * The command is encoded by the id of {@link MethodMetadata}
+     */
+    static final byte FLAG_METHOD_ID = 1;
+
+    /**
+     * The content is the batch of events with the strings dictionary
+     */
+    static final byte FLAG_BATCH = 1 << 1;
+
+    /**
+     * The content is the batch of the commands in one {@link RedisTransactionCommandEvent transaction}
+     */
+    static final byte FLAG_TRANSACTION = 1 << 2;
+
+    private static final int HEADER_BYTES = 2;
+
+    private static final int SIGNATURE_BYTES = 4;
+
+    private static final int CRC_BYTES = 4;
+
+    private RedisCommandEventCodec() {
+    }
+
+    static byte[] encode(RedisCommandEvent event) {
+        if (event instanceof RedisTransactionCommandEvent) {
+            return encodeBatch(((RedisTransactionCommandEvent) event).getCommands(), (byte) (FLAG_BATCH | FLAG_TRANSACTION));
+        }
+        MethodMetadata methodMetadata = getRegisteredMethodMetadata(event);
+        byte[] interfaceName = null;
+        byte[] methodName = null;
+        byte[][] parameterTypes = null;
+        byte[] sourceApplication = getBytes(event.getSourceApplication());
+        byte[][] parameters = event.getParameters();
+
+        int size = HEADER_BYTES + CRC_BYTES;
+        if (methodMetadata == null) {
+            interfaceName = getBytes(resolveSimpleInterfaceName(event.getInterfaceName()));
+            methodName = getBytes(event.getMethodName());
+            parameterTypes = getBytes(event.getParameterTypes());
+            size += bytesSize(interfaceName) + bytesSize(methodName) + bytesSize(parameterTypes);
+        } else {
+            size += commandIdSize(methodMetadata);
+        }
+        size += bytesSize(sourceApplication) + bytesSize(parameters);
+
+        byte[] bytes = new byte[size];
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        buffer.put(VERSION_3);
+        if (methodMetadata == null) {
+            buffer.put((byte) 0);
+            writeBytes(interfaceName, buffer);
+            writeBytes(methodName, buffer);
+            writeBytes(parameterTypes, buffer);
+        } else {
+            buffer.put(FLAG_METHOD_ID);
+            writeCommandId(methodMetadata, buffer);
+        }
+        writeBytes(sourceApplication, buffer);
+        writeBytes(parameters, buffer);
+        writeCrc(bytes, buffer);
+        return bytes;
+    }
+
+    static byte[] encodeBatch(List<RedisCommandEvent> events) {
+        return encodeBatch(events, FLAG_BATCH);
+    }
+
+    private static byte[] encodeBatch(List<RedisCommandEvent> events, byte flags) {
+        Dictionary dictionary = new Dictionary();
+        int size = HEADER_BYTES + elementsSize(events, dictionary) + CRC_BYTES;
+        size += dictionary.size();
+
+        byte[] bytes = new byte[size];
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        buffer.put(VERSION_3);
+        buffer.put(flags);
+        dictionary.write(buffer);
+        writeElements(events, dictionary, buffer);
+        writeCrc(bytes, buffer);
+        return bytes;
+    }
+
+    private static int elementsSize(List<RedisCommandEvent> events, Dictionary dictionary) {
+        int count = events.size();
+        int size = varIntSize(count);
+        for (int i = 0; i < count; i++) {
+            size += elementSize(events.get(i), dictionary);
+        }
+        return size;
+    }
+
+    private static int elementSize(RedisCommandEvent event, Dictionary dictionary) {
+        int size = 1 + dictionary.indexSize(event.getSourceApplication());
+        if (event instanceof RedisTransactionCommandEvent) {
+            // The nested group of the queued commands
+            return size + elementsSize(((RedisTransactionCommandEvent) event).getCommands(), dictionary);
+        }
+        MethodMetadata methodMetadata = getRegisteredMethodMetadata(event);
+        if (methodMetadata == null) {
+            size += dictionary.indexSize(resolveSimpleInterfaceName(event.getInterfaceName()))
+                    + dictionary.indexSize(event.getMethodName());
+            String[] parameterTypes = event.getParameterTypes();
+            size += varIntSize(parameterTypes.length);
+            for (String parameterType : parameterTypes) {
+                size += dictionary.indexSize(parameterType);
+            }
+        } else {
+            size += commandIdSize(methodMetadata);
+        }
+        return size + bytesSize(event.getParameters());
+    }
+
+    private static void writeElements(List<RedisCommandEvent> events, Dictionary dictionary, ByteBuffer buffer) {
+        int count = events.size();
+        writeVarInt(count, buffer);
+        for (int i = 0; i < count; i++) {
+            writeElement(events.get(i), dictionary, buffer);
+        }
+    }
+
+    private static void writeElement(RedisCommandEvent event, Dictionary dictionary, ByteBuffer buffer) {
+        if (event instanceof RedisTransactionCommandEvent) {
+            buffer.put(FLAG_TRANSACTION);
+            writeVarInt(dictionary.index(event.getSourceApplication()), buffer);
+            writeElements(((RedisTransactionCommandEvent) event).getCommands(), dictionary, buffer);
+            return;
+        }
+        MethodMetadata methodMetadata = getRegisteredMethodMetadata(event);
+        if (methodMetadata == null) {
+            buffer.put((byte) 0);
+            writeVarInt(dictionary.index(resolveSimpleInterfaceName(event.getInterfaceName())), buffer);
+            writeVarInt(dictionary.index(event.getMethodName()), buffer);
+            String[] parameterTypes = event.getParameterTypes();
+            writeVarInt(parameterTypes.length, buffer);
+            for (String parameterType : parameterTypes) {
+                writeVarInt(dictionary.index(parameterType), buffer);
+            }
+        } else {
+            buffer.put(FLAG_METHOD_ID);
+            writeCommandId(methodMetadata, buffer);
+        }
+        writeVarInt(dictionary.index(event.getSourceApplication()), buffer);
+        writeBytes(event.getParameters(), buffer);
+    }
+
+    /**
+     * Whether the content is the batch of events that was encoded by {@link #encodeBatch(List)}
+     *
+     * @param bytes the content
+     * @return <code>false</code> if the content is single event or {@link RedisTransactionCommandEvent transaction}
+     */
+    static boolean isBatch(byte[] bytes) {
+        if (bytes.length < HEADER_BYTES + CRC_BYTES || bytes[0] != VERSION_3) {
+            return false;
+        }
+        byte flags = bytes[1];
+        return (flags & FLAG_BATCH) != 0 && (flags & FLAG_TRANSACTION) == 0;
+    }
+
+    static RedisCommandEvent decode(ByteBuffer buffer) throws SerializationException {
+        int end = verify(buffer);
+        try {
+            byte flags = buffer.get();
+            RedisCommandEvent event;
+            if ((flags & FLAG_TRANSACTION) != 0) {
+                List<RedisCommandEvent> commands = readEvents(buffer);
+                String sourceApplication = commands.isEmpty() ? null : commands.get(0).getSourceApplication();
+                event = new RedisTransactionCommandEvent(commands, sourceApplication);
+            } else if ((flags & FLAG_BATCH) != 0) {
+                throw new SerializationException("The batch of RedisCommandEvents can't be decoded as single one");
+            } else {
+                event = readEvent(flags, buffer, null);
+            }
+            skipCrc(buffer, end);
+            return event;
+        } catch (BufferUnderflowException | IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new SerializationException("The content of RedisCommandEvent is malformed", e);
+        }
+    }
+
+    static List<RedisCommandEvent> decodeBatch(ByteBuffer buffer) throws SerializationException {
+        int end = verify(buffer);
+        try {
+            byte flags = buffer.get();
+            if ((flags & FLAG_BATCH) == 0 || (flags & FLAG_TRANSACTION) != 0) {
+                throw new SerializationException("The content is not the batch of RedisCommandEvents");
+            }
+            List<RedisCommandEvent> events = readEvents(buffer);
+            skipCrc(buffer, end);
+            return events;
+        } catch (BufferUnderflowException | IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new SerializationException("The content of RedisCommandEvents is malformed", e);
+        }
+    }
+
+    private static List<RedisCommandEvent> readEvents(ByteBuffer buffer) {
+        int dictionarySize = readVarInt(buffer);
+        String[] dictionary = new String[dictionarySize];
+        for (int i = 0; i < dictionarySize; i++) {
+            dictionary[i] = readString(buffer);
+        }
+        return readElements(buffer, dictionary);
+    }
+
+    private static List<RedisCommandEvent> readElements(ByteBuffer buffer, String[] dictionary) {
+        int count = readVarInt(buffer);
+        List<RedisCommandEvent> events = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            events.add(readElement(buffer.get(), buffer, dictionary));
+        }
+        return events;
+    }
+
+    private static RedisCommandEvent readElement(byte flags, ByteBuffer buffer, String[] dictionary) {
+        if ((flags & FLAG_TRANSACTION) != 0) {
+            String sourceApplication = readString(buffer, dictionary);
+            return new RedisTransactionCommandEvent(readElements(buffer, dictionary), sourceApplication);
+        }
+        return readEvent(flags, buffer, dictionary);
+    }
+
+    private static RedisCommandEvent readEvent(byte flags, ByteBuffer buffer, String[] dictionary) {
+        RedisCommandEvent.Builder builder = new RedisCommandEvent.Builder();
+        if ((flags & FLAG_METHOD_ID) != 0) {
+            int id = readVarInt(buffer);
+            int signature = buffer.getInt();
+            MethodMetadata methodMetadata = getMethodMetadata(id, signature);
+            if (methodMetadata == null) {
+                throw new SerializationException("The Redis command method[id : " + id + " , signature : " + signature + "] can't be found");
+            }
+            builder.methodMetadata(methodMetadata);
+        } else {
+            String interfaceName = resolveInterfaceName(readString(buffer, dictionary));
+            String methodName = readString(buffer, dictionary);
+            int parameterCount = readVarInt(buffer);
+            String[] parameterTypes = new String[parameterCount];
+            for (int i = 0; i < parameterCount; i++) {
+                parameterTypes[i] = readString(buffer, dictionary);
+            }
+            builder.interfaceName(interfaceName)
+                    .methodName(methodName)
+                    .parameterTypes(parameterTypes);
+        }
+        builder.sourceApplication(readString(buffer, dictionary));
+        // The layout of the parameters is same as ParameterSerializationPlan#serializeArguments
+        builder.parameters(readArguments(buffer));
+        return builder.build();
+    }
+
+    /**
+     * Verify the header and the CRC footer
+     *
+     * @param buffer {@link ByteBuffer}
+     * @return the limit of the content excluding the CRC footer
+     */
+    private static int verify(ByteBuffer buffer) throws SerializationException {
+        int start = buffer.position();
+        int limit = buffer.limit();
+        if (limit - start < HEADER_BYTES + CRC_BYTES) {
+            throw new SerializationException("The content of RedisCommandEvent is truncated");
+        }
+        byte version = buffer.get();
+        if (version != VERSION_3) {
+            throw new SerializationException("The serialization version[" + version + "] is not supported");
+        }
+        int end = limit - CRC_BYTES;
+        int crc = buffer.getInt(end);
+        if (crc != crc(buffer, start, end)) {
+            throw new SerializationException("The CRC of RedisCommandEvent is mismatched, the content may be corrupted");
+        }
+        return end;
+    }
+
+    /**
+     * Skip the CRC footer after the content has been read
+     *
+     * @param buffer {@link ByteBuffer}
+     * @param end    the limit of the content excluding the CRC footer, returned by {@link #verify(ByteBuffer)}
+     */
+    private static void skipCrc(ByteBuffer buffer, int end) {
+        if (buffer.position() != end) {
+            throw new IllegalArgumentException("The content of RedisCommandEvent does not end at the CRC footer");
+        }
+        position(buffer, end + CRC_BYTES);
+    }
+
+    private static int crc(ByteBuffer buffer, int start, int end) {
+        CRC32 crc32 = new CRC32();
+        if (buffer.hasArray()) {
+            crc32.update(buffer.array(), buffer.arrayOffset() + start, end - start);
+        } else {
+            ByteBuffer duplicate = buffer.duplicate();
+            ((Buffer) duplicate).limit(end);
+            ((Buffer) duplicate).position(start);
+            crc32.update(duplicate);
+        }
+        return (int) crc32.getValue();
+    }
+
+    private static void writeCrc(byte[] bytes, ByteBuffer buffer) {
+        CRC32 crc32 = new CRC32();
+        crc32.update(bytes, 0, buffer.position());
+        buffer.putInt((int) crc32.getValue());
+    }
+
+    private static void position(ByteBuffer buffer, int position) {
+        ((Buffer) buffer).position(position);
+    }
+
+    private static MethodMetadata getRegisteredMethodMetadata(RedisCommandEvent event) {
+        MethodMetadata methodMetadata = event.getMethodMetadata();
+        return methodMetadata == null || methodMetadata.getId() == UNKNOWN_ID ? null : methodMetadata;
+    }
+
+    private static int commandIdSize(MethodMetadata methodMetadata) {
+        return varIntSize(methodMetadata.getId()) + SIGNATURE_BYTES;
+    }
+
+    private static void writeCommandId(MethodMetadata methodMetadata, ByteBuffer buffer) {
+        writeVarInt(methodMetadata.getId(), buffer);
+        buffer.putInt(methodMetadata.getSignature());
+    }
+
+    private static int bytesSize(byte[] bytes) {
+        return bytes == null ? 1 : varIntSize(bytes.length + 1) + bytes.length;
+    }
+
+    private static int bytesSize(byte[][] bytesArray) {
+        int size = varIntSize(bytesArray.length);
+        for (byte[] bytes : bytesArray) {
+            size += bytesSize(bytes);
+        }
+        return size;
+    }
+
+    private static void writeBytes(byte[] bytes, ByteBuffer buffer) {
+        if (bytes == null) {
+            buffer.put((byte) 0);
+        } else {
+            writeVarInt(bytes.length + 1, buffer);
+            buffer.put(bytes);
+        }
+    }
+
+    private static void writeBytes(byte[][] bytesArray, ByteBuffer buffer) {
+        writeVarInt(bytesArray.length, buffer);
+        for (byte[] bytes : bytesArray) {
+            writeBytes(bytes, buffer);
+        }
+    }
+
+    private static String readString(ByteBuffer buffer, String[] dictionary) {
+        if (dictionary == null) {
+            return readString(buffer);
+        }
+        int index = readVarInt(buffer) - 1;
+        return index < 0 ? null : dictionary[index];
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = readVarInt(buffer) - 1;
+        if (length < 0) {
+            return null;
+        }
+        String value;
+        if (buffer.hasArray()) {
+            int position = buffer.position();
+            value = new String(buffer.array(), buffer.arrayOffset() + position, length, StandardCharsets.UTF_8);
+            position(buffer, position + length);
+        } else {
+            byte[] bytes = new byte[length];
+            buffer.get(bytes);
+            value = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return value;
+    }
+
+    private static byte[] getBytes(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[][] getBytes(String[] values) {
+        int length = values.length;
+        byte[][] bytesArray = new byte[length][];
+        for (int i = 0; i < length; i++) {
+            bytesArray[i] = getBytes(values[i]);
+        }
+        return bytesArray;
+    }
+
+    /**
+     * The strings dictionary of the batch, every distinct string is written only once
+     */
+    private static class Dictionary {
+
+        private final Map<String, Integer> indexes = new HashMap<>();
+
+        private final List<byte[]> entries = new ArrayList<>();
+
+        /**
+         * @param value the string
+         * @return the index + 1 of the string, 0 if the string is null
+         */
+        int index(String value) {
+            if (value == null) {
+                return 0;
+            }
+            Integer index = indexes.get(value);
+            if (index == null) {
+                entries.add(getBytes(value));
+                index = entries.size();
+                indexes.put(value, index);
+            }
+            return index;
+        }
+
+        int indexSize(String value) {
+            return varIntSize(index(value));
+        }
+
+        int size() {
+            int size = varIntSize(entries.size());
+            for (byte[] entry : entries) {
+                size += bytesSize(entry);
+            }
+            return size;
+        }
+
+        void write(ByteBuffer buffer) {
+            writeVarInt(entries.size(), buffer);
+            for (byte[] entry : entries) {
+                writeBytes(entry, buffer);
+            }
+        }
+    }
+}
@@ -17,6 +17,8 @@
 package io.github.microsphere.spring.redis.serializer;
 
 import io.github.microsphere.spring.redis.event.RedisCommandEvent;
+import io.github.microsphere.spring.redis.event.RedisTransactionCommandEvent;
+import io.github.microsphere.spring.redis.metadata.MethodMetadata;
 import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.SerializationException;
 import org.springframework.util.FastByteArrayOutputStream;
@@ -25,19 +27,31 @@ import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.util.List;
 
-import static io.github.microsphere.spring.redis.event.RedisCommandEvent.SERIALIZATION_VERSION;
 import static io.github.microsphere.spring.redis.serializer.RedisCommandEventSerializer.VersionedRedisSerializer.valueOf;
 import static io.github.microsphere.spring.redis.serializer.Serializers.defaultSerializer;
 import static io.github.microsphere.spring.redis.util.RedisCommandsUtils.resolveInterfaceName;
 import static io.github.microsphere.spring.redis.util.RedisCommandsUtils.resolveSimpleInterfaceName;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
 
 /**
- * {@link RedisSerializer} for {@link RedisCommandEvent}
+ * {@link RedisSerializer} for {@link RedisCommandEvent}, the versions of the serialization format are identified by
+ * the first byte, thus the applications with the different versions are compatible :
+ * <ul>
+ *     <li>{@link #VERSION_1} / {@link #VERSION_2} : the length-prefixed strings and bytes, the length is one byte</li>
+ *     <li>{@link #VERSION_3} : the compact binary format, the command is encoded by the id of
+ *     {@link MethodMetadata}, the lengths are varints, and the content is verified by CRC32</li>
+ * </ul>
+ * The event will be serialized by {@link #VERSION_3} if it can't be represented by the legacy versions, e.g, the
+ * parameter is larger than 255 bytes or the event is a {@link RedisTransactionCommandEvent transaction}.
  *
  * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see RedisCommandEventCodec
  * @since 1.0.0
  */
 public class RedisCommandEventSerializer extends AbstractSerializer<RedisCommandEvent> {
@@ -48,11 +62,12 @@ public class RedisCommandEventSerializer extends AbstractSerializer<RedisCommand
 
     public static final byte VERSION_2 = 2;
 
-    private static final RedisSerializer<RedisCommandEvent> delegate = findDelegate();
+    public static final byte VERSION_3 = 3;
 
-    private static RedisSerializer<RedisCommandEvent> findDelegate() {
-        return findDelegate(SERIALIZATION_VERSION);
-    }
+    /**
+     * The max length of the strings and bytes in the legacy versions
+     */
+    private static final int LEGACY_MAX_LENGTH = 0xFF;
 
     private static RedisSerializer<RedisCommandEvent> findDelegate(byte version) {
         return valueOf(version);
@@ -60,6 +75,11 @@ public class RedisCommandEventSerializer extends AbstractSerializer<RedisCommand
 
     @Override
     protected byte[] doSerialize(RedisCommandEvent redisCommandEvent) throws SerializationException {
+        byte version = redisCommandEvent.getSerializationVersion();
+        if ((version == VERSION_1 || version == VERSION_2) && !isLegacyCompatible(redisCommandEvent)) {
+            version = VERSION_3;
+        }
+        RedisSerializer<RedisCommandEvent> delegate = findDelegate(version);
         return delegate.serialize(redisCommandEvent);
     }
 
@@ -70,6 +90,110 @@ public class RedisCommandEventSerializer extends AbstractSerializer<RedisCommand
         return delegate.deserialize(bytes);
     }
 
+    /**
+     * Deserialize the {@link RedisCommandEvent} from the {@link ByteBuffer}, the content of {@link #VERSION_3} is
+     * read in place, the position of buffer will be moved to its limit.
+     *
+     * @param buffer {@link ByteBuffer}
+     * @return <code>null</code> if the buffer is null or empty
+     * @throws SerializationException if the content is malformed or corrupted
+     */
+    public RedisCommandEvent deserialize(ByteBuffer buffer) throws SerializationException {
+        if (buffer == null || !buffer.hasRemaining()) {
+            return null;
+        }
+        byte version = buffer.get(buffer.position());
+        if (version == VERSION_3) {
+            return RedisCommandEventCodec.decode(buffer);
+        }
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return deserialize(bytes);
+    }
+
+    /**
+     * Serialize the batch of {@link RedisCommandEvent RedisCommandEvents} by {@link #VERSION_3}, the repeated
+     * strings(e.g, source application) are written once in the dictionary of the batch.
+     * <p>
+     * The batch is always written by {@link #VERSION_3} whatever the configured version is, the callers must check
+     * {@link #isBatchSupported(byte)} first, and serialize the events one by one if the batch is not supported.
+     *
+     * @param redisCommandEvents the batch of {@link RedisCommandEvent RedisCommandEvents}
+     * @return non-null
+     * @throws SerializationException
+     */
+    public byte[] serializeBatch(List<RedisCommandEvent> redisCommandEvents) throws SerializationException {
+        return RedisCommandEventCodec.encodeBatch(redisCommandEvents);
+    }
+
+    /**
+     * Deserialize the batch of {@link RedisCommandEvent RedisCommandEvents} that was serialized by
+     * {@link #serializeBatch(List)}
+     *
+     * @param buffer {@link ByteBuffer}
+     * @return non-null
+     * @throws SerializationException if the content is malformed or corrupted
+     */
+    public List<RedisCommandEvent> deserializeBatch(ByteBuffer buffer) throws SerializationException {
+        return RedisCommandEventCodec.decodeBatch(buffer);
+    }
+
+    /**
+     * Deserialize the {@link RedisCommandEvent RedisCommandEvents} from the content that was serialized by either
+     * {@link #serialize(Object)} or {@link #serializeBatch(List)}
+     *
+     * @param bytes the content
+     * @return non-null
+     * @throws SerializationException if the content is malformed or corrupted
+     */
+    public List<RedisCommandEvent> deserializeEvents(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return emptyList();
+        }
+        if (RedisCommandEventCodec.isBatch(bytes)) {
+            return deserializeBatch(ByteBuffer.wrap(bytes));
+        }
+        return singletonList(deserialize(bytes));
+    }
+
+    /**
+     * Whether the batch of {@link RedisCommandEvent RedisCommandEvents} is supported by the serialization version or
+     * not, the batch can't be read by the consumers of the versions before {@link #VERSION_3}
+     *
+     * @param version the serialization version
+     * @return <code>true</code> if the version is {@link #VERSION_3} or later
+     * @see #serializeBatch(List)
+     */
+    public static boolean isBatchSupported(byte version) {
+        return version >= VERSION_3;
+    }
+
+    static boolean isLegacyCompatible(RedisCommandEvent redisCommandEvent) {
+        if (redisCommandEvent instanceof RedisTransactionCommandEvent) {
+            // The commands of transaction can't be represented by the legacy versions
+            return false;
+        }
+        String sourceApplication = redisCommandEvent.getSourceApplication();
+        if (sourceApplication == null || sourceApplication.length() > LEGACY_MAX_LENGTH) {
+            return false;
+        }
+        String[] parameterTypes = redisCommandEvent.getParameterTypes();
+        if (parameterTypes.length > LEGACY_MAX_LENGTH) {
+            return false;
+        }
+        for (String parameterType : parameterTypes) {
+            if (parameterType.length() > LEGACY_MAX_LENGTH) {
+                return false;
+            }
+        }
+        for (byte[] parameter : redisCommandEvent.getParameters()) {
+            if (parameter == null || parameter.length > LEGACY_MAX_LENGTH) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     enum VersionedRedisSerializer implements RedisSerializer<RedisCommandEvent> {
 
         DEFAULT(VERSION_DEFAULT) {
@@ -89,6 +213,18 @@ public class RedisCommandEventSerializer extends AbstractSerializer<RedisCommand
 
         V2(VERSION_2) {
 
+        },
+
+        V3(VERSION_3) {
+            @Override
+            public byte[] serialize(RedisCommandEvent redisCommandEvent) throws SerializationException {
+                return RedisCommandEventCodec.encode(redisCommandEvent);
+            }
+
+            @Override
+            public RedisCommandEvent deserialize(byte[] bytes) throws SerializationException {
+                return RedisCommandEventCodec.decode(ByteBuffer.wrap(bytes));
+            }
         };
 
         private final Charset asciiCharset = StandardCharsets.US_ASCII;
@@ -141,7 +277,6 @@ public class RedisCommandEventSerializer extends AbstractSerializer<RedisCommand
         }
 
         protected void writeVersion(RedisCommandEvent redisCommandEvent, OutputStream outputStream) throws IOException {
-            byte version = redisCommandEvent.getSerializationVersion();
             outputStream.write(version);
         }
 
@@ -308,6 +443,8 @@ public class RedisCommandEventSerializer extends AbstractSerializer<RedisCommand
                 return V1;
             } else if (VERSION_2 == version) {
                 return V2;
+            } else if (VERSION_3 == version) {
+                return V3;
             }
             return VersionedRedisSerializer.DEFAULT;
         }
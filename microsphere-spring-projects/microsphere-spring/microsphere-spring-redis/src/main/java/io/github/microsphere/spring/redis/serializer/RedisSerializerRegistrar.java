@@ -0,0 +1,45 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microsphere.spring.redis.serializer;
+
+import org.springframework.core.Ordered;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.Map;
+
+/**
+ * The SPI to register the {@link RedisSerializer RedisSerializers} into {@link Serializers}, the implementations are
+ * loaded by {@link org.springframework.core.io.support.SpringFactoriesLoader} from "META-INF/spring.factories"
+ * at startup, the later one overrides the former one if the types are duplicated by {@link Ordered the order}.
+ * <p>
+ * The registered {@link RedisSerializer} will be used for the sub-types of the type too, unless the sub-type
+ * was registered.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see Serializers#register(Class, RedisSerializer)
+ * @since 1.0.0
+ */
+@FunctionalInterface
+public interface RedisSerializerRegistrar {
+
+    /**
+     * Get the {@link RedisSerializer RedisSerializers} to be registered
+     *
+     * @return the type as key and the {@link RedisSerializer} as value, non-null
+     */
+    Map<Class<?>, RedisSerializer<?>> getSerializers();
+}
@@ -9,29 +9,47 @@ import org.springframework.core.io.support.SpringFactoriesLoader;
 import org.springframework.data.geo.Point;
 import org.springframework.data.redis.connection.RedisGeoCommands;
 import org.springframework.data.redis.connection.RedisListCommands;
+import org.springframework.data.redis.connection.RedisStreamCommands;
 import org.springframework.data.redis.connection.RedisStringCommands;
 import org.springframework.data.redis.connection.RedisZSetCommands;
 import org.springframework.data.redis.connection.ReturnType;
 import org.springframework.data.redis.connection.SortParameters;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.RecordId;
 import org.springframework.data.redis.core.types.Expiration;
 import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ClassUtils;
 
 import java.lang.reflect.Type;
+import java.util.ArrayDeque;
 import java.util.Collection;
-import java.util.HashMap;
+import java.util.Deque;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Queue;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Collections.unmodifiableSet;
 
 /**
  * {@link RedisSerializer} Utilities class, mainly used for Redis command method parameter type
- * serialization and deserialization
+ * serialization and deserialization.
+ * <p>
+ * The registry is thread-safe, the {@link RedisSerializer} of the type that is not registered is resolved from the
+ * nearest registered super-class or interface, or falls back to {@link #defaultSerializer}, the result is cached.
  *
  * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
  * @since 1.0.0
@@ -46,15 +64,34 @@ public abstract class Serializers {
 
     public static final StringRedisSerializer stringSerializer = new StringRedisSerializer();
 
+    public static final RedisCommandEventSerializer redisCommandEventSerializer = new RedisCommandEventSerializer();
+
     /**
      * Generic parameterized {@link RedisSerializer}
      * Key is the full name of the type, and Value is implemented as {@link RedisSerializer}
      */
-    static final Map<String, RedisSerializer<?>> typedSerializers = new HashMap<>(32);
+    static final ConcurrentMap<String, RedisSerializer<?>> typedSerializers = new ConcurrentHashMap<>(64);
+
+    /**
+     * The resolved {@link RedisSerializer} by the type name, including the registered type, the sub-type of the
+     * registered type and the type that falls back to {@link #defaultSerializer} (negative cache)
+     */
+    static final ConcurrentMap<String, RedisSerializer<?>> resolvedSerializers = new ConcurrentHashMap<>(256);
+
+    /**
+     * The cumulative names of the types that are not registered and fall back to {@link #defaultSerializer}
+     */
+    static final Set<String> fallbackTypeNames = ConcurrentHashMap.newKeySet();
+
+    /**
+     * The generation of the registrations, it's increased by each {@link #register(Class, RedisSerializer)}
+     */
+    static final AtomicInteger generation = new AtomicInteger();
 
     static {
         initializeBuiltinSerializers();
         initializeParameterizedSerializers();
+        initializeRegistrarSerializers();
     }
 
     public static RedisSerializer<?> getSerializer(Object object) {
@@ -63,21 +100,113 @@ public abstract class Serializers {
     }
 
     public static <T> RedisSerializer<T> getSerializer(Type type) {
-        return type == null ? null : (RedisSerializer<T>) getSerializer(type.getTypeName());
+        if (type == null) {
+            return null;
+        }
+        if (type instanceof Class) {
+            Class<?> klass = (Class<?>) type;
+            RedisSerializer<?> serializer = resolvedSerializers.get(klass.getName());
+            if (serializer == null) {
+                serializer = resolveSerializer(klass.getName(), klass);
+            }
+            return (RedisSerializer<T>) serializer;
+        }
+        return (RedisSerializer<T>) getSerializer(type.getTypeName());
     }
 
     public static RedisSerializer<?> getSerializer(String typeName) {
-        RedisSerializer<?> serializer = typedSerializers.get(typeName);
+        RedisSerializer<?> serializer = resolvedSerializers.get(typeName);
+        if (serializer == null) {
+            Class<?> type = resolveClass(typeName);
+            serializer = resolveSerializer(typeName, type);
+        }
+        return serializer;
+    }
 
+    /**
+     * Get the names of the types that are not registered and fall back to the JDK serialization, the
+     * {@link RedisSerializer RedisSerializers} should be registered for them to improve the performance.
+     *
+     * @return non-null read-only snapshot
+     * @see RedisSerializerRegistrar
+     */
+    public static Set<String> getFallbackTypeNames() {
+        return unmodifiableSet(new TreeSet<>(fallbackTypeNames));
+    }
+
+    /**
+     * Get the generation of the registrations, the {@link RedisSerializer RedisSerializers} that were resolved in the
+     * older generation are stale and should be resolved again.
+     *
+     * @return the generation
+     * @see io.github.microsphere.spring.redis.metadata.MethodMetadata#getParameterSerializationPlan()
+     */
+    public static int getGeneration() {
+        return generation.get();
+    }
+
+    private static RedisSerializer<?> resolveSerializer(String typeName, @Nullable Class<?> type) {
+        RedisSerializer<?> serializer = typedSerializers.get(typeName);
+        boolean registered = serializer != null;
+        if (!registered && type != null) {
+            serializer = findSerializerInHierarchy(type);
+        }
         if (serializer == null) {
-            logger.debug("RedisSerializer implementation class of type {} not found, default RedisSerializer implementation class will be used: {}", typeName, defaultSerializer.getClass().getName());
             serializer = defaultSerializer;
-            typedSerializers.put(typeName, serializer);
+        }
+        if (!registered && serializer == defaultSerializer) {
+            // The unregistered type, or the sub-type of the registered type(e.g, Collection or Map) that is
+            // serialized by JDK
+            if (fallbackTypeNames.add(typeName)) {
+                logger.info("RedisSerializer implementation class of type {} not found, default RedisSerializer implementation class will be used: {}", typeName, defaultSerializer.getClass().getName());
+            }
         } else {
             logger.trace("Find the RedisSerializer implementation class of type {} : {}", typeName, serializer.getClass().getName());
         }
+        RedisSerializer<?> existed = resolvedSerializers.putIfAbsent(typeName, serializer);
+        return existed == null ? serializer : existed;
+    }
 
-        return serializer;
+    /**
+     * Find the {@link RedisSerializer} of the nearest registered super-class or interface
+     *
+     * @param type the type
+     * @return <code>null</code> if not found
+     */
+    private static RedisSerializer<?> findSerializerInHierarchy(Class<?> type) {
+        Deque<Class<?>> types = new ArrayDeque<>();
+        Set<Class<?>> visited = new HashSet<>();
+        types.add(type);
+        while (!types.isEmpty()) {
+            Class<?> currentType = types.poll();
+            if (!visited.add(currentType)) {
+                continue;
+            }
+            if (currentType != type) {
+                RedisSerializer<?> serializer = typedSerializers.get(currentType.getName());
+                if (serializer != null) {
+                    return serializer;
+                }
+            }
+            Class<?> superClass = currentType.getSuperclass();
+            if (superClass != null && superClass != Object.class) {
+                types.add(superClass);
+            }
+            for (Class<?> interfaceClass : currentType.getInterfaces()) {
+                types.add(interfaceClass);
+            }
+        }
+        return null;
+    }
+
+    @Nullable
+    private static Class<?> resolveClass(String typeName) {
+        try {
+            return ClassUtils.forName(typeName, classLoader);
+        } catch (Throwable e) {
+            logger.trace("The type[name : '{}'] can't be resolved", typeName);
+            return null;
+        }
     }
 
     public static byte[] serializeRawParameter(Parameter parameter) {
@@ -101,6 +230,16 @@ public abstract class Serializers {
         return defaultSerializer.serialize(object);
     }
 
+    /**
+     * Serialize the {@link RedisCommandEvent} by {@link RedisCommandEventSerializer} directly
+     *
+     * @param event {@link RedisCommandEvent}
+     * @return <code>null</code> if the event is null
+     */
+    public static byte[] serialize(RedisCommandEvent event) {
+        return redisCommandEventSerializer.serialize(event);
+    }
+
     public static byte[] serialize(Object object) {
         RedisSerializer redisSerializer = getSerializer(object);
         return redisSerializer.serialize(object);
@@ -213,6 +352,9 @@ public abstract class Serializers {
 
         // byte[][] type 
         register(byte[][].class, defaultSerializer);
+
+        // String[] type 
+        register(String[].class, defaultSerializer);
     }
 
     /**
@@ -256,6 +398,33 @@ public abstract class Serializers {
 
         // org.springframework.data.geo.Point type 
         register(Point.class, PointSerializer.INSTANCE);
+
+        // Initializes the Spring Data Redis Stream type Serializers
+        initializeSpringDataRedisStreamSerializers();
+    }
+
+    /**
+     * Initializes Spring Data Redis Stream type Serializers
+     */
+    private static void initializeSpringDataRedisStreamSerializers() {
+
+        // org.springframework.data.redis.connection.stream.MapRecord type 
+        register(MapRecord.class, MapRecordSerializer.INSTANCE);
+
+        // org.springframework.data.redis.connection.stream.RecordId type 
+        register(RecordId.class, RecordIdSerializer.INSTANCE);
+
+        // org.springframework.data.redis.connection.stream.RecordId[] type 
+        register(RecordId[].class, RecordIdArraySerializer.INSTANCE);
+
+        // org.springframework.data.redis.connection.stream.ReadOffset type 
+        register(ReadOffset.class, ReadOffsetSerializer.INSTANCE);
+
+        // org.springframework.data.redis.connection.stream.Consumer type 
+        register(Consumer.class, StreamConsumerSerializer.INSTANCE);
+
+        // org.springframework.data.redis.connection.RedisStreamCommands.XAddOptions type 
+        register(RedisStreamCommands.XAddOptions.class, XAddOptionsSerializer.INSTANCE);
     }
 
     /**
@@ -286,9 +455,29 @@ public abstract class Serializers {
         return SpringFactoriesLoader.loadFactories(RedisSerializer.class, classLoader);
     }
 
+    /**
+     * Initializes the Serializers from {@link RedisSerializerRegistrar RedisSerializerRegistrars}
+     */
+    private static void initializeRegistrarSerializers() {
+        List<RedisSerializerRegistrar> registrars = SpringFactoriesLoader.loadFactories(RedisSerializerRegistrar.class, classLoader);
+        for (RedisSerializerRegistrar registrar : registrars) {
+            registrar.getSerializers().forEach(Serializers::register);
+        }
+    }
+
+    /**
+     * Register the {@link RedisSerializer} for the type and its sub-types, the resolved cache will be evicted and the
+     * {@link #getGeneration() generation} will be increased, thus the pre-resolved serializers of
+     * {@link io.github.microsphere.spring.redis.metadata.MethodMetadata} are resolved again on the next use.
+     *
+     * @param type       the type
+     * @param serializer {@link RedisSerializer}
+     */
     public static void register(Class<?> type, RedisSerializer<?> serializer) {
         String typeName = type.getName();
         RedisSerializer oldSerializer = typedSerializers.put(typeName, serializer);
+        resolvedSerializers.clear();
+        generation.incrementAndGet();
         logger.debug("The RedisSerializer[class : '{}' , target type : '{}'] for type['{}'] was registered", getTypeName(serializer), getTypeName(serializer.getTargetType()), getTypeName(type));
         if (oldSerializer != null && !Objects.equals(oldSerializer, serializer)) {
             logger.warn("The RedisSerializer for type['{}'] has been replaced old [class : '{}' , target type : '{}'] -> new [class : '{}' , target type : '{}']",
@@ -3,6 +3,9 @@ package io.github.microsphere.spring.redis.serializer;
 import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.SerializationException;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
 /**
  * Java {@code boolean} or {@link Boolean} type {@link RedisSerializer} Class
  *
@@ -32,4 +35,17 @@ public class ShortSerializer extends AbstractSerializer<Short> {
         return (short) ((bytes[0] << 8) | (bytes[1] & 0xFF));
     }
 
+    @Override
+    protected void doSerialize(Short aShort, ByteBuffer buffer) throws SerializationException {
+        short shortValue = aShort.shortValue();
+        // The big-endian order regardless of the buffer order
+        buffer.putShort(buffer.order() == ByteOrder.BIG_ENDIAN ? shortValue : Short.reverseBytes(shortValue));
+    }
+
+    @Override
+    protected Short doDeserialize(ByteBuffer buffer, int length) throws SerializationException {
+        short shortValue = buffer.getShort();
+        return buffer.order() == ByteOrder.BIG_ENDIAN ? shortValue : Short.reverseBytes(shortValue);
+    }
+
 }
@@ -0,0 +1,67 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microsphere.spring.redis.serializer;
+
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static io.github.microsphere.spring.redis.util.VarIntUtils.readVarInt;
+import static io.github.microsphere.spring.redis.util.VarIntUtils.varIntSize;
+import static io.github.microsphere.spring.redis.util.VarIntUtils.writeVarInt;
+
+/**
+ * The stream {@link Consumer} {@link org.springframework.data.redis.serializer.RedisSerializer}, the layout is the
+ * length-prefixed(varint) UTF-8 group name, followed by the UTF-8 consumer name.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @since 1.0.0
+ */
+public class StreamConsumerSerializer extends AbstractSerializer<Consumer> {
+
+    public static final StreamConsumerSerializer INSTANCE = new StreamConsumerSerializer();
+
+    @Override
+    protected byte[] doSerialize(Consumer consumer) throws SerializationException {
+        byte[] group = consumer.getGroup().getBytes(StandardCharsets.UTF_8);
+        byte[] name = consumer.getName().getBytes(StandardCharsets.UTF_8);
+        byte[] bytes = new byte[varIntSize(group.length) + group.length + name.length];
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        writeVarInt(group.length, buffer);
+        buffer.put(group);
+        buffer.put(name);
+        return bytes;
+    }
+
+    @Override
+    protected Consumer doDeserialize(byte[] bytes) throws SerializationException {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        try {
+            int groupLength = readVarInt(buffer);
+            int position = buffer.position();
+            String group = new String(bytes, position, groupLength, StandardCharsets.UTF_8);
+            int namePosition = position + groupLength;
+            String name = new String(bytes, namePosition, bytes.length - namePosition, StandardCharsets.UTF_8);
+            return Consumer.from(group, name);
+        } catch (BufferUnderflowException | IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new SerializationException("The content of stream Consumer is malformed", e);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microsphere.spring.redis.serializer;
+
+import org.springframework.data.redis.connection.RedisStreamCommands.XAddOptions;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static io.github.microsphere.spring.redis.util.VarIntUtils.decodeZigZag;
+import static io.github.microsphere.spring.redis.util.VarIntUtils.encodeZigZag;
+import static io.github.microsphere.spring.redis.util.VarIntUtils.readVarLong;
+import static io.github.microsphere.spring.redis.util.VarIntUtils.varLongSize;
+import static io.github.microsphere.spring.redis.util.VarIntUtils.writeVarLong;
+
+/**
+ * {@link XAddOptions} {@link org.springframework.data.redis.serializer.RedisSerializer}
+ * <p>
+ * The layout :
+ * <pre>
+ * flags(1) | maxlen(ZigZag varlong, if present) | min id(ASCII, if present)
+ * </pre>
+ * NOMKSTREAM is restored only if MAXLEN is absent, because {@link XAddOptions} can't combine them by its public API.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @since 1.0.0
+ */
+public class XAddOptionsSerializer extends AbstractSerializer<XAddOptions> {
+
+    public static final XAddOptionsSerializer INSTANCE = new XAddOptionsSerializer();
+
+    private static final byte FLAG_MAXLEN = 1;
+
+    private static final byte FLAG_NO_MK_STREAM = 1 << 1;
+
+    private static final byte FLAG_APPROXIMATE_TRIMMING = 1 << 2;
+
+    private static final byte FLAG_MIN_ID = 1 << 3;
+
+    @Override
+    protected byte[] doSerialize(XAddOptions options) throws SerializationException {
+        byte flags = 0;
+        int size = 1;
+        long maxlen = 0;
+        if (options.hasMaxlen()) {
+            flags |= FLAG_MAXLEN;
+            maxlen = encodeZigZag(options.getMaxlen());
+            size += varLongSize(maxlen);
+        }
+        if (options.isNoMkStream()) {
+            flags |= FLAG_NO_MK_STREAM;
+        }
+        if (options.isApproximateTrimming()) {
+            flags |= FLAG_APPROXIMATE_TRIMMING;
+        }
+        byte[] minId = null;
+        if (options.hasMinId()) {
+            flags |= FLAG_MIN_ID;
+            minId = options.getMinId().getValue().getBytes(StandardCharsets.US_ASCII);
+            size += minId.length;
+        }
+
+        byte[] bytes = new byte[size];
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        buffer.put(flags);
+        if (options.hasMaxlen()) {
+            writeVarLong(maxlen, buffer);
+        }
+        if (minId != null) {
+            buffer.put(minId);
+        }
+        return bytes;
+    }
+
+    @Override
+    protected XAddOptions doDeserialize(byte[] bytes) throws SerializationException {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        try {
+            byte flags = buffer.get();
+            XAddOptions options = (flags & FLAG_MAXLEN) != 0 ? XAddOptions.maxlen(decodeZigZag(readVarLong(buffer))) :
+                    XAddOptions.makeNoStream((flags & FLAG_NO_MK_STREAM) != 0);
+            if ((flags & FLAG_APPROXIMATE_TRIMMING) != 0) {
+                options = options.approximateTrimming(true);
+            }
+            if ((flags & FLAG_MIN_ID) != 0) {
+                String minId = new String(bytes, buffer.position(), buffer.remaining(), StandardCharsets.US_ASCII);
+                options = options.minId(RecordId.of(minId));
+            }
+            return options;
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            throw new SerializationException("The content of XAddOptions is malformed", e);
+        }
+    }
+}
@@ -1,65 +0,0 @@
-/*
- * Licensed to the Apache Software Foundation (ASF) under one or more
- * contributor license agreements.  See the NOTICE file distributed with
- * this work for additional information regarding copyright ownership.
- * The ASF licenses this file to You under the Apache License, Version 2.0
- * (the "License"); you may not use this file except in compliance with
- * the License.  You may obtain a copy of the License at
- *
- *     http://www.apache.org/licenses/LICENSE-2.0
- *
- * Unless required by applicable law or agreed to in writing, software
- * distributed under the License is distributed on an "AS IS" BASIS,
- * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
- * See the License for the specific language governing permissions and
- * limitations under the License.
- */
-package io.github.microsphere.spring.redis.util;
-
-import java.util.Arrays;
-import java.util.StringJoiner;
-
-/**
- * The Redis Raw Value stores on the byte array
- *
- * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
- * @since 1.0.0
- */
-public class RawValue {
-
-    private final byte[] data;
-
-    private RawValue(byte[] data) {
-        this.data = data;
-    }
-
-    public byte[] getData() {
-        return data;
-    }
-
-    @Override
-    public boolean equals(Object o) {
-        if (this == o) return true;
-        if (o == null || getClass() != o.getClass()) return false;
-
-        RawValue rawValue = (RawValue) o;
-
-        return Arrays.equals(data, rawValue.data);
-    }
-
-    @Override
-    public int hashCode() {
-        return Arrays.hashCode(data);
-    }
-
-    @Override
-    public String toString() {
-        return new StringJoiner(", ", RawValue.class.getSimpleName() + "[", "]")
-                .add("data=" + Arrays.toString(data))
-                .toString();
-    }
-
-    public static RawValue of(byte[] bytes) {
-        return new RawValue(bytes);
-    }
-}
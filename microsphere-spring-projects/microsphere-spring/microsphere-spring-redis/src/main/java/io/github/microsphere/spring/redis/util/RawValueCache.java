@@ -0,0 +1,341 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microsphere.spring.redis.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.StringJoiner;
+import java.util.concurrent.atomic.LongAdder;
+
+import static io.github.microsphere.spring.redis.util.RedisConstants.DEFAULT_RAW_VALUE_CACHE_MAX_BYTES;
+import static io.github.microsphere.spring.redis.util.RedisConstants.DEFAULT_RAW_VALUE_CACHE_MAX_ENTRIES;
+import static io.github.microsphere.spring.redis.util.RedisConstants.DEFAULT_RAW_VALUE_CACHE_MAX_VALUE_BYTES;
+
+/**
+ * The per-thread bounded cache between the values and their raw bytes, which is used to avoid the duplicated
+ * serialization and deserialization of the same value object during one Redis invocation, e.g, the value that was
+ * serialized by {@link org.springframework.data.redis.core.RedisTemplate} is deserialized again by the
+ * listeners of {@link io.github.microsphere.spring.redis.event.RedisCommandEvent}.
+ * <p>
+ * The entries are looked up by the identities of the value objects and the raw byte arrays rather than their contents,
+ * thus neither hashing nor comparing the bytes is required, and no object is allocated on the lookups. The cache is
+ * bounded by {@link RedisConstants#RAW_VALUE_CACHE_MAX_ENTRIES_PROPERTY_NAME the entry count} and
+ * {@link RedisConstants#RAW_VALUE_CACHE_MAX_BYTES_PROPERTY_NAME the total raw bytes}, when either bound is exceeded,
+ * all entries are evicted, the raw value that is larger than
+ * {@link RedisConstants#RAW_VALUE_CACHE_MAX_VALUE_BYTES_PROPERTY_NAME the max value bytes} is never cached.
+ * <p>
+ * The cache is cleared when the outermost intercepted Redis invocation is {@link #exit() exited}, so the entries are
+ * only visible from the serialization before the invocation until the end of it.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see RedisConstants#RAW_VALUE_CACHE_PROPERTY_NAME_PREFIX
+ * @since 1.0.0
+ */
+public final class RawValueCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(RawValueCache.class);
+
+    private static final ThreadLocal<RawValueCache> cacheHolder = ThreadLocal.withInitial(RawValueCache::new);
+
+    private static final LongAdder hits = new LongAdder();
+
+    private static final LongAdder misses = new LongAdder();
+
+    private static final LongAdder skips = new LongAdder();
+
+    private static final LongAdder evictions = new LongAdder();
+
+    private final int maxEntries;
+
+    private final int maxBytes;
+
+    private final int maxValueBytes;
+
+    /**
+     * The keys of the table that maps the value to the raw bytes
+     */
+    private Object[] values;
+
+    private byte[][] valueRawValues;
+
+    /**
+     * The keys of the table that maps the raw bytes to the value
+     */
+    private byte[][] rawValues;
+
+    private Object[] rawValueValues;
+
+    private int mask;
+
+    private int size;
+
+    private int bytes;
+
+    private int depth;
+
+    private RawValueCache() {
+        this(DEFAULT_RAW_VALUE_CACHE_MAX_ENTRIES, DEFAULT_RAW_VALUE_CACHE_MAX_BYTES, DEFAULT_RAW_VALUE_CACHE_MAX_VALUE_BYTES);
+    }
+
+    RawValueCache(int maxEntries, int maxBytes, int maxValueBytes) {
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+        this.maxValueBytes = Math.min(maxValueBytes, maxBytes);
+    }
+
+    /**
+     * Get the raw bytes of the value object
+     *
+     * @param value the value object
+     * @return <code>null</code> if absent
+     */
+    public byte[] getRawValue(Object value) {
+        if (value == null || size == 0) {
+            misses.increment();
+            return null;
+        }
+        int index = indexOf(values, value);
+        if (index < 0) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return valueRawValues[index];
+    }
+
+    /**
+     * Get the value object of the raw bytes
+     *
+     * @param rawValue the raw bytes
+     * @return <code>null</code> if absent
+     */
+    public Object getValue(byte[] rawValue) {
+        if (rawValue == null || size == 0) {
+            misses.increment();
+            return null;
+        }
+        int index = indexOf(rawValues, rawValue);
+        if (index < 0) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return rawValueValues[index];
+    }
+
+    /**
+     * Put the value object and its raw bytes into the cache, it will be skipped if the raw bytes are too large
+     *
+     * @param value    the value object
+     * @param rawValue the raw bytes
+     */
+    public void put(Object value, byte[] rawValue) {
+        if (value == null || rawValue == null) {
+            return;
+        }
+        int length = rawValue.length;
+        if (length > maxValueBytes || maxEntries < 1) {
+            skips.increment();
+            return;
+        }
+        if (values == null) {
+            initTables();
+        } else if (size == maxEntries || bytes + length > maxBytes) {
+            evictions.increment();
+            if (logger.isDebugEnabled()) {
+                logger.debug("The RawValueCache[entries : {} , bytes : {}] is full, all entries are evicted", size, bytes);
+            }
+            clear();
+        }
+        if (putEntry(values, valueRawValues, value, rawValue) | putEntry(rawValues, rawValueValues, rawValue, value)) {
+            size++;
+            bytes += length;
+        }
+    }
+
+    /**
+     * Clear all entries
+     */
+    public void clear() {
+        if (size > 0) {
+            Arrays.fill(values, null);
+            Arrays.fill(valueRawValues, null);
+            Arrays.fill(rawValues, null);
+            Arrays.fill(rawValueValues, null);
+            size = 0;
+            bytes = 0;
+        }
+    }
+
+    /**
+     * Enter an intercepted Redis invocation
+     */
+    public void enter() {
+        depth++;
+    }
+
+    /**
+     * Exit an intercepted Redis invocation, all entries will be cleared if the outermost invocation is exited
+     */
+    public void exit() {
+        if (depth > 0 && --depth == 0) {
+            clear();
+        }
+    }
+
+    /**
+     * @return the count of the entries
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return the total length of the cached raw bytes
+     */
+    public int bytes() {
+        return bytes;
+    }
+
+    private void initTables() {
+        int capacity = Integer.highestOneBit(Math.max(maxEntries, 1) * 2 - 1) << 1;
+        this.values = new Object[capacity];
+        this.valueRawValues = new byte[capacity][];
+        this.rawValues = new byte[capacity][];
+        this.rawValueValues = new Object[capacity];
+        this.mask = capacity - 1;
+    }
+
+    private int indexOf(Object[] keys, Object key) {
+        int index = System.identityHashCode(key) & mask;
+        Object k;
+        while ((k = keys[index]) != null) {
+            if (k == key) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * @return <code>true</code> if a new entry is added, or <code>false</code> if the existed one is replaced
+     */
+    private <K, V> boolean putEntry(K[] keys, V[] entries, K key, V value) {
+        int index = System.identityHashCode(key) & mask;
+        Object k;
+        while ((k = keys[index]) != null) {
+            if (k == key) {
+                entries[index] = value;
+                return false;
+            }
+            index = (index + 1) & mask;
+        }
+        keys[index] = key;
+        entries[index] = value;
+        return true;
+    }
+
+    /**
+     * Get the {@link RawValueCache} of current thread
+     *
+     * @return non-null
+     */
+    public static RawValueCache current() {
+        return cacheHolder.get();
+    }
+
+    /**
+     * Get the snapshot of the statistics that are aggregated from all threads
+     *
+     * @return non-null
+     */
+    public static Statistics getStatistics() {
+        return new Statistics(hits.sum(), misses.sum(), skips.sum(), evictions.sum());
+    }
+
+    /**
+     * Reset the statistics
+     */
+    public static void resetStatistics() {
+        hits.reset();
+        misses.reset();
+        skips.reset();
+        evictions.reset();
+    }
+
+    /**
+     * The statistics of {@link RawValueCache}
+     */
+    public static final class Statistics {
+
+        private final long hits;
+
+        private final long misses;
+
+        private final long skips;
+
+        private final long evictions;
+
+        Statistics(long hits, long misses, long skips, long evictions) {
+            this.hits = hits;
+            this.misses = misses;
+            this.skips = skips;
+            this.evictions = evictions;
+        }
+
+        public long getHits() {
+            return hits;
+        }
+
+        public long getMisses() {
+            return misses;
+        }
+
+        /**
+         * @return the count of the raw values that were not cached because of their sizes
+         */
+        public long getSkips() {
+            return skips;
+        }
+
+        /**
+         * @return the count of the full evictions
+         */
+        public long getEvictions() {
+            return evictions;
+        }
+
+        public double getHitRatio() {
+            long lookups = hits + misses;
+            return lookups == 0 ? 0d : (double) hits / lookups;
+        }
+
+        @Override
+        public String toString() {
+            return new StringJoiner(", ", Statistics.class.getSimpleName() + "[", "]")
+                    .add("hits=" + hits)
+                    .add("misses=" + misses)
+                    .add("skips=" + skips)
+                    .add("evictions=" + evictions)
+                    .add("hitRatio=" + getHitRatio())
+                    .toString();
+        }
+    }
+}
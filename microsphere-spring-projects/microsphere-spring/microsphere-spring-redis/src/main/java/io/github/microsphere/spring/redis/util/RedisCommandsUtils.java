@@ -1,8 +1,10 @@
 package io.github.microsphere.spring.redis.util;
 
 import io.github.microsphere.spring.redis.event.RedisCommandEvent;
+import io.github.microsphere.spring.redis.metadata.MethodMetadata;
 import io.github.microsphere.spring.redis.metadata.Parameter;
 import io.github.microsphere.spring.redis.metadata.ParameterMetadata;
+import io.github.microsphere.spring.redis.metadata.ParameterSerializationPlan;
 import io.github.microsphere.spring.redis.serializer.Serializers;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -10,15 +12,20 @@ import org.springframework.core.DefaultParameterNameDiscoverer;
 import org.springframework.core.ParameterNameDiscoverer;
 import org.springframework.data.redis.connection.RedisCommands;
 import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.lang.Nullable;
 
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.StringJoiner;
 import java.util.function.BiConsumer;
 
-import static io.github.microsphere.spring.redis.metadata.MethodMetadataRepository.getWriteParameterMetadataList;
+import static io.github.microsphere.spring.redis.metadata.MethodMetadataRepository.getMethodMetadata;
+import static java.util.Arrays.asList;
 import static java.util.Collections.unmodifiableList;
+import static java.util.Collections.unmodifiableSet;
 
 /**
  * {@link RedisCommands Redis Command} Utilities Class
@@ -64,6 +71,17 @@ public abstract class RedisCommandsUtils {
 
     public static final String REDIS_CONNECTION_COMMANDS_INTERFACE_NAME = "org.springframework.data.redis.connection.RedisConnectionCommands";
 
+    private static final String KEY_PARAMETER_TYPE = byte[].class.getName();
+
+    /**
+     * The names of the write methods that take more than one Redis key as the separated byte[] parameters
+     */
+    private static final Set<String> MULTI_KEY_METHOD_NAMES = unmodifiableSet(new HashSet<>(asList(
+            "rename", "renameNX", "copy", "sMove", "rPopLPush", "bRPopLPush", "lMove", "bLMove",
+            "sInterStore", "sUnionStore", "sDiffStore", "zInterStore", "zUnionStore", "zDiffStore",
+            "zRangeStore", "zRangeStoreByLex", "zRangeStoreByScore", "zRangeStoreRevByLex", "zRangeStoreRevByScore",
+            "pfMerge", "geoRadiusStore", "geoRadiusByMemberStore", "geoSearchStore")));
+
     public static String resolveSimpleInterfaceName(String interfaceName) {
         int index = interfaceName.indexOf(REDIS_COMMANDS_PACKAGE_NAME);
         if (index == 0) {
@@ -98,20 +116,65 @@ public abstract class RedisCommandsUtils {
                 return redisConnection.keyCommands();
             case REDIS_SCRIPTING_COMMANDS_INTERFACE_NAME:
                 return redisConnection.scriptingCommands();
-
             case REDIS_GEO_COMMANDS_INTERFACE_NAME:
                 return redisConnection.geoCommands();
+            case REDIS_HYPER_LOG_LOG_COMMANDS_INTERFACE_NAME:
+                return redisConnection.hyperLogLogCommands();
             case REDIS_SERVER_COMMANDS_INTERFACE_NAME:
                 return redisConnection.serverCommands();
             case REDIS_STREAM_COMMANDS_INTERFACE_NAME:
-                // TODO The Redis Spring Data version needs to be upgraded
-                // return redisConnection.streamCommands();
+                return redisConnection.streamCommands();
+            case REDIS_TX_COMMANDS_INTERFACE_NAME:
+                // The transaction commands are declared by RedisConnection itself
+                return redisConnection;
             default:
                 throw new UnsupportedOperationException(interfaceName);
         }
 
     }
 
+    /**
+     * Resolve the only Redis key of the command, the command without key(e.g, FLUSHDB), the command of more than one
+     * key(e.g, RENAME, DEL with multiple keys), the script and the transaction can't be ordered by the key, thus they
+     * must be applied after all the previous commands and before all the following commands
+     *
+     * @param event {@link RedisCommandEvent}
+     * @return <code>null</code> if the command has no key or more than one key
+     * @see MethodMetadata#getKeyParameterIndex()
+     */
+    @Nullable
+    public static byte[] resolveSingleKey(RedisCommandEvent event) {
+        MethodMetadata methodMetadata = event.getMethodMetadata();
+        int index = methodMetadata == null ?
+                resolveKeyParameterIndex(event.getInterfaceName(), event.getMethodName(), event.getParameterTypes()) :
+                methodMetadata.getKeyParameterIndex();
+        return index < 0 ? null : event.getParameter(index);
+    }
+
+    /**
+     * Resolve the index of the parameter that is the only Redis key of the command
+     *
+     * @param interfaceName  the name of Redis command interface
+     * @param methodName     the name of Redis command method
+     * @param parameterTypes the types of parameters
+     * @return -1 if the command has no key or more than one key
+     * @see #resolveSingleKey(RedisCommandEvent)
+     */
+    public static int resolveKeyParameterIndex(String interfaceName, String methodName, String[] parameterTypes) {
+        switch (interfaceName) {
+            case REDIS_SCRIPTING_COMMANDS_INTERFACE_NAME:
+            case REDIS_SERVER_COMMANDS_INTERFACE_NAME:
+            case REDIS_TX_COMMANDS_INTERFACE_NAME:
+                return -1;
+        }
+        // Almost all RedisCommands interface methods take the first argument as Key
+        if (parameterTypes.length < 1 || !KEY_PARAMETER_TYPE.equals(parameterTypes[0])
+                || MULTI_KEY_METHOD_NAMES.contains(methodName)) {
+            return -1;
+        }
+        return 0;
+    }
+
     public static String buildCommandMethodId(RedisCommandEvent event) {
         return buildCommandMethodId(event.getInterfaceName(), event.getMethodName(), event.getParameterTypes());
     }
@@ -144,45 +207,57 @@ public abstract class RedisCommandsUtils {
      * @return if the parameters from the write method, return <code>true</code>, or <code>false</code>
      */
     public static boolean initParameters(Method method, Object[] args, BiConsumer<Parameter, Integer> consumer, BiConsumer<Parameter, Integer>... otherConsumers) {
-
-        boolean sourceFromWriteMethod = true;
-
-        List<ParameterMetadata> parameterMetadataList = null;
+        // The MethodMetadata of the write and non-write methods are resolved once and cached
+        MethodMetadata methodMetadata = getMethodMetadata(method);
 
         try {
-            // First, attempt to get the cached list of ParameterMetadata from the write method
-            parameterMetadataList = getWriteParameterMetadataList(method);
-            // If not found, try to build them
-            if (parameterMetadataList == null) {
-                sourceFromWriteMethod = false;
-                parameterMetadataList = buildParameterMetadataList(method);
-            }
-
-            int size = parameterMetadataList.size();
+            ParameterSerializationPlan plan = methodMetadata.getParameterSerializationPlan();
+            int size = methodMetadata.getParameterCount();
             int otherConsumerCount = otherConsumers.length;
 
-            if (size > 0) {
-
-                for (int i = 0; i < size; i++) {
-                    Object parameterValue = args[i];
-                    ParameterMetadata parameterMetadata = parameterMetadataList.get(i);
-                    Parameter parameter = new Parameter(parameterValue, parameterMetadata);
-                    // serialize parameter
-                    Serializers.serializeRawParameter(parameter);
-                    // consumer one
-                    consumer.accept(parameter, i);
-                    // consumer others
-                    for (int j = 0; j < otherConsumerCount; j++) {
-                        BiConsumer<Parameter, Integer> parameterConsumer = otherConsumers[j];
-                        parameterConsumer.accept(parameter, i);
-                    }
+            for (int i = 0; i < size; i++) {
+                Object parameterValue = args[i];
+                Parameter parameter = new Parameter(parameterValue, methodMetadata.getParameterMetadata(i));
+                // serialize parameter by the compiled plan
+                parameter.setRawValue(plan.serialize(i, parameterValue));
+                // consumer one
+                consumer.accept(parameter, i);
+                // consumer others
+                for (int j = 0; j < otherConsumerCount; j++) {
+                    BiConsumer<Parameter, Integer> parameterConsumer = otherConsumers[j];
+                    parameterConsumer.accept(parameter, i);
                 }
             }
         } catch (Throwable e) {
-            logger.error("Redis failed to initialize Redis command method parameter {}!", parameterMetadataList, e);
+            logger.error("Redis failed to initialize Redis command method parameter {}!", methodMetadata.getParameterMetadataList(), e);
         }
 
-        return sourceFromWriteMethod;
+        return methodMetadata.isWrite();
+    }
+
+    /**
+     * Build the {@link Parameter Parameters} of Redis command {@link Method} by its {@link MethodMetadata}
+     *
+     * @param methodMetadata {@link MethodMetadata}
+     * @param args           the parameter values of the Redis command {@link Method}
+     * @return non-null
+     */
+    public static Parameter[] buildParameters(MethodMetadata methodMetadata, Object[] args) {
+        int parameterCount = methodMetadata.getParameterCount();
+        Parameter[] parameters = new Parameter[parameterCount];
+        try {
+            ParameterSerializationPlan plan = methodMetadata.getParameterSerializationPlan();
+            for (int i = 0; i < parameterCount; i++) {
+                Object value = args[i];
+                Parameter parameter = new Parameter(value, methodMetadata.getParameterMetadata(i));
+                // serialize parameter by the compiled plan
+                parameter.setRawValue(plan.serialize(i, value));
+                parameters[i] = parameter;
+            }
+        } catch (Throwable e) {
+            logger.error("Redis failed to initialize Redis command method parameter {}!", methodMetadata.getParameterMetadataList(), e);
+        }
+        return parameters;
     }
 
     public static List<ParameterMetadata> buildParameterMetadataList(Method method) {
@@ -196,7 +271,7 @@ public abstract class RedisCommandsUtils {
         List<ParameterMetadata> parameterMetadataList = new ArrayList<>(parameterCount);
         for (int i = 0; i < parameterCount; i++) {
             String parameterType = parameterTypes[i].getName();
-            String parameterName = parameterNames[i];
+            String parameterName = parameterNames == null ? null : parameterNames[i];
             ParameterMetadata parameterMetadata = new ParameterMetadata(i, parameterType, parameterName);
             parameterMetadataList.add(parameterMetadata);
             // Preload the RedisSerializer implementation for the Method parameter type
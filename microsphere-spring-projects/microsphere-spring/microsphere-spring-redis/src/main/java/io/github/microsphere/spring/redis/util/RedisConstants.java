@@ -70,10 +70,80 @@ public interface RedisConstants {
 
     boolean DEFAULT_COMMAND_EVENT_EXPOSED = true;
 
+    /**
+     * The prefix of the asynchronous publication's property name of the Redis command events
+     */
+    String COMMAND_EVENT_ASYNC_PROPERTY_NAME_PREFIX = COMMAND_EVENT_PROPERTY_NAME_PREFIX + "async.";
+
+    /**
+     * Whether the Redis command events are published by the dispatcher threads instead of the Redis threads, it's
+     * enabled by default, the synchronous publication is opted in by setting it false
+     */
+    String COMMAND_EVENT_ASYNC_ENABLED_PROPERTY_NAME = COMMAND_EVENT_ASYNC_PROPERTY_NAME_PREFIX + "enabled";
+
+    boolean DEFAULT_COMMAND_EVENT_ASYNC_ENABLED = true;
+
+    /**
+     * The count of the dispatcher threads
+     */
+    String COMMAND_EVENT_ASYNC_DISPATCHERS_PROPERTY_NAME = COMMAND_EVENT_ASYNC_PROPERTY_NAME_PREFIX + "dispatchers";
+
+    int DEFAULT_COMMAND_EVENT_ASYNC_DISPATCHERS = 1;
+
+    /**
+     * The capacity of the event queue of each dispatcher thread, it will be rounded up to the power of two
+     */
+    String COMMAND_EVENT_ASYNC_QUEUE_CAPACITY_PROPERTY_NAME = COMMAND_EVENT_ASYNC_PROPERTY_NAME_PREFIX + "queue-capacity";
+
+    int DEFAULT_COMMAND_EVENT_ASYNC_QUEUE_CAPACITY = 1024;
+
+    /**
+     * The max count of the events that are drained from one queue in a batch
+     */
+    String COMMAND_EVENT_ASYNC_BATCH_SIZE_PROPERTY_NAME = COMMAND_EVENT_ASYNC_PROPERTY_NAME_PREFIX + "batch-size";
+
+    int DEFAULT_COMMAND_EVENT_ASYNC_BATCH_SIZE = 64;
+
+    /**
+     * The serialization version of the Redis command event that is written by the producer, the consumers must be
+     * upgraded before the producers switch to the newer version, e.g : "3"
+     */
+    String COMMAND_EVENT_SERIALIZATION_VERSION_PROPERTY_NAME = COMMAND_EVENT_PROPERTY_NAME_PREFIX + "serialization-version";
+
+    byte DEFAULT_COMMAND_EVENT_SERIALIZATION_VERSION = Byte.parseByte(System.getProperty(COMMAND_EVENT_SERIALIZATION_VERSION_PROPERTY_NAME, "1"));
+
     String FAIL_FAST_ENABLED_PROPERTY_NAME = PROPERTY_NAME_PREFIX + "fail-fast";
 
     boolean FAIL_FAST_ENABLED = Boolean.getBoolean(System.getProperty(FAIL_FAST_ENABLED_PROPERTY_NAME, "true"));
 
+    /**
+     * The prefix of the per-thread raw value cache's property name, the properties are the JVM system properties
+     *
+     * @see RawValueCache
+     */
+    String RAW_VALUE_CACHE_PROPERTY_NAME_PREFIX = PROPERTY_NAME_PREFIX + "raw-value-cache.";
+
+    /**
+     * The max total bytes of the raw values cached by one thread
+     */
+    String RAW_VALUE_CACHE_MAX_BYTES_PROPERTY_NAME = RAW_VALUE_CACHE_PROPERTY_NAME_PREFIX + "max-bytes";
+
+    int DEFAULT_RAW_VALUE_CACHE_MAX_BYTES = Integer.getInteger(RAW_VALUE_CACHE_MAX_BYTES_PROPERTY_NAME, 64 * 1024);
+
+    /**
+     * The raw value that is larger than the max bytes will not be cached
+     */
+    String RAW_VALUE_CACHE_MAX_VALUE_BYTES_PROPERTY_NAME = RAW_VALUE_CACHE_PROPERTY_NAME_PREFIX + "max-value-bytes";
+
+    int DEFAULT_RAW_VALUE_CACHE_MAX_VALUE_BYTES = Integer.getInteger(RAW_VALUE_CACHE_MAX_VALUE_BYTES_PROPERTY_NAME, 8 * 1024);
+
+    /**
+     * The max count of the values cached by one thread
+     */
+    String RAW_VALUE_CACHE_MAX_ENTRIES_PROPERTY_NAME = RAW_VALUE_CACHE_PROPERTY_NAME_PREFIX + "max-entries";
+
+    int DEFAULT_RAW_VALUE_CACHE_MAX_ENTRIES = Integer.getInteger(RAW_VALUE_CACHE_MAX_ENTRIES_PROPERTY_NAME, 64);
+
     /**
      * Wrapped {@link RedisTemplate} list of Bean names
      */
@@ -93,6 +163,47 @@ public interface RedisConstants {
 
     boolean DEFAULT_INTERCEPTOR_ENABLED = true;
 
+    /**
+     * The type of the intercepting proxy of RedisConnection : "jdk" or "byte-buddy"
+     */
+    String INTERCEPTOR_PROXY_TYPE_PROPERTY_NAME = INTERCEPTOR_PROPERTY_NAME_PREFIX + "proxy-type";
+
+    String JDK_INTERCEPTOR_PROXY_TYPE = "jdk";
+
+    String BYTE_BUDDY_INTERCEPTOR_PROXY_TYPE = "byte-buddy";
+
+    String DEFAULT_INTERCEPTOR_PROXY_TYPE = JDK_INTERCEPTOR_PROXY_TYPE;
+
+    /**
+     * The prefix of the Redis command metrics' property name
+     */
+    String METRICS_PROPERTY_NAME_PREFIX = PROPERTY_NAME_PREFIX + "metrics.";
+
+    String METRICS_ENABLED_PROPERTY_NAME = METRICS_PROPERTY_NAME_PREFIX + "enabled";
+
+    boolean DEFAULT_METRICS_ENABLED = false;
+
+    /**
+     * The interval of the Redis command metrics' snapshot and export in milliseconds
+     */
+    String METRICS_INTERVAL_PROPERTY_NAME = METRICS_PROPERTY_NAME_PREFIX + "interval";
+
+    long DEFAULT_METRICS_INTERVAL = 60 * 1000L;
+
+    /**
+     * The stripes of the histogram recorders, which is rounded up to the power of 2
+     */
+    String METRICS_STRIPES_PROPERTY_NAME = METRICS_PROPERTY_NAME_PREFIX + "stripes";
+
+    int DEFAULT_METRICS_STRIPES = 4;
+
+    /**
+     * Whether the Redis command metrics are exported as the JMX MXBeans or not
+     */
+    String METRICS_JMX_ENABLED_PROPERTY_NAME = METRICS_PROPERTY_NAME_PREFIX + "jmx.enabled";
+
+    boolean DEFAULT_METRICS_JMX_ENABLED = true;
+
     String DEFAULT_WRAP_REDIS_TEMPLATE_PLACEHOLDER = "${" + WRAPPED_REDIS_TEMPLATE_BEAN_NAMES_PROPERTY_NAME + ":}";
 
 }
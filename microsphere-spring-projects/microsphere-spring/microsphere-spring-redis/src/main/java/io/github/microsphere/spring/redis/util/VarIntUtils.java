@@ -0,0 +1,186 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microsphere.spring.redis.util;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The utilities class for the variable-length encoding of the unsigned int and long(LEB128, 7 bits per byte),
+ * the small values(less than 128) take only one byte, the signed values should be encoded by the ZigZag encoding
+ * before, e.g, {@link #encodeZigZag(int)}, thus the small negative values take one byte too.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @since 1.0.0
+ */
+public abstract class VarIntUtils {
+
+    /**
+     * The max bytes of the variable-length int
+     */
+    public static final int MAX_VAR_INT_BYTES = 5;
+
+    /**
+     * The max bytes of the variable-length long
+     */
+    public static final int MAX_VAR_LONG_BYTES = 10;
+
+    private VarIntUtils() {
+    }
+
+    /**
+     * Calculate the bytes of the variable-length int
+     *
+     * @param value the unsigned int value
+     * @return 1 to {@link #MAX_VAR_INT_BYTES}
+     */
+    public static int varIntSize(int value) {
+        if ((value & (0xFFFFFFFF << 7)) == 0) {
+            return 1;
+        }
+        if ((value & (0xFFFFFFFF << 14)) == 0) {
+            return 2;
+        }
+        if ((value & (0xFFFFFFFF << 21)) == 0) {
+            return 3;
+        }
+        if ((value & (0xFFFFFFFF << 28)) == 0) {
+            return 4;
+        }
+        return MAX_VAR_INT_BYTES;
+    }
+
+    /**
+     * Write the variable-length int into the {@link ByteBuffer}
+     *
+     * @param value  the unsigned int value
+     * @param buffer {@link ByteBuffer}
+     */
+    public static void writeVarInt(int value, ByteBuffer buffer) {
+        while ((value & ~0x7F) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    /**
+     * Read the variable-length int from the {@link ByteBuffer}
+     *
+     * @param buffer {@link ByteBuffer}
+     * @return the unsigned int value
+     * @throws IllegalArgumentException if the variable-length int is malformed
+     */
+    public static int readVarInt(ByteBuffer buffer) throws IllegalArgumentException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            byte b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("The variable-length int is malformed");
+    }
+
+    /**
+     * Calculate the bytes of the variable-length long
+     *
+     * @param value the unsigned long value
+     * @return 1 to {@link #MAX_VAR_LONG_BYTES}
+     */
+    public static int varLongSize(long value) {
+        int size = 1;
+        while ((value & ~0x7FL) != 0) {
+            value >>>= 7;
+            size++;
+        }
+        return size;
+    }
+
+    /**
+     * Write the variable-length long into the {@link ByteBuffer}
+     *
+     * @param value  the unsigned long value
+     * @param buffer {@link ByteBuffer}
+     */
+    public static void writeVarLong(long value, ByteBuffer buffer) {
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    /**
+     * Read the variable-length long from the {@link ByteBuffer}
+     *
+     * @param buffer {@link ByteBuffer}
+     * @return the unsigned long value
+     * @throws IllegalArgumentException if the variable-length long is malformed
+     */
+    public static long readVarLong(ByteBuffer buffer) throws IllegalArgumentException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("The variable-length long is malformed");
+    }
+
+    /**
+     * Encode the signed int by the ZigZag encoding, e.g, 0 -> 0, -1 -> 1, 1 -> 2, -2 -> 3
+     *
+     * @param value the signed int value
+     * @return the unsigned int value
+     */
+    public static int encodeZigZag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    /**
+     * Decode the ZigZag encoded int
+     *
+     * @param value the unsigned int value
+     * @return the signed int value
+     */
+    public static int decodeZigZag(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Encode the signed long by the ZigZag encoding
+     *
+     * @param value the signed long value
+     * @return the unsigned long value
+     */
+    public static long encodeZigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    /**
+     * Decode the ZigZag encoded long
+     *
+     * @param value the unsigned long value
+     * @return the signed long value
+     */
+    public static long decodeZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
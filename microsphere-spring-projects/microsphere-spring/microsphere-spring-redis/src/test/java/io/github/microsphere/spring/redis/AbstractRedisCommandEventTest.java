@@ -26,13 +26,18 @@ import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.serializer.RedisSerializer;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
 
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 /**
  * Abstract {@link RedisCommandEvent} Test
@@ -53,56 +58,73 @@ public abstract class AbstractRedisCommandEventTest extends AbstractRedisTest {
     protected RedisContext redisContext;
 
     @Test
-    public void test() {
+    public void test() throws Throwable {
 
-        Map<Object, Object> data = new HashMap<>();
+        Map<Object, Object> data = new ConcurrentHashMap<>();
+        // The event is published asynchronously
+        CountDownLatch latch = new CountDownLatch(1);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
         context.addApplicationListener((ApplicationListener<RedisCommandEvent>) event -> {
-            RedisSerializer keySerializer = stringRedisTemplate.getKeySerializer();
-            RedisSerializer valueSerializer = stringRedisTemplate.getValueSerializer();
-            byte[] parameter0 = event.getParameter(0);
-            byte[] parameter1 = event.getParameter(1);
-            Object key = keySerializer.deserialize(parameter0);
-            Object value = valueSerializer.deserialize(parameter1);
-            data.put(key, value);
+            try {
+                assertEvent(event, data);
+            } catch (Throwable e) {
+                failure.set(e);
+            } finally {
+                latch.countDown();
+            }
+        });
 
-            // assert interface name
-            assertEquals("org.springframework.data.redis.connection.RedisStringCommands", event.getInterfaceName());
+        stringRedisTemplate.opsForValue().set("Key-1", "Value-1");
+        assertTrue(latch.await(5, SECONDS));
+        if (failure.get() != null) {
+            throw failure.get();
+        }
+        assertEquals("Value-1", data.get("Key-1"));
+    }
 
-            // assert method name
-            assertEquals("set", event.getMethodName());
+    private void assertEvent(RedisCommandEvent event, Map<Object, Object> data) {
+        RedisSerializer keySerializer = stringRedisTemplate.getKeySerializer();
+        RedisSerializer valueSerializer = stringRedisTemplate.getValueSerializer();
+        byte[] parameter0 = event.getParameter(0);
+        byte[] parameter1 = event.getParameter(1);
+        Object key = keySerializer.deserialize(parameter0);
+        Object value = valueSerializer.deserialize(parameter1);
+        data.put(key, value);
 
-            // assert parameters
-            assertArrayEquals(new byte[][]{keySerializer.serialize(key), valueSerializer.serialize(value)}, event.getParameters());
+        // assert interface name
+        assertEquals("org.springframework.data.redis.connection.RedisStringCommands", event.getInterfaceName());
 
-            // assert object parameters
-            assertArrayEquals(event.getObjectParameters(), event.getParameters());
-            assertEquals(event.getObjectParameter(0), parameter0);
-            assertEquals(event.getObjectParameter(1), parameter1);
+        // assert method name
+        assertEquals("set", event.getMethodName());
 
-            // assert parameter count
-            assertEquals(2, event.getParameterCount());
+        // assert parameters
+        assertArrayEquals(new byte[][]{keySerializer.serialize(key), valueSerializer.serialize(value)}, event.getParameters());
 
-            // assert parameter types
-            assertArrayEquals(new String[]{"[B", "[B"}, event.getParameterTypes());
-            assertArrayEquals(new Class[]{byte[].class, byte[].class}, event.getParameterClasses());
-            assertArrayEquals(new Class[]{byte[].class, byte[].class}, event.getParameterClasses());
-            assertSame(byte[].class, event.getParameterClass(0));
-            assertSame(byte[].class, event.getParameterClass(1));
+        // assert object parameters
+        assertArrayEquals(event.getObjectParameters(), event.getParameters());
+        assertEquals(event.getObjectParameter(0), parameter0);
+        assertEquals(event.getObjectParameter(1), parameter1);
 
-            // assert source application
-            assertEquals("default", event.getSourceApplication());
+        // assert parameter count
+        assertEquals(2, event.getParameterCount());
 
-            // assert ClassLoader
-            assertSame(context.getClassLoader(), event.getClassLoader());
+        // assert parameter types
+        assertArrayEquals(new String[]{"[B", "[B"}, event.getParameterTypes());
+        assertArrayEquals(new Class[]{byte[].class, byte[].class}, event.getParameterClasses());
+        assertArrayEquals(new Class[]{byte[].class, byte[].class}, event.getParameterClasses());
+        assertSame(byte[].class, event.getParameterClass(0));
+        assertSame(byte[].class, event.getParameterClass(1));
 
-            // assert Redis Beans
-            assertNotNull(event.getRedisMethodContext());
-            assertSame(redisContext, event.getRedisContext());
+        // assert source application
+        assertEquals("default", event.getSourceApplication());
 
-            assertSame(context, event.getRedisContext().getApplicationContext());
-        });
+        // assert ClassLoader
+        assertSame(context.getClassLoader(), event.getClassLoader());
 
-        stringRedisTemplate.opsForValue().set("Key-1", "Value-1");
-        assertEquals("Value-1", data.get("Key-1"));
+        // assert Redis Beans
+        assertNotNull(event.getRedisMethodContext());
+        assertSame(redisContext, event.getRedisContext());
+
+        assertSame(context, event.getRedisContext().getApplicationContext());
     }
 }
@@ -18,13 +18,22 @@ package io.github.microsphere.spring.redis.annotation;
 
 import io.github.microsphere.spring.redis.AbstractRedisTest;
 import io.github.microsphere.spring.redis.config.RedisConfiguration;
+import io.github.microsphere.spring.redis.config.RedisConfigurationSnapshot;
+import io.github.microsphere.spring.redis.event.RedisConfigurationPropertyChangedEvent;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.env.Environment;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.MutablePropertySources;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.TestPropertySource;
 
+import static io.github.microsphere.spring.redis.util.RedisConstants.COMMAND_EVENT_EXPOSED_PROPERTY_NAME;
+import static java.util.Collections.singleton;
+import static java.util.Collections.singletonMap;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
@@ -53,4 +62,32 @@ public class EnableRedisConfigurationTest extends AbstractRedisTest {
         assertTrue(redisConfiguration.isEnabled());
         assertTrue(redisConfiguration.isCommandEventExposed());
     }
+
+    @Test
+    public void testSnapshot() {
+        RedisConfigurationSnapshot snapshot = redisConfiguration.getSnapshot();
+        assertSame(snapshot, redisConfiguration.getSnapshot());
+        assertTrue(snapshot.isEnabled());
+        assertTrue(snapshot.isCommandEventExposed());
+
+        MutablePropertySources propertySources = context.getEnvironment().getPropertySources();
+        propertySources.addFirst(new MapPropertySource("test", singletonMap(COMMAND_EVENT_EXPOSED_PROPERTY_NAME, "false")));
+        try {
+            // The snapshot is not changed until the event is published
+            assertSame(snapshot, redisConfiguration.getSnapshot());
+            context.publishEvent(new RedisConfigurationPropertyChangedEvent(context, singleton(COMMAND_EVENT_EXPOSED_PROPERTY_NAME)));
+            RedisConfigurationSnapshot newSnapshot = redisConfiguration.getSnapshot();
+            assertNotSame(snapshot, newSnapshot);
+            assertTrue(newSnapshot.getVersion() > snapshot.getVersion());
+            assertFalse(newSnapshot.isCommandEventExposed());
+            assertFalse(redisConfiguration.isCommandEventExposed());
+            // The irrelevant property is ignored
+            context.publishEvent(new RedisConfigurationPropertyChangedEvent(context, singleton("spring.application.name")));
+            assertSame(newSnapshot, redisConfiguration.getSnapshot());
+        } finally {
+            propertySources.remove("test");
+            redisConfiguration.refresh();
+        }
+        assertTrue(redisConfiguration.isCommandEventExposed());
+    }
 }
@@ -0,0 +1,218 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microsphere.spring.redis.connection.dynamic;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.RedisClusterConnection;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisSentinelConnection;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonMap;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * {@link DynamicRedisConnectionFactory} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @since 1.0.0
+ */
+public class DynamicRedisConnectionFactoryTest {
+
+    private GenericApplicationContext context;
+
+    private DynamicRedisConnectionFactory dynamicRedisConnectionFactory;
+
+    @Before
+    public void init() {
+        context = new GenericApplicationContext();
+        context.registerBean("redisConnectionFactory", StubRedisConnectionFactory.class, StubRedisConnectionFactory::new);
+        context.registerBean("replica1", StubRedisConnectionFactory.class, StubRedisConnectionFactory::new);
+        context.registerBean("replica2", StubRedisConnectionFactory.class, StubRedisConnectionFactory::new);
+        context.registerBean("dynamicRedisConnectionFactory", DynamicRedisConnectionFactory.class);
+        context.refresh();
+        dynamicRedisConnectionFactory = context.getBean(DynamicRedisConnectionFactory.class);
+    }
+
+    @After
+    public void destroy() {
+        DynamicRedisConnectionFactory.clearTarget();
+        context.close();
+    }
+
+    @Test
+    public void testRouteByTarget() {
+        assertEquals(3, dynamicRedisConnectionFactory.getTargets().size());
+        RedisConnectionFactoryTarget defaultTarget = dynamicRedisConnectionFactory.getDefaultTarget();
+        RedisConnectionFactoryTarget replica1 = dynamicRedisConnectionFactory.getTarget("replica1");
+        RedisConnectionFactoryTarget replica2 = dynamicRedisConnectionFactory.getTarget("replica2");
+
+        assertSame(defaultTarget, dynamicRedisConnectionFactory.determineTarget());
+        try (RoutingScope scope = DynamicRedisConnectionFactory.route(replica1)) {
+            assertSame(replica1, dynamicRedisConnectionFactory.determineTarget());
+            try (RoutingScope nestedScope = DynamicRedisConnectionFactory.route("replica2")) {
+                assertSame(replica2, dynamicRedisConnectionFactory.determineTarget());
+            }
+            assertSame(replica1, dynamicRedisConnectionFactory.determineTarget());
+            dynamicRedisConnectionFactory.getConnection();
+        }
+        assertSame(defaultTarget, dynamicRedisConnectionFactory.determineTarget());
+        assertSame(RedisRoutingContext.EMPTY, DynamicRedisConnectionFactory.getRoutingContext());
+
+        assertEquals(1, replica1.getConnectionCount());
+        assertEquals(0, replica1.getFailureCount());
+        assertEquals(0, replica2.getConnectionCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testGetTargetOnAbsent() {
+        dynamicRedisConnectionFactory.getTarget("notFound");
+    }
+
+    @Test
+    public void testWrap() throws Exception {
+        RedisConnectionFactoryTarget replica1 = dynamicRedisConnectionFactory.getTarget("replica1");
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            Callable<RedisConnectionFactoryTarget> task = dynamicRedisConnectionFactory::determineTarget;
+            Callable<RedisConnectionFactoryTarget> wrappedTask;
+            try (RoutingScope scope = DynamicRedisConnectionFactory.route(replica1)) {
+                wrappedTask = DynamicRedisConnectionFactory.wrap(task);
+            }
+            assertSame(replica1, executorService.submit(wrappedTask).get());
+            // The routing context does not leak to the pooled thread
+            assertSame(dynamicRedisConnectionFactory.getDefaultTarget(), executorService.submit(task).get());
+            assertNull(executorService.submit(() -> DynamicRedisConnectionFactory.getRoutingContext().getBeanName()).get());
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    @Test
+    public void testReadWriteSplittingRoutingStrategy() {
+        DynamicRedisConnectionFactory factory = newDynamicRedisConnectionFactory(
+                new ReadWriteSplittingRoutingStrategy("redisConnectionFactory", asList("replica1", "replica2")));
+        assertEquals("redisConnectionFactory", factory.determineTarget().getBeanName());
+        try (RoutingScope scope = DynamicRedisConnectionFactory.readOnly()) {
+            for (int i = 0; i < 100; i++) {
+                assertTrue(factory.determineTarget().getBeanName().startsWith("replica"));
+            }
+        }
+    }
+
+    @Test
+    public void testWeightedRoutingStrategy() {
+        Map<String, Integer> weights = new HashMap<>();
+        weights.put("replica1", 0);
+        weights.put("replica2", 1);
+        DynamicRedisConnectionFactory factory = newDynamicRedisConnectionFactory(new WeightedRoutingStrategy(weights));
+        for (int i = 0; i < 100; i++) {
+            assertEquals("replica2", factory.determineTarget().getBeanName());
+        }
+    }
+
+    @Test
+    public void testWeightedRoutingStrategyWithZeroWeight() {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        weights.put("replica1", 1);
+        weights.put("replica2", 0);
+        weights.put("redisConnectionFactory", 1);
+        DynamicRedisConnectionFactory factory = newDynamicRedisConnectionFactory(new WeightedRoutingStrategy(weights));
+        for (int i = 0; i < 100; i++) {
+            assertNotEquals("replica2", factory.determineTarget().getBeanName());
+        }
+    }
+
+    @Test
+    public void testSetRoutingStrategyAfterInitialization() {
+        assertSame(dynamicRedisConnectionFactory.getDefaultTarget(), dynamicRedisConnectionFactory.determineTarget());
+        dynamicRedisConnectionFactory.setRoutingStrategy(new WeightedRoutingStrategy(singletonMap("replica1", 1)));
+        assertEquals("replica1", dynamicRedisConnectionFactory.determineTarget().getBeanName());
+        dynamicRedisConnectionFactory.setRoutingStrategy(null);
+        assertSame(dynamicRedisConnectionFactory.getDefaultTarget(), dynamicRedisConnectionFactory.determineTarget());
+    }
+
+    @Test
+    public void testKeyHashRoutingStrategy() {
+        DynamicRedisConnectionFactory factory = newDynamicRedisConnectionFactory(
+                new KeyHashRoutingStrategy(asList("replica1", "replica2")));
+        assertEquals("redisConnectionFactory", factory.determineTarget().getBeanName());
+        for (int i = 0; i < 100; i++) {
+            String key = "key-" + i;
+            RedisConnectionFactoryTarget target;
+            try (RoutingScope scope = DynamicRedisConnectionFactory.routeByKey(key)) {
+                target = factory.determineTarget();
+            }
+            try (RoutingScope scope = DynamicRedisConnectionFactory.routeByKey(key)) {
+                assertSame(target, factory.determineTarget());
+            }
+        }
+    }
+
+    private DynamicRedisConnectionFactory newDynamicRedisConnectionFactory(RedisConnectionFactoryRoutingStrategy routingStrategy) {
+        DynamicRedisConnectionFactory factory = new DynamicRedisConnectionFactory();
+        factory.setBeanName("dynamicRedisConnectionFactory");
+        factory.setApplicationContext(context);
+        factory.setRoutingStrategy(routingStrategy);
+        factory.afterSingletonsInstantiated();
+        return factory;
+    }
+
+    static class StubRedisConnectionFactory implements RedisConnectionFactory {
+
+        @Override
+        public RedisConnection getConnection() {
+            return null;
+        }
+
+        @Override
+        public RedisClusterConnection getClusterConnection() {
+            return null;
+        }
+
+        @Override
+        public boolean getConvertPipelineAndTxResults() {
+            return false;
+        }
+
+        @Override
+        public RedisSentinelConnection getSentinelConnection() {
+            return null;
+        }
+
+        @Override
+        public DataAccessException translateExceptionIfPossible(RuntimeException ex) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microsphere.spring.redis.event;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * {@link RedisCommandEventBus} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @since 1.0.0
+ */
+public class RedisCommandEventBusTest {
+
+    private static RedisCommandEvent newEvent(int publisher, int sequence) {
+        return new RedisCommandEvent.Builder()
+                .interfaceName("org.springframework.data.redis.connection.RedisStringCommands")
+                .methodName(String.valueOf(sequence))
+                .parameterTypes()
+                .parameters(new byte[0][])
+                .sourceApplication(String.valueOf(publisher))
+                .build();
+    }
+
+    private static RedisCommandEvent newKeyedEvent(int publisher, int sequence) {
+        return new RedisCommandEvent.Builder()
+                .interfaceName("org.springframework.data.redis.connection.RedisStringCommands")
+                .methodName(String.valueOf(sequence))
+                .parameterTypes("[B")
+                .parameters(new byte[][]{("Key-" + publisher).getBytes()})
+                .sourceApplication(String.valueOf(publisher))
+                .build();
+    }
+
+    @Test
+    public void testOrderPerKey() throws Exception {
+        int publishers = 4;
+        int events = 10000;
+        Map<String, AtomicLong> lastSequences = new ConcurrentHashMap<>();
+        Map<String, Thread> dispatcherThreads = new ConcurrentHashMap<>();
+        AtomicInteger disorders = new AtomicInteger();
+        CountDownLatch latch = new CountDownLatch(publishers * events);
+        Thread caller = Thread.currentThread();
+        AtomicInteger callerDispatches = new AtomicInteger();
+
+        try (RedisCommandEventBus bus = new RedisCommandEventBus(event -> {
+            if (Thread.currentThread() == caller) {
+                callerDispatches.incrementAndGet();
+            }
+            long sequence = Long.parseLong(event.getMethodName());
+            String key = new String(event.getParameter(0));
+            AtomicLong last = lastSequences.computeIfAbsent(key, k -> new AtomicLong(-1));
+            if (last.getAndSet(sequence) != sequence - 1) {
+                disorders.incrementAndGet();
+            }
+            // The events of the same key are always dispatched by the same thread
+            if (dispatcherThreads.computeIfAbsent(key, k -> Thread.currentThread()) != Thread.currentThread()) {
+                disorders.incrementAndGet();
+            }
+            latch.countDown();
+        }, 2, 16, 8)) {
+            Thread[] threads = new Thread[publishers];
+            for (int p = 0; p < publishers; p++) {
+                int publisher = p;
+                threads[p] = new Thread(() -> {
+                    for (int i = 0; i < events; i++) {
+                        bus.publish(newKeyedEvent(publisher, i));
+                    }
+                });
+                threads[p].start();
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+            assertEquals(0, disorders.get());
+            assertEquals(0, callerDispatches.get());
+
+            RedisCommandEventBus.Statistics statistics = bus.getStatistics();
+            assertEquals(publishers * events, statistics.getPublishedCount());
+            assertEquals(publishers * events, statistics.getDispatchedCount());
+            assertEquals(0, statistics.getPendingCount());
+            assertEquals(0, statistics.getFailedCount());
+            assertTrue(statistics.getMaxLag(TimeUnit.NANOSECONDS) >= statistics.getAverageLag(TimeUnit.NANOSECONDS));
+        }
+    }
+
+    @Test
+    public void testFailureAndClose() throws Exception {
+        CountDownLatch blocker = new CountDownLatch(1);
+        AtomicInteger dispatched = new AtomicInteger();
+        RedisCommandEventBus bus = new RedisCommandEventBus(event -> {
+            try {
+                blocker.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            dispatched.incrementAndGet();
+            throw new IllegalStateException("For testing");
+        }, 1, 2, 1);
+
+        Thread publisher = new Thread(() -> {
+            for (int i = 0; i < 5; i++) {
+                bus.publish(newEvent(0, i));
+            }
+        });
+        publisher.start();
+        publisher.join(200);
+        // The queue is full, the publisher waits
+        assertTrue(publisher.isAlive());
+        blocker.countDown();
+        publisher.join();
+
+        bus.close();
+        assertFalse(bus.isRunning());
+        RedisCommandEventBus.Statistics statistics = bus.getStatistics();
+        assertEquals(5, dispatched.get());
+        assertEquals(5, statistics.getFailedCount());
+        assertNotEquals(0, statistics.getBlockedCount());
+
+        // The event is dispatched by the caller after closing
+        bus.publish(newEvent(0, 5));
+        assertEquals(6, dispatched.get());
+    }
+}
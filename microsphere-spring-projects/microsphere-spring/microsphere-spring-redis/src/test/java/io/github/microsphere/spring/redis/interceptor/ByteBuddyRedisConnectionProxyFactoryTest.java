@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microsphere.spring.redis.interceptor;
+
+import io.github.microsphere.spring.redis.AbstractRedisCommandEventTest;
+import io.github.microsphere.spring.redis.annotation.EnableRedisInterceptor;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+
+import java.lang.reflect.Proxy;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * {@link ByteBuddyRedisConnectionProxyFactory} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @since 1.0.0
+ */
+@ContextConfiguration(classes = {
+        ByteBuddyRedisConnectionProxyFactoryTest.class,
+        StopWatchRedisConnectionInterceptor.class,
+        LoggingRedisCommandInterceptor.class,
+})
+@TestPropertySource(properties = {
+        "microsphere.redis.enabled=true",
+        "microsphere.redis.interceptor.proxy-type=byte-buddy",
+})
+@EnableRedisInterceptor(wrapRedisTemplates = "redisTemplate , stringRedisTemplate")
+public class ByteBuddyRedisConnectionProxyFactoryTest extends AbstractRedisCommandEventTest {
+
+    @Test
+    public void testProxy() {
+        assertTrue(redisContext.getRedisConnectionProxyFactory() instanceof ByteBuddyRedisConnectionProxyFactory);
+        // The connection is exposed as is, otherwise it's wrapped by the close-suppressing JDK proxy of RedisTemplate
+        RedisConnection connection = stringRedisTemplate.execute((RedisCallback<RedisConnection>) c -> c, true);
+        assertTrue(connection instanceof InterceptingRedisConnection);
+        assertFalse(Proxy.isProxyClass(connection.getClass()));
+    }
+
+    @Test
+    public void testIdentity() {
+        RedisConnection connection = stringRedisTemplate.execute((RedisCallback<RedisConnection>) c -> c, true);
+        RedisConnection target = ((InterceptingRedisConnection) connection).getTarget();
+        RedisConnection otherConnection = redisContext.getRedisConnectionProxyFactory().newProxy(target, redisContext, "stringRedisTemplate");
+
+        assertEquals(connection, connection);
+        assertNotEquals(connection, target);
+        assertNotEquals(connection, otherConnection);
+        assertEquals(System.identityHashCode(connection), connection.hashCode());
+        assertEquals(System.identityHashCode(otherConnection), otherConnection.hashCode());
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microsphere.spring.redis.interceptor;
+
+import io.github.microsphere.spring.redis.AbstractRedisTest;
+import io.github.microsphere.spring.redis.annotation.EnableRedisInterceptor;
+import io.github.microsphere.spring.redis.metrics.InMemoryRedisCommandMetricsExporter;
+import io.github.microsphere.spring.redis.metrics.RedisCommandMetricsSnapshot;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * {@link MetricsRedisCommandInterceptor} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @since 1.0.0
+ */
+@ContextConfiguration(classes = {
+        MetricsRedisCommandInterceptorTest.class,
+        InMemoryRedisCommandMetricsExporter.class
+})
+@TestPropertySource(properties = {
+        "microsphere.redis.enabled=true",
+        "microsphere.redis.metrics.enabled=true",
+        // The metrics are exported by the test
+        "microsphere.redis.metrics.interval=0",
+        "microsphere.redis.metrics.jmx.enabled=false",
+})
+@EnableRedisInterceptor(wrapRedisTemplates = "stringRedisTemplate")
+public class MetricsRedisCommandInterceptorTest extends AbstractRedisTest {
+
+    @Autowired
+    private MetricsRedisCommandInterceptor interceptor;
+
+    @Autowired
+    private InMemoryRedisCommandMetricsExporter exporter;
+
+    @Test
+    public void testRecordAndExport() {
+        // Clear the commands that were executed before
+        interceptor.export();
+        long exports = exporter.getExports();
+
+        stringRedisTemplate.opsForValue().set("Key-1", "Value-1");
+        stringRedisTemplate.opsForValue().set("Key-1", "Value-1");
+        stringRedisTemplate.opsForValue().get("Key-1");
+
+        List<RedisCommandMetricsSnapshot> snapshots = interceptor.export();
+        assertEquals(exports + 1, exporter.getExports());
+        assertEquals(snapshots.size(), exporter.getSnapshots().size());
+
+        RedisCommandMetricsSnapshot snapshot = exporter.getSnapshot("stringRedisTemplate", "RedisStringCommands.set");
+        assertNotNull(snapshot);
+        assertEquals(2, snapshot.getCount());
+        assertEquals(0, snapshot.getErrorCount());
+        // "Key-1"(5 bytes) + "Value-1"(7 bytes) per command
+        assertEquals(24, snapshot.getPayloadSize().getSum());
+        assertTrue(snapshot.getLatency().getMax() > 0);
+        assertTrue(snapshot.getEndTime() >= snapshot.getStartTime());
+
+        snapshot = exporter.getSnapshot("stringRedisTemplate", "RedisStringCommands.get");
+        assertNotNull(snapshot);
+        assertEquals(1, snapshot.getCount());
+        assertEquals(5, snapshot.getPayloadSize().getSum());
+
+        // The commands without any execution in the interval are skipped
+        assertTrue(interceptor.export().isEmpty());
+        assertTrue(exporter.getSnapshots().isEmpty());
+    }
+
+    @Test
+    public void testGetPayloadSize() {
+        assertEquals(0, MetricsRedisCommandInterceptor.getPayloadSize(null));
+        assertEquals(0, MetricsRedisCommandInterceptor.getPayloadSize(new Object[0]));
+        assertEquals(6, MetricsRedisCommandInterceptor.getPayloadSize(new Object[]{"Key".getBytes(), 1L, new byte[][]{"A".getBytes(), null, "BC".getBytes()}}));
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microsphere.spring.redis.interceptor;
+
+import io.github.microsphere.spring.redis.metadata.MethodMetadata;
+import org.junit.Test;
+import org.springframework.data.redis.connection.RedisStringCommands;
+
+import java.lang.reflect.Method;
+
+import static io.github.microsphere.spring.redis.metadata.MethodMetadataRepository.getMethodMetadata;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * {@link RedisMethodContext} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @since 1.0.0
+ */
+public class RedisMethodContextTest {
+
+    @Test
+    public void testParameters() throws Exception {
+        Method method = RedisStringCommands.class.getMethod("set", byte[].class, byte[].class);
+        byte[] key = "Key".getBytes();
+        byte[] value = "Value".getBytes();
+        RedisMethodContext<Object> context = new RedisMethodContext<>(null, method, new Object[]{key, value}, null);
+
+        assertEquals(2, context.getParameterCount());
+        assertTrue(context.isWriteMethod());
+        assertTrue(context.isWriteMethod(true));
+        assertSame(key, context.getParameter(0).getValue());
+        assertSame(value, context.getParameter(1).getValue());
+        assertSame(context.getParameter(1), context.getParameterMap(value));
+    }
+
+    @Test
+    public void testRecycle() throws Exception {
+        Method method = RedisStringCommands.class.getMethod("get", byte[].class);
+        MethodMetadata methodMetadata = getMethodMetadata(method);
+        assertFalse(methodMetadata.isWrite());
+        assertEquals(1, methodMetadata.getParameterCount());
+
+        RedisMethodContext<Object> context = RedisMethodContext.acquire(this, method, methodMetadata, new Object[]{"Key".getBytes()}, null, "test");
+        // nested acquisition
+        RedisMethodContext<Object> nestedContext = RedisMethodContext.acquire(this, method, methodMetadata, new Object[]{"Key".getBytes()}, null, "test");
+        assertNotSame(context, nestedContext);
+        context.start();
+        context.stop();
+        RedisMethodContext.release(nestedContext);
+        RedisMethodContext.release(context);
+
+        assertNull(context.getMethod());
+        assertNull(context.getSourceBeanName());
+        assertEquals(-1, context.getDurationNanos());
+
+        // the first released context is recycled
+        RedisMethodContext<Object> recycledContext = RedisMethodContext.acquire(this, method, methodMetadata, new Object[]{"Key".getBytes()}, null, "test");
+        assertSame(nestedContext, recycledContext);
+        assertSame(method, recycledContext.getMethod());
+
+        // retained context is not reused until it's released by all owners
+        recycledContext.retain();
+        assertTrue(recycledContext.isRetained());
+        RedisMethodContext.release(recycledContext);
+        assertSame(method, recycledContext.getMethod());
+        assertEquals(1, recycledContext.getReferenceCount());
+        RedisMethodContext<Object> anotherContext = RedisMethodContext.acquire(this, method, methodMetadata, new Object[0], null, "test");
+        assertNotSame(recycledContext, anotherContext);
+        RedisMethodContext.release(anotherContext);
+
+        assertTrue(recycledContext.release());
+        assertEquals(0, recycledContext.getReferenceCount());
+        assertNull(recycledContext.getMethod());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testReleaseAfterReleased() throws Exception {
+        Method method = RedisStringCommands.class.getMethod("get", byte[].class);
+        RedisMethodContext<Object> context = new RedisMethodContext<>(null, method, new Object[]{"Key".getBytes()}, null);
+        assertTrue(context.release());
+        context.release();
+    }
+
+    @Test
+    public void testThreadLocal() throws Exception {
+        Method method = RedisStringCommands.class.getMethod("get", byte[].class);
+        RedisMethodContext<Object> context = new RedisMethodContext<>(null, method, new Object[]{"Key".getBytes()}, null);
+        RedisMethodContext.set(context);
+        assertSame(context, RedisMethodContext.get());
+        assertEquals(2, context.getReferenceCount());
+        RedisMethodContext.clear();
+        assertNull(RedisMethodContext.get());
+        assertEquals(1, context.getReferenceCount());
+        assertTrue(context.release());
+    }
+}
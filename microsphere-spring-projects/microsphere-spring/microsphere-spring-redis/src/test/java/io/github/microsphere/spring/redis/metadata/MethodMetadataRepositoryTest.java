@@ -17,15 +17,31 @@
 package io.github.microsphere.spring.redis.metadata;
 
 import org.junit.Test;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisKeyCommands;
+import org.springframework.data.redis.connection.RedisServerCommands;
+import org.springframework.data.redis.connection.RedisStreamCommands;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.connection.RedisTxCommands;
+import org.springframework.data.redis.connection.stream.MapRecord;
 
 import java.lang.reflect.Method;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.Comparator;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
 
+import static io.github.microsphere.spring.redis.metadata.MethodMetadataRepository.getMethodMetadata;
+import static io.github.microsphere.spring.redis.metadata.MethodMetadataRepository.getMethodsMetadata;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
 /**
  * {@link MethodMetadataRepository} Test
  *
@@ -59,6 +75,58 @@ public class MethodMetadataRepositoryTest {
 
     }
 
+    @Test
+    public void testGetMethodMetadata() throws Throwable {
+        Method method = RedisStringCommands.class.getMethod("set", byte[].class, byte[].class);
+        MethodMetadata methodMetadata = getMethodMetadata(method);
+        assertTrue(methodMetadata.isWrite());
+        assertSame(method, methodMetadata.getMethod());
+        assertEquals(2, methodMetadata.getParameterCount());
+        assertSame(methodMetadata, getMethodMetadata(methodMetadata.getId()));
+        assertSame(methodMetadata, getMethodMetadata(RedisStringCommands.class.getName(), "set", "[B", "[B"));
+        // The overridden method of RedisConnection
+        assertSame(methodMetadata, getMethodMetadata(RedisConnection.class.getMethod("set", byte[].class, byte[].class)));
+
+        MethodMetadata getMethodMetadata = getMethodMetadata(RedisStringCommands.class.getMethod("get", byte[].class));
+        assertFalse(getMethodMetadata.isWrite());
+        assertEquals(1, getMethodMetadata.getParameterCount());
+
+        assertNull(getMethodMetadata(RedisStringCommands.class.getName(), "set", "[B"));
+        assertNull(getMethodMetadata(-1));
+        assertNull(getMethodMetadata(getMethodsMetadata().size()));
+
+        for (int i = 0; i < getMethodsMetadata().size(); i++) {
+            assertEquals(i, getMethodsMetadata().get(i).getId());
+        }
+    }
+
+    @Test
+    public void testKeyParameterIndex() throws Throwable {
+        assertEquals(0, getMethodMetadata(RedisStringCommands.class.getMethod("set", byte[].class, byte[].class)).getKeyParameterIndex());
+        // The commands of more than one key
+        assertEquals(-1, getMethodMetadata(RedisKeyCommands.class.getMethod("del", byte[][].class)).getKeyParameterIndex());
+        assertEquals(-1, getMethodMetadata(RedisStringCommands.class.getMethod("mSet", Map.class)).getKeyParameterIndex());
+        assertEquals(-1, getMethodMetadata(RedisKeyCommands.class.getMethod("rename", byte[].class, byte[].class)).getKeyParameterIndex());
+        // The commands without key
+        assertEquals(-1, getMethodMetadata(RedisServerCommands.class.getMethod("flushDb")).getKeyParameterIndex());
+    }
+
+    @Test
+    public void testStreamTransactionAndServerCommands() throws Throwable {
+        assertTrue(getMethodMetadata(RedisStreamCommands.class.getMethod("xAdd", MapRecord.class, RedisStreamCommands.XAddOptions.class)).isWrite());
+        assertTrue(getMethodMetadata(RedisStreamCommands.class.getMethod("xTrim", byte[].class, long.class)).isWrite());
+        assertFalse(getMethodMetadata(RedisStreamCommands.class.getMethod("xLen", byte[].class)).isWrite());
+
+        assertTrue(getMethodMetadata(RedisTxCommands.class.getMethod("multi")).isWrite());
+        assertTrue(getMethodMetadata(RedisTxCommands.class.getMethod("exec")).isWrite());
+        assertTrue(getMethodMetadata(RedisTxCommands.class.getMethod("discard")).isWrite());
+        assertFalse(getMethodMetadata(RedisTxCommands.class.getMethod("unwatch")).isWrite());
+
+        assertTrue(getMethodMetadata(RedisServerCommands.class.getMethod("flushDb")).isWrite());
+        assertTrue(getMethodMetadata(RedisServerCommands.class.getMethod("flushAll")).isWrite());
+        assertFalse(getMethodMetadata(RedisServerCommands.class.getMethod("dbSize")).isWrite());
+    }
+
     private Set<Type> findTypes(Type type) {
         Set<Type> types = new HashSet<>();
         if (type instanceof ParameterizedType) {
@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microsphere.spring.redis.metadata;
+
+import io.github.microsphere.spring.redis.serializer.BooleanSerializer;
+import io.github.microsphere.spring.redis.serializer.ByteArraySerializer;
+import io.github.microsphere.spring.redis.serializer.DoubleSerializer;
+import io.github.microsphere.spring.redis.serializer.IntegerSerializer;
+import io.github.microsphere.spring.redis.serializer.LongSerializer;
+import io.github.microsphere.spring.redis.serializer.ShortSerializer;
+import org.junit.Test;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import static io.github.microsphere.spring.redis.metadata.MethodMetadataRepository.getMethodMetadata;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * {@link ParameterSerializationPlan} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @since 1.0.0
+ */
+public class ParameterSerializationPlanTest {
+
+    @Test
+    public void testFastPaths() {
+        ParameterSerializationPlan plan = new ParameterSerializationPlan(new RedisSerializer[]{
+                ByteArraySerializer.INSTANCE, BooleanSerializer.INSTANCE, ShortSerializer.INSTANCE,
+                IntegerSerializer.INSTANCE, LongSerializer.INSTANCE, DoubleSerializer.INSTANCE, StringRedisSerializer.UTF_8, null
+        });
+        byte[] bytes = "bytes".getBytes();
+        Object[] args = {bytes, Boolean.TRUE, (short) -12345, -123456789, Long.MIN_VALUE + 123456789L, -1.5d, "text", "skipped"};
+        byte[][] rawValues = plan.serialize(args);
+
+        assertEquals(args.length, plan.getParameterCount());
+        assertSame(bytes, rawValues[0]);
+        assertArrayEquals(BooleanSerializer.INSTANCE.serialize(Boolean.TRUE), rawValues[1]);
+        assertArrayEquals(BooleanSerializer.INSTANCE.serialize(Boolean.FALSE), plan.serialize(1, Boolean.FALSE));
+        assertArrayEquals(ShortSerializer.INSTANCE.serialize((short) -12345), rawValues[2]);
+        assertArrayEquals(IntegerSerializer.INSTANCE.serialize(-123456789), rawValues[3]);
+        assertArrayEquals(LongSerializer.INSTANCE.serialize(Long.MIN_VALUE + 123456789L), rawValues[4]);
+        assertArrayEquals(DoubleSerializer.INSTANCE.serialize(-1.5d), rawValues[5]);
+        assertArrayEquals("text".getBytes(), rawValues[6]);
+        assertNull(rawValues[7]);
+
+        // null arguments
+        assertNull(plan.serialize(new Object[8])[4]);
+    }
+
+    @Test
+    public void testMethodMetadata() throws Throwable {
+        MethodMetadata methodMetadata = getMethodMetadata(RedisStringCommands.class.getMethod("set", byte[].class, byte[].class,
+                Expiration.class, RedisStringCommands.SetOption.class));
+        ParameterSerializationPlan plan = methodMetadata.getParameterSerializationPlan();
+        Object[] args = {"key".getBytes(), "value".getBytes(), Expiration.from(1, TimeUnit.SECONDS), RedisStringCommands.SetOption.UPSERT};
+        byte[][] rawValues = plan.serialize(args);
+        for (int i = 0; i < args.length; i++) {
+            assertArrayEquals(methodMetadata.getParameterSerializer(i).serialize(args[i]), rawValues[i]);
+        }
+    }
+
+    @Test
+    public void testSerializeArguments() {
+        ParameterSerializationPlan plan = new ParameterSerializationPlan(new RedisSerializer[]{
+                ByteArraySerializer.INSTANCE, BooleanSerializer.INSTANCE, LongSerializer.INSTANCE,
+                DoubleSerializer.INSTANCE, StringRedisSerializer.UTF_8, null
+        });
+        Object[] args = {"bytes".getBytes(), Boolean.FALSE, null, 1.5d, "text", "skipped"};
+        byte[][] rawValues = plan.serialize(args);
+        byte[][] arguments = ParameterSerializationPlan.readArguments(ByteBuffer.wrap(plan.serializeArguments(args)));
+
+        assertEquals(rawValues.length, arguments.length);
+        for (int i = 0; i < rawValues.length; i++) {
+            assertArrayEquals(rawValues[i], arguments[i]);
+        }
+    }
+
+    @Test
+    public void testSerializeLongArguments() {
+        ParameterSerializationPlan plan = new ParameterSerializationPlan(new RedisSerializer[]{
+                LongSerializer.INSTANCE, LongSerializer.INSTANCE, LongSerializer.INSTANCE, LongSerializer.INSTANCE, LongSerializer.INSTANCE
+        });
+        Object[] args = {Long.MIN_VALUE, Long.MAX_VALUE, -1L, 0L, (long) Integer.MIN_VALUE};
+        byte[][] arguments = ParameterSerializationPlan.readArguments(ByteBuffer.wrap(plan.serializeArguments(args)));
+
+        assertEquals(args.length, arguments.length);
+        for (int i = 0; i < args.length; i++) {
+            assertEquals(args[i], LongSerializer.INSTANCE.deserialize(arguments[i]));
+        }
+    }
+}
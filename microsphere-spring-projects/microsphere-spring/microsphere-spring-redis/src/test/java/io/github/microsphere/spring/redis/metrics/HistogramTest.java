@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microsphere.spring.redis.metrics;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * {@link Histogram} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @since 1.0.0
+ */
+public class HistogramTest {
+
+    @Test
+    public void testIndexOf() {
+        for (long value = 0; value < Histogram.SUB_BUCKET_COUNT; value++) {
+            assertEquals(value, Histogram.indexOf(value));
+            assertEquals(value, Histogram.highestValueOf((int) value));
+        }
+        long[] values = {32, 33, 63, 64, 65, 127, 1000, 123456, 987654321L, Histogram.HIGHEST_TRACKABLE_VALUE};
+        for (long value : values) {
+            int index = Histogram.indexOf(value);
+            long highestValue = Histogram.highestValueOf(index);
+            assertTrue(highestValue >= value);
+            // The relative error is less than 1 / SUB_BUCKET_COUNT
+            assertTrue(highestValue - value <= value / Histogram.SUB_BUCKET_COUNT);
+            assertTrue(index < Histogram.BUCKET_COUNT);
+        }
+        assertEquals(Histogram.BUCKET_COUNT - 1, Histogram.indexOf(Histogram.HIGHEST_TRACKABLE_VALUE));
+    }
+
+    @Test
+    public void testRecordAndSnapshot() {
+        Histogram histogram = new Histogram(3);
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i);
+        }
+        HistogramSnapshot snapshot = histogram.snapshot();
+        assertEquals(1000, snapshot.getCount());
+        assertEquals(500500, snapshot.getSum());
+        assertEquals(500.5d, snapshot.getMean(), 0.0d);
+        assertPercentile(500, snapshot.getValueAtPercentile(50d));
+        assertPercentile(990, snapshot.getValueAtPercentile(99d));
+        assertPercentile(1000, snapshot.getMax());
+
+        // The negative values and the overflowed values are clamped
+        histogram.record(-1);
+        histogram.record(Long.MAX_VALUE);
+        snapshot = histogram.snapshot();
+        assertEquals(1002, snapshot.getCount());
+        assertEquals(Histogram.HIGHEST_TRACKABLE_VALUE, snapshot.getMax());
+    }
+
+    @Test
+    public void testMinus() {
+        Histogram histogram = new Histogram(1);
+        histogram.record(10);
+        HistogramSnapshot previous = histogram.snapshot();
+        histogram.record(100);
+        histogram.record(200);
+        HistogramSnapshot interval = histogram.snapshot().minus(previous);
+        assertEquals(2, interval.getCount());
+        assertEquals(300, interval.getSum());
+        assertPercentile(100, interval.getValueAtPercentile(0d));
+        assertPercentile(200, interval.getMax());
+
+        HistogramSnapshot empty = histogram.snapshot().minus(histogram.snapshot());
+        assertEquals(0, empty.getCount());
+        assertEquals(0, empty.getMax());
+        assertEquals(0d, empty.getMean(), 0.0d);
+    }
+
+    @Test
+    public void testConcurrentRecord() throws InterruptedException {
+        Histogram histogram = new Histogram(4);
+        Thread[] threads = new Thread[8];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(() -> {
+                for (int j = 0; j < 10000; j++) {
+                    histogram.record(j);
+                }
+            });
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        HistogramSnapshot snapshot = histogram.snapshot();
+        assertEquals(80000, snapshot.getCount());
+        assertEquals(8L * 9999 * 10000 / 2, snapshot.getSum());
+    }
+
+    private void assertPercentile(long expected, long actual) {
+        assertTrue(actual >= expected);
+        assertTrue(actual - expected <= expected / Histogram.SUB_BUCKET_COUNT);
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microsphere.spring.redis.metrics;
+
+import io.github.microsphere.spring.redis.metadata.MethodMetadata;
+import org.junit.Test;
+import org.springframework.data.redis.connection.RedisStringCommands;
+
+import java.util.List;
+
+import static io.github.microsphere.spring.redis.metadata.MethodMetadataRepository.getMethodMetadata;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * {@link InMemoryRedisCommandMetricsExporter} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @since 1.0.0
+ */
+public class InMemoryRedisCommandMetricsExporterTest {
+
+    @Test
+    public void testExport() throws Exception {
+        MethodMetadata methodMetadata = getMethodMetadata(RedisStringCommands.class.getMethod("set", byte[].class, byte[].class));
+        RedisCommandMetrics metrics = new RedisCommandMetrics("test", methodMetadata, 1, 0L);
+        metrics.record(1000L, 10L, false);
+        metrics.record(3000L, 20L, true);
+        RedisCommandMetricsSnapshot snapshot = metrics.snapshot(1000L);
+
+        InMemoryRedisCommandMetricsExporter exporter = new InMemoryRedisCommandMetricsExporter();
+        assertTrue(exporter.getSnapshots().isEmpty());
+        assertEquals(0, exporter.getExports());
+
+        exporter.export(singletonList(snapshot));
+        assertEquals(1, exporter.getExports());
+        List<RedisCommandMetricsSnapshot> snapshots = exporter.getSnapshots();
+        assertEquals(1, snapshots.size());
+        assertSame(snapshot, exporter.getSnapshot("test", "RedisStringCommands.set"));
+        assertNull(exporter.getSnapshot("other", "RedisStringCommands.set"));
+        assertNull(exporter.getSnapshot("test", "RedisStringCommands.get"));
+
+        assertEquals(2, snapshot.getCount());
+        assertEquals(1, snapshot.getErrorCount());
+        assertEquals(30, snapshot.getPayloadSize().getSum());
+        assertEquals(0L, snapshot.getStartTime());
+        assertEquals(1000L, snapshot.getEndTime());
+
+        // The snapshots of the last interval are replaced
+        exporter.export(emptyList());
+        assertEquals(2, exporter.getExports());
+        assertTrue(exporter.getSnapshots().isEmpty());
+        assertNull(exporter.getSnapshot("test", "RedisStringCommands.set"));
+    }
+}
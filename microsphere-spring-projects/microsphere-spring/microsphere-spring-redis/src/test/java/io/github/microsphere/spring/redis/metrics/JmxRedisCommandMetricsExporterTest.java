@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microsphere.spring.redis.metrics;
+
+import io.github.microsphere.spring.redis.metadata.MethodMetadata;
+import org.junit.Test;
+import org.springframework.data.redis.connection.RedisStringCommands;
+
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+import javax.management.ObjectName;
+
+import static io.github.microsphere.spring.redis.metadata.MethodMetadataRepository.getMethodMetadata;
+import static io.github.microsphere.spring.redis.metrics.JmxRedisCommandMetricsExporter.DOMAIN;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * {@link JmxRedisCommandMetricsExporter} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @since 1.0.0
+ */
+public class JmxRedisCommandMetricsExporterTest {
+
+    @Test
+    public void testExport() throws Exception {
+        MethodMetadata methodMetadata = getMethodMetadata(RedisStringCommands.class.getMethod("set", byte[].class, byte[].class));
+        RedisCommandMetrics metrics = new RedisCommandMetrics("test", methodMetadata, 1, 0L);
+        metrics.record(1000L, 10L, false);
+        metrics.record(3000L, 20L, true);
+
+        MBeanServer mBeanServer = MBeanServerFactory.newMBeanServer();
+        JmxRedisCommandMetricsExporter exporter = new JmxRedisCommandMetricsExporter(mBeanServer);
+        ObjectName objectName = new ObjectName(DOMAIN + ":type=RedisCommandMetrics,source=" + ObjectName.quote("test")
+                + ",command=" + ObjectName.quote("RedisStringCommands.set#" + methodMetadata.getId()));
+
+        exporter.export(singletonList(metrics.snapshot(1000L)));
+        assertTrue(mBeanServer.isRegistered(objectName));
+        assertEquals("test", mBeanServer.getAttribute(objectName, "SourceBeanName"));
+        assertEquals("RedisStringCommands.set", mBeanServer.getAttribute(objectName, "CommandName"));
+        assertEquals(methodMetadata.getMethod().toString(), mBeanServer.getAttribute(objectName, "Method"));
+        assertEquals(1000L, mBeanServer.getAttribute(objectName, "IntervalEndTime"));
+        assertEquals(2L, mBeanServer.getAttribute(objectName, "Count"));
+        assertEquals(1L, mBeanServer.getAttribute(objectName, "ErrorCount"));
+        assertEquals(2.0d, (Double) mBeanServer.getAttribute(objectName, "LatencyMean"), 0.0d);
+        // The latencies are exported in micro seconds
+        assertEquals(3L, mBeanServer.getAttribute(objectName, "LatencyMax"));
+        assertEquals(15.0d, (Double) mBeanServer.getAttribute(objectName, "PayloadSizeMean"), 0.0d);
+        assertEquals(20L, mBeanServer.getAttribute(objectName, "PayloadSizeMax"));
+
+        // No command was executed in the next interval
+        exporter.export(emptyList());
+        assertTrue(mBeanServer.isRegistered(objectName));
+        assertEquals(0L, mBeanServer.getAttribute(objectName, "Count"));
+        assertEquals(0L, mBeanServer.getAttribute(objectName, "LatencyMax"));
+
+        // The same MXBean is updated
+        metrics.record(2000L, 5L, false);
+        exporter.export(singletonList(metrics.snapshot(2000L)));
+        assertEquals(1L, mBeanServer.getAttribute(objectName, "Count"));
+        assertEquals(0L, mBeanServer.getAttribute(objectName, "ErrorCount"));
+        assertEquals(2000L, mBeanServer.getAttribute(objectName, "IntervalEndTime"));
+
+        exporter.destroy();
+        assertFalse(mBeanServer.isRegistered(objectName));
+    }
+}
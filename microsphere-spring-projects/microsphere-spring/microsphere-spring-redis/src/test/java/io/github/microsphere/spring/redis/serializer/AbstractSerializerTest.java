@@ -3,8 +3,12 @@ package io.github.microsphere.spring.redis.serializer;
 import org.junit.Test;
 import org.springframework.data.redis.serializer.RedisSerializer;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.function.Supplier;
 
+import static io.github.microsphere.spring.redis.serializer.ByteBufferSerializer.UNBOUND_BYTES_LENGTH;
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
@@ -48,6 +52,29 @@ public abstract class AbstractSerializerTest<T> {
 
         AbstractSerializer abstractSerializer = (AbstractSerializer) serializer;
         assertSame(targetType, abstractSerializer.getParameterizedClass());
+
+        testByteBuffer(abstractSerializer, value, bytes, ByteOrder.BIG_ENDIAN);
+        testByteBuffer(abstractSerializer, value, bytes, ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private void testByteBuffer(AbstractSerializer<T> serializer, T value, byte[] bytes, ByteOrder order) {
+        int bytesLength = serializer.getBytesLength(value);
+        if (value == null) {
+            assertEquals(0, bytesLength);
+            return;
+        }
+        if (bytesLength != UNBOUND_BYTES_LENGTH) {
+            assertEquals(bytes.length, bytesLength);
+        }
+        // The format is identical with the byte array regardless of the buffer order
+        ByteBuffer buffer = ByteBuffer.allocate(bytes.length).order(order);
+        serializer.serialize(value, buffer);
+        assertArrayEquals(bytes, buffer.array());
+
+        buffer.flip();
+        T deserialized = serializer.deserialize(buffer, bytes.length);
+        assertEquals(getTestData(value), getTestData(deserialized));
+        assertEquals(buffer.limit(), buffer.position());
     }
 
     protected Object getTestData(T value) {
@@ -0,0 +1,51 @@
+package io.github.microsphere.spring.redis.serializer;
+
+import org.junit.Test;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * {@link MapRecordSerializer} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @since 1.0.0
+ */
+public class MapRecordSerializerTest extends AbstractSerializerTest<MapRecord> {
+
+    @Override
+    protected RedisSerializer<MapRecord> getSerializer() {
+        return MapRecordSerializer.INSTANCE;
+    }
+
+    @Override
+    protected MapRecord getValue() {
+        Map<byte[], byte[]> content = new LinkedHashMap<>();
+        content.put("name".getBytes(), "Mercy".getBytes());
+        content.put("empty".getBytes(), new byte[0]);
+        return StreamRecords.rawBytes(content).withStreamKey("stream".getBytes()).withId(RecordId.of("1-0"));
+    }
+
+    @Override
+    protected Object getTestData(MapRecord value) {
+        Map<Object, Object> content = new LinkedHashMap<>();
+        ((Map<byte[], byte[]>) value.getValue()).forEach((k, v) -> content.put(new String(k), new String(v)));
+        return new String((byte[]) value.getStream()) + value.getId() + content;
+    }
+
+    @Test
+    public void testAutoGeneratedId() {
+        Map<byte[], byte[]> content = new LinkedHashMap<>();
+        content.put("k".getBytes(), "v".getBytes());
+        MapRecord record = StreamRecords.rawBytes(content).withStreamKey("stream".getBytes());
+        MapRecord deserialized = getSerializer().deserialize(getSerializer().serialize(record));
+        assertEquals(getTestData(record), getTestData(deserialized));
+        assertEquals(true, deserialized.getId().shouldBeAutoGenerated());
+    }
+}
@@ -0,0 +1,28 @@
+package io.github.microsphere.spring.redis.serializer;
+
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+/**
+ * {@link ReadOffsetSerializer} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @since 1.0.0
+ */
+public class ReadOffsetSerializerTest extends AbstractSerializerTest<ReadOffset> {
+
+    @Override
+    protected RedisSerializer<ReadOffset> getSerializer() {
+        return ReadOffsetSerializer.INSTANCE;
+    }
+
+    @Override
+    protected ReadOffset getValue() {
+        return ReadOffset.latest();
+    }
+
+    @Override
+    protected Object getTestData(ReadOffset value) {
+        return value.getOffset();
+    }
+}
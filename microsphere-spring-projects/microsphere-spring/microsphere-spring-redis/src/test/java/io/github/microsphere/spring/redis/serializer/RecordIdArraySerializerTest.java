@@ -0,0 +1,30 @@
+package io.github.microsphere.spring.redis.serializer;
+
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.Arrays;
+
+/**
+ * {@link RecordIdArraySerializer} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @since 1.0.0
+ */
+public class RecordIdArraySerializerTest extends AbstractSerializerTest<RecordId[]> {
+
+    @Override
+    protected RedisSerializer<RecordId[]> getSerializer() {
+        return RecordIdArraySerializer.INSTANCE;
+    }
+
+    @Override
+    protected RecordId[] getValue() {
+        return new RecordId[]{RecordId.of("1-0"), RecordId.of(1526985054069L, 2L)};
+    }
+
+    @Override
+    protected Object getTestData(RecordId[] value) {
+        return Arrays.asList(value);
+    }
+}
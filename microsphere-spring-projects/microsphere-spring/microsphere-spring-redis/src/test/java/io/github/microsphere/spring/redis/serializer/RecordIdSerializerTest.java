@@ -0,0 +1,23 @@
+package io.github.microsphere.spring.redis.serializer;
+
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+/**
+ * {@link RecordIdSerializer} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @since 1.0.0
+ */
+public class RecordIdSerializerTest extends AbstractSerializerTest<RecordId> {
+
+    @Override
+    protected RedisSerializer<RecordId> getSerializer() {
+        return RecordIdSerializer.INSTANCE;
+    }
+
+    @Override
+    protected RecordId getValue() {
+        return RecordId.of(1526985054069L, 1L);
+    }
+}
@@ -17,7 +17,27 @@
 package io.github.microsphere.spring.redis.serializer;
 
 import io.github.microsphere.spring.redis.event.RedisCommandEvent;
+import io.github.microsphere.spring.redis.event.RedisTransactionCommandEvent;
+import org.junit.Test;
 import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+import static io.github.microsphere.spring.redis.serializer.RedisCommandEventCodec.FLAG_BATCH;
+import static io.github.microsphere.spring.redis.serializer.RedisCommandEventCodec.FLAG_METHOD_ID;
+import static io.github.microsphere.spring.redis.serializer.RedisCommandEventCodec.FLAG_TRANSACTION;
+import static io.github.microsphere.spring.redis.serializer.RedisCommandEventSerializer.VERSION_1;
+import static io.github.microsphere.spring.redis.serializer.RedisCommandEventSerializer.VERSION_2;
+import static io.github.microsphere.spring.redis.serializer.RedisCommandEventSerializer.VERSION_3;
+import static io.github.microsphere.spring.redis.serializer.RedisCommandEventSerializer.VERSION_DEFAULT;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 /**
  * {@link RedisCommandEventSerializer} Test
@@ -34,10 +54,130 @@ public class RedisCommandEventSerializerTest extends AbstractSerializerTest<Redi
 
     @Override
     protected RedisCommandEvent getValue() {
+        return buildEvent("[b", "B".getBytes());
+    }
+
+    @Test
+    public void testLargeParameter() {
+        byte[] value = new byte[1024];
+        Arrays.fill(value, (byte) 'V');
+        RedisCommandEvent event = buildEvent("[b", value);
+        RedisCommandEventSerializer serializer = new RedisCommandEventSerializer();
+        byte[] bytes = serializer.serialize(event);
+        assertEquals(VERSION_3, bytes[0]);
+        assertEquals(event, serializer.deserialize(bytes));
+    }
+
+    @Test
+    public void testMethodId() {
+        RedisCommandEvent event = buildEvent("[B", "B".getBytes());
+        assertNotNull(event.getMethodMetadata());
+        RedisCommandEventSerializer serializer = new RedisCommandEventSerializer();
+
+        byte[] bytes = RedisCommandEventSerializer.VersionedRedisSerializer.V3.serialize(event);
+        assertEquals(VERSION_3, bytes[0]);
+        assertEquals(FLAG_METHOD_ID, bytes[1]);
+        assertTrue(bytes.length < RedisCommandEventSerializer.VersionedRedisSerializer.V1.serialize(event).length);
+
+        RedisCommandEvent deserialized = serializer.deserialize(ByteBuffer.wrap(bytes));
+        assertEquals(event, deserialized);
+        assertSame(event.getMethodMetadata(), deserialized.getMethodMetadata());
+
+        ByteBuffer directBuffer = ByteBuffer.allocateDirect(bytes.length);
+        directBuffer.put(bytes).flip();
+        assertEquals(event, serializer.deserialize(directBuffer));
+        assertEquals(0, directBuffer.remaining());
+    }
+
+    @Test
+    public void testLegacyVersion() {
+        RedisCommandEvent event = buildEvent("[B", "B".getBytes());
+        byte[] bytes = new RedisCommandEventSerializer().serialize(event);
+        assertEquals(VERSION_1, bytes[0]);
+        assertEquals(event, new RedisCommandEventSerializer().deserialize(ByteBuffer.wrap(bytes)));
+    }
+
+    @Test
+    public void testBatch() {
+        List<RedisCommandEvent> events = Arrays.asList(buildEvent("[B", "B".getBytes()),
+                buildEvent("[b", "C".getBytes()), buildEvent("[b", new byte[512]));
+        RedisCommandEventSerializer serializer = new RedisCommandEventSerializer();
+        byte[] bytes = serializer.serializeBatch(events);
+        assertEquals(events, serializer.deserializeBatch(ByteBuffer.wrap(bytes)));
+        assertEquals(events, serializer.deserializeEvents(bytes));
+    }
+
+    @Test
+    public void testBatchSupported() {
+        assertFalse(RedisCommandEventSerializer.isBatchSupported(VERSION_DEFAULT));
+        assertFalse(RedisCommandEventSerializer.isBatchSupported(VERSION_1));
+        assertFalse(RedisCommandEventSerializer.isBatchSupported(VERSION_2));
+        assertTrue(RedisCommandEventSerializer.isBatchSupported(VERSION_3));
+    }
+
+    @Test
+    public void testBatchWithTransaction() {
+        List<RedisCommandEvent> commands = Arrays.asList(buildEvent("[B", "B".getBytes()), buildEvent("[b", "C".getBytes()));
+        RedisTransactionCommandEvent transaction = new RedisTransactionCommandEvent(commands, "test");
+        List<RedisCommandEvent> events = Arrays.asList(buildEvent("[B", "A".getBytes()), transaction, buildEvent("[b", "D".getBytes()));
+        RedisCommandEventSerializer serializer = new RedisCommandEventSerializer();
+        byte[] bytes = serializer.serializeBatch(events);
+        assertEquals(FLAG_BATCH, bytes[1]);
+
+        List<RedisCommandEvent> deserialized = serializer.deserializeEvents(bytes);
+        assertEquals(events, deserialized);
+        assertTrue(deserialized.get(1) instanceof RedisTransactionCommandEvent);
+        // The queued commands of the transaction are not lost
+        assertEquals(commands, ((RedisTransactionCommandEvent) deserialized.get(1)).getCommands());
+    }
+
+    @Test
+    public void testDeserializeEvents() {
+        RedisCommandEvent event = buildEvent("[B", "B".getBytes());
+        RedisCommandEventSerializer serializer = new RedisCommandEventSerializer();
+        assertEquals(Arrays.asList(event), serializer.deserializeEvents(serializer.serialize(event)));
+
+        RedisTransactionCommandEvent transaction = new RedisTransactionCommandEvent(Arrays.asList(event), "test");
+        List<RedisCommandEvent> events = serializer.deserializeEvents(serializer.serialize(transaction));
+        assertEquals(1, events.size());
+        assertTrue(events.get(0) instanceof RedisTransactionCommandEvent);
+    }
+
+    @Test
+    public void testTransaction() {
+        List<RedisCommandEvent> commands = Arrays.asList(buildEvent("[B", "B".getBytes()), buildEvent("[B", "C".getBytes()));
+        RedisTransactionCommandEvent event = new RedisTransactionCommandEvent(commands, "test");
+        RedisCommandEventSerializer serializer = new RedisCommandEventSerializer();
+        byte[] bytes = serializer.serialize(event);
+        assertEquals(VERSION_3, bytes[0]);
+        assertEquals(FLAG_BATCH | FLAG_TRANSACTION, bytes[1]);
+
+        RedisCommandEvent deserialized = serializer.deserialize(ByteBuffer.wrap(bytes));
+        assertTrue(deserialized instanceof RedisTransactionCommandEvent);
+        assertEquals(event, deserialized);
+        assertEquals(commands, ((RedisTransactionCommandEvent) deserialized).getCommands());
+    }
+
+    @Test(expected = SerializationException.class)
+    public void testTransactionAsBatch() {
+        RedisTransactionCommandEvent event = new RedisTransactionCommandEvent(Arrays.asList(buildEvent("[B", "B".getBytes())), "test");
+        byte[] bytes = new RedisCommandEventSerializer().serialize(event);
+        new RedisCommandEventSerializer().deserializeBatch(ByteBuffer.wrap(bytes));
+    }
+
+    @Test(expected = SerializationException.class)
+    public void testCorrupted() {
+        RedisCommandEvent event = buildEvent("[B", "B".getBytes());
+        byte[] bytes = RedisCommandEventSerializer.VersionedRedisSerializer.V3.serialize(event);
+        bytes[bytes.length - 5] ^= 1;
+        new RedisCommandEventSerializer().deserialize(bytes);
+    }
+
+    private RedisCommandEvent buildEvent(String parameterType, byte[] value) {
         String interfaceName = "org.springframework.data.redis.connection.RedisStringCommands";
         String methodName = "set";
-        String[] parameterTypes = new String[]{"[b", "[b"};
-        byte[][] parameters = new byte[][]{"A".getBytes(), "B".getBytes()};
+        String[] parameterTypes = new String[]{parameterType, parameterType};
+        byte[][] parameters = new byte[][]{"A".getBytes(), value};
         String sourceApplication = "test";
         RedisCommandEvent.Builder builder = new RedisCommandEvent.Builder();
         builder.interfaceName(interfaceName)
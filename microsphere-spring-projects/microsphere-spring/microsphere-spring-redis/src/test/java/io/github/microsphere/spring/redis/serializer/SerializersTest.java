@@ -1,5 +1,9 @@
 package io.github.microsphere.spring.redis.serializer;
 
+import io.github.microsphere.spring.redis.metadata.MethodMetadata;
+import io.github.microsphere.spring.redis.metadata.ParameterSerializationPlan;
+import org.junit.After;
+import org.junit.Before;
 import org.junit.Test;
 import org.springframework.data.geo.Point;
 import org.springframework.data.redis.connection.RedisGeoCommands;
@@ -11,16 +15,25 @@ import org.springframework.data.redis.connection.SortParameters;
 import org.springframework.data.redis.core.types.Expiration;
 import org.springframework.data.redis.serializer.RedisSerializer;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
+import static io.github.microsphere.spring.redis.metadata.MethodMetadataRepository.getMethodMetadata;
 import static io.github.microsphere.spring.redis.serializer.Serializers.defaultSerializer;
 import static io.github.microsphere.spring.redis.serializer.Serializers.getSerializer;
 import static io.github.microsphere.spring.redis.serializer.Serializers.stringSerializer;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 /**
  * {@link Serializers} Test
@@ -30,6 +43,27 @@ import static org.junit.Assert.assertNull;
  */
 public class SerializersTest {
 
+    private Map<String, RedisSerializer<?>> typedSerializers;
+
+    private Set<String> fallbackTypeNames;
+
+    @Before
+    public void before() {
+        typedSerializers = new HashMap<>(Serializers.typedSerializers);
+        fallbackTypeNames = new HashSet<>(Serializers.fallbackTypeNames);
+    }
+
+    @After
+    public void after() {
+        // Restore the global registry
+        Serializers.typedSerializers.clear();
+        Serializers.typedSerializers.putAll(typedSerializers);
+        Serializers.resolvedSerializers.clear();
+        Serializers.generation.incrementAndGet();
+        Serializers.fallbackTypeNames.clear();
+        Serializers.fallbackTypeNames.addAll(fallbackTypeNames);
+    }
+
     @Test
     public void testTypedSerializers() {
         assertFalse(Serializers.typedSerializers.isEmpty());
@@ -48,6 +82,51 @@ public class SerializersTest {
         assertNull(serializer);
     }
 
+    @Test
+    public void testGetSerializerInHierarchy() {
+        Serializers.register(Parent.class, stringSerializer);
+        assertSame(stringSerializer, getSerializer(Child.class));
+        assertSame(stringSerializer, getSerializer(Child.class.getName()));
+        assertFalse(Serializers.getFallbackTypeNames().contains(Child.class.getName()));
+    }
+
+    @Test
+    public void testRegisterAfterMethodMetadataResolved() throws Throwable {
+        MethodMetadata methodMetadata = getMethodMetadata(RedisStringCommands.class.getMethod("set", byte[].class, byte[].class,
+                Expiration.class, RedisStringCommands.SetOption.class));
+        ParameterSerializationPlan plan = methodMetadata.getParameterSerializationPlan();
+        assertSame(plan, methodMetadata.getParameterSerializationPlan());
+        assertSame(ExpirationSerializer.INSTANCE, methodMetadata.getParameterSerializer(2));
+
+        int generation = Serializers.getGeneration();
+        Serializers.register(Expiration.class, defaultSerializer);
+        assertEquals(generation + 1, Serializers.getGeneration());
+        assertNotSame(plan, methodMetadata.getParameterSerializationPlan());
+        assertSame(defaultSerializer, methodMetadata.getParameterSerializer(2));
+        assertSame(methodMetadata.getParameterSerializationPlan(), methodMetadata.getParameterSerializationPlan());
+    }
+
+    @Test
+    public void testGetFallbackSerializer() {
+        assertSame(defaultSerializer, getSerializer(Unregistered.class));
+        assertSame(defaultSerializer, getSerializer("not.found.Type"));
+        assertTrue(Serializers.getFallbackTypeNames().contains(Unregistered.class.getName()));
+        assertTrue(Serializers.getFallbackTypeNames().contains("not.found.Type"));
+
+        // The report is cumulative
+        Serializers.register(Parent.class, stringSerializer);
+        assertTrue(Serializers.getFallbackTypeNames().contains(Unregistered.class.getName()));
+    }
+
+    @Test
+    public void testGetFallbackSerializerOfCollectionSubType() {
+        assertSame(defaultSerializer, getSerializer(ArrayList.class));
+        assertSame(defaultSerializer, getSerializer(HashMap.class));
+        assertTrue(Serializers.getFallbackTypeNames().contains(ArrayList.class.getName()));
+        assertTrue(Serializers.getFallbackTypeNames().contains(HashMap.class.getName()));
+        assertFalse(Serializers.getFallbackTypeNames().contains(Collection.class.getName()));
+    }
+
     @Test
     public void testGetSimpleSerializers() {
         // boolean 或 Boolean 类型
@@ -144,4 +223,13 @@ public class SerializersTest {
         // org.springframework.data.geo.Point 类型
         assertEquals(getSerializer(Point.class), PointSerializer.INSTANCE);
     }
+
+    static class Parent {
+    }
+
+    static class Child extends Parent {
+    }
+
+    static class Unregistered {
+    }
 }
@@ -0,0 +1,28 @@
+package io.github.microsphere.spring.redis.serializer;
+
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+/**
+ * {@link StreamConsumerSerializer} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @since 1.0.0
+ */
+public class StreamConsumerSerializerTest extends AbstractSerializerTest<Consumer> {
+
+    @Override
+    protected RedisSerializer<Consumer> getSerializer() {
+        return StreamConsumerSerializer.INSTANCE;
+    }
+
+    @Override
+    protected Consumer getValue() {
+        return Consumer.from("group", "consumer-1");
+    }
+
+    @Override
+    protected Object getTestData(Consumer value) {
+        return value.getGroup() + ":" + value.getName();
+    }
+}
@@ -0,0 +1,44 @@
+package io.github.microsphere.spring.redis.serializer;
+
+import org.junit.Test;
+import org.springframework.data.redis.connection.RedisStreamCommands.XAddOptions;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * {@link XAddOptionsSerializer} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @since 1.0.0
+ */
+public class XAddOptionsSerializerTest extends AbstractSerializerTest<XAddOptions> {
+
+    @Override
+    protected RedisSerializer<XAddOptions> getSerializer() {
+        return XAddOptionsSerializer.INSTANCE;
+    }
+
+    @Override
+    protected XAddOptions getValue() {
+        return XAddOptions.maxlen(1000).approximateTrimming(true).minId(RecordId.of("1-0"));
+    }
+
+    @Test
+    public void testMaxlen() {
+        long[] maxlens = {0L, 1000L, Long.MAX_VALUE, -1L, Long.MIN_VALUE};
+        for (long maxlen : maxlens) {
+            test(() -> XAddOptions.maxlen(maxlen));
+        }
+        // The small maxlen is encoded as the varlong
+        assertEquals(3, getSerializer().serialize(XAddOptions.maxlen(1000)).length);
+    }
+
+    @Override
+    protected Object getTestData(XAddOptions value) {
+        return Arrays.asList(value.getMaxlen(), value.isNoMkStream(), value.isApproximateTrimming(), value.getMinId());
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microsphere.spring.redis.util;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * {@link RawValueCache} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @since 1.0.0
+ */
+public class RawValueCacheTest {
+
+    @Test
+    public void testGetAndPut() {
+        RawValueCache cache = new RawValueCache(4, 1024, 64);
+        String value = new String("value");
+        byte[] rawValue = value.getBytes();
+
+        assertNull(cache.getRawValue(value));
+        assertNull(cache.getValue(rawValue));
+
+        cache.put(value, rawValue);
+        assertSame(rawValue, cache.getRawValue(value));
+        assertSame(value, cache.getValue(rawValue));
+        assertEquals(1, cache.size());
+        assertEquals(rawValue.length, cache.bytes());
+
+        // The lookups are based on the identities
+        assertNull(cache.getRawValue(new String("value")));
+        assertNull(cache.getValue(rawValue.clone()));
+
+        // Replace the existed entry
+        cache.put(value, rawValue);
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void testBounds() {
+        RawValueCache.Statistics statistics = RawValueCache.getStatistics();
+
+        // Exceeds the max value bytes
+        RawValueCache cache = new RawValueCache(2, 10, 4);
+        Object value = new Object();
+        cache.put(value, new byte[5]);
+        assertNull(cache.getRawValue(value));
+        assertEquals(0, cache.size());
+        assertEquals(statistics.getSkips() + 1, RawValueCache.getStatistics().getSkips());
+
+        // Exceeds the max entries
+        cache.put(new Object(), new byte[1]);
+        cache.put(new Object(), new byte[1]);
+        assertEquals(2, cache.size());
+        cache.put(value, new byte[1]);
+        assertEquals(1, cache.size());
+        assertEquals(1, cache.bytes());
+
+        // Exceeds the max bytes
+        cache = new RawValueCache(8, 10, 4);
+        cache.put(new Object(), new byte[4]);
+        cache.put(new Object(), new byte[4]);
+        assertEquals(8, cache.bytes());
+        cache.put(value, new byte[4]);
+        assertEquals(1, cache.size());
+        assertEquals(4, cache.bytes());
+
+        assertTrue(RawValueCache.getStatistics().getEvictions() >= statistics.getEvictions() + 2);
+    }
+
+    @Test
+    public void testScope() {
+        RawValueCache cache = new RawValueCache(4, 1024, 64);
+        Object value = new Object();
+        byte[] rawValue = new byte[1];
+        cache.put(value, rawValue);
+
+        cache.enter();
+        cache.enter();
+        cache.exit();
+        assertSame(rawValue, cache.getRawValue(value));
+        cache.exit();
+        assertNull(cache.getRawValue(value));
+        assertEquals(0, cache.size());
+
+        // Unbalanced exit
+        cache.exit();
+        cache.put(value, rawValue);
+        cache.enter();
+        cache.exit();
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testStatistics() {
+        RawValueCache cache = RawValueCache.current();
+        assertSame(cache, RawValueCache.current());
+        RawValueCache.resetStatistics();
+
+        Object value = new Object();
+        cache.put(value, new byte[1]);
+        cache.getRawValue(value);
+        cache.getRawValue(new Object());
+        cache.clear();
+
+        RawValueCache.Statistics statistics = RawValueCache.getStatistics();
+        assertEquals(1, statistics.getHits());
+        assertEquals(1, statistics.getMisses());
+        assertEquals(0.5d, statistics.getHitRatio(), 0d);
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.microsphere.spring.redis.util;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+
+import static io.github.microsphere.spring.redis.util.VarIntUtils.MAX_VAR_INT_BYTES;
+import static io.github.microsphere.spring.redis.util.VarIntUtils.MAX_VAR_LONG_BYTES;
+import static io.github.microsphere.spring.redis.util.VarIntUtils.decodeZigZag;
+import static io.github.microsphere.spring.redis.util.VarIntUtils.encodeZigZag;
+import static io.github.microsphere.spring.redis.util.VarIntUtils.readVarInt;
+import static io.github.microsphere.spring.redis.util.VarIntUtils.readVarLong;
+import static io.github.microsphere.spring.redis.util.VarIntUtils.varIntSize;
+import static io.github.microsphere.spring.redis.util.VarIntUtils.varLongSize;
+import static io.github.microsphere.spring.redis.util.VarIntUtils.writeVarInt;
+import static io.github.microsphere.spring.redis.util.VarIntUtils.writeVarLong;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * {@link VarIntUtils} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @since 1.0.0
+ */
+public class VarIntUtilsTest {
+
+    @Test
+    public void testVarInt() {
+        int[] values = {0, 1, 127, 128, 16383, 16384, Integer.MAX_VALUE, -1, Integer.MIN_VALUE};
+        ByteBuffer buffer = ByteBuffer.allocate(MAX_VAR_INT_BYTES);
+        for (int value : values) {
+            buffer.clear();
+            writeVarInt(value, buffer);
+            assertEquals(varIntSize(value), buffer.position());
+            buffer.flip();
+            assertEquals(value, readVarInt(buffer));
+        }
+    }
+
+    @Test
+    public void testVarLong() {
+        long[] values = {0L, 1L, 127L, 128L, Integer.MAX_VALUE + 1L, Long.MAX_VALUE, -1L, Long.MIN_VALUE};
+        ByteBuffer buffer = ByteBuffer.allocate(MAX_VAR_LONG_BYTES);
+        for (long value : values) {
+            buffer.clear();
+            writeVarLong(value, buffer);
+            assertEquals(varLongSize(value), buffer.position());
+            buffer.flip();
+            assertEquals(value, readVarLong(buffer));
+        }
+        assertEquals(1, varLongSize(0L));
+        assertEquals(MAX_VAR_LONG_BYTES, varLongSize(-1L));
+    }
+
+    @Test
+    public void testZigZag() {
+        assertEquals(0, encodeZigZag(0));
+        assertEquals(1, encodeZigZag(-1));
+        assertEquals(2, encodeZigZag(1));
+        assertEquals(-1, encodeZigZag(Integer.MIN_VALUE));
+        assertEquals(1L, encodeZigZag(-1L));
+        assertEquals(-1L, encodeZigZag(Long.MIN_VALUE));
+
+        int[] values = {0, -1, 1, Integer.MAX_VALUE, Integer.MIN_VALUE};
+        for (int value : values) {
+            assertEquals(value, decodeZigZag(encodeZigZag(value)));
+            assertEquals((long) value, decodeZigZag(encodeZigZag((long) value)));
+        }
+        assertEquals(1, varIntSize(encodeZigZag(-1)));
+        assertEquals(Long.MIN_VALUE, decodeZigZag(encodeZigZag(Long.MIN_VALUE)));
+    }
+
+    @Test
+    public void testZigZagVarLong() {
+        long[] values = {0L, -1L, 1L, Integer.MIN_VALUE, Integer.MAX_VALUE, Long.MIN_VALUE, Long.MAX_VALUE};
+        ByteBuffer buffer = ByteBuffer.allocate(MAX_VAR_LONG_BYTES);
+        for (long value : values) {
+            buffer.clear();
+            long encoded = encodeZigZag(value);
+            writeVarLong(encoded, buffer);
+            assertEquals(varLongSize(encoded), buffer.position());
+            buffer.flip();
+            assertEquals(value, decodeZigZag(readVarLong(buffer)));
+        }
+        assertEquals(1, varLongSize(encodeZigZag(-1L)));
+        assertEquals(MAX_VAR_LONG_BYTES, varLongSize(encodeZigZag(Long.MIN_VALUE)));
+        assertEquals(MAX_VAR_LONG_BYTES, varLongSize(encodeZigZag(Long.MAX_VALUE)));
+    }
+}